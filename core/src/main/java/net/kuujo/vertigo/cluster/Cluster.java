@@ -23,6 +23,8 @@ import net.kuujo.vertigo.cluster.data.AsyncMap;
 import net.kuujo.vertigo.cluster.data.AsyncMultiMap;
 import net.kuujo.vertigo.cluster.data.AsyncQueue;
 import net.kuujo.vertigo.cluster.data.AsyncSet;
+import net.kuujo.vertigo.cluster.data.CachedAsyncMap;
+import net.kuujo.vertigo.cluster.data.StripedAsyncCounter;
 import net.kuujo.vertigo.network.ActiveNetwork;
 import net.kuujo.vertigo.network.NetworkConfig;
 
@@ -1000,6 +1002,21 @@ public interface Cluster {
    */
   <K, V> AsyncMap<K, V> getMap(String name);
 
+  /**
+   * Gets an asynchronous map with a local near-cache from the cluster.<p>
+   *
+   * Reads are served from the local cache once a key has been loaded. Keys
+   * are invalidated when they're changed through a watchable map anywhere
+   * in the cluster.
+   *
+   * @param name The name of the map to get.
+   * @param maxSize The maximum number of keys to cache locally.
+   * @param ttl The number of milliseconds for which values are cached. If
+   *        <code>0</code> then values are cached until they're changed or evicted.
+   * @return The cached async map.
+   */
+  <K, V> CachedAsyncMap<K, V> getCachedMap(String name, int maxSize, long ttl);
+
   /**
    * Gets an asynchronous multi-map from the cluster.
    *
@@ -1040,4 +1057,18 @@ public interface Cluster {
    */
   AsyncCounter getCounter(String name);
 
+  /**
+   * Gets a striped asynchronous counter from the cluster.<p>
+   *
+   * Striped counters accumulate updates locally and periodically flush
+   * the accumulated delta to the cluster counter, making them suitable
+   * for counters that are updated at a high rate.
+   *
+   * @param name The name of the counter to get.
+   * @param flushInterval The interval in milliseconds at which to flush
+   *        local updates to the cluster.
+   * @return The striped async counter.
+   */
+  StripedAsyncCounter getStripedCounter(String name, long flushInterval);
+
 }
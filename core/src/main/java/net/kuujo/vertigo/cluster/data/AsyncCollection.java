@@ -15,6 +15,8 @@
  */
 package net.kuujo.vertigo.cluster.data;
 
+import java.util.Collection;
+
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
@@ -100,4 +102,38 @@ public interface AsyncCollection<T> {
    */
   void clear(Handler<AsyncResult<Void>> doneHandler);
 
+  /**
+   * Adds multiple values to the collection.
+   *
+   * @param values The values to add.
+   */
+  void addAll(Collection<T> values);
+
+  /**
+   * Adds multiple values to the collection.<p>
+   *
+   * All values are sent to the cluster in a single request.
+   *
+   * @param values The values to add.
+   * @param doneHandler An asynchronous handler to be called once complete. The handler
+   *                    will be called with a boolean indicating whether the collection changed.
+   */
+  void addAll(Collection<T> values, Handler<AsyncResult<Boolean>> doneHandler);
+
+  /**
+   * Removes multiple values from the collection.
+   *
+   * @param values The values to remove.
+   */
+  void removeAll(Collection<T> values);
+
+  /**
+   * Removes multiple values from the collection.
+   *
+   * @param values The values to remove.
+   * @param doneHandler An asynchronous handler to be called once complete. The handler
+   *                    will be called with a boolean indicating whether the collection changed.
+   */
+  void removeAll(Collection<T> values, Handler<AsyncResult<Boolean>> doneHandler);
+
 }
@@ -19,7 +19,10 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
 /**
- * Asynchronous cluster-wide counter.
+ * Asynchronous cluster-wide counter.<p>
+ *
+ * Updates are only retried if they can't have reached the cluster. If an
+ * update fails because it timed out then it may or may not have been applied.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -77,4 +80,27 @@ public interface AsyncCounter {
    */
   void decrementAndGet(Handler<AsyncResult<Long>> doneHandler);
 
+  /**
+   * Adds a delta to the counter value.
+   *
+   * @param delta The amount to add to the counter.
+   */
+  void add(long delta);
+
+  /**
+   * Adds a delta to the counter value.
+   *
+   * @param delta The amount to add to the counter.
+   * @param doneHandler An asynchronous handler to be called once complete.
+   */
+  void add(long delta, Handler<AsyncResult<Void>> doneHandler);
+
+  /**
+   * Adds a delta to the counter and gets the new value.
+   *
+   * @param delta The amount to add to the counter.
+   * @param doneHandler An asynchronous handler to be called with the result.
+   */
+  void addAndGet(long delta, Handler<AsyncResult<Long>> doneHandler);
+
 }
@@ -72,4 +72,17 @@ public interface AsyncList<T> extends AsyncCollection<T> {
    */
   void remove(int index, Handler<AsyncResult<T>> doneHandler);
 
+  /**
+   * Scans a page of values from the list.<p>
+   *
+   * Values are scanned by index, so adding or removing values before the
+   * cursor during a scan can cause values to be skipped or returned twice.
+   *
+   * @param cursor The cursor from which to begin the scan. Use <code>0</code> to
+   *               begin a new scan.
+   * @param count The maximum number of values to return.
+   * @param resultHandler An asynchronous handler to be called with the scan result.
+   */
+  void scan(long cursor, int count, Handler<AsyncResult<ScanResult<T>>> resultHandler);
+
 }
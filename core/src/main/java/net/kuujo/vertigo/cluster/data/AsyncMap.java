@@ -16,6 +16,7 @@
 package net.kuujo.vertigo.cluster.data;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 import io.vertx.core.AsyncResult;
@@ -135,4 +136,62 @@ public interface AsyncMap<K, V> {
    */
   void clear(Handler<AsyncResult<Void>> doneHandler);
 
+  /**
+   * Sets multiple key values in the map.
+   *
+   * @param map A map of keys and values to set.
+   */
+  void putAll(Map<K, V> map);
+
+  /**
+   * Sets multiple key values in the map.<p>
+   *
+   * All entries are sent to the cluster in a single request.
+   *
+   * @param map A map of keys and values to set.
+   * @param doneHandler An asynchronous handler to be called once complete.
+   */
+  void putAll(Map<K, V> map, Handler<AsyncResult<Void>> doneHandler);
+
+  /**
+   * Gets multiple values from the map.
+   *
+   * @param keys The keys to get.
+   * @param resultHandler An asynchronous handler to be called with a map of keys to
+   *                      values. Keys that do not exist in the map are not included.
+   */
+  void getAll(Collection<K> keys, Handler<AsyncResult<Map<K, V>>> resultHandler);
+
+  /**
+   * Removes multiple keys from the map.
+   *
+   * @param keys The keys to remove.
+   */
+  void removeAll(Collection<K> keys);
+
+  /**
+   * Removes multiple keys from the map.
+   *
+   * @param keys The keys to remove.
+   * @param doneHandler An asynchronous handler to be called once complete.
+   */
+  void removeAll(Collection<K> keys, Handler<AsyncResult<Void>> doneHandler);
+
+  /**
+   * Scans a page of entries from the map.<p>
+   *
+   * Unlike {@link #keySet(Handler)} and {@link #values(Handler)}, scanning
+   * returns at most <code>count</code> entries per request, so large maps can
+   * be iterated without loading the entire map into a single message. Entries
+   * that are present for the entire scan are returned exactly once, and entries
+   * added or removed during the scan may or may not be returned. Each page still
+   * iterates over all of the map's keys within the cluster.
+   *
+   * @param cursor The cursor from which to begin the scan. Use <code>0</code> to
+   *               begin a new scan.
+   * @param count The maximum number of entries to return.
+   * @param resultHandler An asynchronous handler to be called with the scan result.
+   */
+  void scan(long cursor, int count, Handler<AsyncResult<ScanResult<Map.Entry<K, V>>>> resultHandler);
+
 }
@@ -165,4 +165,22 @@ public interface AsyncMultiMap<K, V> {
    */
   void clear(Handler<AsyncResult<Void>> doneHandler);
 
+  /**
+   * Adds multiple values to a key in the map.
+   *
+   * @param key The key to which to add the values.
+   * @param values The values to add.
+   */
+  void putAll(K key, Collection<V> values);
+
+  /**
+   * Adds multiple values to a key in the map.
+   *
+   * @param key The key to which to add the values.
+   * @param values The values to add.
+   * @param doneHandler An asynchronous handler to be called once complete. The handler
+   *                    will be called with a boolean indicating whether the map changed.
+   */
+  void putAll(K key, Collection<V> values, Handler<AsyncResult<Boolean>> doneHandler);
+
 }
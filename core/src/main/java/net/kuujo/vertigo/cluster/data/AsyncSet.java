@@ -15,6 +15,9 @@
  */
 package net.kuujo.vertigo.cluster.data;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
 /**
  * Asynchronous set.<p>
  *
@@ -27,4 +30,18 @@ package net.kuujo.vertigo.cluster.data;
  * @param <T> The set data type.
  */
 public interface AsyncSet<T> extends AsyncCollection<T> {
+
+  /**
+   * Scans a page of values from the set.<p>
+   *
+   * Values that are present for the entire scan are returned exactly once, and
+   * values added or removed during the scan may or may not be returned.
+   *
+   * @param cursor The cursor from which to begin the scan. Use <code>0</code> to
+   *               begin a new scan.
+   * @param count The maximum number of values to return.
+   * @param resultHandler An asynchronous handler to be called with the scan result.
+   */
+  void scan(long cursor, int count, Handler<AsyncResult<ScanResult<T>>> resultHandler);
+
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.data;
+
+/**
+ * Asynchronous map with a local near-cache.<p>
+ *
+ * Values read from the map are cached locally so that repeated reads of
+ * the same key don't require a round trip to the cluster. The cache is
+ * bounded in size, evicting the least recently used keys first, and cached
+ * values can optionally expire after a fixed amount of time. Each cached
+ * key is watched for changes, and the key is removed from the cache when
+ * the key is changed through any {@link WatchableAsyncMap} in the cluster.
+ * Changes made without publishing map events are only seen once the cached
+ * value expires.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ *
+ * @param <K> The map key type.
+ * @param <V> The map value type.
+ */
+public interface CachedAsyncMap<K, V> extends WatchableAsyncMap<K, V> {
+
+  /**
+   * Removes a key from the local cache.
+   *
+   * @param key The key to invalidate.
+   */
+  void invalidate(K key);
+
+  /**
+   * Removes all keys from the local cache.
+   */
+  void invalidateAll();
+
+  /**
+   * Returns the number of reads that were served by the local cache.
+   *
+   * @return The number of cache hits.
+   */
+  long hitCount();
+
+  /**
+   * Returns the number of reads that were sent to the cluster.
+   *
+   * @return The number of cache misses.
+   */
+  long missCount();
+
+  /**
+   * Returns the number of keys that were evicted to keep the cache within
+   * its maximum size.
+   *
+   * @return The number of cache evictions.
+   */
+  long evictionCount();
+
+}
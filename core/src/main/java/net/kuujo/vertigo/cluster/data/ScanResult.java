@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.data;
+
+import java.util.List;
+
+/**
+ * A single page of results from a cursor scan.<p>
+ *
+ * To iterate over a full data structure, begin the scan with a cursor of
+ * <code>0</code> and continue passing the returned cursor until the scan
+ * is complete.<p>
+ *
+ * Map and set scans visit keys in an order determined by the keys
+ * themselves, so an entry that is present for the entire scan is returned
+ * exactly once, while entries added or removed during the scan may or may
+ * not be returned. List scans visit values by index, so adding or removing
+ * values before the cursor during a scan can cause values to be skipped or
+ * returned twice.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ *
+ * @param <T> The scanned value type.
+ */
+public class ScanResult<T> {
+  private final long cursor;
+  private final List<T> values;
+
+  public ScanResult(long cursor, List<T> values) {
+    this.cursor = cursor;
+    this.values = values;
+  }
+
+  /**
+   * Returns the cursor from which to continue the scan.
+   *
+   * @return The next scan cursor, or <code>0</code> if the scan is complete.
+   */
+  public long cursor() {
+    return cursor;
+  }
+
+  /**
+   * Returns the values in this page.
+   *
+   * @return A list of scanned values.
+   */
+  public List<T> values() {
+    return values;
+  }
+
+  /**
+   * Returns a boolean indicating whether the scan is complete.
+   *
+   * @return Indicates whether there are no more values to scan.
+   */
+  public boolean isComplete() {
+    return cursor == 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ScanResult[cursor=%d, values=%s]", cursor, values);
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.data;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+/**
+ * Asynchronous counter that accumulates updates locally.<p>
+ *
+ * Increments, decrements and deltas are added to a local stripe of the
+ * counter and periodically flushed to the cluster as a single delta. This
+ * allows high-rate counters such as metrics to be updated from many
+ * instances without a cluster round trip per update. Values read from the
+ * counter include the local stripe, but updates from other instances are
+ * only seen once they've been flushed. Failed flushes are retried, so a
+ * flush that times out after being applied may be counted twice.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public interface StripedAsyncCounter extends AsyncCounter {
+
+  /**
+   * Returns the local delta that has not yet been flushed to the cluster.
+   *
+   * @return The pending local delta.
+   */
+  long pending();
+
+  /**
+   * Flushes the local delta to the cluster.
+   */
+  void flush();
+
+  /**
+   * Flushes the local delta to the cluster.
+   *
+   * @param doneHandler An asynchronous handler to be called once the delta
+   *        has been flushed.
+   */
+  void flush(Handler<AsyncResult<Void>> doneHandler);
+
+  /**
+   * Stops periodic flushing and flushes the local delta to the cluster.
+   */
+  void close();
+
+  /**
+   * Stops periodic flushing and flushes the local delta to the cluster.<p>
+   *
+   * The final flush waits for any flushes already in flight. If it fails then
+   * the failure is passed to the handler and the delta remains {@link #pending()},
+   * so it can be retried by calling {@link #flush(Handler)}.
+   *
+   * @param doneHandler An asynchronous handler to be called once the counter
+   *        has been closed.
+   */
+  void close(Handler<AsyncResult<Void>> doneHandler);
+
+}
@@ -32,6 +32,7 @@ class AsyncDataStructure {
 	protected final Vertx vertx;
 	private final ClusterLocator clusterLocator;
 	private String localAddress;
+	private boolean locating;
 	private long lastReset;
 	private long check;
 
@@ -50,29 +51,38 @@ class AsyncDataStructure {
 	 * Checks whether the local cluster address needs to be updated.
 	 */
 	protected void checkAddress() {
-		if (localAddress == null) {
+		if (localAddress == null && !locating) {
 			check++;
-			if (check > 1000 && System.currentTimeMillis() - lastReset > 15000) {
+			// Look up the local agent on first use, then only periodically
+			// if no local agent could be found.
+			if (lastReset == 0 || (check > 1000 && System.currentTimeMillis() - lastReset > 15000)) {
 				resetLocalAddress(null);
 			}
 		}
 	}
 
 	/**
-   * Updates the known local group address.
+   * Updates the known local group address.<p>
+   *
+   * The handler will be called with <code>true</code> if the address to which
+   * requests are sent changed, in which case a failed request can be retried.
+   * If a local agent fails and can no longer be found then requests fall back
+   * to the group address.
    */
   protected void resetLocalAddress(final Handler<AsyncResult<Boolean>> doneHandler) {
+    final String previousAddress = localOrGroupAddress();
     localAddress = null;
+    locating = true;
+    check = 0;
     lastReset = System.currentTimeMillis();
     clusterLocator.locateCluster(address, new Handler<AsyncResult<String>>() {
       @Override
       public void handle(AsyncResult<String> result) {
+        locating = false;
         if (result.succeeded() && result.result() != null) {
           localAddress = result.result();
-          new FutureFactoryImpl().succeededFuture(true).setHandler(doneHandler);
-        } else {
-        	new FutureFactoryImpl().succeededFuture(false).setHandler(doneHandler);
         }
+        new FutureFactoryImpl().succeededFuture(!localOrGroupAddress().equals(previousAddress)).setHandler(doneHandler);
       }
     });
   }
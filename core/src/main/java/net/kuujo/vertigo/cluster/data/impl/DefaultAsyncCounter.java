@@ -23,6 +23,8 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import org.vertx.java.core.eventbus.EventBus;
 import org.vertx.java.core.eventbus.Message;
+import org.vertx.java.core.eventbus.ReplyException;
+import org.vertx.java.core.eventbus.ReplyFailure;
 import org.vertx.java.core.impl.DefaultFutureResult;
 import io.vertx.core.json.JsonObject;
 
@@ -46,7 +48,7 @@ public class DefaultAsyncCounter extends AsyncDataStructure implements AsyncCoun
         .putString("action", "get")
         .putString("type", "counter")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -81,14 +83,14 @@ public class DefaultAsyncCounter extends AsyncDataStructure implements AsyncCoun
         .putString("action", "increment")
         .putString("type", "counter")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
           resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
             @Override
             public void handle(AsyncResult<Boolean> resetResult) {
-              if (resetResult.succeeded() && resetResult.result()) {
+              if (resetResult.succeeded() && resetResult.result() && !mayHaveApplied(result.cause())) {
                 increment(doneHandler);
               } else {
                 new DefaultFutureResult<Void>(result.cause()).setHandler(doneHandler);
@@ -111,14 +113,14 @@ public class DefaultAsyncCounter extends AsyncDataStructure implements AsyncCoun
         .putString("action", "increment")
         .putString("type", "counter")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
           resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
             @Override
             public void handle(AsyncResult<Boolean> resetResult) {
-              if (resetResult.succeeded() && resetResult.result()) {
+              if (resetResult.succeeded() && resetResult.result() && !mayHaveApplied(result.cause())) {
                 incrementAndGet(doneHandler);
               } else {
                 new DefaultFutureResult<Long>(result.cause()).setHandler(doneHandler);
@@ -146,14 +148,14 @@ public class DefaultAsyncCounter extends AsyncDataStructure implements AsyncCoun
         .putString("action", "decrement")
         .putString("type", "counter")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
           resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
             @Override
             public void handle(AsyncResult<Boolean> resetResult) {
-              if (resetResult.succeeded() && resetResult.result()) {
+              if (resetResult.succeeded() && resetResult.result() && !mayHaveApplied(result.cause())) {
                 decrement(doneHandler);
               } else {
                 new DefaultFutureResult<Void>(result.cause()).setHandler(doneHandler);
@@ -176,14 +178,14 @@ public class DefaultAsyncCounter extends AsyncDataStructure implements AsyncCoun
         .putString("action", "decrement")
         .putString("type", "counter")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
           resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
             @Override
             public void handle(AsyncResult<Boolean> resetResult) {
-              if (resetResult.succeeded() && resetResult.result()) {
+              if (resetResult.succeeded() && resetResult.result() && !mayHaveApplied(result.cause())) {
                 decrementAndGet(doneHandler);
               } else {
                 new DefaultFutureResult<Long>(result.cause()).setHandler(doneHandler);
@@ -199,4 +201,86 @@ public class DefaultAsyncCounter extends AsyncDataStructure implements AsyncCoun
     });
   }
 
+  @Override
+  public void add(long delta) {
+    add(delta, null);
+  }
+
+  @Override
+  public void add(final long delta, final Handler<AsyncResult<Void>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "add")
+        .putString("type", "counter")
+        .putString("name", name)
+        .putNumber("delta", delta);
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          // Adds aren't idempotent, so they're only retried if the request
+          // can't have reached the cluster.
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result() && !mayHaveApplied(result.cause())) {
+                add(delta, doneHandler);
+              } else {
+                new DefaultFutureResult<Void>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Void>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void addAndGet(final long delta, final Handler<AsyncResult<Long>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "add")
+        .putString("type", "counter")
+        .putString("name", name)
+        .putNumber("delta", delta);
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          // Adds aren't idempotent, so they're only retried if the request
+          // can't have reached the cluster.
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result() && !mayHaveApplied(result.cause())) {
+                addAndGet(delta, doneHandler);
+              } else {
+                new DefaultFutureResult<Long>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Long>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Long>(result.result().body().getLong("result", 0)).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  /**
+   * Indicates whether a failed request may have been applied by the cluster.<p>
+   *
+   * A request that timed out or failed at the recipient may still have been
+   * applied, so only requests that found no handler are known not to have been.
+   * Counter updates aren't idempotent, so only those requests are retried.
+   */
+  private static boolean mayHaveApplied(Throwable cause) {
+    return !(cause instanceof ReplyException) || ((ReplyException) cause).failureType() != ReplyFailure.NO_HANDLERS;
+  }
+
 }
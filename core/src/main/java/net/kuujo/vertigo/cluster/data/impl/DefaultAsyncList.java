@@ -15,8 +15,13 @@
  */
 package net.kuujo.vertigo.cluster.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import net.kuujo.vertigo.cluster.data.AsyncList;
 import net.kuujo.vertigo.cluster.data.DataException;
+import net.kuujo.vertigo.cluster.data.ScanResult;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -24,6 +29,7 @@ import io.vertx.core.Vertx;
 import org.vertx.java.core.eventbus.EventBus;
 import org.vertx.java.core.eventbus.Message;
 import org.vertx.java.core.impl.DefaultFutureResult;
+import org.vertx.java.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -54,7 +60,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("type", "list")
         .putString("name", name)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -90,7 +96,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("type", "list")
         .putString("name", name)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -126,7 +132,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("type", "list")
         .putString("name", name)
         .putValue("index", index);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -157,7 +163,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("type", "list")
         .putString("name", name)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -187,7 +193,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("action", "size")
         .putString("type", "list")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -217,7 +223,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("action", "empty")
         .putString("type", "list")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -252,7 +258,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("action", "clear")
         .putString("type", "list")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -283,7 +289,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
         .putString("type", "list")
         .putString("name", name)
         .putNumber("index", index);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -321,7 +327,7 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
       .putString("name", name)
       .putNumber("index", index)
       .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -344,4 +350,119 @@ public class DefaultAsyncList<T> extends AsyncDataStructure implements AsyncList
     });
   }
 
+  @Override
+  public void addAll(Collection<T> values) {
+    addAll(values, null);
+  }
+
+  @Override
+  public void addAll(final Collection<T> values, final Handler<AsyncResult<Boolean>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "addAll")
+        .putString("type", "list")
+        .putString("name", name)
+        .putArray("values", new JsonArray(new ArrayList<Object>(values)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                addAll(values, doneHandler);
+              } else {
+                new DefaultFutureResult<Boolean>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Boolean>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Boolean>(result.result().body().getBoolean("result")).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void removeAll(Collection<T> values) {
+    removeAll(values, null);
+  }
+
+  @Override
+  public void removeAll(final Collection<T> values, final Handler<AsyncResult<Boolean>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "removeAll")
+        .putString("type", "list")
+        .putString("name", name)
+        .putArray("values", new JsonArray(new ArrayList<Object>(values)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                removeAll(values, doneHandler);
+              } else {
+                new DefaultFutureResult<Boolean>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Boolean>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Boolean>(result.result().body().getBoolean("result")).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void scan(final long cursor, final int count, final Handler<AsyncResult<ScanResult<T>>> resultHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "scan")
+        .putString("type", "list")
+        .putString("name", name)
+        .putNumber("cursor", cursor)
+        .putNumber("count", count);
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                scan(cursor, count, resultHandler);
+              } else {
+                new DefaultFutureResult<ScanResult<T>>(result.cause()).setHandler(resultHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<ScanResult<T>>(new DataException(result.result().body().getString("message"))).setHandler(resultHandler);
+        } else {
+          JsonArray jsonValues = result.result().body().getArray("result");
+          if (jsonValues != null) {
+            List<T> values = new ArrayList<>();
+            for (Object value : jsonValues) {
+              values.add((T) value);
+            }
+            long next = result.result().body().getLong("cursor", 0);
+            new DefaultFutureResult<ScanResult<T>>(new ScanResult<T>(next, values)).setHandler(resultHandler);
+          } else {
+            new DefaultFutureResult<ScanResult<T>>(new DataException("Invalid response.")).setHandler(resultHandler);
+          }
+        }
+      }
+    });
+  }
+
 }
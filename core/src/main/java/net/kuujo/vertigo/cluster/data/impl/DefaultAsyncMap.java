@@ -15,14 +15,18 @@
  */
 package net.kuujo.vertigo.cluster.data.impl;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.kuujo.vertigo.cluster.data.AsyncMap;
 import net.kuujo.vertigo.cluster.data.DataException;
+import net.kuujo.vertigo.cluster.data.ScanResult;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -63,7 +67,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("name", name)
         .putValue("key", key)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -95,7 +99,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("type", "map")
         .putString("name", name)
         .putValue("key", key);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -132,7 +136,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("type", "map")
         .putString("name", name)
         .putValue("key", key);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -164,7 +168,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("type", "map")
         .putString("name", name)
         .putValue("key", key);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -194,7 +198,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("action", "keys")
         .putString("type", "map")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -234,7 +238,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("action", "values")
         .putString("type", "map")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -274,7 +278,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("action", "size")
         .putString("type", "map")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -304,7 +308,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("action", "empty")
         .putString("type", "map")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -339,7 +343,7 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
         .putString("action", "clear")
         .putString("type", "map")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -362,4 +366,171 @@ public class DefaultAsyncMap<K, V> extends AsyncDataStructure implements AsyncMa
     });
   }
 
+  @Override
+  public void putAll(Map<K, V> map) {
+    putAll(map, null);
+  }
+
+  @Override
+  public void putAll(final Map<K, V> map, final Handler<AsyncResult<Void>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "putAll")
+        .putString("type", "map")
+        .putString("name", name)
+        .putArray("entries", encodeEntries(map));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                putAll(map, doneHandler);
+              } else {
+                new DefaultFutureResult<Void>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Void>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void getAll(final Collection<K> keys, final Handler<AsyncResult<Map<K, V>>> resultHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "getAll")
+        .putString("type", "map")
+        .putString("name", name)
+        .putArray("keys", new JsonArray(new ArrayList<Object>(keys)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                getAll(keys, resultHandler);
+              } else {
+                new DefaultFutureResult<Map<K, V>>(result.cause()).setHandler(resultHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Map<K, V>>(new DataException(result.result().body().getString("message"))).setHandler(resultHandler);
+        } else {
+          JsonArray jsonEntries = result.result().body().getArray("result");
+          if (jsonEntries != null) {
+            Map<K, V> values = new HashMap<>();
+            for (Object jsonEntry : jsonEntries) {
+              values.put((K) ((JsonObject) jsonEntry).getValue("key"), (V) ((JsonObject) jsonEntry).getValue("value"));
+            }
+            new DefaultFutureResult<Map<K, V>>(values).setHandler(resultHandler);
+          } else {
+            new DefaultFutureResult<Map<K, V>>(new DataException("Invalid response.")).setHandler(resultHandler);
+          }
+        }
+      }
+    });
+  }
+
+  @Override
+  public void removeAll(Collection<K> keys) {
+    removeAll(keys, null);
+  }
+
+  @Override
+  public void removeAll(final Collection<K> keys, final Handler<AsyncResult<Void>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "removeAll")
+        .putString("type", "map")
+        .putString("name", name)
+        .putArray("keys", new JsonArray(new ArrayList<Object>(keys)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                removeAll(keys, doneHandler);
+              } else {
+                new DefaultFutureResult<Void>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Void>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void scan(final long cursor, final int count, final Handler<AsyncResult<ScanResult<Map.Entry<K, V>>>> resultHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "scan")
+        .putString("type", "map")
+        .putString("name", name)
+        .putNumber("cursor", cursor)
+        .putNumber("count", count);
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                scan(cursor, count, resultHandler);
+              } else {
+                new DefaultFutureResult<ScanResult<Map.Entry<K, V>>>(result.cause()).setHandler(resultHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<ScanResult<Map.Entry<K, V>>>(new DataException(result.result().body().getString("message"))).setHandler(resultHandler);
+        } else {
+          JsonArray jsonEntries = result.result().body().getArray("result");
+          if (jsonEntries != null) {
+            List<Map.Entry<K, V>> entries = new ArrayList<>();
+            for (Object jsonEntry : jsonEntries) {
+              entries.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) ((JsonObject) jsonEntry).getValue("key"), (V) ((JsonObject) jsonEntry).getValue("value")));
+            }
+            long next = result.result().body().getLong("cursor", 0);
+            new DefaultFutureResult<ScanResult<Map.Entry<K, V>>>(new ScanResult<Map.Entry<K, V>>(next, entries)).setHandler(resultHandler);
+          } else {
+            new DefaultFutureResult<ScanResult<Map.Entry<K, V>>>(new DataException("Invalid response.")).setHandler(resultHandler);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Encodes map entries as a JSON array of key/value objects.
+   */
+  private JsonArray encodeEntries(Map<K, V> map) {
+    JsonArray entries = new JsonArray();
+    for (Map.Entry<K, V> entry : map.entrySet()) {
+      entries.addObject(new JsonObject().putValue("key", entry.getKey()).putValue("value", entry.getValue()));
+    }
+    return entries;
+  }
+
 }
@@ -63,7 +63,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("name", name)
         .putValue("key", key)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -94,7 +94,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("type", "multimap")
         .putString("name", name)
         .putValue("key", key);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -136,7 +136,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("type", "multimap")
         .putString("name", name)
         .putValue("key", key);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -179,7 +179,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("name", name)
         .putValue("key", key)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -210,7 +210,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("type", "multimap")
         .putString("name", name)
         .putValue("key", key);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -241,7 +241,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("type", "multimap")
         .putString("name", name)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -273,7 +273,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("name", name)
         .putValue("key", key)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -303,7 +303,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("action", "keys")
         .putString("type", "multimap")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -343,7 +343,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("action", "values")
         .putString("type", "multimap")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -383,7 +383,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("action", "size")
         .putString("type", "multimap")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -413,7 +413,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("action", "empty")
         .putString("type", "multimap")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -448,7 +448,7 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
         .putString("action", "clear")
         .putString("type", "multimap")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -471,4 +471,41 @@ public class DefaultAsyncMultiMap<K, V> extends AsyncDataStructure implements As
     });
   }
 
+  @Override
+  public void putAll(K key, Collection<V> values) {
+    putAll(key, values, null);
+  }
+
+  @Override
+  public void putAll(final K key, final Collection<V> values, final Handler<AsyncResult<Boolean>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "putAll")
+        .putString("type", "multimap")
+        .putString("name", name)
+        .putValue("key", key)
+        .putArray("values", new JsonArray(new ArrayList<Object>(values)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                putAll(key, values, doneHandler);
+              } else {
+                new DefaultFutureResult<Boolean>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Boolean>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Boolean>(result.result().body().getBoolean("result")).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
 }
@@ -15,6 +15,9 @@
  */
 package net.kuujo.vertigo.cluster.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 import net.kuujo.vertigo.cluster.data.AsyncQueue;
 import net.kuujo.vertigo.cluster.data.DataException;
 
@@ -57,7 +60,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
     
     DeploymentOptions deployment=new DeploymentOptions();
     deployment.setMaxWorkerExecuteTime(30000);
-    eventBus.send(address, message, deployment, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.send(localOrGroupAddress(), message, deployment, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -103,7 +106,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("type", "queue")
         .putString("name", name)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -134,7 +137,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("type", "queue")
         .putString("name", name)
         .putValue("value", value);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -164,7 +167,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "size")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -194,7 +197,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "empty")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -229,7 +232,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "clear")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       public void handle(final AsyncResult<Message<JsonObject>> result) {
         if (result.failed()) {
@@ -259,7 +262,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "element")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -290,7 +293,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "peek")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -321,7 +324,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "poll")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -352,7 +355,7 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
         .putString("action", "remove")
         .putString("type", "queue")
         .putString("name", name);
-    eventBus.sendWithTimeout(address, message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
       @Override
       @SuppressWarnings("unchecked")
       public void handle(final AsyncResult<Message<JsonObject>> result) {
@@ -376,4 +379,76 @@ public class DefaultAsyncQueue<T> extends AsyncDataStructure implements AsyncQue
     });
   }
 
+  @Override
+  public void addAll(Collection<T> values) {
+    addAll(values, null);
+  }
+
+  @Override
+  public void addAll(final Collection<T> values, final Handler<AsyncResult<Boolean>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "addAll")
+        .putString("type", "queue")
+        .putString("name", name)
+        .putArray("values", new JsonArray(new ArrayList<Object>(values)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                addAll(values, doneHandler);
+              } else {
+                new DefaultFutureResult<Boolean>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Boolean>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Boolean>(result.result().body().getBoolean("result")).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void removeAll(Collection<T> values) {
+    removeAll(values, null);
+  }
+
+  @Override
+  public void removeAll(final Collection<T> values, final Handler<AsyncResult<Boolean>> doneHandler) {
+    checkAddress();
+    JsonObject message = new JsonObject()
+        .putString("action", "removeAll")
+        .putString("type", "queue")
+        .putString("name", name)
+        .putArray("values", new JsonArray(new ArrayList<Object>(values)));
+    eventBus.sendWithTimeout(localOrGroupAddress(), message, 30000, new Handler<AsyncResult<Message<JsonObject>>>() {
+      @Override
+      public void handle(final AsyncResult<Message<JsonObject>> result) {
+        if (result.failed()) {
+          resetLocalAddress(new Handler<AsyncResult<Boolean>>() {
+            @Override
+            public void handle(AsyncResult<Boolean> resetResult) {
+              if (resetResult.succeeded() && resetResult.result()) {
+                removeAll(values, doneHandler);
+              } else {
+                new DefaultFutureResult<Boolean>(result.cause()).setHandler(doneHandler);
+              }
+            }
+          });
+        } else if (result.result().body().getString("status").equals("error")) {
+          new DefaultFutureResult<Boolean>(new DataException(result.result().body().getString("message"))).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Boolean>(result.result().body().getBoolean("result")).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
 }
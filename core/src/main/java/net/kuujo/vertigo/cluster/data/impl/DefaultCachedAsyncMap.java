@@ -0,0 +1,398 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.data.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.kuujo.vertigo.cluster.data.CachedAsyncMap;
+import net.kuujo.vertigo.cluster.data.MapEvent;
+import net.kuujo.vertigo.cluster.data.ScanResult;
+import net.kuujo.vertigo.cluster.data.WatchableAsyncMap;
+import net.kuujo.vertigo.cluster.data.MapEvent.Type;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+/**
+ * Near-cached asynchronous map.<p>
+ *
+ * Wraps a watchable map with a local LRU cache. Before a key's value is
+ * cached, a watch is registered for changes to the key so that the cached
+ * value can be invalidated when the key changes elsewhere in the cluster.
+ * The watch is removed once the key is invalidated or evicted.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ *
+ * @param <K> The map key type.
+ * @param <V> The map value type.
+ */
+public class DefaultCachedAsyncMap<K, V> implements CachedAsyncMap<K, V> {
+  private final WatchableAsyncMap<K, V> map;
+  private final long ttl;
+  private final Map<K, CacheEntry<V>> cache;
+  private final Map<K, Watcher> watchers = new HashMap<>();
+  private long version;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * @param map The map to cache.
+   * @param maxSize The maximum number of keys to cache.
+   * @param ttl The number of milliseconds for which values are cached. If
+   *        <code>0</code> then values are cached until they're changed or evicted.
+   */
+  public DefaultCachedAsyncMap(WatchableAsyncMap<K, V> map, final int maxSize, long ttl) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("cache size must be at least 1");
+    }
+    if (ttl < 0) {
+      throw new IllegalArgumentException("cache ttl must not be negative");
+    }
+    this.map = map;
+    this.ttl = ttl;
+    this.cache = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+        if (size() > maxSize) {
+          evictionCount++;
+          version++;
+          unwatchKey(eldest.getKey());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public String name() {
+    return map.name();
+  }
+
+  @Override
+  public void put(K key, V value) {
+    put(key, value, null);
+  }
+
+  @Override
+  public void put(K key, V value, Handler<AsyncResult<V>> doneHandler) {
+    invalidate(key);
+    map.put(key, value, doneHandler);
+  }
+
+  @Override
+  public void get(final K key, final Handler<AsyncResult<V>> resultHandler) {
+    CacheEntry<V> entry = cache.get(key);
+    if (entry != null && !entry.isExpired()) {
+      hitCount++;
+      new DefaultFutureResult<V>(entry.value).setHandler(resultHandler);
+      return;
+    }
+
+    missCount++;
+    Watcher watcher = watchers.get(key);
+    if (watcher != null) {
+      // If the watch is still being registered then the value can't be
+      // cached since changes may not be seen until the watch is registered.
+      load(key, watcher.registered, resultHandler);
+    } else {
+      final Watcher newWatcher = new Watcher(key);
+      watchers.put(key, newWatcher);
+      map.watch(key, MapEvent.Type.CHANGE, newWatcher, new Handler<AsyncResult<Void>>() {
+        @Override
+        public void handle(AsyncResult<Void> result) {
+          if (result.succeeded() && watchers.get(key) == newWatcher) {
+            newWatcher.registered = true;
+            load(key, true, resultHandler);
+          } else {
+            if (result.failed() && watchers.get(key) == newWatcher) {
+              watchers.remove(key);
+            }
+            load(key, false, resultHandler);
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Loads a key from the map, caching the value if the key wasn't changed
+   * while it was being loaded.
+   */
+  private void load(final K key, final boolean cacheable, final Handler<AsyncResult<V>> resultHandler) {
+    final long start = version;
+    map.get(key, new Handler<AsyncResult<V>>() {
+      @Override
+      public void handle(AsyncResult<V> result) {
+        if (result.succeeded() && cacheable && version == start) {
+          cache.put(key, new CacheEntry<V>(result.result(), ttl > 0 ? System.currentTimeMillis() + ttl : Long.MAX_VALUE));
+        }
+        if (resultHandler != null) {
+          resultHandler.handle(result);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void remove(K key) {
+    remove(key, null);
+  }
+
+  @Override
+  public void remove(K key, Handler<AsyncResult<V>> resultHandler) {
+    invalidate(key);
+    map.remove(key, resultHandler);
+  }
+
+  @Override
+  public void containsKey(K key, Handler<AsyncResult<Boolean>> resultHandler) {
+    CacheEntry<V> entry = cache.get(key);
+    if (entry != null && !entry.isExpired()) {
+      hitCount++;
+      new DefaultFutureResult<Boolean>(entry.value != null).setHandler(resultHandler);
+    } else {
+      missCount++;
+      map.containsKey(key, resultHandler);
+    }
+  }
+
+  @Override
+  public void keySet(Handler<AsyncResult<Set<K>>> resultHandler) {
+    map.keySet(resultHandler);
+  }
+
+  @Override
+  public void values(Handler<AsyncResult<Collection<V>>> resultHandler) {
+    map.values(resultHandler);
+  }
+
+  @Override
+  public void size(Handler<AsyncResult<Integer>> resultHandler) {
+    map.size(resultHandler);
+  }
+
+  @Override
+  public void isEmpty(Handler<AsyncResult<Boolean>> resultHandler) {
+    map.isEmpty(resultHandler);
+  }
+
+  @Override
+  public void clear() {
+    clear(null);
+  }
+
+  @Override
+  public void clear(Handler<AsyncResult<Void>> doneHandler) {
+    invalidateAll();
+    map.clear(doneHandler);
+  }
+
+  @Override
+  public void putAll(Map<K, V> map) {
+    putAll(map, null);
+  }
+
+  @Override
+  public void putAll(Map<K, V> entries, Handler<AsyncResult<Void>> doneHandler) {
+    for (K key : entries.keySet()) {
+      invalidate(key);
+    }
+    map.putAll(entries, doneHandler);
+  }
+
+  @Override
+  public void getAll(Collection<K> keys, final Handler<AsyncResult<Map<K, V>>> resultHandler) {
+    final Map<K, V> values = new HashMap<>();
+    List<K> missing = new ArrayList<>();
+    for (K key : keys) {
+      CacheEntry<V> entry = cache.get(key);
+      if (entry != null && !entry.isExpired()) {
+        hitCount++;
+        if (entry.value != null) {
+          values.put(key, entry.value);
+        }
+      } else {
+        missCount++;
+        missing.add(key);
+      }
+    }
+
+    if (missing.isEmpty()) {
+      new DefaultFutureResult<Map<K, V>>(values).setHandler(resultHandler);
+    } else {
+      // Missed keys are fetched in a single request but are not cached
+      // since they aren't being watched for changes.
+      map.getAll(missing, new Handler<AsyncResult<Map<K, V>>>() {
+        @Override
+        public void handle(AsyncResult<Map<K, V>> result) {
+          if (result.failed()) {
+            new DefaultFutureResult<Map<K, V>>(result.cause()).setHandler(resultHandler);
+          } else {
+            values.putAll(result.result());
+            new DefaultFutureResult<Map<K, V>>(values).setHandler(resultHandler);
+          }
+        }
+      });
+    }
+  }
+
+  @Override
+  public void removeAll(Collection<K> keys) {
+    removeAll(keys, null);
+  }
+
+  @Override
+  public void removeAll(Collection<K> keys, Handler<AsyncResult<Void>> doneHandler) {
+    for (K key : keys) {
+      invalidate(key);
+    }
+    map.removeAll(keys, doneHandler);
+  }
+
+  @Override
+  public void scan(long cursor, int count, Handler<AsyncResult<ScanResult<Map.Entry<K, V>>>> resultHandler) {
+    map.scan(cursor, count, resultHandler);
+  }
+
+  @Override
+  public void watch(K key, Handler<MapEvent<K, V>> handler) {
+    map.watch(key, handler);
+  }
+
+  @Override
+  public void watch(K key, Handler<MapEvent<K, V>> handler, Handler<AsyncResult<Void>> doneHandler) {
+    map.watch(key, handler, doneHandler);
+  }
+
+  @Override
+  public void watch(K key, Type event, Handler<MapEvent<K, V>> handler) {
+    map.watch(key, event, handler);
+  }
+
+  @Override
+  public void watch(K key, Type event, Handler<MapEvent<K, V>> handler, Handler<AsyncResult<Void>> doneHandler) {
+    map.watch(key, event, handler, doneHandler);
+  }
+
+  @Override
+  public void unwatch(K key, Handler<MapEvent<K, V>> handler) {
+    map.unwatch(key, handler);
+  }
+
+  @Override
+  public void unwatch(K key, Handler<MapEvent<K, V>> handler, Handler<AsyncResult<Void>> doneHandler) {
+    map.unwatch(key, handler, doneHandler);
+  }
+
+  @Override
+  public void unwatch(K key, Type event, Handler<MapEvent<K, V>> handler) {
+    map.unwatch(key, event, handler);
+  }
+
+  @Override
+  public void unwatch(K key, Type event, Handler<MapEvent<K, V>> handler, Handler<AsyncResult<Void>> doneHandler) {
+    map.unwatch(key, event, handler, doneHandler);
+  }
+
+  @Override
+  public void invalidate(K key) {
+    version++;
+    cache.remove(key);
+    unwatchKey(key);
+  }
+
+  @Override
+  public void invalidateAll() {
+    version++;
+    cache.clear();
+    for (K key : new ArrayList<>(watchers.keySet())) {
+      unwatchKey(key);
+    }
+  }
+
+  @Override
+  public long hitCount() {
+    return hitCount;
+  }
+
+  @Override
+  public long missCount() {
+    return missCount;
+  }
+
+  @Override
+  public long evictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Stops watching a key for changes.
+   */
+  private void unwatchKey(K key) {
+    Watcher watcher = watchers.remove(key);
+    if (watcher != null) {
+      map.unwatch(key, MapEvent.Type.CHANGE, watcher);
+    }
+  }
+
+  /**
+   * Invalidates a single cached key when it changes. A separate watcher is
+   * registered for each key so that each key can be unwatched individually.
+   */
+  private class Watcher implements Handler<MapEvent<K, V>> {
+    private final K key;
+    private boolean registered;
+
+    private Watcher(K key) {
+      this.key = key;
+    }
+
+    @Override
+    public void handle(MapEvent<K, V> event) {
+      if (watchers.get(key) == this) {
+        invalidate(key);
+      }
+    }
+  }
+
+  /**
+   * Cached map value.
+   */
+  private static class CacheEntry<V> {
+    private final V value;
+    private final long expires;
+
+    private CacheEntry(V value, long expires) {
+      this.value = value;
+      this.expires = expires;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() >= expires;
+    }
+  }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.data.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.kuujo.vertigo.cluster.data.AsyncCounter;
+import net.kuujo.vertigo.cluster.data.StripedAsyncCounter;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+/**
+ * Striped asynchronous counter.<p>
+ *
+ * Wraps a cluster counter, accumulating updates in a local delta which
+ * is added to the cluster counter on a periodic timer. If a flush fails
+ * then the delta is restored so it can be retried on the next flush.<p>
+ *
+ * Flushes are at-least-once. A flush that times out may still have been
+ * applied by the cluster, in which case restoring and retrying its delta
+ * counts it twice. This suits metrics-style counters, but counters that
+ * must never overcount should use the cluster counter directly.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class DefaultStripedAsyncCounter implements StripedAsyncCounter {
+  private static final Handler<AsyncResult<Void>> NOOP = new Handler<AsyncResult<Void>>() {
+    @Override
+    public void handle(AsyncResult<Void> result) {
+    }
+  };
+  private final AsyncCounter counter;
+  private final Vertx vertx;
+  private final AtomicLong delta = new AtomicLong();
+  private long timerID;
+  private int flushing;
+  private boolean closed;
+  private Handler<AsyncResult<Void>> closeHandler;
+
+  /**
+   * @param counter The cluster counter to which to flush updates.
+   * @param vertx The Vert.x instance.
+   * @param flushInterval The interval in milliseconds at which to flush updates
+   *        to the cluster. If <code>0</code> then updates are only flushed when
+   *        {@link #flush()} is called or a new value is requested.
+   */
+  public DefaultStripedAsyncCounter(AsyncCounter counter, Vertx vertx, long flushInterval) {
+    this.counter = counter;
+    this.vertx = vertx;
+    if (flushInterval > 0) {
+      timerID = vertx.setPeriodic(flushInterval, new Handler<Long>() {
+        @Override
+        public void handle(Long timerID) {
+          flush();
+        }
+      });
+    }
+  }
+
+  @Override
+  public String name() {
+    return counter.name();
+  }
+
+  @Override
+  public long pending() {
+    return delta.get();
+  }
+
+  @Override
+  public void get(final Handler<AsyncResult<Long>> doneHandler) {
+    counter.get(new Handler<AsyncResult<Long>>() {
+      @Override
+      public void handle(AsyncResult<Long> result) {
+        if (result.failed()) {
+          new DefaultFutureResult<Long>(result.cause()).setHandler(doneHandler);
+        } else {
+          new DefaultFutureResult<Long>(result.result() + delta.get()).setHandler(doneHandler);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void increment() {
+    add(1);
+  }
+
+  @Override
+  public void increment(Handler<AsyncResult<Void>> doneHandler) {
+    add(1, doneHandler);
+  }
+
+  @Override
+  public void incrementAndGet(Handler<AsyncResult<Long>> doneHandler) {
+    addAndGet(1, doneHandler);
+  }
+
+  @Override
+  public void decrement() {
+    add(-1);
+  }
+
+  @Override
+  public void decrement(Handler<AsyncResult<Void>> doneHandler) {
+    add(-1, doneHandler);
+  }
+
+  @Override
+  public void decrementAndGet(Handler<AsyncResult<Long>> doneHandler) {
+    addAndGet(-1, doneHandler);
+  }
+
+  @Override
+  public void add(long delta) {
+    add(delta, null);
+  }
+
+  @Override
+  public void add(long delta, Handler<AsyncResult<Void>> doneHandler) {
+    if (closed) {
+      counter.add(delta, doneHandler);
+    } else {
+      this.delta.addAndGet(delta);
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+  }
+
+  @Override
+  public void addAndGet(long delta, final Handler<AsyncResult<Long>> doneHandler) {
+    // Getting the new value requires a round trip anyways, so the entire
+    // local delta is flushed along with the update.
+    final long pending = this.delta.getAndSet(0) + delta;
+    flushing++;
+    counter.addAndGet(pending, new Handler<AsyncResult<Long>>() {
+      @Override
+      public void handle(AsyncResult<Long> result) {
+        flushing--;
+        if (result.failed()) {
+          DefaultStripedAsyncCounter.this.delta.addAndGet(pending);
+        }
+        if (doneHandler != null) {
+          doneHandler.handle(result);
+        }
+        checkClose();
+      }
+    });
+  }
+
+  @Override
+  public void flush() {
+    flush(null);
+  }
+
+  @Override
+  public void flush(final Handler<AsyncResult<Void>> doneHandler) {
+    final long pending = delta.getAndSet(0);
+    if (pending == 0) {
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+      return;
+    }
+
+    flushing++;
+    counter.add(pending, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        flushing--;
+        if (result.failed()) {
+          delta.addAndGet(pending);
+        }
+        if (doneHandler != null) {
+          doneHandler.handle(result);
+        }
+        checkClose();
+      }
+    });
+  }
+
+  /**
+   * Performs the final flush once the last flush in flight at close completes.<p>
+   *
+   * If the counter was closed while flushes were in flight then the final
+   * flush picks up the deltas of any that failed.
+   */
+  private void checkClose() {
+    if (closeHandler != null && flushing == 0) {
+      Handler<AsyncResult<Void>> handler = closeHandler;
+      closeHandler = null;
+      flush(handler);
+    }
+  }
+
+  @Override
+  public void close() {
+    close(null);
+  }
+
+  @Override
+  public void close(final Handler<AsyncResult<Void>> doneHandler) {
+    if (timerID > 0) {
+      vertx.cancelTimer(timerID);
+      timerID = 0;
+    }
+    closed = true;
+    // The final flush waits for flushes that are already in flight so that
+    // a failure of any of them is reported to the close handler.
+    if (flushing > 0) {
+      closeHandler = doneHandler != null ? doneHandler : NOOP;
+    } else {
+      flush(doneHandler);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("StripedAsyncCounter[%s]", counter.name());
+  }
+
+}
@@ -22,6 +22,7 @@ import java.util.Set;
 
 import net.kuujo.vertigo.cluster.data.AsyncMap;
 import net.kuujo.vertigo.cluster.data.MapEvent;
+import net.kuujo.vertigo.cluster.data.ScanResult;
 import net.kuujo.vertigo.cluster.data.WatchableAsyncMap;
 import net.kuujo.vertigo.cluster.data.MapEvent.Type;
 import net.kuujo.vertigo.util.CountingCompletionHandler;
@@ -148,6 +149,96 @@ public class WrappedWatchableAsyncMap<K, V> implements WatchableAsyncMap<K, V> {
     map.clear(doneHandler);
   }
 
+  @Override
+  public void putAll(Map<K, V> map) {
+    putAll(map, null);
+  }
+
+  @Override
+  public void putAll(final Map<K, V> entries, final Handler<AsyncResult<Void>> doneHandler) {
+    // Load the current values first so CREATE and UPDATE events can be distinguished.
+    map.getAll(entries.keySet(), new Handler<AsyncResult<Map<K, V>>>() {
+      @Override
+      public void handle(final AsyncResult<Map<K, V>> getResult) {
+        if (getResult.failed()) {
+          new DefaultFutureResult<Void>(getResult.cause()).setHandler(doneHandler);
+        } else {
+          map.putAll(entries, new Handler<AsyncResult<Void>>() {
+            @Override
+            public void handle(AsyncResult<Void> result) {
+              if (result.succeeded()) {
+                for (Map.Entry<K, V> entry : entries.entrySet()) {
+                  eventBus.publish(String.format("%s.%s.%s", map.name(), entry.getKey(), MapEvent.Type.CHANGE.toString()), new JsonObject()
+                      .putString("type", MapEvent.Type.CHANGE.toString())
+                      .putValue("key", entry.getKey())
+                      .putValue("value", entry.getValue()));
+                  String event = getResult.result().containsKey(entry.getKey()) ? MapEvent.Type.UPDATE.toString() : MapEvent.Type.CREATE.toString();
+                  eventBus.publish(String.format("%s.%s.%s", map.name(), entry.getKey(), event), new JsonObject()
+                      .putString("type", event)
+                      .putValue("key", entry.getKey())
+                      .putValue("value", entry.getValue()));
+                }
+              }
+              if (doneHandler != null) {
+                doneHandler.handle(result);
+              }
+            }
+          });
+        }
+      }
+    });
+  }
+
+  @Override
+  public void getAll(Collection<K> keys, Handler<AsyncResult<Map<K, V>>> resultHandler) {
+    map.getAll(keys, resultHandler);
+  }
+
+  @Override
+  public void removeAll(Collection<K> keys) {
+    removeAll(keys, null);
+  }
+
+  @Override
+  public void removeAll(final Collection<K> keys, final Handler<AsyncResult<Void>> doneHandler) {
+    // Load the current values first so they can be included in DELETE events.
+    map.getAll(keys, new Handler<AsyncResult<Map<K, V>>>() {
+      @Override
+      public void handle(final AsyncResult<Map<K, V>> getResult) {
+        if (getResult.failed()) {
+          new DefaultFutureResult<Void>(getResult.cause()).setHandler(doneHandler);
+        } else {
+          map.removeAll(keys, new Handler<AsyncResult<Void>>() {
+            @Override
+            public void handle(AsyncResult<Void> result) {
+              if (result.succeeded()) {
+                for (K key : keys) {
+                  V value = getResult.result().get(key);
+                  eventBus.publish(String.format("%s.%s.%s", map.name(), key, MapEvent.Type.CHANGE.toString()), new JsonObject()
+                      .putString("type", MapEvent.Type.CHANGE.toString())
+                      .putValue("key", key)
+                      .putValue("value", value));
+                  eventBus.publish(String.format("%s.%s.%s", map.name(), key, MapEvent.Type.DELETE.toString()), new JsonObject()
+                      .putString("type", MapEvent.Type.DELETE.toString())
+                      .putValue("key", key)
+                      .putValue("value", value));
+                }
+              }
+              if (doneHandler != null) {
+                doneHandler.handle(result);
+              }
+            }
+          });
+        }
+      }
+    });
+  }
+
+  @Override
+  public void scan(long cursor, int count, Handler<AsyncResult<ScanResult<Map.Entry<K, V>>>> resultHandler) {
+    map.scan(cursor, count, resultHandler);
+  }
+
   @Override
   public void watch(K key, Handler<MapEvent<K, V>> handler) {
     watch(key, null, handler, null);
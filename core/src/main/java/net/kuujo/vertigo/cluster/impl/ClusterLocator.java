@@ -49,6 +49,8 @@ public class ClusterLocator {
     synchronized (registry) {
       if (!registry.isEmpty()) {
         locateNode(cluster, new HashSet<>(registry), doneHandler);
+      } else {
+        new DefaultFutureResult<String>(new IllegalStateException("No local nodes found")).setHandler(doneHandler);
       }
     }
   }
@@ -75,6 +77,8 @@ public class ClusterLocator {
     synchronized (registry) {
       if (!registry.isEmpty()) {
         locateNode(groupAddress, new HashSet<>(registry), doneHandler);
+      } else {
+        new DefaultFutureResult<String>(new IllegalStateException("No local nodes found")).setHandler(doneHandler);
       }
     }
   }
@@ -32,12 +32,17 @@ import net.kuujo.vertigo.cluster.data.AsyncMap;
 import net.kuujo.vertigo.cluster.data.AsyncMultiMap;
 import net.kuujo.vertigo.cluster.data.AsyncQueue;
 import net.kuujo.vertigo.cluster.data.AsyncSet;
+import net.kuujo.vertigo.cluster.data.CachedAsyncMap;
+import net.kuujo.vertigo.cluster.data.StripedAsyncCounter;
 import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncCounter;
 import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncList;
 import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncMap;
 import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncMultiMap;
 import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncQueue;
 import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncSet;
+import net.kuujo.vertigo.cluster.data.impl.DefaultCachedAsyncMap;
+import net.kuujo.vertigo.cluster.data.impl.DefaultStripedAsyncCounter;
+import net.kuujo.vertigo.cluster.data.impl.WrappedWatchableAsyncMap;
 import net.kuujo.vertigo.component.ComponentConfig;
 import net.kuujo.vertigo.component.ModuleConfig;
 import net.kuujo.vertigo.network.ActiveNetwork;
@@ -858,6 +863,11 @@ public class DefaultCluster implements Cluster {
     return new DefaultAsyncMap<K, V>(address, name, vertx);
   }
 
+  @Override
+  public <K, V> CachedAsyncMap<K, V> getCachedMap(String name, int maxSize, long ttl) {
+    return new DefaultCachedAsyncMap<K, V>(new WrappedWatchableAsyncMap<K, V>(new DefaultAsyncMap<K, V>(address, name, vertx), vertx), maxSize, ttl);
+  }
+
   @Override
   public <K, V> AsyncMultiMap<K, V> getMultiMap(String name) {
     return new DefaultAsyncMultiMap<K, V>(address, name, vertx);
@@ -883,6 +893,11 @@ public class DefaultCluster implements Cluster {
     return new DefaultAsyncCounter(address, name, vertx);
   }
 
+  @Override
+  public StripedAsyncCounter getStripedCounter(String name, long flushInterval) {
+    return new DefaultStripedAsyncCounter(new DefaultAsyncCounter(address, name, vertx), vertx, flushInterval);
+  }
+
   @Override
   public String toString() {
     return String.format("Cluster[%s]", address);
@@ -29,6 +29,8 @@ import com.hazelcast.core.MultiMap;
  */
 interface ClusterData {
 
+  boolean isLocal();
+
   <K, V> MultiMap<K, V> getMultiMap(String name);
 
   <K, V> Map<K, V> getMap(String name);
@@ -39,4 +41,8 @@ interface ClusterData {
 
   <T> Queue<T> getQueue(String name);
 
+  long getCounter(String name);
+
+  long addAndGetCounter(String name, long delta);
+
 }
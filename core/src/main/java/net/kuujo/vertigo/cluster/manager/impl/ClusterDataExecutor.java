@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.manager.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.kuujo.vertigo.util.ContextManager;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.vertx.java.core.impl.DefaultFutureResult;
+import org.vertx.java.core.spi.Action;
+
+/**
+ * Cluster data action executor.<p>
+ *
+ * Actions are partitioned into shards by data structure name. Actions on
+ * the same shard are executed one at a time in the order in which they
+ * were submitted, while separate shards execute concurrently on the worker
+ * pool. If the cluster data is local then actions don't block and are
+ * executed immediately on the calling thread.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+class ClusterDataExecutor {
+  private final Vertx vertx;
+  private final ExecutorService executor;
+  private final boolean local;
+  private final Shard[] shards;
+
+  ClusterDataExecutor(Vertx vertx, ContextManager context, ClusterData data, int shardCount) {
+    this.vertx = vertx;
+    this.executor = context.getExecutorService();
+    this.local = data.isLocal();
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard();
+    }
+  }
+
+  /**
+   * Executes a data action.
+   *
+   * @param name The name of the data structure on which the action operates.
+   * @param action The action to execute.
+   * @param resultHandler A handler to be called with the action result.
+   */
+  public <T> void execute(String name, Action<T> action, Handler<AsyncResult<T>> resultHandler) {
+    if (local) {
+      complete(action, resultHandler);
+    } else {
+      shards[(name.hashCode() & Integer.MAX_VALUE) % shards.length].execute(new Task<T>(action, resultHandler, vertx.getOrCreateContext()));
+    }
+  }
+
+  /**
+   * Performs an action and calls the result handler.
+   */
+  private static <T> void complete(Action<T> action, Handler<AsyncResult<T>> resultHandler) {
+    T result;
+    try {
+      result = action.perform();
+    } catch (Exception e) {
+      new DefaultFutureResult<T>(e).setHandler(resultHandler);
+      return;
+    }
+    new DefaultFutureResult<T>(result).setHandler(resultHandler);
+  }
+
+  /**
+   * A single queued action.
+   */
+  private static class Task<T> implements Runnable {
+    private final Action<T> action;
+    private final Handler<AsyncResult<T>> resultHandler;
+    private final Context context;
+
+    private Task(Action<T> action, Handler<AsyncResult<T>> resultHandler, Context context) {
+      this.action = action;
+      this.resultHandler = resultHandler;
+      this.context = context;
+    }
+
+    @Override
+    public void run() {
+      T value = null;
+      Exception error = null;
+      try {
+        value = action.perform();
+      } catch (Exception e) {
+        error = e;
+      }
+
+      // Results are always handled on the context from which the action was submitted.
+      final T result = value;
+      final Exception cause = error;
+      context.runOnContext(new Handler<Void>() {
+        @Override
+        public void handle(Void event) {
+          if (cause != null) {
+            new DefaultFutureResult<T>(cause).setHandler(resultHandler);
+          } else {
+            new DefaultFutureResult<T>(result).setHandler(resultHandler);
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * A serial queue of actions.
+   */
+  private class Shard implements Runnable {
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private void execute(Runnable task) {
+      tasks.add(task);
+      if (running.compareAndSet(false, true)) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+          task.run();
+        }
+        running.set(false);
+        // A task may have been queued after the queue was drained but before
+        // the shard was marked as stopped, so check again before exiting.
+      } while (!tasks.isEmpty() && running.compareAndSet(false, true));
+    }
+  }
+
+}
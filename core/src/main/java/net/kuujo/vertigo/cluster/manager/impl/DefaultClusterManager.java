@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -67,6 +68,7 @@ public class DefaultClusterManager implements ClusterManager {
   private final PlatformManager platform;
   private final ClusterListener listener;
   private final ClusterData data;
+  private final ClusterDataExecutor executor;
   private final Set<String> registry;
   private final MultiMap<String, String> nodes;
   private final MultiMap<String, String> groups;
@@ -135,6 +137,9 @@ public class DefaultClusterManager implements ClusterManager {
                   case "decrement":
                     doCounterDecrement(message);
                     break;
+                  case "add":
+                    doCounterAdd(message);
+                    break;
                   case "get":
                     doCounterGet(message);
                     break;
@@ -148,6 +153,9 @@ public class DefaultClusterManager implements ClusterManager {
                   case "put":
                     doMultiMapPut(message);
                     break;
+                  case "putAll":
+                    doMultiMapPutAll(message);
+                    break;
                   case "get":
                     doMultiMapGet(message);
                     break;
@@ -179,12 +187,21 @@ public class DefaultClusterManager implements ClusterManager {
                   case "put":
                     doMapPut(message);
                     break;
+                  case "putAll":
+                    doMapPutAll(message);
+                    break;
                   case "get":
                     doMapGet(message);
                     break;
+                  case "getAll":
+                    doMapGetAll(message);
+                    break;
                   case "remove":
                     doMapRemove(message);
                     break;
+                  case "removeAll":
+                    doMapRemoveAll(message);
+                    break;
                   case "contains":
                     doMapContainsKey(message);
                     break;
@@ -203,6 +220,9 @@ public class DefaultClusterManager implements ClusterManager {
                   case "size":
                     doMapSize(message);
                     break;
+                  case "scan":
+                    doMapScan(message);
+                    break;
                   default:
                     message.reply(new JsonObject().putString("status", "error").putString("message", "Invalid action " + action));
                     break;
@@ -213,12 +233,18 @@ public class DefaultClusterManager implements ClusterManager {
                   case "add":
                     doListAdd(message);
                     break;
+                  case "addAll":
+                    doListAddAll(message);
+                    break;
                   case "get":
                     doListGet(message);
                     break;
                   case "remove":
                     doListRemove(message);
                     break;
+                  case "removeAll":
+                    doListRemoveAll(message);
+                    break;
                   case "contains":
                     doListContains(message);
                     break;
@@ -231,6 +257,9 @@ public class DefaultClusterManager implements ClusterManager {
                   case "clear":
                     doListClear(message);
                     break;
+                  case "scan":
+                    doListScan(message);
+                    break;
                   default:
                     message.reply(new JsonObject().putString("status", "error").putString("message", "Invalid action " + action));
                     break;
@@ -241,9 +270,15 @@ public class DefaultClusterManager implements ClusterManager {
                   case "add":
                     doSetAdd(message);
                     break;
+                  case "addAll":
+                    doSetAddAll(message);
+                    break;
                   case "remove":
                     doSetRemove(message);
                     break;
+                  case "removeAll":
+                    doSetRemoveAll(message);
+                    break;
                   case "contains":
                     doSetContains(message);
                     break;
@@ -256,6 +291,9 @@ public class DefaultClusterManager implements ClusterManager {
                   case "clear":
                     doSetClear(message);
                     break;
+                  case "scan":
+                    doSetScan(message);
+                    break;
                   default:
                     message.reply(new JsonObject().putString("status", "error").putString("message", "Invalid action " + action));
                     break;
@@ -266,9 +304,15 @@ public class DefaultClusterManager implements ClusterManager {
                   case "add":
                     doQueueAdd(message);
                     break;
+                  case "addAll":
+                    doQueueAddAll(message);
+                    break;
                   case "remove":
                     doQueueRemove(message);
                     break;
+                  case "removeAll":
+                    doQueueRemoveAll(message);
+                    break;
                   case "contains":
                     doQueueContains(message);
                     break;
@@ -342,6 +386,7 @@ public class DefaultClusterManager implements ClusterManager {
     this.platform = platform;
     this.listener = listener;
     this.data = data;
+    this.executor = new ClusterDataExecutor(vertx, context, data, Runtime.getRuntime().availableProcessors());
     this.registry = vertx.sharedData().getSet(cluster);
     this.nodes = data.getMultiMap(String.format("nodes.%s", cluster));
     this.groups = data.getMultiMap(String.format("groups.%s", cluster));
@@ -444,6 +489,13 @@ public class DefaultClusterManager implements ClusterManager {
     return String.format("%s.%s", cluster, key);
   }
 
+  /**
+   * Formats a counter key.
+   */
+  private String formatCounterKey(String name) {
+    return formatKey(String.format("counters.%s", name));
+  }
+
   /**
    * Called when a node joins the cluster.
    */
@@ -1337,7 +1389,7 @@ public class DefaultClusterManager implements ClusterManager {
 
     final Object value = message.body().getValue("value");
 
-    context.execute(new Action<Void>() {
+    executor.execute(key, new Action<Void>() {
       @Override
       public Void perform() {
         data.getMap(formatKey("keys")).put(key, value);
@@ -1365,7 +1417,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(key, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getMap(formatKey("keys")).get(key);
@@ -1392,7 +1444,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Void>() {
+    executor.execute(key, new Action<Void>() {
       @Override
       public Void perform() {
         data.getMap(formatKey("keys")).remove(key);
@@ -1420,15 +1472,10 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Long>() {
+    executor.execute(name, new Action<Long>() {
       @Override
       public Long perform() {
-        Map<Object, Long> counters = data.getMap(formatKey("counters"));
-        Long value = counters.get(name);
-        if (value == null) {
-          value = 0L;
-        }
-        return value;
+        return data.getCounter(formatCounterKey(name));
       }
     }, new Handler<AsyncResult<Long>>() {
       @Override
@@ -1452,17 +1499,10 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Long>() {
+    executor.execute(name, new Action<Long>() {
       @Override
       public Long perform() {
-        Map<Object, Long> counters = data.getMap(formatKey("counters"));
-        Long value = counters.get(name);
-        if (value == null) {
-          value = 0L;
-        }
-        value++;
-        counters.put(name, value);
-        return value;
+        return data.addAndGetCounter(formatCounterKey(name), 1);
       }
     }, new Handler<AsyncResult<Long>>() {
       @Override
@@ -1486,17 +1526,43 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Long>() {
+    executor.execute(name, new Action<Long>() {
       @Override
       public Long perform() {
-        Map<Object, Long> counters = data.getMap(formatKey("counters"));
-        Long value = counters.get(name);
-        if (value == null) {
-          value = 0L;
+        return data.addAndGetCounter(formatCounterKey(name), -1);
+      }
+    }, new Handler<AsyncResult<Long>>() {
+      @Override
+      public void handle(AsyncResult<Long> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putNumber("result", result.result()));
         }
-        value--;
-        counters.put(name, value);
-        return value;
+      }
+    });
+  }
+
+  /**
+   * Handles adding a delta to a counter.
+   */
+  private void doCounterAdd(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final Long delta = message.body().getLong("delta");
+    if (delta == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No delta specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Long>() {
+      @Override
+      public Long perform() {
+        return data.addAndGetCounter(formatCounterKey(name), delta);
       }
     }, new Handler<AsyncResult<Long>>() {
       @Override
@@ -1532,7 +1598,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getMultiMap(formatKey(name)).put(key, value);
@@ -1565,7 +1631,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Collection<Object>>() {
+    executor.execute(name, new Action<Collection<Object>>() {
       @Override
       public Collection<Object> perform() {
         return data.getMultiMap(formatKey(name)).get(key);
@@ -1600,7 +1666,7 @@ public class DefaultClusterManager implements ClusterManager {
 
     final Object value = message.body().getValue("value");
     if (value != null) {
-      context.execute(new Action<Boolean>() {
+      executor.execute(name, new Action<Boolean>() {
         @Override
         public Boolean perform() {
           return data.getMultiMap(formatKey(name)).remove(key, value);
@@ -1616,7 +1682,7 @@ public class DefaultClusterManager implements ClusterManager {
         }
       });
     } else {
-      context.execute(new Action<Collection<Object>>() {
+      executor.execute(name, new Action<Collection<Object>>() {
         @Override
         public Collection<Object> perform() {
           return data.getMultiMap(formatKey(name)).remove(key);
@@ -1648,7 +1714,7 @@ public class DefaultClusterManager implements ClusterManager {
     final Object value = message.body().getValue("value");
 
     if (key != null && value != null) {
-      context.execute(new Action<Boolean>() {
+      executor.execute(name, new Action<Boolean>() {
         @Override
         public Boolean perform() {
           return data.getMultiMap(formatKey(name)).containsEntry(key, value);
@@ -1664,7 +1730,7 @@ public class DefaultClusterManager implements ClusterManager {
         }
       });
     } else if (key != null) {
-      context.execute(new Action<Boolean>() {
+      executor.execute(name, new Action<Boolean>() {
         @Override
         public Boolean perform() {
           return data.getMultiMap(formatKey(name)).containsKey(key);
@@ -1680,7 +1746,7 @@ public class DefaultClusterManager implements ClusterManager {
         }
       });
     } else if (value != null) {
-      context.execute(new Action<Boolean>() {
+      executor.execute(name, new Action<Boolean>() {
         @Override
         public Boolean perform() {
           return data.getMultiMap(formatKey(name)).containsValue(key);
@@ -1710,7 +1776,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Set<Object>>() {
+    executor.execute(name, new Action<Set<Object>>() {
       @Override
       public Set<Object> perform() {
         return data.getMultiMap(formatKey(name)).keySet();
@@ -1737,7 +1803,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Collection<Object>>() {
+    executor.execute(name, new Action<Collection<Object>>() {
       @Override
       public Collection<Object> perform() {
         return data.getMultiMap(formatKey(name)).values();
@@ -1764,7 +1830,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getMultiMap(formatKey(name)).size() == 0;
@@ -1791,7 +1857,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Integer>() {
+    executor.execute(name, new Action<Integer>() {
       @Override
       public Integer perform() {
         return data.getMultiMap(formatKey(name)).size();
@@ -1818,7 +1884,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Void>() {
+    executor.execute(name, new Action<Void>() {
       @Override
       public Void perform() {
         data.getMultiMap(formatKey(name)).clear();
@@ -1836,6 +1902,50 @@ public class DefaultClusterManager implements ClusterManager {
     });
   }
 
+  /**
+   * Handles a cluster multi-map put all command.
+   */
+  private void doMultiMapPutAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final Object key = message.body().getValue("key");
+    if (key == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No key specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        MultiMap<Object, Object> map = data.getMultiMap(formatKey(name));
+        boolean changed = false;
+        for (Object value : values) {
+          changed = map.put(key, value) || changed;
+        }
+        return changed;
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
   /**
    * Handles a cluster map put command.
    */
@@ -1858,7 +1968,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getMap(formatKey(name)).put(key, value);
@@ -1891,7 +2001,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getMap(formatKey(name)).get(key);
@@ -1924,7 +2034,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getMap(formatKey(name)).remove(key);
@@ -1957,7 +2067,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getMap(formatKey(name)).containsKey(key);
@@ -1984,7 +2094,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Set<Object>>() {
+    executor.execute(name, new Action<Set<Object>>() {
       @Override
       public Set<Object> perform() {
         return data.getMap(formatKey(name)).keySet();
@@ -2011,7 +2121,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Collection<Object>>() {
+    executor.execute(name, new Action<Collection<Object>>() {
       @Override
       public Collection<Object> perform() {
         return data.getMap(formatKey(name)).values();
@@ -2038,7 +2148,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getMap(formatKey(name)).isEmpty();
@@ -2065,7 +2175,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Integer>() {
+    executor.execute(name, new Action<Integer>() {
       @Override
       public Integer perform() {
         return data.getMap(formatKey(name)).size();
@@ -2092,7 +2202,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Void>() {
+    executor.execute(name, new Action<Void>() {
       @Override
       public Void perform() {
         data.getMap(formatKey(name)).clear();
@@ -2110,6 +2220,166 @@ public class DefaultClusterManager implements ClusterManager {
     });
   }
 
+  /**
+   * Handles a cluster map put all command.
+   */
+  private void doMapPutAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray entries = message.body().getArray("entries");
+    if (entries == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No entries specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Void>() {
+      @Override
+      public Void perform() {
+        Map<Object, Object> map = data.getMap(formatKey(name));
+        for (Object entry : entries) {
+          map.put(((JsonObject) entry).getValue("key"), ((JsonObject) entry).getValue("value"));
+        }
+        return null;
+      }
+    }, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok"));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a cluster map get all command.
+   */
+  private void doMapGetAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray keys = message.body().getArray("keys");
+    if (keys == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No keys specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<JsonArray>() {
+      @Override
+      public JsonArray perform() {
+        Map<Object, Object> map = data.getMap(formatKey(name));
+        JsonArray entries = new JsonArray();
+        for (Object key : keys) {
+          Object value = map.get(key);
+          if (value != null) {
+            entries.addObject(new JsonObject().putValue("key", key).putValue("value", value));
+          }
+        }
+        return entries;
+      }
+    }, new Handler<AsyncResult<JsonArray>>() {
+      @Override
+      public void handle(AsyncResult<JsonArray> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putArray("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a cluster map remove all command.
+   */
+  private void doMapRemoveAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray keys = message.body().getArray("keys");
+    if (keys == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No keys specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Void>() {
+      @Override
+      public Void perform() {
+        Map<Object, Object> map = data.getMap(formatKey(name));
+        for (Object key : keys) {
+          map.remove(key);
+        }
+        return null;
+      }
+    }, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok"));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a cluster map scan command.
+   */
+  private void doMapScan(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final long cursor = message.body().getLong("cursor", 0);
+    final int count = message.body().getInteger("count", 0);
+    if (cursor < 0 || count <= 0) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "Invalid scan cursor or count."));
+      return;
+    }
+
+    executor.execute(name, new Action<ScanPage>() {
+      @Override
+      public ScanPage perform() {
+        Map<Object, Object> map = data.getMap(formatKey(name));
+        // Only the keys are scanned, and values are then read for the keys
+        // on the page rather than pulling every entry on every page.
+        ScanPage keys = scan(map.keySet(), cursor, count);
+        JsonArray entries = new JsonArray();
+        for (Object key : keys.values) {
+          Object value = map.get(key);
+          if (value != null) {
+            entries.addObject(new JsonObject().putValue("key", key).putValue("value", value));
+          }
+        }
+        return new ScanPage(keys.cursor, entries);
+      }
+    }, new Handler<AsyncResult<ScanPage>>() {
+      @Override
+      public void handle(AsyncResult<ScanPage> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putNumber("cursor", result.result().cursor).putArray("result", result.result().values));
+        }
+      }
+    });
+  }
+
   /**
    * Handles a list addition.
    */
@@ -2126,7 +2396,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getList(formatKey(name)).add(value);
@@ -2159,7 +2429,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getList(formatKey(name)).get(index);
@@ -2189,7 +2459,7 @@ public class DefaultClusterManager implements ClusterManager {
     if (message.body().containsField("index")) {
       final int index = message.body().getInteger("index");
 
-      context.execute(new Action<Object>() {
+      executor.execute(name, new Action<Object>() {
         @Override
         public Object perform() {
           return data.getList(formatKey(name)).remove(index);
@@ -2209,7 +2479,7 @@ public class DefaultClusterManager implements ClusterManager {
       if (value == null) {
         message.reply(new JsonObject().putString("status", "error").putString("message", "No value specified."));
       } else {
-        context.execute(new Action<Boolean>() {
+        executor.execute(name, new Action<Boolean>() {
           @Override
           public Boolean perform() {
             return data.getList(formatKey(name)).remove(value);
@@ -2244,7 +2514,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getList(formatKey(name)).contains(value);
@@ -2271,7 +2541,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getList(formatKey(name)).isEmpty();
@@ -2298,7 +2568,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Integer>() {
+    executor.execute(name, new Action<Integer>() {
       @Override
       public Integer perform() {
         return data.getList(formatKey(name)).size();
@@ -2325,7 +2595,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Void>() {
+    executor.execute(name, new Action<Void>() {
       @Override
       public Void perform() {
         data.getList(formatKey(name)).clear();
@@ -2343,6 +2613,113 @@ public class DefaultClusterManager implements ClusterManager {
     });
   }
 
+  /**
+   * Handles a list add all command.
+   */
+  private void doListAddAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        return data.getList(formatKey(name)).addAll(values.toList());
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a list remove all command.
+   */
+  private void doListRemoveAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        return data.getList(formatKey(name)).removeAll(values.toList());
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a list scan command.
+   */
+  private void doListScan(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final long cursor = message.body().getLong("cursor", 0);
+    final int count = message.body().getInteger("count", 0);
+    if (cursor < 0 || count <= 0) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "Invalid scan cursor or count."));
+      return;
+    }
+
+    executor.execute(name, new Action<ScanPage>() {
+      @Override
+      public ScanPage perform() {
+        List<Object> list = data.getList(formatKey(name));
+        JsonArray values = new JsonArray();
+        int size = list.size();
+        long index = cursor;
+        while (index < size && values.size() < count) {
+          values.add(list.get((int) index++));
+        }
+        return new ScanPage(index < size ? index : 0, values);
+      }
+    }, new Handler<AsyncResult<ScanPage>>() {
+      @Override
+      public void handle(AsyncResult<ScanPage> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putNumber("cursor", result.result().cursor).putArray("result", result.result().values));
+        }
+      }
+    });
+  }
+
   /**
    * Handles a set addition.
    */
@@ -2359,7 +2736,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getSet(formatKey(name)).add(value);
@@ -2390,7 +2767,7 @@ public class DefaultClusterManager implements ClusterManager {
     if (value == null) {
       message.reply(new JsonObject().putString("status", "error").putString("message", "No value specified."));
     } else {
-      context.execute(new Action<Boolean>() {
+      executor.execute(name, new Action<Boolean>() {
         @Override
         public Boolean perform() {
           return data.getSet(formatKey(name)).remove(value);
@@ -2424,7 +2801,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getSet(formatKey(name)).contains(value);
@@ -2451,7 +2828,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getSet(formatKey(name)).isEmpty();
@@ -2478,7 +2855,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Integer>() {
+    executor.execute(name, new Action<Integer>() {
       @Override
       public Integer perform() {
         return data.getSet(formatKey(name)).size();
@@ -2505,7 +2882,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Void>() {
+    executor.execute(name, new Action<Void>() {
       @Override
       public Void perform() {
         data.getSet(formatKey(name)).clear();
@@ -2523,6 +2900,107 @@ public class DefaultClusterManager implements ClusterManager {
     });
   }
 
+  /**
+   * Handles a set add all command.
+   */
+  private void doSetAddAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        return data.getSet(formatKey(name)).addAll(values.toList());
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a set remove all command.
+   */
+  private void doSetRemoveAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        return data.getSet(formatKey(name)).removeAll(values.toList());
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a set scan command.
+   */
+  private void doSetScan(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final long cursor = message.body().getLong("cursor", 0);
+    final int count = message.body().getInteger("count", 0);
+    if (cursor < 0 || count <= 0) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "Invalid scan cursor or count."));
+      return;
+    }
+
+    executor.execute(name, new Action<ScanPage>() {
+      @Override
+      public ScanPage perform() {
+        Set<Object> set = data.getSet(formatKey(name));
+        return scan(set, cursor, count);
+      }
+    }, new Handler<AsyncResult<ScanPage>>() {
+      @Override
+      public void handle(AsyncResult<ScanPage> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putNumber("cursor", result.result().cursor).putArray("result", result.result().values));
+        }
+      }
+    });
+  }
+
   /**
    * Handles a queue addition.
    */
@@ -2539,7 +3017,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getQueue(formatKey(name)).add(value);
@@ -2571,7 +3049,7 @@ public class DefaultClusterManager implements ClusterManager {
       message.reply(new JsonObject().putString("status", "error").putString("message", "No value specified."));
     } else {
 
-      context.execute(new Action<Boolean>() {
+      executor.execute(name, new Action<Boolean>() {
         @Override
         public Boolean perform() {
           return data.getQueue(formatKey(name)).remove(value);
@@ -2605,7 +3083,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getQueue(formatKey(name)).contains(value);
@@ -2632,7 +3110,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getQueue(formatKey(name)).isEmpty();
@@ -2659,7 +3137,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Integer>() {
+    executor.execute(name, new Action<Integer>() {
       @Override
       public Integer perform() {
         return data.getQueue(formatKey(name)).size();
@@ -2686,7 +3164,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Void>() {
+    executor.execute(name, new Action<Void>() {
       @Override
       public Void perform() {
         data.getQueue(formatKey(name)).clear();
@@ -2720,7 +3198,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Boolean>() {
+    executor.execute(name, new Action<Boolean>() {
       @Override
       public Boolean perform() {
         return data.getQueue(formatKey(name)).offer(value);
@@ -2747,7 +3225,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getQueue(formatKey(name)).element();
@@ -2774,7 +3252,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getQueue(formatKey(name)).poll();
@@ -2801,7 +3279,7 @@ public class DefaultClusterManager implements ClusterManager {
       return;
     }
 
-    context.execute(new Action<Object>() {
+    executor.execute(name, new Action<Object>() {
       @Override
       public Object perform() {
         return data.getQueue(formatKey(name)).peek();
@@ -2818,6 +3296,170 @@ public class DefaultClusterManager implements ClusterManager {
     });
   }
 
+  /**
+   * Handles a queue add all command.
+   */
+  private void doQueueAddAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        // Local shared data queues don't support bulk operations, so values
+        // are applied one at a time within the single request.
+        Collection<Object> queue = data.getQueue(formatKey(name));
+        boolean changed = false;
+        for (Object value : values) {
+          changed = queue.add(value) || changed;
+        }
+        return changed;
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles a queue remove all command.
+   */
+  private void doQueueRemoveAll(final Message<JsonObject> message) {
+    final String name = message.body().getString("name");
+    if (name == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No name specified."));
+      return;
+    }
+
+    final JsonArray values = message.body().getArray("values");
+    if (values == null) {
+      message.reply(new JsonObject().putString("status", "error").putString("message", "No values specified."));
+      return;
+    }
+
+    executor.execute(name, new Action<Boolean>() {
+      @Override
+      public Boolean perform() {
+        // Local shared data queues don't support bulk operations, so values
+        // are applied one at a time within the single request.
+        Collection<Object> queue = data.getQueue(formatKey(name));
+        boolean changed = false;
+        for (Object value : values) {
+          changed = queue.remove(value) || changed;
+        }
+        return changed;
+      }
+    }, new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        if (result.failed()) {
+          message.reply(new JsonObject().putString("status", "error").putString("message", result.cause().getMessage()));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putBoolean("result", result.result()));
+        }
+      }
+    });
+  }
+
+  /**
+   * Reads a single page of keys.<p>
+   *
+   * Keys are scanned in the order of their {@link #scanPosition(Object) scan
+   * positions}, and the returned cursor is the position of the last key on the
+   * page. Since positions depend only on the keys themselves, any node can serve
+   * the next page, and a key that is present for the entire scan is returned
+   * exactly once regardless of which other keys are added or removed. Keys that
+   * are added or removed during the scan may or may not be returned.<p>
+   *
+   * Neither Hazelcast nor shared data expose a native cursor, so each page
+   * still iterates over every key. Keys that share a position are always
+   * returned on the same page, so a page may hold more than <code>count</code>
+   * keys when positions collide.
+   */
+  private static ScanPage scan(Iterable<?> keys, long cursor, int count) {
+    TreeMap<Long, List<Object>> page = new TreeMap<>();
+    int size = 0;
+    boolean more = false;
+    for (Object key : keys) {
+      long position = scanPosition(key);
+      if (position <= cursor) {
+        continue;
+      }
+      if (size >= count && position > page.lastKey()) {
+        more = true;
+        continue;
+      }
+
+      List<Object> bucket = page.get(position);
+      if (bucket == null) {
+        bucket = new ArrayList<>(1);
+        page.put(position, bucket);
+      }
+      bucket.add(key);
+      size++;
+
+      // Drop the last positions for as long as the page stays full without them.
+      while (size - page.lastEntry().getValue().size() >= count) {
+        size -= page.pollLastEntry().getValue().size();
+        more = true;
+      }
+    }
+
+    JsonArray values = new JsonArray();
+    for (List<Object> bucket : page.values()) {
+      for (Object key : bucket) {
+        values.add(key);
+      }
+    }
+    return new ScanPage(more ? page.lastKey() : 0, values);
+  }
+
+  /**
+   * Returns the position of a key in a scan.<p>
+   *
+   * Positions are a 64-bit FNV-1a hash of the key's string form, so every node
+   * agrees on them. Positions are always positive since <code>0</code> is the
+   * cursor with which scans begin and end.
+   */
+  private static long scanPosition(Object key) {
+    String value = String.valueOf(key);
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash &= Long.MAX_VALUE;
+    return hash != 0 ? hash : 1;
+  }
+
+  /**
+   * A page of scanned values.
+   */
+  private static class ScanPage {
+    private final long cursor;
+    private final JsonArray values;
+
+    private ScanPage(long cursor, JsonArray values) {
+      this.cursor = cursor;
+      this.values = values;
+    }
+  }
+
   @Override
   public String toString() {
     return String.format("ClusterManager[%s]", cluster);
@@ -35,6 +35,11 @@ class HazelcastClusterData implements ClusterData {
     this.hazelcast = hazelcast;
   }
 
+  @Override
+  public boolean isLocal() {
+    return false;
+  }
+
   @Override
   public <K, V> MultiMap<K, V> getMultiMap(String name) {
     return hazelcast.getMultiMap(name);
@@ -60,4 +65,14 @@ class HazelcastClusterData implements ClusterData {
     return hazelcast.getQueue(name);
   }
 
+  @Override
+  public long getCounter(String name) {
+    return hazelcast.getAtomicLong(name).get();
+  }
+
+  @Override
+  public long addAndGetCounter(String name, long delta) {
+    return hazelcast.getAtomicLong(name).addAndGet(delta);
+  }
+
 }
@@ -25,6 +25,7 @@ import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.MultiMap;
@@ -32,6 +33,7 @@ import com.hazelcast.monitor.LocalMultiMapStats;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
+import io.vertx.core.shareddata.Shareable;
 
 /**
  * Vert.x based cluster data.
@@ -45,6 +47,11 @@ class VertxClusterData implements ClusterData {
 		this.vertx = vertx;
 	}
 
+	@Override
+	public boolean isLocal() {
+		return true;
+	}
+
 	@Override
 	public <K, V> MultiMap<K, V> getMultiMap(String name) {
 		return new SharedDataMultiMap<K, V>(vertx.sharedData().<K, String>getLocalMap(String.format("__map.%s", name)));
@@ -66,6 +73,41 @@ class VertxClusterData implements ClusterData {
 				vertx.sharedData().<Integer, Object>getLocalMap(String.format("__queue.%s", name)));
 	}
 
+	@Override
+	public long getCounter(String name) {
+		return getAtomicCounter(name).get();
+	}
+
+	@Override
+	public long addAndGetCounter(String name, long delta) {
+		return getAtomicCounter(name).addAndGet(delta);
+	}
+
+	/**
+	 * Gets or creates a shared atomic counter.
+	 */
+	private SharedCounter getAtomicCounter(String name) {
+		Map<String, SharedCounter> counters = vertx.sharedData().getLocalMap("__counters");
+		SharedCounter counter = counters.get(name);
+		if (counter == null) {
+			synchronized (counters) {
+				counter = counters.get(name);
+				if (counter == null) {
+					counter = new SharedCounter();
+					counters.put(name, counter);
+				}
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Atomic counter that can be stored in shared data without being copied.
+	 */
+	private static class SharedCounter extends AtomicLong implements Shareable {
+		private static final long serialVersionUID = 1L;
+	}
+
 	private static class SharedDataMultiMap<K, V> implements MultiMap<K, V> {
 		private final Map<K, String> map;
 
@@ -16,11 +16,13 @@
 package net.kuujo.vertigo.component;
 
 import java.util.List;
+import java.util.Map;
 
 import net.kuujo.vertigo.Config;
 import net.kuujo.vertigo.component.impl.DefaultModuleConfig;
 import net.kuujo.vertigo.component.impl.DefaultVerticleConfig;
 import net.kuujo.vertigo.hook.ComponentHook;
+import net.kuujo.vertigo.io.codec.MessageCodec;
 
 import io.vertx.core.json.JsonObject;
 
@@ -93,6 +95,13 @@ public interface ComponentConfig<T extends ComponentConfig<T>> extends Config<T>
    */
   public static final String COMPONENT_HOOKS = "hooks";
 
+  /**
+   * <code>codecs</code> is an object mapping message type class names to the
+   * class names of the {@link MessageCodec} with which the component serializes
+   * messages of that type. Component codecs override network level codecs.
+   */
+  public static final String COMPONENT_CODECS = "codecs";
+
   /**
    * Component type.
    *
@@ -180,6 +189,28 @@ public interface ComponentConfig<T extends ComponentConfig<T>> extends Config<T>
    */
   T setInstances(int instances);
 
+  /**
+   * Sets the routing weight of a component instance.<p>
+   *
+   * Weighted selectors send each instance a share of messages proportional
+   * to its weight. A weight of <code>0</code> indicates that the weight
+   * should be the number of processors available on the node to which the
+   * instance is deployed.
+   *
+   * @param instance The instance number, starting at <code>1</code>.
+   * @param weight The instance weight.
+   * @return The component configuration.
+   */
+  T setInstanceWeight(int instance, int weight);
+
+  /**
+   * Returns the routing weight of a component instance.
+   *
+   * @param instance The instance number, starting at <code>1</code>.
+   * @return The instance weight. Defaults to <code>1</code>.
+   */
+  int getInstanceWeight(int instance);
+
   /**
    * Sets the component deployment group.
    *
@@ -210,4 +241,31 @@ public interface ComponentConfig<T extends ComponentConfig<T>> extends Config<T>
    */
   List<ComponentHook> getHooks();
 
+  /**
+   * Registers a message codec for a message type.<p>
+   *
+   * The codec will be used to serialize values of the given type and its
+   * subtypes that are sent by the component.
+   *
+   * @param type The message type.
+   * @param codec The message codec class.
+   * @return The component configuration.
+   */
+  T addCodec(Class<?> type, Class<? extends MessageCodec> codec);
+
+  /**
+   * Unregisters the message codec for a message type.
+   *
+   * @param type The message type.
+   * @return The component configuration.
+   */
+  T removeCodec(Class<?> type);
+
+  /**
+   * Returns the component level message codecs.
+   *
+   * @return A map of message type class names to message codec class names.
+   */
+  Map<String, String> getCodecs();
+
 }
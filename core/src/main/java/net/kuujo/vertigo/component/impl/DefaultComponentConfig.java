@@ -22,6 +22,7 @@ import java.util.Map;
 
 import net.kuujo.vertigo.component.ComponentConfig;
 import net.kuujo.vertigo.hook.ComponentHook;
+import net.kuujo.vertigo.io.codec.MessageCodec;
 import net.kuujo.vertigo.util.Args;
 
 import io.vertx.core.json.JsonObject;
@@ -35,12 +36,15 @@ import io.vertx.core.json.JsonObject;
  */
 public abstract class DefaultComponentConfig<T extends ComponentConfig<T>> implements ComponentConfig<T> {
   private static final int DEFAULT_NUM_INSTANCES = 1;
+  private static final int DEFAULT_INSTANCE_WEIGHT = 1;
 
   private String name;
   private Map<String, Object> config;
   private int instances = DEFAULT_NUM_INSTANCES;
   private String group;
+  private Map<String, Integer> weights = new HashMap<>();
   private List<ComponentHook> hooks = new ArrayList<>();
+  private Map<String, String> codecs = new HashMap<>();
 
   @Override
   public String getName() {
@@ -81,6 +85,21 @@ public abstract class DefaultComponentConfig<T extends ComponentConfig<T>> imple
     return (T) this;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public T setInstanceWeight(int instance, int weight) {
+    Args.checkPositive(instance, "instance must be a positive number");
+    Args.checkPositive(weight, "weight must not be negative");
+    weights.put(String.valueOf(instance), weight);
+    return (T) this;
+  }
+
+  @Override
+  public int getInstanceWeight(int instance) {
+    Integer weight = weights.get(String.valueOf(instance));
+    return weight != null ? weight : DEFAULT_INSTANCE_WEIGHT;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public T setGroup(String group) {
@@ -107,4 +126,25 @@ public abstract class DefaultComponentConfig<T extends ComponentConfig<T>> imple
     return hooks;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public T addCodec(Class<?> type, Class<? extends MessageCodec> codec) {
+    Args.checkNotNull(type, "message type cannot be null");
+    Args.checkNotNull(codec, "message codec cannot be null");
+    codecs.put(type.getName(), codec.getName());
+    return (T) this;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T removeCodec(Class<?> type) {
+    codecs.remove(type.getName());
+    return (T) this;
+  }
+
+  @Override
+  public Map<String, String> getCodecs() {
+    return codecs;
+  }
+
 }
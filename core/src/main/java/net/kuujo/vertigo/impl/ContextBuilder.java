@@ -40,6 +40,7 @@ import net.kuujo.vertigo.io.port.InputPortContext;
 import net.kuujo.vertigo.io.port.OutputPortContext;
 import net.kuujo.vertigo.io.port.impl.DefaultInputPortContext;
 import net.kuujo.vertigo.io.port.impl.DefaultOutputPortContext;
+import net.kuujo.vertigo.io.selector.AllSelector;
 import net.kuujo.vertigo.io.stream.impl.DefaultOutputStreamContext;
 import net.kuujo.vertigo.network.MalformedNetworkException;
 import net.kuujo.vertigo.network.NetworkConfig;
@@ -150,6 +151,14 @@ public final class ContextBuilder {
       // If a component is added to the configuration later then the context will need to
       // be rebuilt.
       if (source != null && target != null) {
+        // Component level message codecs override network level codecs.
+        Map<String, String> messageCodecs = new HashMap<>(network.getCodecs());
+        ComponentConfig<?> sourceConfig = network.getComponent(connection.getSource().getComponent());
+        if (sourceConfig != null) {
+          messageCodecs.putAll(sourceConfig.getCodecs());
+        }
+        ComponentConfig<?> targetConfig = network.getComponent(connection.getTarget().getComponent());
+
         for (InstanceContext sourceInstance : source.instances()) {
           // Check if the port already exists on the source's output.
           DefaultOutputPortContext.Builder output = null;
@@ -173,9 +182,13 @@ public final class ContextBuilder {
 
           // Set up an output stream from the output port.
           DefaultOutputStreamContext.Builder outStream = DefaultOutputStreamContext.Builder.newBuilder();
-          outStream.setAddress(String.format("out:%s@%s.%s.%s[%d]->in:%s@%s.%s.%s[]", connection.getSource().getPort(), cluster, network.getName(), source.name(), sourceInstance.number(), connection.getTarget().getPort(), cluster, network.getName(), target.name()));
+          String streamAddress = String.format("out:%s@%s.%s.%s[%d]->in:%s@%s.%s.%s[]", connection.getSource().getPort(), cluster, network.getName(), source.name(), sourceInstance.number(), connection.getTarget().getPort(), cluster, network.getName(), target.name());
+          outStream.setAddress(streamAddress);
           outStream.setSelector(connection.getSelector());
 
+          // Broadcast streams publish messages to an address shared by all the stream's input connections.
+          String broadcast = connection.getSelector() instanceof AllSelector && ((AllSelector) connection.getSelector()).isBroadcast() ? String.format("%s.broadcast", streamAddress) : null;
+
           // For each target instance, add a unique input connection for the output.
           for (InstanceContext targetInstance : target.instances()) {
             // Check if the port already exists on the target's input.
@@ -198,6 +211,10 @@ public final class ContextBuilder {
               input = DefaultInputPortContext.Builder.newBuilder(port);
             }
 
+            // Multiplexed connections share a single channel per instance on each side.
+            String sourceChannel = connection.isMultiplexed() ? String.format("%s.channel", sourceInstance.address()) : null;
+            String targetChannel = connection.isMultiplexed() ? String.format("%s.channel", targetInstance.address()) : null;
+
             // Add an input connection to the input port.
             DefaultInputConnectionContext.Builder inConnection = DefaultInputConnectionContext.Builder.newBuilder();
             String address = String.format("out:%s@%s.%s.%s[%d]->in:%s@%s.%s.%s[%d]", connection.getSource().getPort(), cluster, network.getName(), source.name(), sourceInstance.number(), connection.getTarget().getPort(), cluster, network.getName(), target.name(), targetInstance.number());
@@ -205,11 +222,15 @@ public final class ContextBuilder {
             inConnection.setSource(DefaultConnectionContext.DefaultSourceContext.Builder.newBuilder()
                 .setComponent(connection.getSource().getComponent())
                 .setPort(connection.getSource().getPort())
-                .setInstance(sourceInstance.number()).build());
+                .setInstance(sourceInstance.number())
+                .setChannel(sourceChannel).build());
             inConnection.setTarget(DefaultConnectionContext.DefaultTargetContext.Builder.newBuilder()
                 .setComponent(connection.getTarget().getComponent())
                 .setPort(connection.getTarget().getPort())
-                .setInstance(targetInstance.number()).build());
+                .setInstance(targetInstance.number())
+                .setChannel(targetChannel).build());
+            inConnection.setCodec(connection.getCodec());
+            inConnection.setBroadcast(broadcast);
 
             // Add input level hooks to the input.
             inConnection.setHooks(connection.getTarget().getHooks());
@@ -229,10 +250,22 @@ public final class ContextBuilder {
             outConnection.setAddress(address);
             outConnection.setSource(DefaultConnectionContext.DefaultSourceContext.Builder.newBuilder()
                 .setComponent(connection.getSource().getComponent())
-                .setPort(connection.getSource().getPort()).build());
+                .setPort(connection.getSource().getPort())
+                .setChannel(sourceChannel).build());
             outConnection.setTarget(DefaultConnectionContext.DefaultTargetContext.Builder.newBuilder()
                 .setComponent(connection.getTarget().getComponent())
-                .setPort(connection.getTarget().getPort()).build());
+                .setPort(connection.getTarget().getPort())
+                .setInstance(targetInstance.number())
+                .setChannel(targetChannel)
+                .setWeight(targetConfig != null ? targetConfig.getInstanceWeight(targetInstance.number()) : 1).build());
+            outConnection.setCodec(connection.getCodec());
+            outConnection.setBroadcast(broadcast);
+            outConnection.setMessageCodecs(messageCodecs);
+            outConnection.setFrameSize(connection.getFrameSize());
+            outConnection.setFrameDelay(connection.getFrameDelay());
+            outConnection.setGroupPipelining(connection.isGroupPipelining());
+            outConnection.setLocalTransport(connection.isLocalTransport());
+            outConnection.setBatchDepth(connection.getBatchDepth());
 
             // Add output level hooks to the output.
             outConnection.setHooks(connection.getSource().getHooks());
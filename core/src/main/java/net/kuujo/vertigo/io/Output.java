@@ -61,6 +61,27 @@ public interface Output<T extends Output<T>> extends OutputGroupSupport<T> {
    */
   int getSendQueueMaxSize();
 
+  /**
+   * Sets the send queue max size in bytes.<p>
+   *
+   * When a byte limit is set the send queue is considered full once either
+   * the number of queued messages reaches the send queue max size or the
+   * total encoded size of queued messages reaches the byte limit. The drain
+   * handler is called once both have dropped back below 50% of their limits.
+   *
+   * @param maxBytes The send queue max size in bytes. If <code>0</code> the
+   *        send queue is only limited by the number of messages.
+   * @return The send stream.
+   */
+  T setSendQueueMaxBytes(long maxBytes);
+
+  /**
+   * Returns the send queue max size in bytes.
+   *
+   * @return The send queue max size in bytes.
+   */
+  long getSendQueueMaxBytes();
+
   /**
    * Returns a boolean indicating whether the send queue is full.
    *
@@ -77,6 +77,23 @@ public class BaseOutputBatch implements OutputBatch {
     return maxSize;
   }
 
+  @Override
+  public OutputBatch setSendQueueMaxBytes(long maxBytes) {
+    for (OutputBatch group : connections) {
+      group.setSendQueueMaxBytes(maxBytes);
+    }
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    long maxBytes = 0;
+    for (OutputBatch group : connections) {
+      maxBytes += group.getSendQueueMaxBytes();
+    }
+    return maxBytes;
+  }
+
   @Override
   public int size() {
     int highest = 0;
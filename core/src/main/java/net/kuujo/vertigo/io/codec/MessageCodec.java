@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.codec;
+
+/**
+ * Message value codec.<p>
+ *
+ * Message codecs are registered for specific message types in the network
+ * or component configuration and are used in place of Java serialization
+ * to serialize message values of those types. Codecs are registered by
+ * class name and must provide a public no-argument constructor. Each input
+ * and output connection creates its own codec instances, so codecs may
+ * safely cache per-type state.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public interface MessageCodec {
+
+  /**
+   * Encodes a message value.
+   *
+   * @param value The value to encode.
+   * @return The encoded value.
+   * @throws net.kuujo.vertigo.util.serialization.SerializationException If the
+   *         value cannot be encoded.
+   */
+  byte[] encode(Object value);
+
+  /**
+   * Decodes a message value.
+   *
+   * @param bytes The encoded value.
+   * @param type The type of the original value.
+   * @return The decoded value.
+   * @throws net.kuujo.vertigo.util.serialization.DeserializationException If the
+   *         value cannot be decoded.
+   */
+  Object decode(byte[] bytes, Class<?> type);
+
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.codec.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.kuujo.vertigo.io.codec.MessageCodec;
+import net.kuujo.vertigo.util.ClassResolver;
+import net.kuujo.vertigo.util.serialization.DeserializationException;
+import net.kuujo.vertigo.util.serialization.SerializationException;
+
+/**
+ * Compact binary field message codec.<p>
+ *
+ * This codec writes the non-static, non-transient fields of the registered
+ * type in declaration order without any field names or class descriptors.
+ * Because the codec is registered for the message type the top level class
+ * is never written, and nested objects only carry a class name when their
+ * runtime type differs from the declared field type. Field lists and
+ * constructors are resolved once per type and cached.<p>
+ *
+ * Types must have a no-argument constructor (which may be private), and
+ * object graphs must not contain cycles. Both sides of a connection must
+ * use the same version of each class.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class BinaryMessageCodec implements MessageCodec {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_OBJECT = 1;
+  private static final byte TYPE_TYPED_OBJECT = 2;
+  private static final byte TYPE_STRING = 3;
+  private static final byte TYPE_BOOLEAN = 4;
+  private static final byte TYPE_CHARACTER = 5;
+  private static final byte TYPE_BYTE = 6;
+  private static final byte TYPE_SHORT = 7;
+  private static final byte TYPE_INTEGER = 8;
+  private static final byte TYPE_LONG = 9;
+  private static final byte TYPE_FLOAT = 10;
+  private static final byte TYPE_DOUBLE = 11;
+  private static final byte TYPE_BYTES = 12;
+  private static final byte TYPE_ENUM = 13;
+  private static final byte TYPE_ARRAY = 14;
+  private static final byte TYPE_COLLECTION = 15;
+  private static final byte TYPE_MAP = 16;
+
+  private final ClassResolver resolver = new ClassResolver();
+  private final Map<Class<?>, Field[]> fields = new HashMap<>();
+  private final Map<Class<?>, Constructor<?>> constructors = new HashMap<>();
+
+  @Override
+  public byte[] encode(Object value) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      writeFields(out, value, value.getClass());
+      out.flush();
+    } catch (IOException | IllegalAccessException e) {
+      throw new SerializationException(e.getMessage());
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public Object decode(byte[] bytes, Class<?> type) {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    try {
+      Object value = newInstance(type);
+      readFields(in, value, type);
+      return value;
+    } catch (IOException | ReflectiveOperationException e) {
+      throw new DeserializationException(e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the cached serializable fields for the given type.
+   */
+  private Field[] getFields(Class<?> type) {
+    Field[] typeFields = fields.get(type);
+    if (typeFields == null) {
+      List<Field> fieldList = new ArrayList<>();
+      Class<?> current = type;
+      while (current != null && current != Object.class) {
+        for (Field field : current.getDeclaredFields()) {
+          int modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+            field.setAccessible(true);
+            fieldList.add(field);
+          }
+        }
+        current = current.getSuperclass();
+      }
+      typeFields = fieldList.toArray(new Field[fieldList.size()]);
+      fields.put(type, typeFields);
+    }
+    return typeFields;
+  }
+
+  /**
+   * Creates a new instance of the given type using the cached no-argument constructor.
+   */
+  private Object newInstance(Class<?> type) throws ReflectiveOperationException {
+    Constructor<?> constructor = constructors.get(type);
+    if (constructor == null) {
+      constructor = type.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      constructors.put(type, constructor);
+    }
+    return constructor.newInstance();
+  }
+
+  /**
+   * Writes all serializable fields of an object.
+   */
+  private void writeFields(DataOutputStream out, Object value, Class<?> type) throws IOException, IllegalAccessException {
+    for (Field field : getFields(type)) {
+      writeField(out, field.getType(), field.get(value));
+    }
+  }
+
+  /**
+   * Reads all serializable fields of an object.
+   */
+  private void readFields(DataInputStream in, Object value, Class<?> type) throws IOException, ReflectiveOperationException {
+    for (Field field : getFields(type)) {
+      field.set(value, readField(in, field.getType()));
+    }
+  }
+
+  /**
+   * Writes a value of the given declared type. Primitives are written untagged.
+   */
+  private void writeField(DataOutputStream out, Class<?> type, Object value) throws IOException, IllegalAccessException {
+    if (type == boolean.class) {
+      out.writeBoolean((Boolean) value);
+    } else if (type == char.class) {
+      out.writeChar((Character) value);
+    } else if (type == byte.class) {
+      out.writeByte((Byte) value);
+    } else if (type == short.class) {
+      out.writeShort((Short) value);
+    } else if (type == int.class) {
+      out.writeInt((Integer) value);
+    } else if (type == long.class) {
+      out.writeLong((Long) value);
+    } else if (type == float.class) {
+      out.writeFloat((Float) value);
+    } else if (type == double.class) {
+      out.writeDouble((Double) value);
+    } else {
+      writeValue(out, type, value);
+    }
+  }
+
+  /**
+   * Reads a value of the given declared type.
+   */
+  private Object readField(DataInputStream in, Class<?> type) throws IOException, ReflectiveOperationException {
+    if (type == boolean.class) {
+      return in.readBoolean();
+    } else if (type == char.class) {
+      return in.readChar();
+    } else if (type == byte.class) {
+      return in.readByte();
+    } else if (type == short.class) {
+      return in.readShort();
+    } else if (type == int.class) {
+      return in.readInt();
+    } else if (type == long.class) {
+      return in.readLong();
+    } else if (type == float.class) {
+      return in.readFloat();
+    } else if (type == double.class) {
+      return in.readDouble();
+    } else {
+      return readValue(in, type);
+    }
+  }
+
+  /**
+   * Writes a tagged reference value.
+   */
+  @SuppressWarnings("rawtypes")
+  private void writeValue(DataOutputStream out, Class<?> type, Object value) throws IOException, IllegalAccessException {
+    if (value == null) {
+      out.writeByte(TYPE_NULL);
+    } else if (value instanceof String) {
+      out.writeByte(TYPE_STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(TYPE_BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Character) {
+      out.writeByte(TYPE_CHARACTER);
+      out.writeChar((Character) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(TYPE_BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Short) {
+      out.writeByte(TYPE_SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(TYPE_INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(TYPE_LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Float) {
+      out.writeByte(TYPE_FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Double) {
+      out.writeByte(TYPE_DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof byte[]) {
+      out.writeByte(TYPE_BYTES);
+      out.writeInt(((byte[]) value).length);
+      out.write((byte[]) value);
+    } else if (value instanceof Enum) {
+      out.writeByte(TYPE_ENUM);
+      writeString(out, ((Enum) value).getDeclaringClass().getName());
+      writeString(out, ((Enum) value).name());
+    } else if (value.getClass().isArray()) {
+      Class<?> componentType = value.getClass().getComponentType();
+      out.writeByte(TYPE_ARRAY);
+      writeString(out, componentType.getName());
+      int length = Array.getLength(value);
+      out.writeInt(length);
+      for (int i = 0; i < length; i++) {
+        writeField(out, componentType, Array.get(value, i));
+      }
+    } else if (value instanceof Collection) {
+      out.writeByte(TYPE_COLLECTION);
+      writeString(out, value.getClass().getName());
+      out.writeInt(((Collection) value).size());
+      for (Object item : (Collection) value) {
+        writeValue(out, Object.class, item);
+      }
+    } else if (value instanceof Map) {
+      out.writeByte(TYPE_MAP);
+      writeString(out, value.getClass().getName());
+      out.writeInt(((Map) value).size());
+      for (Object entry : ((Map) value).entrySet()) {
+        writeValue(out, Object.class, ((Map.Entry) entry).getKey());
+        writeValue(out, Object.class, ((Map.Entry) entry).getValue());
+      }
+    } else if (value.getClass() == type) {
+      out.writeByte(TYPE_OBJECT);
+      writeFields(out, value, type);
+    } else {
+      out.writeByte(TYPE_TYPED_OBJECT);
+      writeString(out, value.getClass().getName());
+      writeFields(out, value, value.getClass());
+    }
+  }
+
+  /**
+   * Reads a tagged reference value.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Object readValue(DataInputStream in, Class<?> type) throws IOException, ReflectiveOperationException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case TYPE_NULL:
+        return null;
+      case TYPE_STRING:
+        return readString(in);
+      case TYPE_BOOLEAN:
+        return in.readBoolean();
+      case TYPE_CHARACTER:
+        return in.readChar();
+      case TYPE_BYTE:
+        return in.readByte();
+      case TYPE_SHORT:
+        return in.readShort();
+      case TYPE_INTEGER:
+        return in.readInt();
+      case TYPE_LONG:
+        return in.readLong();
+      case TYPE_FLOAT:
+        return in.readFloat();
+      case TYPE_DOUBLE:
+        return in.readDouble();
+      case TYPE_BYTES:
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+      case TYPE_ENUM:
+        Class enumType = resolver.resolve(readString(in));
+        return Enum.valueOf(enumType, readString(in));
+      case TYPE_ARRAY:
+        Class<?> componentType = resolver.resolve(readString(in));
+        int length = in.readInt();
+        Object array = Array.newInstance(componentType, length);
+        for (int i = 0; i < length; i++) {
+          Array.set(array, i, readField(in, componentType));
+        }
+        return array;
+      case TYPE_COLLECTION:
+        Class<?> collectionType = resolver.resolve(readString(in));
+        int size = in.readInt();
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          items.add(readValue(in, Object.class));
+        }
+        return newCollection(collectionType, items);
+      case TYPE_MAP:
+        Class<?> mapType = resolver.resolve(readString(in));
+        int entries = in.readInt();
+        Map<Object, Object> mapEntries = new LinkedHashMap<>(entries);
+        for (int i = 0; i < entries; i++) {
+          mapEntries.put(readValue(in, Object.class), readValue(in, Object.class));
+        }
+        return newMap(mapType, mapEntries);
+      case TYPE_OBJECT:
+        Object value = newInstance(type);
+        readFields(in, value, type);
+        return value;
+      case TYPE_TYPED_OBJECT:
+        Class<?> valueType = resolver.resolve(readString(in));
+        Object typedValue = newInstance(valueType);
+        readFields(in, typedValue, valueType);
+        return typedValue;
+      default:
+        throw new DeserializationException("Unknown field type: " + tag);
+    }
+  }
+
+  /**
+   * Creates a collection of the given type containing the given items.<p>
+   *
+   * Falls back to a standard collection if the type cannot be instantiated
+   * or doesn't support adding items, as is the case for immutable and fixed
+   * size collections like those returned by {@link java.util.Collections}
+   * and {@link java.util.Arrays#asList(Object...)}.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private Collection newCollection(Class<?> type, List<Object> items) {
+    try {
+      Collection collection = (Collection) newInstance(type);
+      collection.addAll(items);
+      return collection;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Set.class.isAssignableFrom(type) ? new HashSet(items) : new ArrayList(items);
+    }
+  }
+
+  /**
+   * Creates a map of the given type containing the given entries.<p>
+   *
+   * Falls back to a standard map if the type cannot be instantiated or
+   * doesn't support adding entries, as is the case for immutable maps and
+   * maps without a no-argument constructor like {@link java.util.EnumMap}.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private Map newMap(Class<?> type, Map<Object, Object> entries) {
+    try {
+      Map map = (Map) newInstance(type);
+      map.putAll(entries);
+      return map;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return new HashMap(entries);
+    }
+  }
+
+  /**
+   * Writes a length prefixed UTF-8 string.
+   */
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a length prefixed UTF-8 string.
+   */
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+}
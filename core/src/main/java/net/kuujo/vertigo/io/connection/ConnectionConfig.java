@@ -22,6 +22,7 @@ import net.kuujo.vertigo.hook.IOHook;
 import net.kuujo.vertigo.hook.InputHook;
 import net.kuujo.vertigo.hook.OutputHook;
 import net.kuujo.vertigo.io.connection.impl.DefaultConnectionConfig;
+import net.kuujo.vertigo.io.selector.KeyExtractor;
 import net.kuujo.vertigo.io.selector.Selector;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -66,13 +67,62 @@ public interface ConnectionConfig extends Config<ConnectionConfig> {
   /**
    * <code>selector</code> is an object defining the connection selector. The selector
    * definition should contain a <code>type</code> which indicates the selector type,
-   * e.g. <code>round-robin</code>, <code>random</code>, <code>hash</code>, <code>fair</code>,
+   * e.g. <code>round-robin</code>, <code>random</code>, <code>hash</code>,
+   * <code>consistent-hash</code>, <code>fair</code>,
    * <code>all</code>, or <code>custom</code>. If a <code>custom</code> selector is indicated
    * then an additional <code>selector</code> field must be provided which indicates the
    * custom selector class.
    */
   public static final String CONNECTION_SELECTOR = "selector";
 
+  /**
+   * <code>codec</code> is a string indicating the connection wire codec. The codec may
+   * be either <code>json</code> - the default JSON envelope format - or <code>binary</code>
+   * for compact binary framing. Any other value is treated as a custom codec class name.
+   */
+  public static final String CONNECTION_CODEC = "codec";
+
+  /**
+   * <code>frameSize</code> is a number indicating the maximum number of messages the
+   * output connection packs into a single event bus frame. Defaults to <code>1</code>,
+   * which disables framing.
+   */
+  public static final String CONNECTION_FRAME_SIZE = "frameSize";
+
+  /**
+   * <code>frameDelay</code> is the number of milliseconds the output connection waits
+   * for more messages before sending a partially filled frame. Defaults to <code>0</code>,
+   * in which case a frame is sent once the current event loop task completes.
+   */
+  public static final String CONNECTION_FRAME_DELAY = "frameDelay";
+
+  /**
+   * <code>multiplexed</code> is a boolean indicating whether the connection's messages
+   * are sent over channels shared by all multiplexed connections to and from each
+   * component instance rather than over event bus handlers registered for each
+   * connection. Defaults to <code>false</code>.
+   */
+  public static final String CONNECTION_MULTIPLEXED = "multiplexed";
+
+  /**
+   * <code>groupPipelining</code> is a boolean indicating whether output groups are
+   * started without waiting for the input group to be ready. Defaults to <code>false</code>.
+   */
+  public static final String CONNECTION_GROUP_PIPELINING = "groupPipelining";
+
+  /**
+   * <code>batchDepth</code> is a number indicating the maximum number of batches that
+   * can be open on each output connection at the same time. Defaults to <code>1</code>.
+   */
+  public static final String CONNECTION_BATCH_DEPTH = "batchDepth";
+
+  /**
+   * <code>localTransport</code> is a boolean indicating whether messages to input
+   * connections in the same JVM are handed to the input connection directly rather
+   * than being encoded and sent on the event bus. Defaults to <code>true</code>.
+   */
+  public static final String CONNECTION_LOCAL_TRANSPORT = "localTransport";
+
   /**
    * Returns the connection source.
    *
@@ -124,6 +174,13 @@ public interface ConnectionConfig extends Config<ConnectionConfig> {
    */
   ConnectionConfig roundSelect();
 
+  /**
+   * Sets a weighted round-robin selector on the connection.
+   *
+   * @return The connection configuration.
+   */
+  ConnectionConfig weightedRoundSelect();
+
   /**
    * Sets a random selector on the connection.
    *
@@ -138,6 +195,33 @@ public interface ConnectionConfig extends Config<ConnectionConfig> {
    */
   ConnectionConfig hashSelect();
 
+  /**
+   * Sets a mod-hash based selector on the connection that hashes a message key.
+   *
+   * @param keyExtractor The key extractor with which to extract message keys.
+   * @return The connection configuration.
+   */
+  ConnectionConfig hashSelect(KeyExtractor keyExtractor);
+
+  /**
+   * Sets a consistent hashing based selector on the connection.<p>
+   *
+   * Unlike the mod-hash selector, the consistent hash selector only moves
+   * the values owned by an added or removed instance when the number of
+   * target instances changes.
+   *
+   * @return The connection configuration.
+   */
+  ConnectionConfig consistentHashSelect();
+
+  /**
+   * Sets a consistent hashing based selector on the connection that hashes a message key.
+   *
+   * @param keyExtractor The key extractor with which to extract message keys.
+   * @return The connection configuration.
+   */
+  ConnectionConfig consistentHashSelect(KeyExtractor keyExtractor);
+
   /**
    * Sets a fair selector on the connection.
    *
@@ -145,6 +229,28 @@ public interface ConnectionConfig extends Config<ConnectionConfig> {
    */
   ConnectionConfig fairSelect();
 
+  /**
+   * Sets a least loaded selector on the connection.
+   *
+   * @return The connection configuration.
+   */
+  ConnectionConfig leastLoadedSelect();
+
+  /**
+   * Sets a locality aware round-robin selector on the connection.
+   *
+   * @return The connection configuration.
+   */
+  ConnectionConfig localSelect();
+
+  /**
+   * Sets a locality aware selector on the connection.
+   *
+   * @param selector The selector to apply to the preferred connections.
+   * @return The connection configuration.
+   */
+  ConnectionConfig localSelect(Selector selector);
+
   /**
    * Sets an all selector on the connection.
    *
@@ -152,6 +258,14 @@ public interface ConnectionConfig extends Config<ConnectionConfig> {
    */
   ConnectionConfig allSelect();
 
+  /**
+   * Sets an all selector on the connection that publishes each message once
+   * to all target instances rather than sending it to each instance.
+   *
+   * @return The connection configuration.
+   */
+  ConnectionConfig broadcastSelect();
+
   /**
    * Sets a custom selector on the connection.
    *
@@ -160,6 +274,149 @@ public interface ConnectionConfig extends Config<ConnectionConfig> {
    */
   ConnectionConfig customSelect(Selector selector);
 
+  /**
+   * Returns the connection wire codec.
+   *
+   * @return The connection codec name.
+   */
+  String getCodec();
+
+  /**
+   * Sets the connection wire codec.
+   *
+   * @param codec The connection codec name, e.g. <code>json</code> or <code>binary</code>.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setCodec(String codec);
+
+  /**
+   * Returns the maximum number of messages per frame.
+   *
+   * @return The maximum number of messages per frame.
+   */
+  int getFrameSize();
+
+  /**
+   * Sets the maximum number of messages per frame.<p>
+   *
+   * When the frame size is greater than <code>1</code>, consecutive messages sent on
+   * each connection are packed into a single event bus message, reducing per message
+   * event bus overhead at the cost of latency.
+   *
+   * @param frameSize The maximum number of messages per frame.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setFrameSize(int frameSize);
+
+  /**
+   * Returns the maximum frame delay.
+   *
+   * @return The maximum number of milliseconds to wait before sending a frame.
+   */
+  long getFrameDelay();
+
+  /**
+   * Sets the maximum frame delay.
+   *
+   * @param frameDelay The maximum number of milliseconds to wait before sending
+   *        a partially filled frame. If <code>0</code> the frame will be sent
+   *        once the current event loop task completes.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setFrameDelay(long frameDelay);
+
+  /**
+   * Returns whether the connection is multiplexed.
+   *
+   * @return Whether the connection's messages are sent over shared instance channels.
+   */
+  boolean isMultiplexed();
+
+  /**
+   * Sets whether the connection is multiplexed.<p>
+   *
+   * By default, each connection between a source instance and a target instance
+   * registers its own event bus handlers, so the number of handlers grows with the
+   * product of the number of source and target instances. Multiplexed connections
+   * instead share a single event bus handler per component instance and tag each
+   * message with the connection it belongs to. Messages are still sequenced, acked
+   * and resent for each connection individually.
+   *
+   * @param multiplexed Whether to send the connection's messages over shared
+   *        instance channels.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setMultiplexed(boolean multiplexed);
+
+  /**
+   * Returns whether output groups are pipelined.
+   *
+   * @return Whether output groups are started without waiting for the input group.
+   */
+  boolean isGroupPipelining();
+
+  /**
+   * Sets whether output groups are pipelined.<p>
+   *
+   * By default, when a group is created the output connection waits for the
+   * input connection to indicate that a handler has been registered for the
+   * group before calling the group's handler, so each group costs a round trip
+   * before its first message can be sent. Pipelined groups call the handler
+   * immediately, and the input connection holds messages for the group until
+   * the group's handlers have been registered.
+   *
+   * @param pipelining Whether to start output groups without waiting for the
+   *        input group to be ready.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setGroupPipelining(boolean pipelining);
+
+  /**
+   * Returns whether the local transport is enabled.
+   *
+   * @return Whether messages to input connections in the same JVM bypass the event bus.
+   */
+  boolean isLocalTransport();
+
+  /**
+   * Sets whether the local transport is enabled.<p>
+   *
+   * When the input connection is in the same JVM as the output connection,
+   * the local transport hands messages to the input connection directly. The
+   * messages skip the wire codec, framing, broadcasts and queue byte limits.
+   * Disable the local transport to always send messages on the event bus.
+   *
+   * @param localTransport Whether messages to input connections in the same JVM
+   *        bypass the event bus.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setLocalTransport(boolean localTransport);
+
+  /**
+   * Returns the maximum number of open batches per connection.
+   *
+   * @return The maximum number of batches that can be open on each output connection.
+   */
+  int getBatchDepth();
+
+  /**
+   * Sets the maximum number of open batches per connection.<p>
+   *
+   * By default only one batch can be open on an output connection, so a new
+   * batch waits for the previous batch to end and then for the input connection
+   * to indicate that the batch is ready. If the batch depth is greater than
+   * <code>1</code> then up to that many batches can be open at once and new
+   * batches are started without waiting for the input batch to be ready. The
+   * input connection still handles batches one at a time in the order in which
+   * they were started, holding messages for later batches until earlier batches
+   * have ended.
+   *
+   * @param depth The maximum number of batches that can be open on each output
+   *        connection. Must be at least <code>1</code>.
+   * @return The connection configuration.
+   */
+  ConnectionConfig setBatchDepth(int depth);
+
   /**
    * Connection source.
    *
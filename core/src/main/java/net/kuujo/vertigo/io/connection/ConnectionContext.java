@@ -43,6 +43,22 @@ public interface ConnectionContext<T extends ConnectionContext<T>> extends Conte
    */
   TargetContext target();
 
+  /**
+   * Returns the connection wire codec.
+   *
+   * @return The connection codec name.
+   */
+  String codec();
+
+  /**
+   * Returns the connection's broadcast address.
+   *
+   * @return The address to which messages sent to all connections of the
+   *         stream are published, or <code>null</code> if the stream doesn't
+   *         broadcast messages.
+   */
+  String broadcast();
+
   /**
    * Connection endpoint context.
    *
@@ -82,6 +98,15 @@ public interface ConnectionContext<T extends ConnectionContext<T>> extends Conte
      */
     int instance();
 
+    /**
+     * Returns the endpoint instance's multiplexed channel address.
+     *
+     * @return The address of the channel shared by multiplexed connections to and
+     *         from the endpoint instance, or <code>null</code> if the connection
+     *         is not multiplexed.
+     */
+    String channel();
+
   }
 
   /**
@@ -110,6 +135,16 @@ public interface ConnectionContext<T extends ConnectionContext<T>> extends Conte
     defaultImpl=DefaultConnectionContext.DefaultTargetContext.class
   )
   public static interface TargetContext extends EndpointContext<TargetContext> {
+
+    /**
+     * Returns the target instance's routing weight.
+     *
+     * @return The target instance's routing weight. A weight of <code>0</code>
+     *         indicates that the weight is the number of processors available
+     *         on the target instance's node.
+     */
+    int weight();
+
   }
 
 }
@@ -29,14 +29,19 @@ import io.vertx.core.Handler;
  * Messages on input connections must be received in order. Output
  * and input connections keep track of message order by tagging and
  * comparing messages with monotonically increasing unique identifiers.
- * If the input connection receives a message out of order, it will
- * immediately notify the output connection of the last known ordered
- * message, indicating that the output connection should resend messages
- * after the last known correct message.<p>
+ * If the input connection receives a message out of order, it buffers
+ * the message and asks the output connection to resend only the missing
+ * range of messages. Buffered messages are handled once the gap has been
+ * filled. If too many messages are missing, the input connection falls
+ * back to asking the output connection to resend all messages after the
+ * last known correct message.<p>
  *
  * The input connection will periodically send messages to the output
  * connection indicating the last correct message received, allowing the
- * output to clear its queue.
+ * output to clear its queue. How often messages are acked is derived from
+ * the size of the output connection's send queue, which is sent when the
+ * output connection connects. Connections that go idle are acked on the
+ * next tick of a timer shared by all connections in the same context.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
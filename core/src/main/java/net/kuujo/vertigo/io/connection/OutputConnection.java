@@ -38,10 +38,22 @@ import io.vertx.core.Handler;
  * The output connection sends messages for the connection and on behalf
  * of any groups created on the connection. Each message that is sent
  * by the output connection is tagged with a monotonically increasing
- * number. The connection listens for messages indicating that a message
- * was received out of order. If a message was received out of order, the
- * output connection will begin resending messages from the last known
- * correct message.
+ * number. The input connection requests any messages that it detects are
+ * missing and the output connection resends only the requested messages.
+ * If the input connection cannot buffer enough messages to recover from a
+ * gap, the output connection resends all messages from the last known
+ * correct message.<p>
+ *
+ * Output connections can optionally coalesce consecutive messages into
+ * frames. When the frame size is greater than one, messages are buffered
+ * and sent as a single event bus message once the frame is full or the
+ * frame delay expires. Frames are unpacked by the input connection and
+ * each message is still acked, failed and resent individually.
+ *
+ * If the input connection is open in the same JVM, the output connection
+ * hands messages to it directly instead of encoding them and sending them
+ * on the event bus. Values are copied rather than serialized, so mutable
+ * values can't be changed by the sender once they've been sent.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -54,6 +66,93 @@ public interface OutputConnection extends Connection<OutputConnection>, Output<O
    */
   OutputConnectionContext context();
 
+  /**
+   * Returns the connection's remaining send credit.<p>
+   *
+   * Credit is computed by the output connection from its own send queue:
+   * it's the maximum send queue size less the number of messages that
+   * haven't been acked. The input connection only affects credit indirectly.
+   * Acks free space in the send queue, a pause revokes all credit and a
+   * resume restores it, but the input connection never grants credit based
+   * on how much it can accept. If the send queue is limited by bytes, no
+   * credit is left while the queued messages are over the byte limit. The
+   * connection's send queue is full once it has no credit left.
+   *
+   * @return The number of messages that can be sent before the connection is full.
+   */
+  int credit();
+
+  /**
+   * Returns the connection's current load.<p>
+   *
+   * The load is the number of messages that have been sent but not yet acked
+   * plus the number of messages the input connection reported as queued in
+   * its last ack. Because the window only shrinks when acks arrive, a slow
+   * input connection shows a higher load than a fast one.
+   *
+   * @return The connection's current load.
+   */
+  int load();
+
+  /**
+   * Returns the target instance's routing weight.<p>
+   *
+   * If the target's configured weight is <code>0</code> then the weight is
+   * the number of processors available on the target's node as reported by
+   * the input connection when the connection was opened.
+   *
+   * @return The target instance's routing weight.
+   */
+  int weight();
+
+  /**
+   * Indicates whether the input connection is in the same Vert.x instance.
+   *
+   * @return Whether messages are handed directly to the input connection
+   *         rather than being sent on the event bus.
+   */
+  boolean isLocal();
+
+  /**
+   * Returns the number of messages that have been resent.
+   *
+   * @return The total number of messages resent on the connection.
+   */
+  long retransmitCount();
+
+  /**
+   * Sets the maximum number of messages per frame.
+   *
+   * @param frameSize The maximum number of messages per frame. A frame size
+   *        of <code>1</code> disables framing.
+   * @return The output connection.
+   */
+  OutputConnection setFrameSize(int frameSize);
+
+  /**
+   * Returns the maximum number of messages per frame.
+   *
+   * @return The maximum number of messages per frame.
+   */
+  int getFrameSize();
+
+  /**
+   * Sets the maximum frame delay.
+   *
+   * @param frameDelay The maximum number of milliseconds to wait before sending
+   *        a partially filled frame. If <code>0</code> the frame will be sent
+   *        once the current event loop task completes.
+   * @return The output connection.
+   */
+  OutputConnection setFrameDelay(long frameDelay);
+
+  /**
+   * Returns the maximum frame delay.
+   *
+   * @return The maximum number of milliseconds to wait before sending a frame.
+   */
+  long getFrameDelay();
+
   /**
    * Creates an output batch on the connection.
    *
@@ -16,6 +16,7 @@
 package net.kuujo.vertigo.io.connection;
 
 import java.util.List;
+import java.util.Map;
 
 import net.kuujo.vertigo.hook.OutputHook;
 import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnectionContext;
@@ -51,4 +52,46 @@ public interface OutputConnectionContext extends ConnectionContext<OutputConnect
    */
   List<OutputHook> hooks();
 
+  /**
+   * Returns the message codecs used to serialize message values.
+   *
+   * @return A map of message type names to message codec class names.
+   */
+  Map<String, String> messageCodecs();
+
+  /**
+   * Returns the maximum number of messages per frame.
+   *
+   * @return The maximum number of messages per frame.
+   */
+  int frameSize();
+
+  /**
+   * Returns the maximum frame delay.
+   *
+   * @return The maximum number of milliseconds to wait before sending a frame.
+   */
+  long frameDelay();
+
+  /**
+   * Returns whether output groups are pipelined.
+   *
+   * @return Whether output groups are started without waiting for the input group.
+   */
+  boolean groupPipelining();
+
+  /**
+   * Returns whether the local transport is enabled.
+   *
+   * @return Whether messages to input connections in the same JVM bypass the event bus.
+   */
+  boolean localTransport();
+
+  /**
+   * Returns the maximum number of open batches.
+   *
+   * @return The maximum number of batches that can be open on the connection.
+   */
+  int batchDepth();
+
 }
@@ -0,0 +1,511 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.kuujo.vertigo.io.codec.MessageCodec;
+import net.kuujo.vertigo.io.impl.InputDeserializer;
+import net.kuujo.vertigo.io.impl.OutputSerializer;
+import net.kuujo.vertigo.util.serialization.DeserializationException;
+
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Compact binary connection codec.<p>
+ *
+ * Each message is encoded as a single {@link Buffer} consisting of a one byte
+ * action opcode, a variable length sequence ID, and action specific fields.
+ * Group and batch IDs are interned: the start message for a group or batch
+ * assigns the ID a small numeric handle which is used in place of the full
+ * ID by all subsequent messages until the ID is released. Message values are
+ * written with a one byte type tag followed by the typed value. Frames are
+ * written as the frame opcode and a message count followed by each length
+ * prefixed message.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class BinaryConnectionCodec implements ConnectionCodec {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_BOOLEAN = 2;
+  private static final byte TYPE_CHARACTER = 3;
+  private static final byte TYPE_SHORT = 4;
+  private static final byte TYPE_INTEGER = 5;
+  private static final byte TYPE_LONG = 6;
+  private static final byte TYPE_FLOAT = 7;
+  private static final byte TYPE_DOUBLE = 8;
+  private static final byte TYPE_BYTE = 9;
+  private static final byte TYPE_BYTES = 10;
+  private static final byte TYPE_BUFFER = 11;
+  private static final byte TYPE_JSON_OBJECT = 12;
+  private static final byte TYPE_JSON_ARRAY = 13;
+  private static final byte TYPE_SERIALIZED = 14;
+  private static final byte TYPE_CODEC = 15;
+
+  private final OutputSerializer serializer;
+  private final InputDeserializer deserializer = new InputDeserializer();
+  private final Map<String, Integer> handles = new HashMap<>();
+  private final Map<Integer, String> ids = new HashMap<>();
+  private int nextHandle = 1;
+
+  public BinaryConnectionCodec() {
+    this(null);
+  }
+
+  public BinaryConnectionCodec(Map<String, String> codecs) {
+    this.serializer = new OutputSerializer(codecs);
+  }
+
+  @Override
+  public Object encode(ConnectionMessage message) {
+    Buffer buffer = new Buffer(32);
+    buffer.appendByte(message.action().getOpcode());
+    writeVarLong(buffer, message.id());
+    switch (message.action()) {
+      case MESSAGE:
+        writeValue(buffer, message.value());
+        break;
+      case START_GROUP:
+        writeDefinition(buffer, message.group());
+        writeString(buffer, message.name());
+        writeReference(buffer, message.parent());
+        writeValue(buffer, message.value());
+        break;
+      case GROUP:
+      case END_GROUP:
+        writeReference(buffer, message.group());
+        writeValue(buffer, message.value());
+        break;
+      case START_BATCH:
+        writeDefinition(buffer, message.batch());
+        writeValue(buffer, message.value());
+        break;
+      case BATCH:
+      case END_BATCH:
+        writeReference(buffer, message.batch());
+        writeValue(buffer, message.value());
+        break;
+      case NACK:
+        writeVarLong(buffer, ((Number) message.value()).longValue());
+        break;
+      case ACK:
+      case CONNECT:
+        writeVarLong(buffer, message.value() != null ? ((Number) message.value()).longValue() : 0);
+        break;
+      default:
+        break;
+    }
+    return buffer;
+  }
+
+  @Override
+  public Object encodeFrame(List<Object> messages) {
+    Buffer buffer = new Buffer();
+    buffer.appendByte(ConnectionMessage.Action.FRAME.getOpcode());
+    writeVarLong(buffer, messages.size());
+    for (Object message : messages) {
+      writeVarLong(buffer, ((Buffer) message).length());
+      buffer.appendBuffer((Buffer) message);
+    }
+    return buffer;
+  }
+
+  @Override
+  public int sizeOf(Object message) {
+    return ((Buffer) message).length();
+  }
+
+  @Override
+  public Object serializeValue(Object value) {
+    Buffer buffer = new Buffer();
+    writeValue(buffer, value);
+    return buffer;
+  }
+
+  @Override
+  public ConnectionMessage decode(Object message) {
+    Reader reader = new Reader((Buffer) message);
+    ConnectionMessage.Action action = ConnectionMessage.Action.forOpcode(reader.readByte());
+    if (action == null) {
+      return null;
+    } else if (action == ConnectionMessage.Action.FRAME) {
+      int count = (int) reader.readVarLong();
+      List<ConnectionMessage> messages = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        messages.add(decode(reader.readBuffer()));
+      }
+      return new ConnectionMessage(action).setMessages(messages);
+    }
+    ConnectionMessage decoded = new ConnectionMessage(action).setId(reader.readVarLong());
+    switch (action) {
+      case MESSAGE:
+        decoded.setValue(readValue(reader));
+        break;
+      case START_GROUP:
+        decoded.setGroup(readDefinition(reader))
+            .setName(reader.readString());
+        decoded.setParent(readReference(reader, decoded, true))
+            .setValue(readValue(reader));
+        break;
+      case GROUP:
+      case END_GROUP:
+        decoded.setGroup(readReference(reader, decoded, false))
+            .setValue(readValue(reader));
+        break;
+      case START_BATCH:
+        decoded.setBatch(readDefinition(reader))
+            .setValue(readValue(reader));
+        break;
+      case BATCH:
+      case END_BATCH:
+        decoded.setBatch(readReference(reader, decoded, false))
+            .setValue(readValue(reader));
+        break;
+      case NACK:
+      case ACK:
+      case CONNECT:
+        decoded.setValue(reader.readVarLong());
+        break;
+      default:
+        break;
+    }
+    return decoded;
+  }
+
+  @Override
+  public ConnectionMessage resolve(ConnectionMessage message) {
+    if (message.reference() != 0) {
+      String id = ids.get(message.reference());
+      if (id != null) {
+        if (message.action() == ConnectionMessage.Action.BATCH || message.action() == ConnectionMessage.Action.END_BATCH) {
+          message.setBatch(id);
+        } else {
+          message.setGroup(id);
+        }
+        message.setReference(0);
+      }
+    }
+    if (message.parentReference() != 0) {
+      String id = ids.get(message.parentReference());
+      if (id != null) {
+        message.setParent(id).setParentReference(0);
+      }
+    }
+    return message;
+  }
+
+  @Override
+  public void release(String id) {
+    Integer handle = handles.remove(id);
+    if (handle != null) {
+      ids.remove(handle);
+    }
+  }
+
+  /**
+   * Writes a group or batch ID definition, assigning the ID a new handle
+   * unless the ID is already interned.
+   */
+  private void writeDefinition(Buffer buffer, String id) {
+    Integer handle = handles.get(id);
+    if (handle == null) {
+      handle = nextHandle++;
+      handles.put(id, handle);
+      ids.put(handle, id);
+    }
+    writeVarLong(buffer, handle);
+    writeString(buffer, id);
+  }
+
+  /**
+   * Reads a group or batch ID definition, registering the ID's handle.
+   */
+  private String readDefinition(Reader reader) {
+    int handle = (int) reader.readVarLong();
+    String id = reader.readString();
+    handles.put(id, handle);
+    ids.put(handle, id);
+    return id;
+  }
+
+  /**
+   * Writes a reference to a group or batch ID. If the ID has been
+   * interned then only the handle is written, otherwise a zero handle
+   * is written followed by the full ID.
+   */
+  private void writeReference(Buffer buffer, String id) {
+    Integer handle = id != null ? handles.get(id) : null;
+    if (handle != null) {
+      writeVarLong(buffer, handle);
+    } else {
+      writeVarLong(buffer, 0);
+      writeString(buffer, id);
+    }
+  }
+
+  /**
+   * Reads a reference to a group or batch ID.<p>
+   *
+   * If the message defining the handle hasn't been received yet then the
+   * handle is held by the message so it can be resolved once the message
+   * is handled in order.
+   */
+  private String readReference(Reader reader, ConnectionMessage message, boolean parent) {
+    int handle = (int) reader.readVarLong();
+    if (handle == 0) {
+      return reader.readString();
+    }
+    String id = ids.get(handle);
+    if (id == null) {
+      if (parent) {
+        message.setParentReference(handle);
+      } else {
+        message.setReference(handle);
+      }
+    }
+    return id;
+  }
+
+  /**
+   * Writes a typed message value.
+   */
+  private void writeValue(Buffer buffer, Object value) {
+    if (value instanceof SerializedValue) {
+      buffer.appendBuffer((Buffer) ((SerializedValue) value).serialize(this));
+    } else if (value == null) {
+      buffer.appendByte(TYPE_NULL);
+    } else if (value instanceof String) {
+      buffer.appendByte(TYPE_STRING);
+      writeString(buffer, (String) value);
+    } else if (value instanceof Boolean) {
+      buffer.appendByte(TYPE_BOOLEAN);
+      buffer.appendByte((byte) (((Boolean) value) ? 1 : 0));
+    } else if (value instanceof Character) {
+      buffer.appendByte(TYPE_CHARACTER);
+      buffer.appendShort((short) ((Character) value).charValue());
+    } else if (value instanceof Short) {
+      buffer.appendByte(TYPE_SHORT);
+      buffer.appendShort((Short) value);
+    } else if (value instanceof Integer) {
+      buffer.appendByte(TYPE_INTEGER);
+      buffer.appendInt((Integer) value);
+    } else if (value instanceof Long) {
+      buffer.appendByte(TYPE_LONG);
+      buffer.appendLong((Long) value);
+    } else if (value instanceof Float) {
+      buffer.appendByte(TYPE_FLOAT);
+      buffer.appendFloat((Float) value);
+    } else if (value instanceof Double) {
+      buffer.appendByte(TYPE_DOUBLE);
+      buffer.appendDouble((Double) value);
+    } else if (value instanceof Byte) {
+      buffer.appendByte(TYPE_BYTE);
+      buffer.appendByte((Byte) value);
+    } else if (value instanceof byte[]) {
+      buffer.appendByte(TYPE_BYTES);
+      writeBytes(buffer, (byte[]) value);
+    } else if (value instanceof Buffer) {
+      buffer.appendByte(TYPE_BUFFER);
+      writeVarLong(buffer, ((Buffer) value).length());
+      buffer.appendBuffer((Buffer) value);
+    } else if (value instanceof JsonObject) {
+      buffer.appendByte(TYPE_JSON_OBJECT);
+      writeString(buffer, ((JsonObject) value).encode());
+    } else if (value instanceof JsonArray) {
+      buffer.appendByte(TYPE_JSON_ARRAY);
+      writeString(buffer, ((JsonArray) value).encode());
+    } else {
+      MessageCodec codec = serializer.getCodec(value.getClass());
+      if (codec != null) {
+        buffer.appendByte(TYPE_CODEC);
+        writeString(buffer, codec.getClass().getName());
+        writeString(buffer, value.getClass().getName());
+        writeBytes(buffer, codec.encode(value));
+      } else {
+        buffer.appendByte(TYPE_SERIALIZED);
+        writeBytes(buffer, serializer.serializeObject(value));
+      }
+    }
+  }
+
+  /**
+   * Reads a typed message value.
+   */
+  private Object readValue(Reader reader) {
+    byte type = reader.readByte();
+    switch (type) {
+      case TYPE_NULL:
+        return null;
+      case TYPE_STRING:
+        return reader.readString();
+      case TYPE_BOOLEAN:
+        return reader.readByte() == 1;
+      case TYPE_CHARACTER:
+        return (char) reader.readShort();
+      case TYPE_SHORT:
+        return reader.readShort();
+      case TYPE_INTEGER:
+        return reader.readInt();
+      case TYPE_LONG:
+        return reader.readLong();
+      case TYPE_FLOAT:
+        return reader.readFloat();
+      case TYPE_DOUBLE:
+        return reader.readDouble();
+      case TYPE_BYTE:
+        return reader.readByte();
+      case TYPE_BYTES:
+        return reader.readBytes();
+      case TYPE_BUFFER:
+        return new Buffer(reader.readBytes());
+      case TYPE_JSON_OBJECT:
+        return new JsonObject(reader.readString());
+      case TYPE_JSON_ARRAY:
+        return new JsonArray(reader.readString());
+      case TYPE_SERIALIZED:
+        return deserializer.deserializeObject(reader.readBytes());
+      case TYPE_CODEC:
+        return deserializer.deserializeCodec(reader.readString(), reader.readString(), reader.readBytes());
+      default:
+        throw new DeserializationException("Unknown message value type: " + type);
+    }
+  }
+
+  /**
+   * Writes a nullable string. The length is written as a variable length
+   * integer offset by one so that zero can represent <code>null</code>.
+   */
+  private static void writeString(Buffer buffer, String value) {
+    if (value == null) {
+      writeVarLong(buffer, 0);
+    } else {
+      byte[] bytes = value.getBytes(UTF_8);
+      writeVarLong(buffer, bytes.length + 1);
+      buffer.appendBytes(bytes);
+    }
+  }
+
+  /**
+   * Writes a length prefixed byte array.
+   */
+  private static void writeBytes(Buffer buffer, byte[] bytes) {
+    writeVarLong(buffer, bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
+  /**
+   * Writes an unsigned variable length integer.
+   */
+  private static void writeVarLong(Buffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.appendByte((byte) value);
+  }
+
+  /**
+   * Sequential buffer reader.
+   */
+  private static class Reader {
+    private final Buffer buffer;
+    private int position;
+
+    private Reader(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private byte readByte() {
+      return buffer.getByte(position++);
+    }
+
+    private short readShort() {
+      short value = buffer.getShort(position);
+      position += 2;
+      return value;
+    }
+
+    private int readInt() {
+      int value = buffer.getInt(position);
+      position += 4;
+      return value;
+    }
+
+    private long readLong() {
+      long value = buffer.getLong(position);
+      position += 8;
+      return value;
+    }
+
+    private float readFloat() {
+      float value = buffer.getFloat(position);
+      position += 4;
+      return value;
+    }
+
+    private double readDouble() {
+      double value = buffer.getDouble(position);
+      position += 8;
+      return value;
+    }
+
+    private long readVarLong() {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = buffer.getByte(position++);
+        value |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    }
+
+    private byte[] readBytes() {
+      int length = (int) readVarLong();
+      byte[] bytes = buffer.getBytes(position, position + length);
+      position += length;
+      return bytes;
+    }
+
+    private Buffer readBuffer() {
+      int length = (int) readVarLong();
+      Buffer value = buffer.getBuffer(position, position + length);
+      position += length;
+      return value;
+    }
+
+    private String readString() {
+      int length = (int) readVarLong();
+      if (length == 0) {
+        return null;
+      }
+      length--;
+      String value = new String(buffer.getBytes(position, position + length), UTF_8);
+      position += length;
+      return value;
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.Vertx;
+import org.vertx.java.core.eventbus.EventBus;
+
+/**
+ * Output stream broadcast.<p>
+ *
+ * When a stream sends a message to all of its connections, each connection
+ * still sequences the message and holds it for resends, but rather than
+ * sending it to its input connection the connection offers the message to
+ * the broadcast. Once every connection has offered the message, if all the
+ * connections tagged it with the same ID then the message is encoded once
+ * and published to an address shared by all the stream's input connections.
+ * Since every input connection expects that ID, each one handles the
+ * published message exactly as if it had been sent to it directly, and
+ * acks, resend requests and backpressure still work per connection. If the
+ * connections' sequences differ, or some connection couldn't send the
+ * message, then the offered messages are sent to each input connection
+ * individually.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class ConnectionBroadcast {
+  private final EventBus eventBus;
+  private final String address;
+  private final List<DefaultOutputConnection> connections = new ArrayList<>();
+  private final List<ConnectionMessage> messages = new ArrayList<>();
+  private boolean collecting;
+  private long publishCount;
+
+  public ConnectionBroadcast(Vertx vertx, String address) {
+    this.eventBus = vertx.eventBus();
+    this.address = address;
+  }
+
+  /**
+   * Returns the broadcast address.
+   *
+   * @return The address to which messages are published.
+   */
+  public String address() {
+    return address;
+  }
+
+  /**
+   * Returns the number of messages that have been published.
+   *
+   * @return The number of messages published rather than sent to each connection.
+   */
+  public long publishCount() {
+    return publishCount;
+  }
+
+  /**
+   * Starts collecting a message sent to all connections.
+   */
+  public void start() {
+    collecting = true;
+  }
+
+  /**
+   * Indicates whether the broadcast is collecting a message.
+   */
+  boolean isCollecting() {
+    return collecting;
+  }
+
+  /**
+   * Offers a sequenced message from a connection.
+   */
+  void offer(DefaultOutputConnection connection, ConnectionMessage message) {
+    connections.add(connection);
+    messages.add(message);
+  }
+
+  /**
+   * Publishes or sends the collected message.
+   *
+   * @param size The number of connections to which the message was sent.
+   */
+  public void finish(int size) {
+    collecting = false;
+    try {
+      if (size > 0 && messages.size() == size && hasCommonId()) {
+        eventBus.publish(address, connections.get(0).encodeBroadcast(messages.get(0)));
+        publishCount++;
+      } else {
+        for (int i = 0; i < messages.size(); i++) {
+          connections.get(i).transmit(messages.get(i));
+        }
+      }
+    } finally {
+      connections.clear();
+      messages.clear();
+    }
+  }
+
+  /**
+   * Indicates whether all the collected messages have the same ID.
+   */
+  private boolean hasCommonId() {
+    long id = messages.get(0).id();
+    for (int i = 1; i < messages.size(); i++) {
+      if (messages.get(i).id() != id) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.eventbus.EventBus;
+import org.vertx.java.core.eventbus.Message;
+import org.vertx.java.core.impl.DefaultFutureResult;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Multiplexed connection channel.<p>
+ *
+ * Multiplexed connections don't register their own event bus handlers.
+ * Instead, all multiplexed connections to and from a component instance
+ * share a single event bus handler registered at the instance's channel
+ * address. Each message sent on a channel is tagged with the address of
+ * the connection to which it belongs, and the channel hands the message
+ * to that connection. Sequencing, acks and resends are still handled by
+ * each connection individually.<p>
+ *
+ * Channels are confined to the context on which they're created. Each
+ * context holds its own channel for an address, and a channel's handler
+ * and connections are only ever accessed from that context.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+final class ConnectionChannel {
+
+  /**
+   * Failure code with which requests to unregistered connections are failed.
+   */
+  static final int NO_CONNECTION = -404;
+
+  private static final String CONNECTION_FIELD = "connection";
+  private static final ConcurrentMap<Key, ConnectionChannel> channels = new ConcurrentHashMap<>();
+  private final Key key;
+  private final String address;
+  private final EventBus eventBus;
+  private final ConcurrentMap<String, Receiver> receivers = new ConcurrentHashMap<>();
+  private final List<Handler<AsyncResult<Void>>> registerHandlers = new ArrayList<>();
+  private boolean registering;
+  private boolean registered;
+
+  private final Handler<Message<Object>> messageHandler = new Handler<Message<Object>>() {
+    @Override
+    public void handle(Message<Object> message) {
+      Object body = message.body();
+      String connection;
+      Object payload;
+      if (body instanceof Buffer) {
+        Buffer buffer = (Buffer) body;
+        int length = buffer.getInt(0);
+        connection = buffer.getString(4, 4 + length, "UTF-8");
+        payload = buffer.getBuffer(4 + length, buffer.length());
+      } else if (body instanceof JsonObject) {
+        JsonObject json = (JsonObject) body;
+        connection = json.getString(CONNECTION_FIELD);
+        json.removeField(CONNECTION_FIELD);
+        payload = json;
+      } else {
+        return;
+      }
+
+      Receiver receiver = connection != null ? receivers.get(connection) : null;
+      if (receiver != null) {
+        receiver.deliver(payload, message);
+      } else if (message.replyAddress() != null) {
+        // Fail requests to connections that aren't registered just as the
+        // event bus fails requests to addresses with no handlers.
+        message.fail(NO_CONNECTION, String.format("No connection registered at %s", connection));
+      }
+    }
+  };
+
+  private ConnectionChannel(Key key, EventBus eventBus) {
+    this.key = key;
+    this.address = key.address;
+    this.eventBus = eventBus;
+  }
+
+  /**
+   * Returns the current context's channel for the given address, creating
+   * it if necessary.
+   *
+   * @param vertx The Vert.x instance.
+   * @param address The channel address.
+   * @return The channel.
+   */
+  static ConnectionChannel getChannel(Vertx vertx, String address) {
+    Context context = Vertx.currentContext();
+    Key key = new Key(context != null ? context : vertx, address);
+    ConnectionChannel channel = channels.get(key);
+    if (channel == null) {
+      channel = new ConnectionChannel(key, vertx.eventBus());
+      ConnectionChannel existing = channels.putIfAbsent(key, channel);
+      if (existing != null) {
+        channel = existing;
+      }
+    }
+    return channel;
+  }
+
+  /**
+   * Tags an encoded message with the address of the connection it belongs to.<p>
+   *
+   * The encoded message itself is left unchanged so that it can be resent.
+   *
+   * @param connection The address of the receiving connection.
+   * @param encoded The encoded message.
+   * @return A tagged copy of the message.
+   */
+  static Object wrap(String connection, Object encoded) {
+    if (encoded instanceof Buffer) {
+      byte[] bytes = connection.getBytes(StandardCharsets.UTF_8);
+      Buffer payload = (Buffer) encoded;
+      Buffer buffer = new Buffer(4 + bytes.length + payload.length());
+      buffer.appendInt(bytes.length);
+      buffer.appendBytes(bytes);
+      buffer.appendBuffer(payload);
+      return buffer;
+    } else if (encoded instanceof JsonObject) {
+      return ((JsonObject) encoded).copy().putString(CONNECTION_FIELD, connection);
+    }
+    throw new IllegalArgumentException("Cannot multiplex message of type " + encoded.getClass().getName());
+  }
+
+  /**
+   * Returns the channel address.
+   */
+  String address() {
+    return address;
+  }
+
+  /**
+   * Registers a connection with the channel.<p>
+   *
+   * The channel's event bus handler is registered when the first connection
+   * is registered.
+   *
+   * @param connection The connection address.
+   * @param receiver The receiver to which to hand the connection's messages.
+   * @param doneHandler A handler to be called once the channel is registered.
+   */
+  void register(String connection, Receiver receiver, Handler<AsyncResult<Void>> doneHandler) {
+    receivers.put(connection, receiver);
+    if (registered) {
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+      return;
+    }
+
+    registerHandlers.add(doneHandler);
+    if (!registering) {
+      registering = true;
+      eventBus.registerHandler(address, messageHandler, new Handler<AsyncResult<Void>>() {
+        @Override
+        public void handle(AsyncResult<Void> result) {
+          registering = false;
+          registered = result.succeeded();
+          if (!registered) {
+            // Drop the failed channel so that the next connection to open
+            // on this context tries to register the handler again.
+            receivers.clear();
+            channels.remove(key, ConnectionChannel.this);
+          }
+          List<Handler<AsyncResult<Void>>> handlers = new ArrayList<>(registerHandlers);
+          registerHandlers.clear();
+          for (Handler<AsyncResult<Void>> handler : handlers) {
+            if (handler != null) {
+              handler.handle(result);
+            }
+          }
+          // If every connection was unregistered while the handler was being
+          // registered then unregister the handler again.
+          if (registered && receivers.isEmpty()) {
+            unregister(null, null);
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Unregisters a connection from the channel.<p>
+   *
+   * The channel's event bus handler is unregistered once the last
+   * connection is unregistered.
+   *
+   * @param connection The connection address.
+   * @param doneHandler A handler to be called once the connection is unregistered.
+   */
+  void unregister(String connection, Handler<AsyncResult<Void>> doneHandler) {
+    if (connection != null) {
+      receivers.remove(connection);
+    }
+    if (receivers.isEmpty() && registered) {
+      registered = false;
+      channels.remove(key, this);
+      eventBus.unregisterHandler(address, messageHandler, doneHandler);
+    } else {
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+  }
+
+  /**
+   * Channel registry key. Contexts and Vert.x instances are compared by identity.
+   */
+  private static final class Key {
+    private final Object owner;
+    private final String address;
+
+    private Key(Object owner, String address) {
+      this.owner = owner;
+      this.address = address;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (!(object instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) object;
+      return key.owner == owner && key.address.equals(address);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(owner) + address.hashCode();
+    }
+  }
+
+  /**
+   * Receives messages for a connection registered with a channel.
+   */
+  static interface Receiver {
+
+    /**
+     * Delivers a message to the connection.
+     *
+     * @param body The encoded message.
+     * @param message The event bus message, which may be replied to.
+     */
+    void deliver(Object body, Message<Object> message);
+
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.List;
+
+/**
+ * Connection wire codec.<p>
+ *
+ * The codec converts {@link ConnectionMessage} instances to and from the
+ * object that is actually sent on the event bus. Codecs may be stateful,
+ * so each side of each connection gets its own codec instance.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public interface ConnectionCodec {
+
+  /**
+   * <code>json</code> is the JSON envelope codec. This is the default codec.
+   */
+  public static final String JSON = "json";
+
+  /**
+   * <code>binary</code> is the compact binary framing codec.
+   */
+  public static final String BINARY = "binary";
+
+  /**
+   * Encodes a connection message.
+   *
+   * @param message The message to encode.
+   * @return The encoded event bus message.
+   */
+  Object encode(ConnectionMessage message);
+
+  /**
+   * Encodes a frame of messages.<p>
+   *
+   * Frames pack several messages that were already encoded by this codec
+   * into a single event bus message. A frame decodes to a message with the
+   * <code>frame</code> action whose {@link ConnectionMessage#messages()}
+   * are the decoded messages in their original order.
+   *
+   * @param messages A list of messages encoded by this codec.
+   * @return The encoded event bus message.
+   */
+  Object encodeFrame(List<Object> messages);
+
+  /**
+   * Returns the size of an encoded message.
+   *
+   * @param message An event bus message encoded by this codec.
+   * @return The approximate size of the encoded message in bytes.
+   */
+  int sizeOf(Object message);
+
+  /**
+   * Serializes a message value independently of any message.<p>
+   *
+   * The serialized form is cached by {@link SerializedValue} and shared by
+   * all messages carrying the value, so it must be treated as immutable.
+   *
+   * @param value The value to serialize.
+   * @return The codec specific serialized value.
+   */
+  Object serializeValue(Object value);
+
+  /**
+   * Decodes a connection message.
+   *
+   * @param message The event bus message to decode.
+   * @return The decoded connection message.
+   */
+  ConnectionMessage decode(Object message);
+
+  /**
+   * Resolves references in a decoded message that couldn't be resolved
+   * when the message was decoded.<p>
+   *
+   * Messages may be received out of order, so a message may reference an
+   * interned group or batch ID before the message defining it is received.
+   * Connections resolve messages once they're handled in order.
+   *
+   * @param message The decoded message.
+   * @return The resolved message.
+   */
+  ConnectionMessage resolve(ConnectionMessage message);
+
+  /**
+   * Releases any state held for a group or batch ID.
+   *
+   * @param id The group or batch ID.
+   */
+  void release(String id);
+
+}
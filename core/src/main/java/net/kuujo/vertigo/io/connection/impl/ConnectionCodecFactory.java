@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.Map;
+
+/**
+ * Connection codec factory.<p>
+ *
+ * Codecs are looked up by name. The built in <code>json</code> and
+ * <code>binary</code> codecs are always available, and any other name
+ * is treated as the class name of a custom {@link ConnectionCodec}
+ * implementation with a public no-argument constructor.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public final class ConnectionCodecFactory {
+
+  private ConnectionCodecFactory() {
+  }
+
+  /**
+   * Creates a new connection codec.
+   *
+   * @param name The codec name or class name. If <code>null</code> the
+   *        JSON codec will be used.
+   * @return A new codec instance.
+   */
+  public static ConnectionCodec createCodec(String name) {
+    return createCodec(name, null);
+  }
+
+  /**
+   * Creates a new connection codec.
+   *
+   * @param name The codec name or class name. If <code>null</code> the
+   *        JSON codec will be used.
+   * @param messageCodecs A map of message type names to the names of the
+   *        message codecs with which to serialize them. Message codecs are
+   *        only supported by the built in connection codecs.
+   * @return A new codec instance.
+   */
+  public static ConnectionCodec createCodec(String name, Map<String, String> messageCodecs) {
+    if (name == null || name.equals(ConnectionCodec.JSON)) {
+      return new JsonConnectionCodec(messageCodecs);
+    } else if (name.equals(ConnectionCodec.BINARY)) {
+      return new BinaryConnectionCodec(messageCodecs);
+    }
+
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    try {
+      return (ConnectionCodec) loader.loadClass(name).newInstance();
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Error instantiating connection codec " + name);
+    }
+  }
+
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.List;
+
+/**
+ * Internal connection protocol message.<p>
+ *
+ * Connection messages are the decoded form of everything that is sent
+ * between the two sides of a connection. They're encoded to and decoded
+ * from the event bus format by a {@link ConnectionCodec}.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class ConnectionMessage {
+
+  /**
+   * Connection message action.<p>
+   *
+   * Note that the <code>group</code> and <code>batch</code> actions are used
+   * both for grouped/batched messages sent to the input connection and for
+   * ready messages sent back to the output connection. A <code>nack</code>
+   * message requests the range of messages from its ID through the ID
+   * given as its value, and an <code>ack</code> message carries the number
+   * of messages queued by the input connection as its value.
+   */
+  public static enum Action {
+    CONNECT((byte) 1, "connect"),
+    DISCONNECT((byte) 2, "disconnect"),
+    MESSAGE((byte) 3, "message"),
+    START_GROUP((byte) 4, "startGroup"),
+    GROUP((byte) 5, "group"),
+    END_GROUP((byte) 6, "endGroup"),
+    START_BATCH((byte) 7, "startBatch"),
+    BATCH((byte) 8, "batch"),
+    END_BATCH((byte) 9, "endBatch"),
+    ACK((byte) 10, "ack"),
+    FAIL((byte) 11, "fail"),
+    PAUSE((byte) 12, "pause"),
+    RESUME((byte) 13, "resume"),
+    FRAME((byte) 14, "frame"),
+    NACK((byte) 15, "nack");
+
+    private static final Action[] opcodes = new Action[16];
+    static {
+      for (Action action : values()) {
+        opcodes[action.opcode] = action;
+      }
+    }
+
+    private final byte opcode;
+    private final String name;
+
+    private Action(byte opcode, String name) {
+      this.opcode = opcode;
+      this.name = name;
+    }
+
+    /**
+     * Returns the binary action opcode.
+     *
+     * @return The action opcode.
+     */
+    public byte getOpcode() {
+      return opcode;
+    }
+
+    /**
+     * Returns the action name.
+     *
+     * @return The action name.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Looks up an action by opcode.
+     *
+     * @param opcode The action opcode.
+     * @return The action, or <code>null</code> if the opcode is unknown.
+     */
+    public static Action forOpcode(byte opcode) {
+      return opcode > 0 && opcode < opcodes.length ? opcodes[opcode] : null;
+    }
+
+    /**
+     * Looks up an action by name.
+     *
+     * @param name The action name.
+     * @return The action, or <code>null</code> if the name is unknown.
+     */
+    public static Action forName(String name) {
+      if (name != null) {
+        for (Action action : values()) {
+          if (action.name.equals(name)) {
+            return action;
+          }
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+
+  }
+
+  private final Action action;
+  private long id;
+  private String group;
+  private String batch;
+  private String name;
+  private String parent;
+  private int reference;
+  private int parentReference;
+  private Object value;
+  private List<ConnectionMessage> messages;
+
+  public ConnectionMessage(Action action) {
+    this.action = action;
+  }
+
+  /**
+   * Returns the message action.
+   *
+   * @return The message action.
+   */
+  public Action action() {
+    return action;
+  }
+
+  /**
+   * Returns the message sequence ID.
+   *
+   * @return The message sequence ID.
+   */
+  public long id() {
+    return id;
+  }
+
+  /**
+   * Sets the message sequence ID.
+   *
+   * @param id The message sequence ID.
+   * @return The connection message.
+   */
+  public ConnectionMessage setId(long id) {
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * Returns the message group ID.
+   *
+   * @return The message group ID.
+   */
+  public String group() {
+    return group;
+  }
+
+  /**
+   * Sets the message group ID.
+   *
+   * @param group The message group ID.
+   * @return The connection message.
+   */
+  public ConnectionMessage setGroup(String group) {
+    this.group = group;
+    return this;
+  }
+
+  /**
+   * Returns the message batch ID.
+   *
+   * @return The message batch ID.
+   */
+  public String batch() {
+    return batch;
+  }
+
+  /**
+   * Sets the message batch ID.
+   *
+   * @param batch The message batch ID.
+   * @return The connection message.
+   */
+  public ConnectionMessage setBatch(String batch) {
+    this.batch = batch;
+    return this;
+  }
+
+  /**
+   * Returns the group name.
+   *
+   * @return The group name.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Sets the group name.
+   *
+   * @param name The group name.
+   * @return The connection message.
+   */
+  public ConnectionMessage setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * Returns the parent group or batch ID.
+   *
+   * @return The parent group or batch ID.
+   */
+  public String parent() {
+    return parent;
+  }
+
+  /**
+   * Sets the parent group or batch ID.
+   *
+   * @param parent The parent group or batch ID.
+   * @return The connection message.
+   */
+  public ConnectionMessage setParent(String parent) {
+    this.parent = parent;
+    return this;
+  }
+
+  /**
+   * Returns the unresolved handle of the message's group or batch ID.<p>
+   *
+   * Codecs that intern IDs may decode a reference before the message that
+   * defines it has been received. The handle is held until the message is
+   * handled in order and the reference can be resolved.
+   *
+   * @return The unresolved handle, or <code>0</code> if the ID is resolved.
+   */
+  public int reference() {
+    return reference;
+  }
+
+  /**
+   * Sets the unresolved handle of the message's group or batch ID.
+   *
+   * @param reference The unresolved handle.
+   * @return The connection message.
+   */
+  public ConnectionMessage setReference(int reference) {
+    this.reference = reference;
+    return this;
+  }
+
+  /**
+   * Returns the unresolved handle of the parent group or batch ID.
+   *
+   * @return The unresolved handle, or <code>0</code> if the ID is resolved.
+   */
+  public int parentReference() {
+    return parentReference;
+  }
+
+  /**
+   * Sets the unresolved handle of the parent group or batch ID.
+   *
+   * @param parentReference The unresolved handle.
+   * @return The connection message.
+   */
+  public ConnectionMessage setParentReference(int parentReference) {
+    this.parentReference = parentReference;
+    return this;
+  }
+
+  /**
+   * Returns the message value.
+   *
+   * @return The message value.
+   */
+  public Object value() {
+    return value;
+  }
+
+  /**
+   * Sets the message value.
+   *
+   * @param value The message value.
+   * @return The connection message.
+   */
+  public ConnectionMessage setValue(Object value) {
+    this.value = value;
+    return this;
+  }
+
+  /**
+   * Returns the messages contained in a frame.
+   *
+   * @return The framed messages in the order in which they were sent.
+   */
+  public List<ConnectionMessage> messages() {
+    return messages;
+  }
+
+  /**
+   * Sets the messages contained in a frame.
+   *
+   * @param messages The framed messages.
+   * @return The connection message.
+   */
+  public ConnectionMessage setMessages(List<ConnectionMessage> messages) {
+    this.messages = messages;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ConnectionMessage[action=%s, id=%d]", action, id);
+  }
+
+}
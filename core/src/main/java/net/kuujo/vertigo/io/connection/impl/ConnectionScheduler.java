@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Shared connection scheduler.<p>
+ *
+ * Connections need periodic housekeeping such as acking idle connections
+ * and requesting missing messages. Rather than each connection owning a
+ * Vert.x periodic timer, all connections created on the same context share
+ * a single scheduler whose timer calls every registered task on each tick.
+ * The timer is only running while at least one task is registered.<p>
+ *
+ * Connections acquire the scheduler for their context when they're opened
+ * and release it when they're closed. The scheduler is discarded once the
+ * last connection on its context releases it.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class ConnectionScheduler {
+  private static final long DEFAULT_INTERVAL = 100;
+  private static final Map<Object, ConnectionScheduler> schedulers = new HashMap<>();
+  private final Vertx vertx;
+  private final Object key;
+  private final long interval;
+  private final Set<Handler<Long>> tasks = new LinkedHashSet<>();
+  private int references;
+  private long timerID;
+
+  private final Handler<Long> timer = new Handler<Long>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handle(Long timerID) {
+      // Tasks may register or unregister tasks while running, so run
+      // the tasks from a copy of the current set.
+      for (Handler<Long> task : tasks.toArray(new Handler[tasks.size()])) {
+        task.handle(timerID);
+      }
+    }
+  };
+
+  private ConnectionScheduler(Vertx vertx, Object key, long interval) {
+    this.vertx = vertx;
+    this.key = key;
+    this.interval = interval;
+  }
+
+  /**
+   * Acquires a reference to the scheduler for the current context.<p>
+   *
+   * Each call must be followed by a call to {@link #release()} once the
+   * caller no longer needs the scheduler.
+   *
+   * @param vertx The Vert.x instance.
+   * @return The scheduler shared by all connections on the current context.
+   */
+  public static ConnectionScheduler acquire(Vertx vertx) {
+    Object key = key(vertx);
+    synchronized (schedulers) {
+      ConnectionScheduler scheduler = schedulers.get(key);
+      if (scheduler == null) {
+        scheduler = new ConnectionScheduler(vertx, key, DEFAULT_INTERVAL);
+        schedulers.put(key, scheduler);
+      }
+      scheduler.references++;
+      return scheduler;
+    }
+  }
+
+  /**
+   * Returns the scheduler for the current context without acquiring it.
+   *
+   * @param vertx The Vert.x instance.
+   * @return The scheduler for the current context, or <code>null</code> if
+   *         no connection on the context holds the scheduler.
+   */
+  public static ConnectionScheduler currentScheduler(Vertx vertx) {
+    Object key = key(vertx);
+    synchronized (schedulers) {
+      return schedulers.get(key);
+    }
+  }
+
+  /**
+   * Returns the key for the current context.
+   */
+  private static Object key(Vertx vertx) {
+    Context context = Vertx.currentContext();
+    return context != null ? context : vertx;
+  }
+
+  /**
+   * Releases a reference to the scheduler.<p>
+   *
+   * Once the last reference is released the scheduler's timer is stopped
+   * and the scheduler is discarded.
+   */
+  public void release() {
+    synchronized (schedulers) {
+      if (references > 0 && --references == 0) {
+        tasks.clear();
+        cancel();
+        schedulers.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Returns the scheduler tick interval.
+   *
+   * @return The interval at which registered tasks are called in milliseconds.
+   */
+  public long interval() {
+    return interval;
+  }
+
+  /**
+   * Indicates whether the scheduler's timer is running.
+   *
+   * @return Indicates whether the scheduler's timer is running.
+   */
+  public boolean isRunning() {
+    return timerID != 0;
+  }
+
+  /**
+   * Returns the number of registered tasks.
+   *
+   * @return The number of registered tasks.
+   */
+  public int size() {
+    return tasks.size();
+  }
+
+  /**
+   * Registers a periodic task.
+   *
+   * @param task The task to call on each tick.
+   * @return The scheduler.
+   */
+  public ConnectionScheduler register(Handler<Long> task) {
+    if (tasks.add(task) && timerID == 0) {
+      timerID = vertx.setPeriodic(interval, timer);
+    }
+    return this;
+  }
+
+  /**
+   * Unregisters a periodic task.
+   *
+   * @param task The task to unregister.
+   * @return The scheduler.
+   */
+  public ConnectionScheduler unregister(Handler<Long> task) {
+    if (tasks.remove(task) && tasks.isEmpty()) {
+      cancel();
+    }
+    return this;
+  }
+
+  /**
+   * Cancels the scheduler's timer.
+   */
+  private void cancel() {
+    if (timerID > 0) {
+      vertx.cancelTimer(timerID);
+      timerID = 0;
+    }
+  }
+
+}
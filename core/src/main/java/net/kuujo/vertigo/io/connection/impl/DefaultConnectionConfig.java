@@ -23,12 +23,17 @@ import net.kuujo.vertigo.hook.InputHook;
 import net.kuujo.vertigo.hook.OutputHook;
 import net.kuujo.vertigo.io.connection.ConnectionConfig;
 import net.kuujo.vertigo.io.selector.AllSelector;
+import net.kuujo.vertigo.io.selector.ConsistentHashSelector;
 import net.kuujo.vertigo.io.selector.CustomSelector;
 import net.kuujo.vertigo.io.selector.FairSelector;
 import net.kuujo.vertigo.io.selector.HashSelector;
+import net.kuujo.vertigo.io.selector.KeyExtractor;
+import net.kuujo.vertigo.io.selector.LeastLoadedSelector;
+import net.kuujo.vertigo.io.selector.LocalitySelector;
 import net.kuujo.vertigo.io.selector.RandomSelector;
 import net.kuujo.vertigo.io.selector.RoundRobinSelector;
 import net.kuujo.vertigo.io.selector.Selector;
+import net.kuujo.vertigo.io.selector.WeightedRoundRobinSelector;
 import net.kuujo.vertigo.network.NetworkConfig;
 import net.kuujo.vertigo.util.Args;
 
@@ -45,6 +50,13 @@ public class DefaultConnectionConfig implements ConnectionConfig {
   private Target target = new DefaultTarget();
   private List<IOHook> hooks = new ArrayList<>();
   private Selector selector;
+  private String codec = ConnectionCodec.JSON;
+  private int frameSize = 1;
+  private long frameDelay;
+  private boolean multiplexed;
+  private boolean groupPipelining;
+  private boolean localTransport = true;
+  private int batchDepth = 1;
 
   public DefaultConnectionConfig() {
     super();
@@ -115,6 +127,12 @@ public class DefaultConnectionConfig implements ConnectionConfig {
     return this;
   }
 
+  @Override
+  public ConnectionConfig weightedRoundSelect() {
+    this.selector = new WeightedRoundRobinSelector();
+    return this;
+  }
+
   @Override
   public ConnectionConfig randomSelect() {
     this.selector = new RandomSelector();
@@ -127,28 +145,162 @@ public class DefaultConnectionConfig implements ConnectionConfig {
     return this;
   }
 
+  @Override
+  public ConnectionConfig hashSelect(KeyExtractor keyExtractor) {
+    this.selector = new HashSelector(keyExtractor);
+    return this;
+  }
+
+  @Override
+  public ConnectionConfig consistentHashSelect() {
+    this.selector = new ConsistentHashSelector();
+    return this;
+  }
+
+  @Override
+  public ConnectionConfig consistentHashSelect(KeyExtractor keyExtractor) {
+    this.selector = new ConsistentHashSelector(keyExtractor);
+    return this;
+  }
+
   @Override
   public ConnectionConfig fairSelect() {
     this.selector = new FairSelector();
     return this;
   }
 
+  @Override
+  public ConnectionConfig leastLoadedSelect() {
+    this.selector = new LeastLoadedSelector();
+    return this;
+  }
+
+  @Override
+  public ConnectionConfig localSelect() {
+    this.selector = new LocalitySelector();
+    return this;
+  }
+
+  @Override
+  public ConnectionConfig localSelect(Selector selector) {
+    this.selector = new LocalitySelector(wrapSelector(selector));
+    return this;
+  }
+
   @Override
   public ConnectionConfig allSelect() {
     this.selector = new AllSelector();
     return this;
   }
 
+  @Override
+  public ConnectionConfig broadcastSelect() {
+    this.selector = new AllSelector(true);
+    return this;
+  }
+
   @Override
   public ConnectionConfig customSelect(Selector selector) {
+    this.selector = wrapSelector(selector);
+    return this;
+  }
+
+  /**
+   * Wraps a selector in a custom selector if it's not a built-in selector.
+   */
+  private static Selector wrapSelector(Selector selector) {
     if (selector == null) {
-      this.selector = new RoundRobinSelector();
-    } else if (selector instanceof RoundRobinSelector || selector instanceof RandomSelector || selector instanceof HashSelector
-        || selector instanceof FairSelector || selector instanceof AllSelector) {
-      this.selector = selector;
+      return new RoundRobinSelector();
+    } else if (selector instanceof RoundRobinSelector || selector instanceof WeightedRoundRobinSelector || selector instanceof RandomSelector || selector instanceof HashSelector
+        || selector instanceof ConsistentHashSelector || selector instanceof FairSelector || selector instanceof LeastLoadedSelector
+        || selector instanceof LocalitySelector || selector instanceof AllSelector) {
+      return selector;
     } else {
-      this.selector = new CustomSelector(selector);
+      return new CustomSelector(selector);
+    }
+  }
+
+  @Override
+  public String getCodec() {
+    return codec;
+  }
+
+  @Override
+  public ConnectionConfig setCodec(String codec) {
+    this.codec = codec != null ? codec : ConnectionCodec.JSON;
+    return this;
+  }
+
+  @Override
+  public int getFrameSize() {
+    return frameSize;
+  }
+
+  @Override
+  public ConnectionConfig setFrameSize(int frameSize) {
+    Args.checkPositive(frameSize, "frame size must be a positive number");
+    this.frameSize = frameSize;
+    return this;
+  }
+
+  @Override
+  public long getFrameDelay() {
+    return frameDelay;
+  }
+
+  @Override
+  public ConnectionConfig setFrameDelay(long frameDelay) {
+    if (frameDelay < 0) {
+      throw new IllegalArgumentException("frame delay must not be negative");
+    }
+    this.frameDelay = frameDelay;
+    return this;
+  }
+
+  @Override
+  public boolean isMultiplexed() {
+    return multiplexed;
+  }
+
+  @Override
+  public ConnectionConfig setMultiplexed(boolean multiplexed) {
+    this.multiplexed = multiplexed;
+    return this;
+  }
+
+  @Override
+  public boolean isGroupPipelining() {
+    return groupPipelining;
+  }
+
+  @Override
+  public ConnectionConfig setGroupPipelining(boolean pipelining) {
+    this.groupPipelining = pipelining;
+    return this;
+  }
+
+  @Override
+  public boolean isLocalTransport() {
+    return localTransport;
+  }
+
+  @Override
+  public ConnectionConfig setLocalTransport(boolean localTransport) {
+    this.localTransport = localTransport;
+    return this;
+  }
+
+  @Override
+  public int getBatchDepth() {
+    return batchDepth;
+  }
+
+  @Override
+  public ConnectionConfig setBatchDepth(int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("batch depth must be at least 1");
     }
+    this.batchDepth = depth;
     return this;
   }
 
@@ -27,6 +27,8 @@ import net.kuujo.vertigo.io.connection.ConnectionContext;
 public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> extends BaseContext<T> implements ConnectionContext<T> {
   protected SourceContext source;
   protected TargetContext target;
+  protected String codec = ConnectionCodec.JSON;
+  protected String broadcast;
 
   @Override
   public SourceContext source() {
@@ -38,6 +40,16 @@ public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> e
     return target;
   }
 
+  @Override
+  public String codec() {
+    return codec;
+  }
+
+  @Override
+  public String broadcast() {
+    return broadcast;
+  }
+
   @Override
   public String uri() {
     return null;
@@ -60,6 +72,7 @@ public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> e
     protected String component;
     protected String port;
     protected int instance;
+    protected String channel;
 
     @Override
     public String address() {
@@ -81,6 +94,11 @@ public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> e
       return instance;
     }
 
+    @Override
+    public String channel() {
+      return channel;
+    }
+
     @Override
     public String uri() {
       return null;
@@ -138,6 +156,18 @@ public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> e
         return (U) this;
       }
 
+      /**
+       * Sets the endpoint instance's multiplexed channel address.
+       *
+       * @param channel The channel address, or <code>null</code> if the
+       *        connection is not multiplexed.
+       * @return The context builder.
+       */
+      public U setChannel(String channel) {
+        context.channel = channel;
+        return (U) this;
+      }
+
     }
     
   }
@@ -198,6 +228,12 @@ public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> e
    * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
    */
   public static class DefaultTargetContext extends DefaultEndpointContext<TargetContext> implements TargetContext {
+    private int weight = 1;
+
+    @Override
+    public int weight() {
+      return weight;
+    }
 
     @Override
     public String toString() {
@@ -238,6 +274,17 @@ public abstract class DefaultConnectionContext<T extends ConnectionContext<T>> e
         return new Builder(context);
       }
 
+      /**
+       * Sets the target instance's routing weight.
+       *
+       * @param weight The target instance's routing weight.
+       * @return The context builder.
+       */
+      public Builder setWeight(int weight) {
+        context.weight = weight;
+        return this;
+      }
+
     }
 
   }
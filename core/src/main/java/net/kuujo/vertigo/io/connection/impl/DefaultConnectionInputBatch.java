@@ -15,7 +15,10 @@
  */
 package net.kuujo.vertigo.io.connection.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.kuujo.vertigo.io.batch.InputBatch;
@@ -41,6 +44,8 @@ public class DefaultConnectionInputBatch implements ConnectionInputBatch {
   private Handler<InputGroup> groupHandler;
   private final Map<String, Handler<InputGroup>> groupHandlers = new HashMap<>();
   private boolean started;
+  private boolean ready;
+  private List<ConnectionMessage> held;
 
   public DefaultConnectionInputBatch(String id, DefaultInputConnection connection) {
     this.id = id;
@@ -69,6 +74,40 @@ public class DefaultConnectionInputBatch implements ConnectionInputBatch {
     return this;
   }
 
+  /**
+   * Indicates whether the batch is ready to handle messages.
+   */
+  boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Holds a message that was received before the batch was ready.
+   */
+  void hold(ConnectionMessage message) {
+    if (held == null) {
+      held = new ArrayList<>();
+    }
+    held.add(message);
+  }
+
+  /**
+   * Returns and clears any messages held for the batch.
+   */
+  List<ConnectionMessage> release() {
+    List<ConnectionMessage> messages = held;
+    held = null;
+    return messages != null ? messages : Collections.<ConnectionMessage>emptyList();
+  }
+
+  /**
+   * Marks the batch as ready, returning any messages held for the batch.
+   */
+  List<ConnectionMessage> ready() {
+    ready = true;
+    return release();
+  }
+
   @SuppressWarnings("unchecked")
   void handleStart(Object args) {
     if (startHandler != null) {
@@ -15,7 +15,10 @@
  */
 package net.kuujo.vertigo.io.connection.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.kuujo.vertigo.io.group.InputGroup;
@@ -44,6 +47,8 @@ public class DefaultConnectionInputGroup implements ConnectionInputGroup {
   private Handler<InputGroup> groupHandler;
   private final Map<String, Handler<InputGroup>> groupHandlers = new HashMap<>();
   private boolean started;
+  private boolean ready;
+  private List<ConnectionMessage> held;
 
   public DefaultConnectionInputGroup(String id, String name, DefaultInputConnection connection) {
     this.id = id;
@@ -78,6 +83,33 @@ public class DefaultConnectionInputGroup implements ConnectionInputGroup {
     return this;
   }
 
+  /**
+   * Indicates whether the group is ready to handle messages.
+   */
+  boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Holds a message that was received before the group was ready.
+   */
+  void hold(ConnectionMessage message) {
+    if (held == null) {
+      held = new ArrayList<>();
+    }
+    held.add(message);
+  }
+
+  /**
+   * Marks the group as ready, returning any messages held for the group.
+   */
+  List<ConnectionMessage> ready() {
+    ready = true;
+    List<ConnectionMessage> messages = held;
+    held = null;
+    return messages != null ? messages : Collections.<ConnectionMessage>emptyList();
+  }
+
   @SuppressWarnings("unchecked")
   void handleMessage(Object message) {
     if (messageHandler != null) {
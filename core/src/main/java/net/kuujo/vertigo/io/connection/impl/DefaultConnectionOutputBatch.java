@@ -110,6 +110,17 @@ public class DefaultConnectionOutputBatch implements ConnectionOutputBatch {
     return connection.getSendQueueMaxSize();
   }
 
+  @Override
+  public OutputConnection setSendQueueMaxBytes(long maxBytes) {
+    connection.setSendQueueMaxBytes(maxBytes);
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    return connection.getSendQueueMaxBytes();
+  }
+
   @Override
   public boolean sendQueueFull() {
     return connection.sendQueueFull();
@@ -121,6 +132,53 @@ public class DefaultConnectionOutputBatch implements ConnectionOutputBatch {
     return this;
   }
 
+  @Override
+  public int credit() {
+    return connection.credit();
+  }
+
+  @Override
+  public int load() {
+    return connection.load();
+  }
+
+  @Override
+  public int weight() {
+    return connection.weight();
+  }
+
+  @Override
+  public boolean isLocal() {
+    return connection.isLocal();
+  }
+
+  @Override
+  public long retransmitCount() {
+    return connection.retransmitCount();
+  }
+
+  @Override
+  public OutputConnection setFrameSize(int frameSize) {
+    connection.setFrameSize(frameSize);
+    return this;
+  }
+
+  @Override
+  public int getFrameSize() {
+    return connection.getFrameSize();
+  }
+
+  @Override
+  public OutputConnection setFrameDelay(long frameDelay) {
+    connection.setFrameDelay(frameDelay);
+    return this;
+  }
+
+  @Override
+  public long getFrameDelay() {
+    return connection.getFrameDelay();
+  }
+
   /**
    * Checks whether the batch is complete.
    */
@@ -128,6 +128,17 @@ public class DefaultConnectionOutputGroup implements ConnectionOutputGroup {
     return connection.getSendQueueMaxSize();
   }
 
+  @Override
+  public OutputGroup setSendQueueMaxBytes(long maxBytes) {
+    connection.setSendQueueMaxBytes(maxBytes);
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    return connection.getSendQueueMaxBytes();
+  }
+
   @Override
   public int size() {
     return connection.size();
@@ -15,24 +15,27 @@
  */
 package net.kuujo.vertigo.io.connection.impl;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
 
 import net.kuujo.vertigo.hook.InputHook;
 import net.kuujo.vertigo.io.batch.InputBatch;
 import net.kuujo.vertigo.io.connection.InputConnection;
 import net.kuujo.vertigo.io.connection.InputConnectionContext;
 import net.kuujo.vertigo.io.group.InputGroup;
-import net.kuujo.vertigo.io.impl.InputDeserializer;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import org.vertx.java.core.eventbus.EventBus;
 import org.vertx.java.core.eventbus.Message;
-import io.vertx.core.json.JsonObject;
 import org.vertx.java.core.logging.Logger;
 import org.vertx.java.core.logging.impl.LoggerFactory;
 
@@ -43,7 +46,9 @@ import org.vertx.java.core.logging.impl.LoggerFactory;
  */
 public class DefaultInputConnection implements InputConnection {
   private static final long BATCH_SIZE = 1000;
-  private static final long MAX_BATCH_TIME = 100;
+  private static final long MAX_FEEDBACK_TIME = 1000;
+  private static final int MAX_REORDER_SIZE = 1000;
+  private static final long NACK_INTERVAL = 500;
   private final Logger log;
   private final Vertx vertx;
   private final EventBus eventBus;
@@ -54,14 +59,26 @@ public class DefaultInputConnection implements InputConnection {
   private Handler<InputGroup> groupHandler;
   private final Map<String, Handler<InputGroup>> groupHandlers = new HashMap<>();
   private final Map<String, DefaultConnectionInputGroup> groups = new HashMap<>();
-  private final InputDeserializer deserializer = new InputDeserializer();
+  private final Queue<ConnectionMessage> releasedMessages = new ArrayDeque<>();
+  private int heldMessages;
+  private final ConnectionCodec codec;
+  private LocalConnections.Endpoint local;
+  private final String sourceChannel;
+  private final String targetChannel;
+  private ConnectionChannel channel;
   @SuppressWarnings("rawtypes")
   private Handler messageHandler;
   private Handler<InputBatch> batchHandler;
+  private final Map<String, DefaultConnectionInputBatch> batches = new LinkedHashMap<>();
   private DefaultConnectionInputBatch currentBatch;
+  private final TreeMap<Long, ConnectionMessage> reorderBuffer = new TreeMap<>();
+  private ConnectionScheduler scheduler;
+  private long ackInterval = BATCH_SIZE;
   private long lastReceived;
+  private long lastAcked;
+  private long lastTickReceived;
   private long lastFeedbackTime;
-  private long feedbackTimerID;
+  private long lastNackTime;
   private boolean open;
   private boolean connected;
   private boolean paused;
@@ -69,68 +86,43 @@ public class DefaultInputConnection implements InputConnection {
   private final Handler<Long> internalTimer = new Handler<Long>() {
     @Override
     public void handle(Long timerID) {
-      // Ensure that feedback messages are sent at least every second or so.
-      // This will ensure that feedback is still provided when output connections
-      // are full, otherwise the feedback will never be triggered.
+      // If no messages have arrived since the last tick then ack any messages
+      // that haven't been acked yet rather than waiting for the ack interval,
+      // otherwise the output connection could be left waiting on an ack.
+      // Feedback is also sent at least every second or so as a heartbeat.
       long currentTime = System.currentTimeMillis();
-      if (currentTime - lastFeedbackTime > 1000) {
+      if ((lastReceived == lastTickReceived && lastReceived != lastAcked)
+          || currentTime - lastFeedbackTime > MAX_FEEDBACK_TIME) {
         ack();
       }
+      lastTickReceived = lastReceived;
+      // If messages are still missing then the resend request or the resent
+      // messages may have been lost, so request the missing messages again.
+      if (!reorderBuffer.isEmpty() && currentTime - lastNackTime > NACK_INTERVAL) {
+        nackMissing();
+      }
     }
   };
 
-  private final Handler<Message<JsonObject>> internalMessageHandler = new Handler<Message<JsonObject>>() {
+  private final ConnectionChannel.Receiver internalReceiver = new ConnectionChannel.Receiver() {
     @Override
-    public void handle(Message<JsonObject> message) {
+    public void deliver(Object encoded, Message<Object> message) {
       if (open && !paused) {
-        String action = message.body().getString("action");
-        switch (action) {
-          case "message":
-            if (checkID(message.body().getLong("id"))) {
-              doMessage(message.body());
-            }
-            break;
-          case "startGroup":
-            if (checkID(message.body().getLong("id"))) {
-              doGroupStart(message.body());
-            }
-            break;
-          case "group":
-            if (checkID(message.body().getLong("id"))) {
-              doGroupMessage(message.body());
-            }
-            break;
-          case "endGroup":
-            if (checkID(message.body().getLong("id"))) {
-              doGroupEnd(message.body());
-            }
-            break;
-          case "startBatch":
-            if (checkID(message.body().getLong("id"))) {
-              doBatchStart(message.body());
-            }
-            break;
-          case "batch":
-            if (checkID(message.body().getLong("id"))) {
-              doBatchMessage(message.body());
-            }
-            break;
-          case "endBatch":
-            if (checkID(message.body().getLong("id"))) {
-              doBatchEnd(message.body());
-            }
-            break;
-          case "connect":
-            doConnect(message);
-            break;
-          case "disconnect":
-            doDisconnect(message);
-            break;
+        ConnectionMessage body = codec.decode(encoded);
+        if (body != null) {
+          handleMessage(body, message);
         }
       }
     }
   };
 
+  private final Handler<Message<Object>> internalMessageHandler = new Handler<Message<Object>>() {
+    @Override
+    public void handle(Message<Object> message) {
+      internalReceiver.deliver(message.body(), message);
+    }
+  };
+
   public DefaultInputConnection(Vertx vertx, String address) {
     this(vertx, DefaultInputConnectionContext.Builder.newBuilder().setAddress(address).build());
   }
@@ -139,10 +131,13 @@ public class DefaultInputConnection implements InputConnection {
     this.vertx = vertx;
     this.eventBus = vertx.eventBus();
     this.context = context;
+    this.codec = ConnectionCodecFactory.createCodec(context.codec());
     this.inAddress = String.format("%s.in", context.address());
     this.outAddress = String.format("%s.out", context.address());
     this.log = LoggerFactory.getLogger(String.format("%s-%s", DefaultInputConnection.class.getName(), context.address()));
     this.hooks = context.hooks();
+    this.sourceChannel = context.source() != null ? context.source().channel() : null;
+    this.targetChannel = context.target() != null ? context.target().channel() : null;
   }
 
   @Override
@@ -162,7 +157,7 @@ public class DefaultInputConnection implements InputConnection {
 
   @Override
   public int size() {
-    return 0;
+    return reorderBuffer.size();
   }
 
   @Override
@@ -172,14 +167,21 @@ public class DefaultInputConnection implements InputConnection {
 
   @Override
   public InputConnection open(final Handler<AsyncResult<Void>> doneHandler) {
-    eventBus.registerHandler(inAddress, internalMessageHandler, new Handler<AsyncResult<Void>>() {
+    final Handler<AsyncResult<Void>> registerHandler = new Handler<AsyncResult<Void>>() {
       @Override
       public void handle(AsyncResult<Void> result) {
         if (result.succeeded()) {
           log.info(String.format("%s - Opened connection to %s", DefaultInputConnection.this, context.source()));
-          if (feedbackTimerID == 0) {
-            log.debug(String.format("%s - Starting periodic ack timer with max batch interval: %d", DefaultInputConnection.this, MAX_BATCH_TIME));
-            feedbackTimerID = vertx.setPeriodic(MAX_BATCH_TIME, internalTimer);
+          if (scheduler == null) {
+            scheduler = ConnectionScheduler.acquire(vertx);
+            log.debug(String.format("%s - Scheduling periodic ack check with interval: %d", DefaultInputConnection.this, scheduler.interval()));
+            scheduler.register(internalTimer);
+          }
+          // Register the connection so that output connections in the same
+          // JVM can hand messages directly to this connection's context.
+          Context current = Vertx.currentContext();
+          if (current != null && local == null) {
+            local = LocalConnections.register(context.address(), DefaultInputConnection.this, current);
           }
           open = true;
         } else {
@@ -187,29 +189,233 @@ public class DefaultInputConnection implements InputConnection {
         }
         doneHandler.handle(result);
       }
-    });
+    };
+
+    // Broadcast connections also receive messages published to all of the
+    // stream's input connections. The broadcast handler is registered first
+    // so that the connection doesn't miss published messages once it's open.
+    if (context.broadcast() != null) {
+      eventBus.registerHandler(context.broadcast(), internalMessageHandler, new Handler<AsyncResult<Void>>() {
+        @Override
+        public void handle(AsyncResult<Void> result) {
+          if (result.failed()) {
+            registerHandler.handle(result);
+          } else {
+            doOpen(registerHandler);
+          }
+        }
+      });
+    } else {
+      doOpen(registerHandler);
+    }
     return this;
   }
 
   /**
-   * Checks that the given ID is valid.
+   * Registers the connection's handler.
    */
-  private boolean checkID(long id) {
-    // Ensure that the given ID is a monotonically increasing ID.
-    // If the ID is less than the last received ID then reset the
-    // last received ID since the connection must have been reset.
-    if (lastReceived == 0 || id == lastReceived + 1 || id < lastReceived) {
-      lastReceived = id;
-      // If the ID reaches the end of the current batch then tell the data
-      // source that it's okay to remove all previous messages.
-      if (lastReceived % BATCH_SIZE == 0) {
-        ack();
+  private void doOpen(Handler<AsyncResult<Void>> registerHandler) {
+    // Multiplexed connections receive messages through the target instance's
+    // channel rather than registering their own event bus handler.
+    if (targetChannel != null) {
+      channel = ConnectionChannel.getChannel(vertx, targetChannel);
+      channel.register(inAddress, internalReceiver, registerHandler);
+    } else {
+      eventBus.registerHandler(inAddress, internalMessageHandler, registerHandler);
+    }
+  }
+
+  /**
+   * Handles a message from an output connection in the same JVM.
+   */
+  void receive(ConnectionMessage message) {
+    if (open && !paused) {
+      handleMessage(message, null);
+    }
+  }
+
+  /**
+   * Handles a decoded connection message.
+   *
+   * @return Indicates whether the message was accepted.
+   */
+  private boolean handleMessage(ConnectionMessage body, Message<Object> message) {
+    switch (body.action()) {
+      case MESSAGE:
+      case START_GROUP:
+      case GROUP:
+      case END_GROUP:
+      case START_BATCH:
+      case BATCH:
+      case END_BATCH:
+        return doReceive(body);
+      case FRAME:
+        doFrame(body, message);
+        break;
+      case CONNECT:
+        doConnect(body, message);
+        break;
+      case DISCONNECT:
+        doDisconnect(message);
+        break;
+      default:
+        break;
+    }
+    return true;
+  }
+
+  /**
+   * Handles a message that was received in order.
+   */
+  private void dispatch(ConnectionMessage body) {
+    // Group and batch references are resolved only once the message is
+    // handled in order since the message defining them may have arrived
+    // after the message itself.
+    codec.resolve(body);
+    switch (body.action()) {
+      case MESSAGE:
+        doMessage(body);
+        break;
+      case START_GROUP:
+        doGroupStart(body);
+        break;
+      case GROUP:
+        doGroupMessage(body);
+        break;
+      case END_GROUP:
+        doGroupEnd(body);
+        break;
+      case START_BATCH:
+        doBatchStart(body);
+        break;
+      case BATCH:
+        doBatchMessage(body);
+        break;
+      case END_BATCH:
+        doBatchEnd(body);
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Handles a frame of messages.
+   */
+  private void doFrame(ConnectionMessage frame, Message<Object> message) {
+    // Framed messages are handled in order exactly as if they had been sent
+    // individually. If a handler pauses the connection part way through the
+    // frame then the remaining messages are dropped just like messages that
+    // arrive while paused, and will be resent once the gap is detected.
+    // If the reorder buffer overflows the rest of the frame is skipped since
+    // the output connection will resend everything after the last good ID.
+    for (ConnectionMessage body : frame.messages()) {
+      if (!open || paused) {
+        break;
       }
+      if (body != null && !handleMessage(body, message)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Handles a sequenced message.
+   *
+   * @return Indicates whether the message was accepted or buffered.
+   */
+  private boolean doReceive(ConnectionMessage message) {
+    long id = message.id();
+    if (lastReceived == 0 || id == lastReceived + 1) {
+      accept(message);
+      drainReorderBuffer();
       return true;
-    } else {
+    } else if (id == 1) {
+      // The output connection has been reset and is starting over.
+      reset();
+      accept(message);
+      return true;
+    } else if (id <= lastReceived) {
+      // The message is a duplicate of a message that was already handled.
+      // Decoding a duplicate group or batch start interns its ID again, so
+      // release the ID if the group or batch has already ended.
+      if (message.action() == ConnectionMessage.Action.START_GROUP && !groups.containsKey(message.group())) {
+        codec.release(message.group());
+      } else if (message.action() == ConnectionMessage.Action.START_BATCH && !batches.containsKey(message.batch())) {
+        codec.release(message.batch());
+      }
+      return true;
+    } else if (reorderBuffer.size() >= MAX_REORDER_SIZE) {
+      // Too many messages are missing to buffer everything that was received
+      // after the gap, so fall back to resending everything after the gap.
+      reorderBuffer.clear();
       fail();
+      return false;
+    } else if (!reorderBuffer.containsKey(id)) {
+      // Hold on to the message until the missing messages before it arrive,
+      // and request any messages between it and the last message we've seen.
+      long start = reorderBuffer.isEmpty() ? lastReceived + 1 : Math.max(lastReceived, reorderBuffer.lastKey()) + 1;
+      reorderBuffer.put(id, message);
+      if (start < id) {
+        nack(start, id - 1);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Accepts a message that was received in order.
+   */
+  private void accept(ConnectionMessage message) {
+    lastReceived = message.id();
+    // If the number of unacked messages reaches the ack interval then tell
+    // the data source that it's okay to remove all previous messages.
+    if (lastReceived - lastAcked >= ackInterval || lastReceived < lastAcked) {
+      ack();
     }
-    return false;
+    dispatch(message);
+  }
+
+  /**
+   * Handles buffered messages that are now in order.
+   */
+  private void drainReorderBuffer() {
+    ConnectionMessage next;
+    while (open && !paused && (next = reorderBuffer.remove(lastReceived + 1)) != null) {
+      accept(next);
+    }
+  }
+
+  /**
+   * Handles messages that were held for a group or batch that's now ready.
+   */
+  private void release(List<ConnectionMessage> held) {
+    releasedMessages.addAll(held);
+    drainReleasedMessages();
+  }
+
+  /**
+   * Handles released messages in order. If the connection is paused then
+   * the remaining messages are handled once it's resumed.
+   */
+  private void drainReleasedMessages() {
+    ConnectionMessage next;
+    while (open && !paused && (next = releasedMessages.poll()) != null) {
+      heldMessages--;
+      dispatch(next);
+    }
+  }
+
+  /**
+   * Discards all group, batch and buffered message state.
+   */
+  private void reset() {
+    groups.clear();
+    batches.clear();
+    currentBatch = null;
+    releasedMessages.clear();
+    heldMessages = 0;
+    reorderBuffer.clear();
   }
 
   /**
@@ -223,11 +429,47 @@ public class DefaultInputConnection implements InputConnection {
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Acking messages up to: %d", this, lastReceived));
       }
-      eventBus.send(outAddress, new JsonObject().putString("action", "ack").putNumber("id", lastReceived));
+      // The ack also reports how many messages are still queued on this side
+      // of the connection so that selectors can route around slow instances.
+      send(new ConnectionMessage(ConnectionMessage.Action.ACK).setId(lastReceived).setValue(queueSize()));
+      lastAcked = lastReceived;
       lastFeedbackTime = System.currentTimeMillis();
     }
   }
 
+  /**
+   * Returns the number of messages received but not yet handled.
+   */
+  private int queueSize() {
+    return reorderBuffer.size() + heldMessages + (local != null ? local.size() : 0);
+  }
+
+  /**
+   * Requests that the output connection resend a range of messages.
+   */
+  private void nack(long start, long end) {
+    if (open && connected) {
+      if (log.isDebugEnabled()) {
+        log.debug(String.format("%s - Requesting missing messages %d to %d", this, start, end));
+      }
+      send(new ConnectionMessage(ConnectionMessage.Action.NACK).setId(start).setValue(end));
+      lastNackTime = lastFeedbackTime = System.currentTimeMillis();
+    }
+  }
+
+  /**
+   * Requests all messages that are missing from the reorder buffer.
+   */
+  private void nackMissing() {
+    long expected = lastReceived + 1;
+    for (long id : reorderBuffer.keySet()) {
+      if (id > expected) {
+        nack(expected, id - 1);
+      }
+      expected = id + 1;
+    }
+  }
+
   /**
    * Sends a fail message for the current received count.
    */
@@ -239,7 +481,7 @@ public class DefaultInputConnection implements InputConnection {
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Received a message out of order: %d", this, lastReceived));
       }
-      eventBus.send(outAddress, new JsonObject().putString("action", "fail").putNumber("id", lastReceived));
+      send(new ConnectionMessage(ConnectionMessage.Action.FAIL).setId(lastReceived));
       lastFeedbackTime = System.currentTimeMillis();
     }
   }
@@ -250,7 +492,7 @@ public class DefaultInputConnection implements InputConnection {
       paused = true;
       if (open && connected) {
         log.debug(String.format("%s - Pausing connection: %s", this, context.source()));
-        eventBus.send(outAddress, new JsonObject().putString("action", "pause").putNumber("id", lastReceived));
+        send(new ConnectionMessage(ConnectionMessage.Action.PAUSE).setId(lastReceived));
       }
     }
     return this;
@@ -262,8 +504,10 @@ public class DefaultInputConnection implements InputConnection {
       paused = false;
       if (open && connected) {
         log.debug(String.format("%s - Resuming connection: %s", this, context.source()));
-        eventBus.send(outAddress, new JsonObject().putString("action", "resume").putNumber("id", lastReceived));
+        send(new ConnectionMessage(ConnectionMessage.Action.RESUME).setId(lastReceived));
       }
+      drainReleasedMessages();
+      drainReorderBuffer();
     }
     return this;
   }
@@ -297,11 +541,11 @@ public class DefaultInputConnection implements InputConnection {
    * Handles receiving a message.
    */
   @SuppressWarnings("unchecked")
-  private void doMessage(final JsonObject message) {
-    Object value = deserializer.deserialize(message);
+  private void doMessage(final ConnectionMessage message) {
+    Object value = message.value();
     if (value != null && messageHandler != null) {
       if (log.isDebugEnabled()) {
-        log.debug(String.format("%s - Received: Message[id=%d, value=%s]", this, message.getLong("id"), value));
+        log.debug(String.format("%s - Received: Message[id=%d, value=%s]", this, message.id(), value));
       }
       messageHandler.handle(value);
     }
@@ -313,19 +557,44 @@ public class DefaultInputConnection implements InputConnection {
   /**
    * Handles a group start.
    */
-  private void doGroupStart(final JsonObject message) {
-    String groupID = message.getString("group");
-    String name = message.getString("name");
-    String parentId = message.getString("parent");
-    Object args = deserializer.deserialize(message);
-    DefaultConnectionInputGroup group = new DefaultConnectionInputGroup(groupID, name, this);
-    groups.put(groupID, group);
+  private void doGroupStart(final ConnectionMessage message) {
+    String groupID = message.group();
+    String name = message.name();
+    String parentId = message.parent();
+    Object args = message.value();
+
+    // The group may already exist if its start was held for a parent group.
+    DefaultConnectionInputGroup group = groups.get(groupID);
+    if (group == null) {
+      group = new DefaultConnectionInputGroup(groupID, name, this);
+      groups.put(groupID, group);
+    }
+
+    // If the parent group or batch isn't ready yet then its handlers haven't
+    // been registered, so hold the child group until the parent is ready. The
+    // child group holds its own messages in the meantime.
+    if (parentId != null) {
+      DefaultConnectionInputBatch batch = batches.get(parentId);
+      if (batch != null && !batch.isReady()) {
+        batch.hold(message);
+        heldMessages++;
+        return;
+      }
+      DefaultConnectionInputGroup parent = groups.get(parentId);
+      if (parent != null && !parent.isReady()) {
+        parent.hold(message);
+        heldMessages++;
+        return;
+      }
+    }
+
     if (parentId != null) {
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Group started: Group[name=%s, group=%s, parent=%s, args=%s]", this, name, groupID, parentId, args));
       }
-      if (currentBatch != null && parentId.equals(currentBatch.id())) {
-        currentBatch.handleGroup(group);
+      DefaultConnectionInputBatch batch = batches.get(parentId);
+      if (batch != null) {
+        batch.handleGroup(group);
       } else {
         DefaultConnectionInputGroup parent = groups.get(parentId);
         if (parent != null) {
@@ -357,20 +626,40 @@ public class DefaultInputConnection implements InputConnection {
     if (log.isDebugEnabled()) {
       log.debug(String.format("%s - Group ready: Group[group=%s]", this, group));
     }
-    eventBus.send(outAddress, new JsonObject().putString("action", "group").putString("group", group));
+    send(new ConnectionMessage(ConnectionMessage.Action.GROUP).setGroup(group));
+
+    // If the output group is pipelined then messages for the group may have
+    // been received before the group was ready. The group is readied and its
+    // held messages handled in order on the next tick so that handlers that
+    // are registered along with the message handler, e.g. the end handler,
+    // are in place. Messages received in the meantime are held as well.
+    final DefaultConnectionInputGroup inputGroup = groups.get(group);
+    if (inputGroup != null && !inputGroup.isReady()) {
+      vertx.runOnContext(new Handler<Void>() {
+        @Override
+        public void handle(Void _) {
+          if (groups.get(inputGroup.id()) == inputGroup && !inputGroup.isReady()) {
+            release(inputGroup.ready());
+          }
+        }
+      });
+    }
   }
 
   /**
    * Handles a group message.
    */
-  private void doGroupMessage(final JsonObject message) {
-    String groupID = message.getString("group");
+  private void doGroupMessage(final ConnectionMessage message) {
+    String groupID = message.group();
     DefaultConnectionInputGroup group = groups.get(groupID);
-    if (group != null) {
-      Object value = deserializer.deserialize(message);
+    if (group != null && !group.isReady()) {
+      group.hold(message);
+      heldMessages++;
+    } else if (group != null) {
+      Object value = message.value();
       if (value != null) {
         if (log.isDebugEnabled()) {
-          log.debug(String.format("%s - Group received: Group[group=%s, id=%d, message=%s", this, groupID, message.getLong("id"), value));
+          log.debug(String.format("%s - Group received: Group[group=%s, id=%d, message=%s", this, groupID, message.id(), value));
         }
         group.handleMessage(value);
       }
@@ -380,11 +669,18 @@ public class DefaultInputConnection implements InputConnection {
   /**
    * Handles a group end.
    */
-  private void doGroupEnd(final JsonObject message) {
-    String groupID = message.getString("group");
-    DefaultConnectionInputGroup group = groups.remove(groupID);
+  private void doGroupEnd(final ConnectionMessage message) {
+    String groupID = message.group();
+    codec.release(groupID);
+    DefaultConnectionInputGroup group = groups.get(groupID);
+    if (group != null && !group.isReady()) {
+      group.hold(message);
+      heldMessages++;
+      return;
+    }
+    groups.remove(groupID);
     if (group != null) {
-      Object args = deserializer.deserialize(message);
+      Object args = message.value();
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Group ended: Group[group=%s, args=%s]", this, group.id(), args));
       }
@@ -395,20 +691,36 @@ public class DefaultInputConnection implements InputConnection {
   /**
    * Handles a batch start.
    */
-  private void doBatchStart(final JsonObject message) {
-    if (currentBatch != null) {
-      currentBatch.handleEnd(null);
+  private void doBatchStart(final ConnectionMessage message) {
+    String batchID = message.batch();
+    DefaultConnectionInputBatch batch = batches.get(batchID);
+    if (batch == null) {
+      batch = new DefaultConnectionInputBatch(batchID, this);
+      batches.put(batchID, batch);
+    }
+
+    // Batches are handled one at a time in the order in which they were
+    // started. If another batch is still open then hold the batch until
+    // the open batch has ended.
+    if (currentBatch != null && currentBatch != batch) {
+      batch.hold(message);
+      heldMessages++;
+      return;
     }
-    String batchID = message.getString("batch");
-    Object args = deserializer.deserialize(message);
+
+    Object args = message.value();
     if (log.isDebugEnabled()) {
       log.debug(String.format("%s - Batch started: Batch[batch=%s, args=%s]", this, batchID, args));
     }
-    currentBatch = new DefaultConnectionInputBatch(batchID, this);
+    currentBatch = batch;
     if (batchHandler != null) {
-      batchHandler.handle(currentBatch);
+      batchHandler.handle(batch);
+    } else {
+      // If there is no batch handler then immediately indicate that the batch
+      // is ready, otherwise the batch would hold all later batches forever.
+      batchReady(batchID);
     }
-    currentBatch.handleStart(args);
+    batch.handleStart(args);
   }
 
   /**
@@ -418,21 +730,40 @@ public class DefaultInputConnection implements InputConnection {
     if (log.isDebugEnabled()) {
       log.debug(String.format("%s - Batch ready: Batch[batch=%s]", this, batch));
     }
-    eventBus.send(outAddress, new JsonObject().putString("action", "batch").putString("batch", batch));
+    send(new ConnectionMessage(ConnectionMessage.Action.BATCH).setBatch(batch));
+
+    // If batches are pipelined then messages for the batch may have been
+    // received before the batch was ready. As with groups, the batch is
+    // readied and its held messages handled in order on the next tick.
+    final DefaultConnectionInputBatch inputBatch = batches.get(batch);
+    if (inputBatch != null && !inputBatch.isReady()) {
+      vertx.runOnContext(new Handler<Void>() {
+        @Override
+        public void handle(Void _) {
+          if (batches.get(inputBatch.id()) == inputBatch && !inputBatch.isReady()) {
+            release(inputBatch.ready());
+          }
+        }
+      });
+    }
   }
 
   /**
    * Handles a batch message.
    */
-  private void doBatchMessage(final JsonObject message) {
-    String batchID = message.getString("batch");
-    if (currentBatch != null && currentBatch.id().equals(batchID)) {
-      Object value = deserializer.deserialize(message);
+  private void doBatchMessage(final ConnectionMessage message) {
+    String batchID = message.batch();
+    DefaultConnectionInputBatch batch = batches.get(batchID);
+    if (batch != null && !batch.isReady()) {
+      batch.hold(message);
+      heldMessages++;
+    } else if (batch != null) {
+      Object value = message.value();
       if (value != null) {
         if (log.isDebugEnabled()) {
-          log.debug(String.format("%s - Batch received: Batch[batch=%s, id=%d, message=%s]", this, batchID, message.getLong("id"), value));
+          log.debug(String.format("%s - Batch received: Batch[batch=%s, id=%d, message=%s]", this, batchID, message.id(), value));
         }
-        currentBatch.handleMessage(value);
+        batch.handleMessage(value);
       }
     }
   }
@@ -440,27 +771,61 @@ public class DefaultInputConnection implements InputConnection {
   /**
    * Handles a batch end.
    */
-  private void doBatchEnd(final JsonObject message) {
-    if (currentBatch != null) {
-      Object args = deserializer.deserialize(message);
+  private void doBatchEnd(final ConnectionMessage message) {
+    String batchID = message.batch();
+    codec.release(batchID);
+    DefaultConnectionInputBatch batch = batches.get(batchID);
+    if (batch != null && !batch.isReady()) {
+      batch.hold(message);
+      heldMessages++;
+      return;
+    }
+
+    if (batch != null) {
+      batches.remove(batchID);
+      Object args = message.value();
       if (log.isDebugEnabled()) {
-        log.debug(String.format("%s - Batch ended: Batch[batch=%s, args=%s]", this, currentBatch.id(), args));
+        log.debug(String.format("%s - Batch ended: Batch[batch=%s, args=%s]", this, batchID, args));
       }
-      currentBatch.handleEnd(args);
-      currentBatch = null;
+      batch.handleEnd(args);
+      if (currentBatch == batch) {
+        currentBatch = null;
+      }
+      startNextBatch();
+    }
+  }
+
+  /**
+   * Starts the next batch if one was started while another batch was open.
+   */
+  private void startNextBatch() {
+    if (currentBatch == null && !batches.isEmpty()) {
+      release(batches.values().iterator().next().release());
     }
   }
 
   /**
    * Handles connect.
    */
-  private void doConnect(final Message<JsonObject> message) {
+  private void doConnect(final ConnectionMessage body, final Message<Object> message) {
     if (open) {
       if (!connected) {
-        groups.clear();
+        reset();
         connected = true;
       }
-      message.reply(true);
+      // The output connection sends the size of its send window with the
+      // connect request. It's considered full once the window fills and
+      // isn't drained until less than half the window is outstanding, so
+      // ack every quarter window to keep it from stalling on the timer.
+      // Connect requests are resent whenever the window size changes.
+      if (body.value() instanceof Number && ((Number) body.value()).longValue() > 0) {
+        ackInterval = Math.max(1, ((Number) body.value()).longValue() / 4);
+      } else {
+        ackInterval = BATCH_SIZE;
+      }
+      // Reply with the number of available processors so that weighted
+      // selectors can weight instances by the capacity of their node.
+      message.reply(Runtime.getRuntime().availableProcessors());
       log.debug(String.format("%s - Accepted connect request from %s", this, context.source()));
     } else {
       message.reply(false);
@@ -471,10 +836,10 @@ public class DefaultInputConnection implements InputConnection {
   /**
    * Handles disconnect.
    */
-  private void doDisconnect(final Message<JsonObject> message) {
+  private void doDisconnect(final Message<Object> message) {
     if (open) {
       if (connected) {
-        groups.clear();
+        reset();
         connected = false;
       }
       message.reply(true);
@@ -492,19 +857,46 @@ public class DefaultInputConnection implements InputConnection {
 
   @Override
   public void close(final Handler<AsyncResult<Void>> doneHandler) {
-    eventBus.unregisterHandler(inAddress, internalMessageHandler, new Handler<AsyncResult<Void>>() {
+    Handler<AsyncResult<Void>> unregisterHandler = new Handler<AsyncResult<Void>>() {
       @Override
       public void handle(AsyncResult<Void> result) {
-        if (feedbackTimerID > 0) {
-          log.debug(String.format("%s - Stopping periodic ack timer ", DefaultInputConnection.this, feedbackTimerID));
-          vertx.cancelTimer(feedbackTimerID);
-          feedbackTimerID = 0;
+        if (scheduler != null) {
+          log.debug(String.format("%s - Unscheduling periodic ack check", DefaultInputConnection.this));
+          scheduler.unregister(internalTimer);
+          scheduler.release();
+          scheduler = null;
+        }
+        if (local != null) {
+          LocalConnections.unregister(context.address(), local);
+          local = null;
         }
         open = false;
         log.info(String.format("%s - Closed connection from %s", DefaultInputConnection.this, context.source()));
         doneHandler.handle(result);
       }
-    });
+    };
+
+    if (context.broadcast() != null) {
+      eventBus.unregisterHandler(context.broadcast(), internalMessageHandler);
+    }
+    if (channel != null) {
+      channel.unregister(inAddress, unregisterHandler);
+      channel = null;
+    } else {
+      eventBus.unregisterHandler(inAddress, internalMessageHandler, unregisterHandler);
+    }
+  }
+
+  /**
+   * Sends a message to the output connection.
+   */
+  private void send(ConnectionMessage message) {
+    Object encoded = codec.encode(message);
+    if (sourceChannel != null) {
+      eventBus.send(sourceChannel, ConnectionChannel.wrap(outAddress, encoded));
+    } else {
+      eventBus.send(outAddress, encoded);
+    }
   }
 
   @Override
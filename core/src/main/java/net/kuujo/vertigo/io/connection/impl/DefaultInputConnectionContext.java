@@ -93,7 +93,9 @@ public class DefaultInputConnectionContext extends DefaultConnectionContext<Inpu
         return new Builder().setAddress(context.address())
             .setHooks(context.hooks())
             .setSource(context.source())
-            .setTarget(context.target());
+            .setTarget(context.target())
+            .setCodec(context.codec())
+            .setBroadcast(context.broadcast());
       }
     }
 
@@ -119,6 +121,29 @@ public class DefaultInputConnectionContext extends DefaultConnectionContext<Inpu
       return this;
     }
 
+    /**
+     * Sets the connection wire codec.
+     *
+     * @param codec The connection codec name.
+     * @return The context builder.
+     */
+    public Builder setCodec(String codec) {
+      context.codec = codec;
+      return this;
+    }
+
+    /**
+     * Sets the connection broadcast address.
+     *
+     * @param broadcast The address to which the stream publishes messages, or
+     *        <code>null</code> if the stream doesn't broadcast messages.
+     * @return The context builder.
+     */
+    public Builder setBroadcast(String broadcast) {
+      context.broadcast = broadcast;
+      return this;
+    }
+
     /**
      * Sets the input hooks.
      *
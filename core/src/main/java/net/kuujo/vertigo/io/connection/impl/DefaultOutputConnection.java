@@ -15,18 +15,19 @@
  */
 package net.kuujo.vertigo.io.connection.impl;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Queue;
 import java.util.UUID;
 
 import net.kuujo.vertigo.hook.OutputHook;
 import net.kuujo.vertigo.io.connection.OutputConnection;
 import net.kuujo.vertigo.io.connection.OutputConnectionContext;
 import net.kuujo.vertigo.io.group.OutputGroup;
+import net.kuujo.vertigo.io.impl.InputDeserializer;
 import net.kuujo.vertigo.io.impl.OutputSerializer;
 
 import io.vertx.core.AsyncResult;
@@ -56,58 +57,126 @@ public class DefaultOutputConnection implements OutputConnection {
   private final OutputConnectionContext context;
   private final String outAddress;
   private final String inAddress;
-  private final OutputSerializer serializer = new OutputSerializer();
+  private final String sendAddress;
+  private final String sourceChannel;
+  private final String targetChannel;
+  private ConnectionChannel channel;
+  private final ConnectionBroadcast broadcast;
+  private final ConnectionCodec codec;
+  private final OutputSerializer localSerializer;
+  private final InputDeserializer localDeserializer = new InputDeserializer();
+  private LocalConnections.Endpoint local;
   private List<OutputHook> hooks = new ArrayList<>();
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+  private long maxQueueBytes;
   private Handler<Void> drainHandler;
   private long currentMessage = 1;
-  private final TreeMap<Long, JsonObject> messages = new TreeMap<>();
+  private final SendWindow window = new SendWindow();
   private final Map<String, DefaultConnectionOutputGroup> groups = new HashMap<>();
-  private DefaultConnectionOutputBatch currentBatch;
+  private final boolean groupPipelining;
+  private final boolean localTransport;
+  private final Map<String, DefaultConnectionOutputBatch> batches = new HashMap<>();
+  private final Queue<Handler<Void>> pendingBatches = new ArrayDeque<>();
+  private final int batchDepth;
+  private int frameSize;
+  private long frameDelay;
+  private final List<Object> frame = new ArrayList<>();
+  private boolean flushPending;
+  private long flushTimerID;
+  private long retransmitCount;
+  private int remoteQueueSize;
+  private int remoteProcessors = 1;
   private boolean open;
   private boolean full;
   private boolean paused;
 
-  private final Handler<Message<JsonObject>> internalMessageHandler = new Handler<Message<JsonObject>>() {
+  private final ConnectionChannel.Receiver internalReceiver = new ConnectionChannel.Receiver() {
     @Override
-    public void handle(Message<JsonObject> message) {
-      String action = message.body().getString("action");
-      if (action != null) {
-        switch (action) {
-          case "group":
-            doStartGroup(message.body().getString("group"));
+    public void deliver(Object encoded, Message<Object> message) {
+      ConnectionMessage body = codec.decode(encoded);
+      if (body != null) {
+        switch (body.action()) {
+          case GROUP:
+            doStartGroup(body.group());
             break;
-          case "batch":
-            doStartBatch(message.body().getString("batch"));
+          case BATCH:
+            doStartBatch(body.batch());
             break;
-          case "ack":
-            doAck(message.body().getLong("id"));
+          case ACK:
+            if (body.value() instanceof Number) {
+              remoteQueueSize = ((Number) body.value()).intValue();
+            }
+            doAck(body.id());
+            break;
+          case FAIL:
+            doFail(body.id());
+            break;
+          case NACK:
+            doNack(body.id(), ((Number) body.value()).longValue());
             break;
-          case "fail":
-            doFail(message.body().getLong("id"));
+          case PAUSE:
+            doPause(body.id());
             break;
-          case "pause":
-            doPause(message.body().getLong("id"));
+          case RESUME:
+            doResume(body.id());
             break;
-          case "resume":
-            doResume(message.body().getLong("id"));
+          default:
             break;
         }
       }
     }
   };
 
+  private final Handler<Message<Object>> internalMessageHandler = new Handler<Message<Object>>() {
+    @Override
+    public void handle(Message<Object> message) {
+      internalReceiver.deliver(message.body(), message);
+    }
+  };
+
+  private final Handler<Void> flushHandler = new Handler<Void>() {
+    @Override
+    public void handle(Void _) {
+      if (flushPending) {
+        flush();
+      }
+    }
+  };
+
+  private final Handler<Long> flushTimer = new Handler<Long>() {
+    @Override
+    public void handle(Long timerID) {
+      flushTimerID = 0;
+      flush();
+    }
+  };
+
   public DefaultOutputConnection(Vertx vertx, String address) {
     this(vertx, DefaultOutputConnectionContext.Builder.newBuilder().setAddress(address).build());
   }
 
   public DefaultOutputConnection(Vertx vertx, OutputConnectionContext context) {
+    this(vertx, context, null);
+  }
+
+  public DefaultOutputConnection(Vertx vertx, OutputConnectionContext context, ConnectionBroadcast broadcast) {
     this.vertx = vertx;
+    this.broadcast = broadcast;
     this.eventBus = vertx.eventBus();
     this.context = context;
     this.hooks = context.hooks();
+    this.codec = ConnectionCodecFactory.createCodec(context.codec(), context.messageCodecs());
+    this.localSerializer = new OutputSerializer(context.messageCodecs());
+    this.frameSize = context.frameSize();
+    this.frameDelay = context.frameDelay();
+    this.groupPipelining = context.groupPipelining();
+    this.localTransport = context.localTransport();
+    this.batchDepth = Math.max(context.batchDepth(), 1);
     this.outAddress = String.format("%s.out", context.address());
     this.inAddress = String.format("%s.in", context.address());
+    this.sourceChannel = context.source() != null ? context.source().channel() : null;
+    this.targetChannel = context.target() != null ? context.target().channel() : null;
+    this.sendAddress = targetChannel != null ? targetChannel : inAddress;
     this.log = LoggerFactory.getLogger(String.format("%s-%s", DefaultOutputConnection.class.getName(), context.target()));
   }
 
@@ -133,7 +202,7 @@ public class DefaultOutputConnection implements OutputConnection {
 
   @Override
   public OutputConnection open(final Handler<AsyncResult<Void>> doneHandler) {
-    eventBus.registerHandler(outAddress, internalMessageHandler, new Handler<AsyncResult<Void>>() {
+    Handler<AsyncResult<Void>> registerHandler = new Handler<AsyncResult<Void>>() {
       @Override
       public void handle(AsyncResult<Void> result) {
         if (result.failed()) {
@@ -142,7 +211,16 @@ public class DefaultOutputConnection implements OutputConnection {
           connect(doneHandler);
         }
       }
-    });
+    };
+
+    // Multiplexed connections receive feedback through the source instance's
+    // channel rather than registering their own event bus handler.
+    if (sourceChannel != null) {
+      channel = ConnectionChannel.getChannel(vertx, sourceChannel);
+      channel.register(outAddress, internalReceiver, registerHandler);
+    } else {
+      eventBus.registerHandler(outAddress, internalMessageHandler, registerHandler);
+    }
     return this;
   }
 
@@ -154,12 +232,14 @@ public class DefaultOutputConnection implements OutputConnection {
     // until we get a response. This gives the other side of the connection time
     // to open and ensures that the connection doesn't claim it's open until
     // the other side has registered a handler and responded at least once.
-    eventBus.sendWithTimeout(inAddress, new JsonObject().putString("action", "connect"), 1000, new Handler<AsyncResult<Message<Boolean>>>() {
+    // The connect request carries the send window size so the other side can
+    // ack often enough to keep the window from filling.
+    eventBus.sendWithTimeout(sendAddress, envelope(codec.encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT).setValue(maxQueueSize))), 1000, new Handler<AsyncResult<Message<Object>>>() {
       @Override
-      public void handle(AsyncResult<Message<Boolean>> result) {
+      public void handle(AsyncResult<Message<Object>> result) {
         if (result.failed()) {
           ReplyException failure = (ReplyException) result.cause();
-          if (failure.failureType().equals(ReplyFailure.RECIPIENT_FAILURE)) {
+          if (failure.failureType().equals(ReplyFailure.RECIPIENT_FAILURE) && failure.failureCode() != ConnectionChannel.NO_CONNECTION) {
             log.warn(String.format("%s - Failed to connect to %s", DefaultOutputConnection.this, context.target()), result.cause());
             new DefaultFutureResult<Void>(failure).setHandler(doneHandler);
           } else if (failure.failureType().equals(ReplyFailure.TIMEOUT)) {
@@ -174,8 +254,19 @@ public class DefaultOutputConnection implements OutputConnection {
               }
             });
           }
-        } else if (result.result().body()) {
+        } else if (result.result().body() instanceof Number || Boolean.TRUE.equals(result.result().body())) {
           log.info(String.format("%s - Connected to %s", DefaultOutputConnection.this, context.target()));
+          // The other side of the connection replies with the number of
+          // processors available on its node.
+          if (result.result().body() instanceof Number) {
+            remoteProcessors = Math.max(1, ((Number) result.result().body()).intValue());
+          }
+          // If the other side of the connection is in the same JVM then
+          // messages are handed to it directly rather than being encoded.
+          local = localTransport ? LocalConnections.lookup(context.address()) : null;
+          if (local != null) {
+            log.debug(String.format("%s - Using local transport to %s", DefaultOutputConnection.this, context.target()));
+          }
           open = true;
           new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
         } else {
@@ -191,9 +282,45 @@ public class DefaultOutputConnection implements OutputConnection {
     });
   }
 
+  @Override
+  public OutputConnection setFrameSize(int frameSize) {
+    this.frameSize = frameSize;
+    if (frame.size() >= frameSize) {
+      flush();
+    }
+    return this;
+  }
+
+  @Override
+  public int getFrameSize() {
+    return frameSize;
+  }
+
+  @Override
+  public OutputConnection setFrameDelay(long frameDelay) {
+    this.frameDelay = frameDelay;
+    return this;
+  }
+
+  @Override
+  public long getFrameDelay() {
+    return frameDelay;
+  }
+
+  @Override
+  public long retransmitCount() {
+    return retransmitCount;
+  }
+
   @Override
   public OutputConnection setSendQueueMaxSize(int maxSize) {
-    this.maxQueueSize = maxSize;
+    if (maxSize != maxQueueSize) {
+      this.maxQueueSize = maxSize;
+      // Renegotiate the ack interval with the other side of the connection.
+      if (open) {
+        sendEncoded(codec.encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT).setValue(maxQueueSize)));
+      }
+    }
     return this;
   }
 
@@ -204,12 +331,49 @@ public class DefaultOutputConnection implements OutputConnection {
 
   @Override
   public int size() {
-    return messages.size();
+    return window.size();
+  }
+
+  @Override
+  public OutputConnection setSendQueueMaxBytes(long maxBytes) {
+    this.maxQueueBytes = maxBytes;
+    checkFull();
+    checkDrain();
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    return maxQueueBytes;
+  }
+
+  @Override
+  public int credit() {
+    if (paused || (maxQueueBytes > 0 && window.bytes() >= maxQueueBytes)) {
+      return 0;
+    }
+    return Math.max(0, maxQueueSize - window.size());
   }
 
   @Override
   public boolean sendQueueFull() {
-    return paused || messages.size() >= maxQueueSize;
+    return credit() == 0;
+  }
+
+  @Override
+  public int load() {
+    return window.size() + remoteQueueSize;
+  }
+
+  @Override
+  public int weight() {
+    int weight = context.target().weight();
+    return weight > 0 ? weight : remoteProcessors;
+  }
+
+  @Override
+  public boolean isLocal() {
+    return local != null && !local.isClosed();
   }
 
   @Override
@@ -220,24 +384,37 @@ public class DefaultOutputConnection implements OutputConnection {
 
   @Override
   public OutputConnection batch(final String id, final Object args, final Handler<ConnectionOutputBatch> handler) {
-    // If there's already a batch open then don't open the new batch until
-    // the previous batch has been ended. This ensures that only one batch
-    // can be open at any given time on the connection.
-    if (currentBatch != null) {
-      currentBatch.endHandler(new Handler<Void>() {
+    // If the maximum number of batches are already open then don't open the
+    // new batch until an open batch has been ended. Batches waiting to be
+    // opened are opened in the order in which they were created.
+    if (batches.size() < batchDepth && pendingBatches.isEmpty()) {
+      startBatch(id, args, handler);
+    } else {
+      pendingBatches.add(new Handler<Void>() {
         @Override
         public void handle(Void _) {
-          currentBatch = new DefaultConnectionOutputBatch(id, args, DefaultOutputConnection.this);
-          currentBatch.start(handler);
+          startBatch(id, args, handler);
         }
       });
-    } else {
-      currentBatch = new DefaultConnectionOutputBatch(id, args, this);
-      currentBatch.start(handler);
     }
     return this;
   }
 
+  /**
+   * Starts an output batch.
+   */
+  private void startBatch(String id, Object args, Handler<ConnectionOutputBatch> handler) {
+    DefaultConnectionOutputBatch batch = new DefaultConnectionOutputBatch(id, args, this);
+    batches.put(id, batch);
+    batch.start(handler);
+    // If more than one batch can be open then batches are pipelined. The input
+    // connection handles batches in order and holds messages for each batch
+    // until the batch is ready, so the batch's handler can be called immediately.
+    if (batchDepth > 1) {
+      batch.handleStart();
+    }
+  }
+
   @Override
   public OutputConnection group(Handler<OutputGroup> handler) {
     return group(UUID.randomUUID().toString(), null, handler);
@@ -250,16 +427,26 @@ public class DefaultOutputConnection implements OutputConnection {
 
   @Override
   public OutputConnection group(String name, Object args, Handler<OutputGroup> handler) {
-    DefaultConnectionOutputGroup group = new DefaultConnectionOutputGroup(UUID.randomUUID().toString(), name, args, this);
-    groups.put(group.id(), group);
-    group.start(handler);
+    startGroup(new DefaultConnectionOutputGroup(UUID.randomUUID().toString(), name, args, this), handler);
     return this;
   }
 
   DefaultConnectionOutputGroup group(String name, Object args, String parent, Handler<OutputGroup> handler) {
-    DefaultConnectionOutputGroup group = new DefaultConnectionOutputGroup(UUID.randomUUID().toString(), name, args, parent, this);
+    return startGroup(new DefaultConnectionOutputGroup(UUID.randomUUID().toString(), name, args, parent, this), handler);
+  }
+
+  /**
+   * Starts an output group.
+   */
+  private DefaultConnectionOutputGroup startGroup(DefaultConnectionOutputGroup group, Handler<OutputGroup> handler) {
     groups.put(group.id(), group);
     group.start(handler);
+    // Pipelined groups don't wait for the input group to be ready. The input
+    // connection holds the group's messages until its handlers are registered,
+    // so the group's handler can be called immediately.
+    if (groupPipelining) {
+      group.handleStart();
+    }
     return group;
   }
 
@@ -270,7 +457,8 @@ public class DefaultOutputConnection implements OutputConnection {
 
   @Override
   public void close(final Handler<AsyncResult<Void>> doneHandler) {
-    eventBus.unregisterHandler(outAddress, internalMessageHandler, new Handler<AsyncResult<Void>>() {
+    flush();
+    Handler<AsyncResult<Void>> unregisterHandler = new Handler<AsyncResult<Void>>() {
       @Override
       public void handle(AsyncResult<Void> result) {
         if (result.failed()) {
@@ -279,22 +467,29 @@ public class DefaultOutputConnection implements OutputConnection {
           disconnect(doneHandler);
         }
       }
-    });
+    };
+
+    if (channel != null) {
+      channel.unregister(outAddress, unregisterHandler);
+      channel = null;
+    } else {
+      eventBus.unregisterHandler(outAddress, internalMessageHandler, unregisterHandler);
+    }
   }
 
   /**
    * Disconnects from the other side of the connection.
    */
   private void disconnect(final Handler<AsyncResult<Void>> doneHandler) {
-    eventBus.sendWithTimeout(inAddress, new JsonObject().putString("action", "disconnect"), 5000, new Handler<AsyncResult<Message<Boolean>>>() {
+    eventBus.sendWithTimeout(sendAddress, envelope(codec.encode(new ConnectionMessage(ConnectionMessage.Action.DISCONNECT))), 5000, new Handler<AsyncResult<Message<Boolean>>>() {
       @Override
       public void handle(AsyncResult<Message<Boolean>> result) {
         if (result.failed()) {
           ReplyException failure = (ReplyException) result.cause();
-          if (failure.failureType().equals(ReplyFailure.RECIPIENT_FAILURE)) {
+          if (failure.failureType().equals(ReplyFailure.RECIPIENT_FAILURE) && failure.failureCode() != ConnectionChannel.NO_CONNECTION) {
             log.warn(String.format("%s - Failed to disconnect from %s", DefaultOutputConnection.this, context.target()), result.cause());
             new DefaultFutureResult<Void>(failure).setHandler(doneHandler);
-          } else if (failure.failureType().equals(ReplyFailure.NO_HANDLERS)) {
+          } else if (failure.failureType().equals(ReplyFailure.NO_HANDLERS) || failure.failureType().equals(ReplyFailure.RECIPIENT_FAILURE)) {
             log.info(String.format("%s - Disconnected from %s", DefaultOutputConnection.this, context.target()));
             new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
           } else {
@@ -303,6 +498,7 @@ public class DefaultOutputConnection implements OutputConnection {
           }
         } else if (result.result().body()) {
           log.info(String.format("%s - Disconnected from %s", DefaultOutputConnection.this, context.target()));
+          local = null;
           open = false;
           new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
         } else {
@@ -329,7 +525,7 @@ public class DefaultOutputConnection implements OutputConnection {
    * Checks whether the connection is full.
    */
   private void checkFull() {
-    if (!full && messages.size() >= maxQueueSize) {
+    if (!full && (window.size() >= maxQueueSize || (maxQueueBytes > 0 && window.bytes() >= maxQueueBytes))) {
       full = true;
       log.debug(String.format("%s - Connection to %s is full", this, context.target()));
     }
@@ -339,7 +535,7 @@ public class DefaultOutputConnection implements OutputConnection {
    * Checks whether the connection has been drained.
    */
   private void checkDrain() {
-    if (full && !paused && messages.size() < maxQueueSize / 2) {
+    if (full && !paused && window.size() < maxQueueSize / 2 && (maxQueueBytes == 0 || window.bytes() < maxQueueBytes / 2)) {
       full = false;
       log.debug(String.format("%s - Connection to %s is drained", this, context.target()));
       if (drainHandler != null) {
@@ -362,8 +558,9 @@ public class DefaultOutputConnection implements OutputConnection {
    * Handles a batch start.
    */
   private void doStartBatch(String batchID) {
-    if (currentBatch != null && currentBatch.id().equals(batchID)) {
-      currentBatch.handleStart();
+    DefaultConnectionOutputBatch batch = batches.get(batchID);
+    if (batch != null) {
+      batch.handleStart();
     }
   }
 
@@ -376,11 +573,7 @@ public class DefaultOutputConnection implements OutputConnection {
     if (log.isDebugEnabled()) {
       log.debug(String.format("%s - Received ack for messages up to %d, removing all previous messages from memory", this, id));
     }
-    if (messages.containsKey(id+1)) {
-      messages.tailMap(id+1);
-    } else {
-      messages.clear();
-    }
+    window.release(id);
     checkDrain();
   }
 
@@ -395,12 +588,50 @@ public class DefaultOutputConnection implements OutputConnection {
     // Ack all the entries before the given ID.
     doAck(id);
 
+    // Any messages waiting in the current frame are in the send window
+    // and will be resent in order, so discard the frame.
+    cancelFrame();
+
     // Now that all the entries before the given ID have been removed,
-    // just iterate over the messages map and resend all the messages.
-    Iterator<Map.Entry<Long, JsonObject>> iter = messages.entrySet().iterator();
-    while (iter.hasNext()) {
-      eventBus.send(inAddress, iter.next().getValue());
+    // just iterate over the send window and resend all the messages.
+    for (long i = window.firstId(); i <= window.lastId(); i++) {
+      resend(i);
+    }
+    flush();
+  }
+
+  /**
+   * Handles a request to resend a range of messages.
+   */
+  private void doNack(long start, long end) {
+    if (log.isDebugEnabled()) {
+      log.debug(String.format("%s - Received resend request for messages %d to %d", this, start, end));
     }
+
+    // The other side of the connection has received every message before
+    // the start of the range, so those messages can be released as well.
+    doAck(start - 1);
+
+    // Resend only the requested messages. The input connection buffers the
+    // messages it received after the gap, so nothing else needs to be resent.
+    long first = Math.max(start, window.firstId());
+    long last = Math.min(end, window.lastId());
+    for (long i = first; i <= last; i++) {
+      resend(i);
+    }
+    flush();
+  }
+
+  /**
+   * Resends a message from the send window.<p>
+   *
+   * Group and batch messages are resent exactly as they were originally
+   * encoded since encoding them again could assign interned IDs new handles.
+   */
+  private void resend(long id) {
+    Object encoded = window.getEncoded(id);
+    write(encoded != null ? encoded : encode(window.get(id)));
+    retransmitCount++;
   }
 
   /**
@@ -425,15 +656,27 @@ public class DefaultOutputConnection implements OutputConnection {
   /**
    * Sends a message.
    */
-  private OutputConnection doSend(final Object value) {
+  private OutputConnection doSend(final Object shared) {
     checkOpen();
-    JsonObject message = createMessage(value)
-        .putString("action", "message");
-    if (open && !paused) {
-      if (log.isDebugEnabled()) {
-        log.debug(String.format("%s - Send: Message[id=%d, message=%s]", this, message.getLong("id"), value));
+    // The value may be shared with other connections, in which case
+    // the codec will reuse its serialized form.
+    Object value = SerializedValue.unwrap(shared);
+    ConnectionMessage message = new ConnectionMessage(ConnectionMessage.Action.MESSAGE)
+        .setValue(shared);
+    if (broadcast != null && broadcast.isCollecting() && open && !paused && maxQueueBytes == 0 && frameSize <= 1 && !isLocal()) {
+      // The message is being sent to all of the stream's connections, so
+      // rather than encoding and sending it, hand it to the broadcast which
+      // will publish it once for all the connections if possible.
+      sequence(message);
+      broadcast.offer(this, message);
+    } else {
+      Object encoded = createMessage(message);
+      if (open && !paused) {
+        if (log.isDebugEnabled()) {
+          log.debug(String.format("%s - Send: Message[id=%d, message=%s]", this, message.id(), value));
+        }
+        write(encoded);
       }
-      eventBus.send(inAddress, message);
     }
     for (OutputHook hook : hooks) {
       hook.handleSend(value);
@@ -447,11 +690,11 @@ public class DefaultOutputConnection implements OutputConnection {
    */
   void doGroupStart(String group, String name, Object args, String parent) {
     checkOpen();
-    JsonObject message = createMessage(args)
-        .putString("group", group)
-        .putString("name", name)
-        .putString("parent", parent)
-        .putString("action", "startGroup");
+    Object encoded = createMessage(new ConnectionMessage(ConnectionMessage.Action.START_GROUP)
+        .setGroup(group)
+        .setName(name)
+        .setParent(parent)
+        .setValue(args));
     if (open && !paused) {
       if (log.isDebugEnabled()) {
         if (parent != null) {
@@ -460,7 +703,7 @@ public class DefaultOutputConnection implements OutputConnection {
           log.debug(String.format("%s - Group start: Group[name=%s, group=%s, args=%s]", this, name, group, args));
         }
       }
-      eventBus.send(inAddress, message);
+      write(encoded);
     }
     checkFull();
   }
@@ -470,14 +713,15 @@ public class DefaultOutputConnection implements OutputConnection {
    */
   void doGroupSend(String group, Object value) {
     checkOpen();
-    JsonObject message = createMessage(value)
-        .putString("action", "group")
-        .putString("group", group);
+    ConnectionMessage message = new ConnectionMessage(ConnectionMessage.Action.GROUP)
+        .setGroup(group)
+        .setValue(value);
+    Object encoded = createMessage(message);
     if (open && !paused) {
       if (log.isDebugEnabled()) {
-        log.debug(String.format("%s - Group send: Group[group=%s, id=%d, message=%s", this, group, message.getLong("id"), value));
+        log.debug(String.format("%s - Group send: Group[group=%s, id=%d, message=%s", this, group, message.id(), value));
       }
-      eventBus.send(inAddress, message);
+      write(encoded);
     }
     for (OutputHook hook : hooks) {
       hook.handleSend(value);
@@ -490,16 +734,17 @@ public class DefaultOutputConnection implements OutputConnection {
    */
   void doGroupEnd(String group, Object args) {
     checkOpen();
-    JsonObject message = createMessage(args)
-        .putString("action", "endGroup")
-        .putString("group", group);
+    Object encoded = createMessage(new ConnectionMessage(ConnectionMessage.Action.END_GROUP)
+        .setGroup(group)
+        .setValue(args));
     if (open && !paused) {
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Group end: Group[group=%s, args=%s]", this, group, args));
       }
-      eventBus.send(inAddress, message);
+      write(encoded);
     }
     groups.remove(group);
+    codec.release(group);
   }
 
   /**
@@ -507,14 +752,14 @@ public class DefaultOutputConnection implements OutputConnection {
    */
   void doBatchStart(String batch, Object args) {
     checkOpen();
-    JsonObject message = createMessage(args)
-        .putString("batch", batch)
-        .putString("action", "startBatch");
+    Object encoded = createMessage(new ConnectionMessage(ConnectionMessage.Action.START_BATCH)
+        .setBatch(batch)
+        .setValue(args));
     if (open && !paused) {
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Batch start: Batch[batch=%s]", this, batch));
       }
-      eventBus.send(inAddress, message);
+      write(encoded);
     }
     checkFull();
   }
@@ -524,14 +769,15 @@ public class DefaultOutputConnection implements OutputConnection {
    */
   void doBatchSend(String batch, Object value) {
     checkOpen();
-    JsonObject message = createMessage(value)
-        .putString("action", "batch")
-        .putString("batch", batch);
+    ConnectionMessage message = new ConnectionMessage(ConnectionMessage.Action.BATCH)
+        .setBatch(batch)
+        .setValue(value);
+    Object encoded = createMessage(message);
     if (open && !paused) {
       if (log.isDebugEnabled()) {
-        log.debug(String.format("%s - Batch send: Batch[batch=%s, id=%d, message=%s]", this, batch, message.getLong("id"), value));
+        log.debug(String.format("%s - Batch send: Batch[batch=%s, id=%d, message=%s]", this, batch, message.id(), value));
       }
-      eventBus.send(inAddress, message);
+      write(encoded);
     }
     for (OutputHook hook : hooks) {
       hook.handleSend(value);
@@ -544,32 +790,204 @@ public class DefaultOutputConnection implements OutputConnection {
    */
   void doBatchEnd(String batch, Object args) {
     checkOpen();
-    JsonObject message = createMessage(args)
-        .putString("action", "endBatch")
-        .putString("batch", batch);
+    Object encoded = createMessage(new ConnectionMessage(ConnectionMessage.Action.END_BATCH)
+        .setBatch(batch)
+        .setValue(args));
     if (open && !paused) {
       if (log.isDebugEnabled()) {
         log.debug(String.format("%s - Batch end: Batch[batch=%s, args=%s]", this, batch, args));
       }
-      eventBus.send(inAddress, message);
+      write(encoded);
     }
-    if (currentBatch != null && currentBatch.id().equals(batch)) {
-      currentBatch = null;
+    batches.remove(batch);
+    codec.release(batch);
+
+    // Now that a batch has ended, open the next batch if one is waiting.
+    if (batches.size() < batchDepth) {
+      Handler<Void> next = pendingBatches.poll();
+      if (next != null) {
+        next.handle((Void) null);
+      }
+    }
+  }
+
+  /**
+   * Encodes a message for the current transport.<p>
+   *
+   * Messages sent through the local transport aren't encoded at all, so
+   * the message itself is returned and copied when it's written.
+   */
+  private Object encode(ConnectionMessage message) {
+    if (local != null && local.isClosed()) {
+      local = LocalConnections.lookup(context.address());
+    }
+    return local != null ? message : codec.encode(message);
+  }
+
+  /**
+   * Copies a message for the local transport.
+   */
+  private ConnectionMessage copy(ConnectionMessage message) {
+    return new ConnectionMessage(message.action())
+        .setId(message.id())
+        .setGroup(message.group())
+        .setBatch(message.batch())
+        .setName(message.name())
+        .setParent(message.parent())
+        .setValue(copy(SerializedValue.unwrap(message.value())));
+  }
+
+  /**
+   * Copies a message value for the local transport.<p>
+   *
+   * Immutable values are shared, event bus types are copied and any other
+   * value is copied by serializing and deserializing it since it may still
+   * be modified by the sender once it's been sent.
+   */
+  private Object copy(Object value) {
+    if (value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+        || value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long
+        || value instanceof Float || value instanceof Double) {
+      return value;
+    } else if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    } else if (value instanceof Buffer) {
+      return ((Buffer) value).copy();
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).clone();
+    }
+    return localDeserializer.deserialize(localSerializer.serialize(value));
+  }
+
+  /**
+   * Writes an encoded message to the other side of the connection.
+   */
+  private void write(Object encoded) {
+    if (encoded instanceof ConnectionMessage) {
+      // Local messages bypass the event bus and framing. If the local input
+      // connection was closed since the message was created then fall back
+      // to encoding it and sending it on the event bus.
+      if (local != null && !local.isClosed()) {
+        local.send(copy((ConnectionMessage) encoded));
+        return;
+      }
+      encoded = codec.encode((ConnectionMessage) encoded);
+    }
+
+    if (frameSize <= 1) {
+      sendEncoded(encoded);
+      return;
+    }
+
+    // Add the message to the current frame. The frame is sent as soon as
+    // it's full, otherwise a flush is scheduled for when the current event
+    // loop task completes or the frame delay expires, whichever is configured.
+    frame.add(encoded);
+    if (frame.size() >= frameSize) {
+      flush();
+    } else if (!flushPending) {
+      flushPending = true;
+      if (frameDelay > 0) {
+        flushTimerID = vertx.setTimer(frameDelay, flushTimer);
+      } else {
+        vertx.runOnContext(flushHandler);
+      }
+    }
+  }
+
+  /**
+   * Sends an encoded message to the input connection.
+   */
+  private void sendEncoded(Object encoded) {
+    eventBus.send(sendAddress, envelope(encoded));
+  }
+
+  /**
+   * Tags an encoded message with the input connection's address if the
+   * connection is multiplexed.
+   */
+  private Object envelope(Object encoded) {
+    return targetChannel != null ? ConnectionChannel.wrap(inAddress, encoded) : encoded;
+  }
+
+  /**
+   * Sends the current frame.
+   */
+  private void flush() {
+    if (!frame.isEmpty()) {
+      if (frame.size() == 1) {
+        sendEncoded(frame.get(0));
+      } else {
+        if (log.isDebugEnabled()) {
+          log.debug(String.format("%s - Send: Frame[messages=%d]", this, frame.size()));
+        }
+        sendEncoded(codec.encodeFrame(frame));
+      }
+    }
+    cancelFrame();
+  }
+
+  /**
+   * Clears the current frame and cancels any scheduled flush.
+   */
+  private void cancelFrame() {
+    frame.clear();
+    flushPending = false;
+    if (flushTimerID > 0) {
+      vertx.cancelTimer(flushTimerID);
+      flushTimerID = 0;
+    }
+  }
+
+  /**
+   * Tags a message with an ID and holds it for resends without encoding it.
+   */
+  private void sequence(ConnectionMessage message) {
+    message.setId(currentMessage++);
+    window.add(message, 0);
+  }
+
+  /**
+   * Sends a message that was offered to the broadcast but wasn't published.
+   */
+  void transmit(ConnectionMessage message) {
+    if (log.isDebugEnabled()) {
+      log.debug(String.format("%s - Send: Message[id=%d, message=%s]", this, message.id(), SerializedValue.unwrap(message.value())));
+    }
+    write(encode(message));
+  }
+
+  /**
+   * Encodes a message to be published to all of the stream's input connections.
+   */
+  Object encodeBroadcast(ConnectionMessage message) {
+    if (log.isDebugEnabled()) {
+      log.debug(String.format("%s - Publish: Message[id=%d, message=%s]", this, message.id(), SerializedValue.unwrap(message.value())));
     }
+    return codec.encode(message);
   }
 
   /**
-   * Creates a value message.
+   * Tags a message with an ID and encodes it.
    */
-  private JsonObject createMessage(Object value) {
+  private Object createMessage(ConnectionMessage message) {
     // Tag the message with a monotonically increasing ID. The ID
     // will be used by the other side of the connection to guarantee
-    // ordering.
-    JsonObject message = serializer.serialize(value);
-    long id = currentMessage++;
-    message.putNumber("id", id);
-    messages.put(id, message);
-    return message;
+    // ordering. The unencoded message is held for resends so that
+    // values shared with other connections are only stored once.
+    // Encoded sizes are only measured when the send queue is limited
+    // by bytes since measuring JSON messages requires encoding them.
+    // Group and batch messages may reference interned IDs, so they're also
+    // held in their encoded form to ensure resends are decoded identically.
+    message.setId(currentMessage);
+    Object encoded = encode(message);
+    currentMessage++;
+    boolean remote = !(encoded instanceof ConnectionMessage);
+    window.add(message, remote && message.action() != ConnectionMessage.Action.MESSAGE ? encoded : null,
+        maxQueueBytes > 0 && remote ? codec.sizeOf(encoded) : 0);
+    return encoded;
   }
 
   @Override
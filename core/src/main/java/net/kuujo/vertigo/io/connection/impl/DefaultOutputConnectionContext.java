@@ -17,7 +17,9 @@ package net.kuujo.vertigo.io.connection.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.kuujo.vertigo.hook.OutputHook;
 import net.kuujo.vertigo.impl.BaseContext;
@@ -35,6 +37,12 @@ public class DefaultOutputConnectionContext extends DefaultConnectionContext<Out
   @JsonIgnore
   private OutputStreamContext stream;
   private List<OutputHook> hooks = new ArrayList<>();
+  private Map<String, String> messageCodecs = new HashMap<>();
+  private int frameSize = 1;
+  private long frameDelay;
+  private boolean groupPipelining;
+  private boolean localTransport = true;
+  private int batchDepth = 1;
 
   public DefaultOutputConnectionContext setStreamContext(OutputStreamContext stream) {
     this.stream = stream;
@@ -56,6 +64,36 @@ public class DefaultOutputConnectionContext extends DefaultConnectionContext<Out
     return hooks;
   }
 
+  @Override
+  public Map<String, String> messageCodecs() {
+    return messageCodecs;
+  }
+
+  @Override
+  public int frameSize() {
+    return frameSize;
+  }
+
+  @Override
+  public long frameDelay() {
+    return frameDelay;
+  }
+
+  @Override
+  public boolean groupPipelining() {
+    return groupPipelining;
+  }
+
+  @Override
+  public boolean localTransport() {
+    return localTransport;
+  }
+
+  @Override
+  public int batchDepth() {
+    return batchDepth;
+  }
+
   /**
    * Output connection context builder.
    *
@@ -93,7 +131,15 @@ public class DefaultOutputConnectionContext extends DefaultConnectionContext<Out
         return new Builder().setAddress(context.address())
             .setHooks(context.hooks())
             .setSource(context.source())
-            .setTarget(context.target());
+            .setTarget(context.target())
+            .setCodec(context.codec())
+            .setBroadcast(context.broadcast())
+            .setMessageCodecs(context.messageCodecs())
+            .setFrameSize(context.frameSize())
+            .setFrameDelay(context.frameDelay())
+            .setGroupPipelining(context.groupPipelining())
+            .setLocalTransport(context.localTransport())
+            .setBatchDepth(context.batchDepth());
       }
     }
 
@@ -119,6 +165,96 @@ public class DefaultOutputConnectionContext extends DefaultConnectionContext<Out
       return this;
     }
 
+    /**
+     * Sets the connection wire codec.
+     *
+     * @param codec The connection codec name.
+     * @return The context builder.
+     */
+    public Builder setCodec(String codec) {
+      context.codec = codec;
+      return this;
+    }
+
+    /**
+     * Sets the connection broadcast address.
+     *
+     * @param broadcast The address to which the stream publishes messages, or
+     *        <code>null</code> if the stream doesn't broadcast messages.
+     * @return The context builder.
+     */
+    public Builder setBroadcast(String broadcast) {
+      context.broadcast = broadcast;
+      return this;
+    }
+
+    /**
+     * Sets the message codecs.
+     *
+     * @param codecs A map of message type names to message codec class names.
+     * @return The context builder.
+     */
+    public Builder setMessageCodecs(Map<String, String> codecs) {
+      context.messageCodecs = codecs;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of messages per frame.
+     *
+     * @param frameSize The maximum number of messages per frame.
+     * @return The context builder.
+     */
+    public Builder setFrameSize(int frameSize) {
+      context.frameSize = frameSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum frame delay.
+     *
+     * @param frameDelay The maximum number of milliseconds to wait before sending a frame.
+     * @return The context builder.
+     */
+    public Builder setFrameDelay(long frameDelay) {
+      context.frameDelay = frameDelay;
+      return this;
+    }
+
+    /**
+     * Sets whether output groups are pipelined.
+     *
+     * @param pipelining Whether output groups are started without waiting for the input group.
+     * @return The context builder.
+     */
+    public Builder setGroupPipelining(boolean pipelining) {
+      context.groupPipelining = pipelining;
+      return this;
+    }
+
+    /**
+     * Sets whether the local transport is enabled.
+     *
+     * @param localTransport Whether messages to input connections in the same JVM
+     *        bypass the event bus.
+     * @return The context builder.
+     */
+    public Builder setLocalTransport(boolean localTransport) {
+      context.localTransport = localTransport;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of open batches.
+     *
+     * @param depth The maximum number of batches that can be open on the connection.
+     * @return The context builder.
+     */
+    public Builder setBatchDepth(int depth) {
+      context.batchDepth = depth;
+      return this;
+    }
+
     /**
      * Sets the output hooks.
      *
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import net.kuujo.vertigo.io.impl.InputDeserializer;
+import net.kuujo.vertigo.io.impl.OutputSerializer;
+
+import org.vertx.java.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * JSON envelope connection codec.<p>
+ *
+ * This codec encodes each message as a {@link JsonObject} with string
+ * <code>action</code>, <code>id</code>, <code>group</code> and <code>batch</code>
+ * keys. It's the original connection wire format and is kept for compatibility.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class JsonConnectionCodec implements ConnectionCodec {
+  private final OutputSerializer serializer;
+  private final InputDeserializer deserializer = new InputDeserializer();
+
+  public JsonConnectionCodec() {
+    this(null);
+  }
+
+  public JsonConnectionCodec(Map<String, String> codecs) {
+    this.serializer = new OutputSerializer(codecs);
+  }
+
+  @Override
+  public Object encode(ConnectionMessage message) {
+    JsonObject json;
+    if (message.value() instanceof SerializedValue) {
+      // The shared value's fields are merged into a new envelope rather than
+      // copying the shared value, so the value itself is never duplicated.
+      json = new JsonObject().mergeIn((JsonObject) ((SerializedValue) message.value()).serialize(this));
+    } else {
+      json = serializer.serialize(message.value());
+    }
+    json.putString("action", message.action().getName());
+    if (hasId(message.action())) {
+      json.putNumber("id", message.id());
+    }
+    if (message.group() != null) {
+      json.putString("group", message.group());
+    }
+    if (message.batch() != null) {
+      json.putString("batch", message.batch());
+    }
+    if (message.name() != null) {
+      json.putString("name", message.name());
+    }
+    if (message.parent() != null) {
+      json.putString("parent", message.parent());
+    }
+    return json;
+  }
+
+  @Override
+  public Object encodeFrame(List<Object> messages) {
+    JsonArray frame = new JsonArray();
+    for (Object message : messages) {
+      frame.addObject((JsonObject) message);
+    }
+    return new JsonObject()
+        .putString("action", ConnectionMessage.Action.FRAME.getName())
+        .putArray("messages", frame);
+  }
+
+  @Override
+  public int sizeOf(Object message) {
+    // JSON messages aren't encoded until they're sent, so the only way to
+    // measure them is to encode them.
+    return ((JsonObject) message).encode().length();
+  }
+
+  @Override
+  public Object serializeValue(Object value) {
+    return serializer.serialize(value);
+  }
+
+  @Override
+  public ConnectionMessage decode(Object message) {
+    JsonObject json = (JsonObject) message;
+    ConnectionMessage.Action action = ConnectionMessage.Action.forName(json.getString("action"));
+    if (action == null) {
+      return null;
+    }
+    ConnectionMessage decoded = new ConnectionMessage(action);
+    if (action == ConnectionMessage.Action.FRAME) {
+      JsonArray frame = json.getArray("messages");
+      List<ConnectionMessage> messages = new ArrayList<>(frame.size());
+      for (Object item : frame) {
+        messages.add(decode(item));
+      }
+      return decoded.setMessages(messages);
+    }
+    Long id = json.getLong("id");
+    if (id != null) {
+      decoded.setId(id);
+    }
+    decoded.setGroup(json.getString("group"))
+        .setBatch(json.getString("batch"))
+        .setName(json.getString("name"))
+        .setParent(json.getString("parent"))
+        .setValue(deserializer.deserialize(json));
+    return decoded;
+  }
+
+  @Override
+  public ConnectionMessage resolve(ConnectionMessage message) {
+    return message;
+  }
+
+  @Override
+  public void release(String id) {
+    // JSON messages always carry full group and batch IDs.
+  }
+
+  /**
+   * Indicates whether the given action always carries an ID.
+   */
+  private static boolean hasId(ConnectionMessage.Action action) {
+    switch (action) {
+      case CONNECT:
+      case DISCONNECT:
+        return false;
+      default:
+        return true;
+    }
+  }
+
+}
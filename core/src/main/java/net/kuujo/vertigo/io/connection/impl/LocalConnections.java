@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+/**
+ * Local connection registry.<p>
+ *
+ * Input connections register themselves here when they're opened on a
+ * Vert.x context. When an output connection connects to an input connection
+ * that is registered in the same JVM, it hands messages directly to the
+ * input connection's context through an in-memory queue rather than
+ * encoding them and sending them on the event bus. Feedback messages like
+ * acks and resend requests still go through the event bus, so ordering and
+ * ack semantics are the same for both transports.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public final class LocalConnections {
+  private static final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+  private LocalConnections() {
+  }
+
+  /**
+   * Registers a local input connection.
+   *
+   * @param address The connection address.
+   * @param connection The input connection.
+   * @param context The context on which the input connection handles messages.
+   * @return The registered endpoint.
+   */
+  static Endpoint register(String address, DefaultInputConnection connection, Context context) {
+    Endpoint endpoint = new Endpoint(connection, context);
+    endpoints.put(address, endpoint);
+    return endpoint;
+  }
+
+  /**
+   * Unregisters a local input connection.
+   *
+   * @param address The connection address.
+   * @param endpoint The endpoint returned when the connection was registered.
+   */
+  static void unregister(String address, Endpoint endpoint) {
+    endpoints.remove(address, endpoint);
+    endpoint.closed = true;
+  }
+
+  /**
+   * Looks up a local input connection.
+   *
+   * @param address The connection address.
+   * @return The local endpoint, or <code>null</code> if the input connection
+   *         is not open in this JVM.
+   */
+  static Endpoint lookup(String address) {
+    return endpoints.get(address);
+  }
+
+  /**
+   * Local input connection endpoint.
+   */
+  static final class Endpoint {
+    private final DefaultInputConnection connection;
+    private final Context context;
+    private final Queue<ConnectionMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean closed;
+
+    private final Handler<Void> drainHandler = new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        // Clear the flag before draining so that messages queued while
+        // draining schedule another drain rather than being stranded.
+        scheduled.set(false);
+        ConnectionMessage message;
+        while ((message = queue.poll()) != null) {
+          size.decrementAndGet();
+          connection.receive(message);
+        }
+      }
+    };
+
+    private Endpoint(DefaultInputConnection connection, Context context) {
+      this.connection = connection;
+      this.context = context;
+    }
+
+    /**
+     * Indicates whether the endpoint has been closed.
+     */
+    boolean isClosed() {
+      return closed;
+    }
+
+    /**
+     * Returns the number of messages waiting to be handled by the input connection.
+     */
+    int size() {
+      return size.get();
+    }
+
+    /**
+     * Queues a message for the input connection. Messages queued in the same
+     * event loop turn are handled by a single task on the input's context.
+     */
+    void send(ConnectionMessage message) {
+      size.incrementAndGet();
+      queue.add(message);
+      if (scheduled.compareAndSet(false, true)) {
+        context.runOnContext(drainHandler);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+/**
+ * Output connection send window.<p>
+ *
+ * The send window holds messages that have been sent but not yet acked so
+ * that they can be resent. Messages are added with consecutive sequence IDs
+ * and stored in a circular array addressed by ID, so adding a message is
+ * constant time and releasing acked messages is linear in the number of
+ * messages released. The backing array doubles when the window fills and
+ * shrinks again once the window drains, so a connection only holds on to
+ * as much memory as its current backlog requires. The window also tracks
+ * the total encoded size of the messages it holds for byte based limits.
+ * Messages whose encoding depends on codec state, such as interned group
+ * and batch IDs, can be held along with their encoded form so that resends
+ * are identical to the original message.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class SendWindow {
+  private static final int DEFAULT_CAPACITY = 64;
+  private final int minCapacity;
+  private ConnectionMessage[] messages;
+  private Object[] encoded;
+  private int[] sizes;
+  private long first;
+  private int size;
+  private long bytes;
+
+  public SendWindow() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public SendWindow(int capacity) {
+    this.minCapacity = powerOfTwo(Math.max(capacity, 2));
+    this.messages = new ConnectionMessage[minCapacity];
+    this.encoded = new Object[minCapacity];
+    this.sizes = new int[minCapacity];
+  }
+
+  /**
+   * Returns the smallest power of two greater than or equal to the given number.
+   */
+  private static int powerOfTwo(int number) {
+    int power = Integer.highestOneBit(number);
+    return power == number ? power : power << 1;
+  }
+
+  /**
+   * Adds a message to the window.
+   *
+   * @param message The message to add. The message ID must be one greater
+   *        than the ID of the last message in the window.
+   */
+  public void add(ConnectionMessage message) {
+    add(message, 0);
+  }
+
+  /**
+   * Adds a message to the window.
+   *
+   * @param message The message to add. The message ID must be one greater
+   *        than the ID of the last message in the window.
+   * @param bytes The encoded size of the message in bytes.
+   */
+  public void add(ConnectionMessage message, int bytes) {
+    add(message, null, bytes);
+  }
+
+  /**
+   * Adds a message to the window along with its encoded form.
+   *
+   * @param message The message to add. The message ID must be one greater
+   *        than the ID of the last message in the window.
+   * @param encoded The encoded message to resend, or <code>null</code> if the
+   *        message should be encoded again when it's resent.
+   * @param bytes The encoded size of the message in bytes.
+   */
+  public void add(ConnectionMessage message, Object encoded, int bytes) {
+    if (size == 0) {
+      first = message.id();
+    } else if (message.id() != first + size) {
+      throw new IllegalArgumentException("Message " + message.id() + " is out of sequence, expected " + (first + size));
+    }
+    if (size == messages.length) {
+      resize(messages.length << 1);
+    }
+    int index = index(message.id());
+    messages[index] = message;
+    this.encoded[index] = encoded;
+    sizes[index] = bytes;
+    this.bytes += bytes;
+    size++;
+  }
+
+  /**
+   * Returns the message with the given ID.
+   *
+   * @param id The message ID.
+   * @return The message, or <code>null</code> if the message is not in the window.
+   */
+  public ConnectionMessage get(long id) {
+    if (size == 0 || id < first || id >= first + size) {
+      return null;
+    }
+    return messages[index(id)];
+  }
+
+  /**
+   * Returns the encoded form of the message with the given ID.
+   *
+   * @param id The message ID.
+   * @return The encoded message, or <code>null</code> if the message is not
+   *         in the window or was added without its encoded form.
+   */
+  public Object getEncoded(long id) {
+    if (size == 0 || id < first || id >= first + size) {
+      return null;
+    }
+    return encoded[index(id)];
+  }
+
+  /**
+   * Releases all messages up to and including the given ID.
+   *
+   * @param id The ID of the last message to release.
+   * @return The number of messages released.
+   */
+  public int release(long id) {
+    int released = 0;
+    while (size > 0 && first <= id) {
+      int index = index(first);
+      messages[index] = null;
+      encoded[index] = null;
+      bytes -= sizes[index];
+      sizes[index] = 0;
+      first++;
+      size--;
+      released++;
+    }
+    if (size < messages.length >> 2 && messages.length > minCapacity) {
+      resize(Math.max(messages.length >> 1, minCapacity));
+    }
+    return released;
+  }
+
+  /**
+   * Removes all messages from the window.
+   */
+  public void clear() {
+    if (messages.length > minCapacity) {
+      messages = new ConnectionMessage[minCapacity];
+      encoded = new Object[minCapacity];
+      sizes = new int[minCapacity];
+    } else {
+      for (int i = 0; i < messages.length; i++) {
+        messages[i] = null;
+        encoded[i] = null;
+        sizes[i] = 0;
+      }
+    }
+    size = 0;
+    bytes = 0;
+  }
+
+  /**
+   * Returns the ID of the first message in the window.
+   *
+   * @return The ID of the first message in the window.
+   */
+  public long firstId() {
+    return first;
+  }
+
+  /**
+   * Returns the ID of the last message in the window.
+   *
+   * @return The ID of the last message in the window. If the window is
+   *         empty this will be one less than the first ID.
+   */
+  public long lastId() {
+    return first + size - 1;
+  }
+
+  /**
+   * Returns the number of messages in the window.
+   *
+   * @return The number of messages in the window.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the total encoded size of the messages in the window.
+   *
+   * @return The number of bytes in the window.
+   */
+  public long bytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns the current capacity of the window.
+   *
+   * @return The number of messages the window can hold without resizing.
+   */
+  public int capacity() {
+    return messages.length;
+  }
+
+  /**
+   * Returns the array index for the given ID.
+   */
+  private int index(long id) {
+    return (int) (id & (messages.length - 1));
+  }
+
+  /**
+   * Resizes the backing array, preserving messages at their ID indexes.
+   */
+  private void resize(int capacity) {
+    ConnectionMessage[] resized = new ConnectionMessage[capacity];
+    Object[] resizedEncoded = new Object[capacity];
+    int[] resizedSizes = new int[capacity];
+    for (long id = first; id < first + size; id++) {
+      int index = (int) (id & (capacity - 1));
+      resized[index] = messages[index(id)];
+      resizedEncoded[index] = encoded[index(id)];
+      resizedSizes[index] = sizes[index(id)];
+    }
+    messages = resized;
+    encoded = resizedEncoded;
+    sizes = resizedSizes;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SendWindow[first=%d, size=%d, bytes=%d, capacity=%d]", first, size, bytes, capacity());
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.connection.impl;
+
+import java.util.Arrays;
+
+/**
+ * A message value that is shared by multiple connections.<p>
+ *
+ * When a single message is sent to more than one connection, streams and
+ * ports wrap the value in a serialized value. The first connection to
+ * encode the message serializes the value with its codec and the immutable
+ * serialized form is cached and reused by every other connection - and every
+ * resend - using the same type of codec. Connections using different types
+ * of codecs each get their own cached form.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class SerializedValue {
+  private final Object value;
+  private Class<?>[] codecs = new Class<?>[1];
+  private Object[] serialized = new Object[1];
+  private int size;
+
+  public SerializedValue(Object value) {
+    this.value = value;
+  }
+
+  /**
+   * Unwraps a possibly serialized value.
+   *
+   * @param value The value to unwrap.
+   * @return The original message value.
+   */
+  public static Object unwrap(Object value) {
+    return value instanceof SerializedValue ? ((SerializedValue) value).value : value;
+  }
+
+  /**
+   * Returns the original message value.
+   *
+   * @return The original message value.
+   */
+  public Object value() {
+    return value;
+  }
+
+  /**
+   * Returns the value serialized by the given codec.
+   *
+   * @param codec The codec with which to serialize the value.
+   * @return The serialized value. The returned object must not be modified.
+   */
+  public Object serialize(ConnectionCodec codec) {
+    Class<?> type = codec.getClass();
+    for (int i = 0; i < size; i++) {
+      if (codecs[i] == type) {
+        return serialized[i];
+      }
+    }
+
+    // Values are rarely sent with more than one or two types of codec,
+    // so the cache is a pair of small arrays rather than a map.
+    if (size == codecs.length) {
+      codecs = Arrays.copyOf(codecs, size + 1);
+      serialized = Arrays.copyOf(serialized, size + 1);
+    }
+    Object result = codec.serializeValue(value);
+    codecs[size] = type;
+    serialized[size] = result;
+    size++;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(value);
+  }
+
+}
@@ -81,6 +81,23 @@ public class BaseOutputGroup implements OutputGroup {
     return maxSize;
   }
 
+  @Override
+  public OutputGroup setSendQueueMaxBytes(long maxBytes) {
+    for (OutputGroup group : connections) {
+      group.setSendQueueMaxBytes(maxBytes);
+    }
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    long maxBytes = 0;
+    for (OutputGroup group : connections) {
+      maxBytes += group.getSendQueueMaxBytes();
+    }
+    return maxBytes;
+  }
+
   @Override
   public int size() {
     int highest = 0;
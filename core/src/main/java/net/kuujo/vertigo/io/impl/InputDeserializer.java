@@ -20,7 +20,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
+import java.util.HashMap;
+import java.util.Map;
 
+import net.kuujo.vertigo.io.codec.MessageCodec;
+import net.kuujo.vertigo.util.ClassResolver;
+import net.kuujo.vertigo.util.serialization.DeserializationException;
 import net.kuujo.vertigo.util.serialization.SerializationException;
 
 import org.vertx.java.core.buffer.Buffer;
@@ -32,14 +37,18 @@ import io.vertx.core.json.JsonObject;
  * The deserializer deserializes {@link JsonObject} messages to any
  * type that is supported by the format. If a message was serialized
  * using the Vertigo serializer, it can deserialize the message
- * back to the original object.
+ * back to the original object. Messages serialized by a registered
+ * {@link MessageCodec} are decoded by the same codec.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class InputDeserializer {
+  private final ClassResolver resolver = new ClassResolver();
+  private final Map<Class<?>, MessageCodec> codecs = new HashMap<>();
 
   /**
-   * Object input stream that loads the class from the current context class loader.
+   * Object input stream that loads classes from the current context class loader
+   * through the deserializer's class cache.
    */
   private class ThreadObjectInputStream extends ObjectInputStream {
 
@@ -50,8 +59,7 @@ public class InputDeserializer {
     @Override
     public Class<?> resolveClass(ObjectStreamClass desc) throws ClassNotFoundException, IOException {
       try {
-        ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        return loader.loadClass(desc.getName());
+        return resolver.resolve(desc.getName());
       } catch (Exception e) {
       }
       return super.resolveClass(desc);
@@ -76,25 +84,72 @@ public class InputDeserializer {
         case "bytes":
           return message.getBinary("value");
         case "serialized":
-          byte[] bytes = message.getBinary("value");
-          ObjectInputStream stream = null;
-          try {
-            stream = new ThreadObjectInputStream(new ByteArrayInputStream(bytes));
-            return stream.readObject();
-          } catch (ClassNotFoundException | IOException e) {
-            throw new SerializationException(e.getMessage());
-          } finally {
-            if (stream != null) {
-              try {
-                stream.close();
-              } catch (IOException e) {
-              }
-            }
-          }
+          return deserializeObject(message.getBinary("value"));
+        case "codec":
+          return deserializeCodec(message.getString("codec"), message.getString("class"), message.getBinary("value"));
         default:
           return message.getValue("value");
       }
     }
   }
 
+  /**
+   * Deserializes an object that was serialized using Java serialization.
+   *
+   * @param bytes The serialized object bytes.
+   * @return The deserialized object.
+   */
+  public Object deserializeObject(byte[] bytes) {
+    ObjectInputStream stream = null;
+    try {
+      stream = new ThreadObjectInputStream(new ByteArrayInputStream(bytes));
+      return stream.readObject();
+    } catch (ClassNotFoundException | IOException e) {
+      throw new SerializationException(e.getMessage());
+    } finally {
+      if (stream != null) {
+        try {
+          stream.close();
+        } catch (IOException e) {
+        }
+      }
+    }
+  }
+
+  /**
+   * Deserializes an object that was serialized using a message codec.
+   *
+   * @param codecName The message codec class name.
+   * @param className The serialized object class name.
+   * @param bytes The serialized object bytes.
+   * @return The deserialized object.
+   */
+  public Object deserializeCodec(String codecName, String className, byte[] bytes) {
+    Class<?> codecType;
+    Class<?> type;
+    try {
+      codecType = resolver.resolve(codecName);
+      type = resolver.resolve(className);
+    } catch (ClassNotFoundException e) {
+      throw new DeserializationException(e.getMessage());
+    }
+
+    // Codec names come from the message, so the class is checked before it's
+    // instantiated. Instances are cached by class rather than by name so that
+    // a codec is never reused across class loaders.
+    MessageCodec codec = codecs.get(codecType);
+    if (codec == null) {
+      if (!MessageCodec.class.isAssignableFrom(codecType)) {
+        throw new DeserializationException(codecName + " is not a message codec");
+      }
+      try {
+        codec = (MessageCodec) codecType.newInstance();
+      } catch (Exception e) {
+        throw new DeserializationException("Error instantiating message codec " + codecName);
+      }
+      codecs.put(codecType, codec);
+    }
+    return codec.decode(bytes, type);
+  }
+
 }
@@ -18,9 +18,14 @@ package net.kuujo.vertigo.io.impl;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import net.kuujo.vertigo.io.codec.MessageCodec;
+import net.kuujo.vertigo.util.ClassResolver;
 import net.kuujo.vertigo.util.serialization.SerializationException;
 
 import org.vertx.java.core.buffer.Buffer;
@@ -32,8 +37,10 @@ import io.vertx.core.json.JsonObject;
  *
  * The serializer serializes all messages to a {@link JsonObject} which
  * can be read and deserialized by input connections. If the message is
- * not an event bus supported type, the serializer will attempt to
- * serialize the message using the default Vertigo serializer.
+ * not an event bus supported type, the serializer will serialize the
+ * message with the {@link MessageCodec} registered for the message type
+ * or one of its supertypes, falling back to Java serialization if no
+ * codec has been registered.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -54,6 +61,18 @@ public class OutputSerializer {
     add(JsonObject.class);
     add(JsonArray.class);
   }};
+  private final Map<String, String> codecNames;
+  private final Map<Class<?>, MessageCodec> codecs = new HashMap<>();
+  private final Map<Class<?>, MessageCodec> codecInstances = new HashMap<>();
+  private final ClassResolver resolver = new ClassResolver();
+
+  public OutputSerializer() {
+    this(null);
+  }
+
+  public OutputSerializer(Map<String, String> codecs) {
+    this.codecNames = codecs != null ? codecs : Collections.<String, String>emptyMap();
+  }
 
   /**
    * Serializes a message.
@@ -76,9 +95,26 @@ public class OutputSerializer {
       return new JsonObject().putValue("value", message);
     }
 
+    MessageCodec codec = getCodec(clazz);
+    if (codec != null) {
+      return new JsonObject().putString("type", "codec")
+          .putString("codec", codec.getClass().getName())
+          .putString("class", clazz.getName())
+          .putBinary("value", codec.encode(message));
+    }
+
+    return new JsonObject().putString("type", "serialized").putBinary("value", serializeObject(message));
+  }
+
+  /**
+   * Serializes an arbitrary object to bytes using Java serialization.
+   *
+   * @param message The object to serialize.
+   * @return The serialized object bytes.
+   */
+  public byte[] serializeObject(Object message) {
     ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
     ObjectOutputStream stream = null;
-    byte[] serialized = null;
     try {
       stream = new ObjectOutputStream(byteStream);
       stream.writeObject(message);
@@ -93,8 +129,74 @@ public class OutputSerializer {
       }
     }
 
-    serialized = byteStream.toByteArray();
-    return new JsonObject().putString("type", "serialized").putBinary("value", serialized);
+    return byteStream.toByteArray();
+  }
+
+  /**
+   * Returns the message codec registered for the given type.<p>
+   *
+   * If no codec is registered for the type itself, its superclasses and
+   * interfaces are searched. Lookups are cached per type.
+   *
+   * @param type The message type.
+   * @return The message codec, or <code>null</code> if no codec is registered.
+   */
+  public MessageCodec getCodec(Class<?> type) {
+    if (codecNames.isEmpty()) {
+      return null;
+    }
+    if (codecs.containsKey(type)) {
+      return codecs.get(type);
+    }
+    MessageCodec codec = findCodec(type);
+    codecs.put(type, codec);
+    return codec;
+  }
+
+  /**
+   * Searches the type hierarchy for a registered codec.
+   */
+  private MessageCodec findCodec(Class<?> type) {
+    while (type != null && type != Object.class) {
+      String name = codecNames.get(type.getName());
+      if (name != null) {
+        return createCodec(name);
+      }
+      for (Class<?> iface : type.getInterfaces()) {
+        MessageCodec codec = findCodec(iface);
+        if (codec != null) {
+          return codec;
+        }
+      }
+      type = type.getSuperclass();
+    }
+    return null;
+  }
+
+  /**
+   * Creates a codec instance, sharing instances between types that use the same codec class.
+   */
+  private MessageCodec createCodec(String name) {
+    Class<?> type;
+    try {
+      type = resolver.resolve(name);
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException("Message codec " + name + " not found");
+    }
+
+    MessageCodec codec = codecInstances.get(type);
+    if (codec == null) {
+      if (!MessageCodec.class.isAssignableFrom(type)) {
+        throw new SerializationException(name + " is not a message codec");
+      }
+      try {
+        codec = (MessageCodec) type.newInstance();
+      } catch (Exception e) {
+        throw new SerializationException("Error instantiating message codec " + name);
+      }
+      codecInstances.put(type, codec);
+    }
+    return codec;
   }
 
 }
@@ -24,6 +24,7 @@ import net.kuujo.vertigo.hook.ComponentHook;
 import net.kuujo.vertigo.hook.OutputHook;
 import net.kuujo.vertigo.io.batch.OutputBatch;
 import net.kuujo.vertigo.io.batch.impl.BaseOutputBatch;
+import net.kuujo.vertigo.io.connection.impl.SerializedValue;
 import net.kuujo.vertigo.io.group.OutputGroup;
 import net.kuujo.vertigo.io.group.impl.BaseOutputGroup;
 import net.kuujo.vertigo.io.port.OutputPort;
@@ -61,6 +62,7 @@ public class DefaultOutputPort implements OutputPort, Observer<OutputPortContext
   private List<OutputHook> hooks = new ArrayList<>();
   private final TaskRunner tasks = new TaskRunner();
   private int maxQueueSize = DEFAULT_SEND_QUEUE_MAX_SIZE;
+  private long maxQueueBytes;
   private Handler<Void> drainHandler;
   private boolean open;
 
@@ -142,7 +144,11 @@ public class DefaultOutputPort implements OutputPort, Observer<OutputPortContext
           }
           if (!exists) {
             log.info(String.format("%s - Creating stream: %s", DefaultOutputPort.this, output));
-            newStreams.add(new DefaultOutputStream(vertx, output));
+            OutputStream stream = new DefaultOutputStream(vertx, output);
+            stream.setSendQueueMaxSize(maxQueueSize);
+            stream.setSendQueueMaxBytes(maxQueueBytes);
+            stream.drainHandler(drainHandler);
+            newStreams.add(stream);
           }
         }
 
@@ -206,6 +212,21 @@ public class DefaultOutputPort implements OutputPort, Observer<OutputPortContext
     return maxQueueSize;
   }
 
+  @Override
+  public OutputPort setSendQueueMaxBytes(long maxBytes) {
+    Args.checkPositive(maxBytes, "max bytes must be a positive number");
+    this.maxQueueBytes = maxBytes;
+    for (OutputStream stream : streams) {
+      stream.setSendQueueMaxBytes(maxQueueBytes);
+    }
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    return maxQueueBytes;
+  }
+
   @Override
   public int size() {
     int highest = 0;
@@ -266,6 +287,7 @@ public class DefaultOutputPort implements OutputPort, Observer<OutputPortContext
           for (OutputStreamContext output : context.streams()) {
             final OutputStream stream = new DefaultOutputStream(vertx, output);
             stream.setSendQueueMaxSize(maxQueueSize);
+            stream.setSendQueueMaxBytes(maxQueueBytes);
             stream.drainHandler(drainHandler);
             stream.open(new Handler<AsyncResult<Void>>() {
               @Override
@@ -402,6 +424,24 @@ public class DefaultOutputPort implements OutputPort, Observer<OutputPortContext
     return this;
   }
 
+  /**
+   * Sends a message to all streams.
+   */
+  private void doSend(Object message) {
+    // If the port has more than one stream then wrap the message so that
+    // it's serialized once and shared by all streams and connections.
+    if (streams.size() > 1) {
+      Object shared = new SerializedValue(message);
+      for (OutputStream stream : streams) {
+        stream.send(shared);
+      }
+    } else {
+      for (OutputStream stream : streams) {
+        stream.send(message);
+      }
+    }
+  }
+
   /**
    * Triggers send hooks.
    */
@@ -413,126 +453,98 @@ public class DefaultOutputPort implements OutputPort, Observer<OutputPortContext
 
   @Override
   public OutputPort send(Object message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(String message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Boolean message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Character message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Short message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Integer message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Long message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Double message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Float message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(JsonObject message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(JsonArray message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Byte message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(byte[] message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
 
   @Override
   public OutputPort send(Buffer message) {
-    for (OutputStream stream : streams) {
-      stream.send(message);
-    }
+    doSend(message);
     triggerSend(message);
     return this;
   }
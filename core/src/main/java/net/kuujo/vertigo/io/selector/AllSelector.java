@@ -24,19 +24,43 @@ import net.kuujo.vertigo.io.connection.Connection;
  *
  * The *all* selector dispatches messages to all instances of a component.
  * Thus, if a component has four instances, all four component workers will
- * receive every message emitted to that component.
+ * receive every message emitted to that component.<p>
+ *
+ * If broadcasting is enabled, messages that are sent to all instances
+ * in the same order are published once to an address shared by all the
+ * target instances rather than being sent to each instance separately.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
-public class AllSelector implements Selector {
+public class AllSelector implements IndexedSelector {
+  private boolean broadcast;
 
   public AllSelector() {
   }
 
+  public AllSelector(boolean broadcast) {
+    this.broadcast = broadcast;
+  }
+
+  /**
+   * Returns whether messages are broadcast.
+   *
+   * @return Whether messages are published once to all target instances.
+   */
+  public boolean isBroadcast() {
+    return broadcast;
+  }
+
   @Override
   @SuppressWarnings("rawtypes")
   public <T extends Connection> List<T> select(Object message, List<T> connections) {
     return connections;
   }
 
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    return ALL;
+  }
+
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+/**
+ * Load balancing connection selector.<p>
+ *
+ * Load balancing selectors may send any given message to any one of the
+ * connections from which they select, so they skip connections that have
+ * no send credit left. Output streams using a load balancing selector only
+ * report their send queue as full once no connection has any credit left.<p>
+ *
+ * Credit is tracked on the sending side. It counts the messages a connection
+ * has in flight, not the space left at the input connection, so a slow
+ * receiver is only skipped once its unacked messages fill the send queue.
+ * See {@link net.kuujo.vertigo.io.connection.OutputConnection#credit()}.<p>
+ *
+ * Selectors that must send messages to specific connections, like the
+ * hash and all selectors, should not implement this interface.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public interface BalancingSelector extends Selector {
+}
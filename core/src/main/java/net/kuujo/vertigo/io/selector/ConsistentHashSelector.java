@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+import net.kuujo.vertigo.io.connection.OutputConnection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Selector that sends messages based on a consistent hashing algorithm.<p>
+ *
+ * The consistent hash selector places each connection on a hash ring at a
+ * number of virtual node positions derived from the target instance number.
+ * Messages are sent to the connection that owns the first position on the
+ * ring at or after the message's hash. Since positions only depend on the
+ * target instance, every source instance routes a given value to the same
+ * target instance, and adding or removing an instance only moves the values
+ * owned by that instance - roughly <code>1/N</code> of all values - rather
+ * than remapping almost every value like the mod-hash selector does. If a
+ * {@link KeyExtractor} is set then only the extracted key is hashed.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class ConsistentHashSelector implements IndexedSelector {
+  private static final int DEFAULT_VIRTUAL_NODES = 160;
+  private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+  private KeyExtractor keyExtractor;
+  @JsonIgnore
+  private List<?> ringConnections;
+  @JsonIgnore
+  private int ringSize;
+  @JsonIgnore
+  private long[] positions;
+  @JsonIgnore
+  private int[] owners;
+
+  public ConsistentHashSelector() {
+  }
+
+  public ConsistentHashSelector(int virtualNodes) {
+    if (virtualNodes < 1) {
+      throw new IllegalArgumentException("virtual nodes must be a positive number");
+    }
+    this.virtualNodes = virtualNodes;
+  }
+
+  public ConsistentHashSelector(KeyExtractor keyExtractor) {
+    this.keyExtractor = keyExtractor;
+  }
+
+  public ConsistentHashSelector(int virtualNodes, KeyExtractor keyExtractor) {
+    this(virtualNodes);
+    this.keyExtractor = keyExtractor;
+  }
+
+  /**
+   * Returns the selector's key extractor.
+   *
+   * @return The key extractor, or <code>null</code> if the whole message is hashed.
+   */
+  public KeyExtractor getKeyExtractor() {
+    return keyExtractor;
+  }
+
+  /**
+   * Returns the number of virtual nodes per connection.
+   *
+   * @return The number of positions each connection has on the hash ring.
+   */
+  public int getVirtualNodes() {
+    return virtualNodes;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> List<T> select(Object message, List<T> connections) {
+    int index = selectIndex(message, connections);
+    return connections.subList(index, index+1);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    if (connections.size() == 1) {
+      return 0;
+    }
+    if (connections != ringConnections || connections.size() != ringSize) {
+      buildRing(connections);
+    }
+    Object key = keyExtractor != null ? keyExtractor.extract(message) : message;
+    int index = Arrays.binarySearch(positions, mix(key != null ? key.hashCode() : 0));
+    if (index < 0) {
+      index = -(index + 1);
+    }
+    if (index == positions.length) {
+      index = 0;
+    }
+    return owners[index];
+  }
+
+  /**
+   * Builds the hash ring for a list of connections.
+   */
+  @SuppressWarnings("rawtypes")
+  private void buildRing(List<? extends Connection> connections) {
+    int size = connections.size() * virtualNodes;
+    long[] entries = new long[size];
+    for (int i = 0; i < connections.size(); i++) {
+      long node = nodeHash(connections.get(i));
+      for (int j = 0; j < virtualNodes; j++) {
+        entries[i * virtualNodes + j] = mix(node + j * 0x9E3779B97F4A7C15L);
+      }
+    }
+
+    // Sort the positions, carrying the owning connection index with each.
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    final long[] unsorted = entries;
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer a, Integer b) {
+        return Long.compare(unsorted[a], unsorted[b]);
+      }
+    });
+    positions = new long[size];
+    owners = new int[size];
+    for (int i = 0; i < size; i++) {
+      positions[i] = unsorted[order[i]];
+      owners[i] = order[i] / virtualNodes;
+    }
+    ringConnections = connections;
+    ringSize = connections.size();
+  }
+
+  /**
+   * Returns the stable ring identity of a connection.<p>
+   *
+   * Output connections are identified by their target instance so that the
+   * ring is the same on every source instance. Other connections fall back
+   * to the connection address.
+   */
+  @SuppressWarnings("rawtypes")
+  private static long nodeHash(Connection connection) {
+    if (connection instanceof OutputConnection) {
+      OutputConnection output = (OutputConnection) connection;
+      if (output.context() != null && output.context().target() != null) {
+        return mix(output.context().target().instance() + 1);
+      }
+    }
+    return mix(connection.address().hashCode());
+  }
+
+  /**
+   * Mixes a hash into a well distributed 64-bit value.
+   */
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import net.kuujo.vertigo.io.connection.Connection;
+import net.kuujo.vertigo.io.connection.OutputConnection;
+
+/**
+ * Connection credit, load, weight and locality helpers for selectors.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+final class Credits {
+
+  private Credits() {
+  }
+
+  /**
+   * Indicates whether a connection has send credit left.
+   */
+  @SuppressWarnings("rawtypes")
+  static boolean hasCredit(Connection connection) {
+    return !(connection instanceof OutputConnection) || ((OutputConnection) connection).credit() > 0;
+  }
+
+  /**
+   * Indicates whether a connection's target is in the same Vert.x instance.
+   */
+  @SuppressWarnings("rawtypes")
+  static boolean isLocal(Connection connection) {
+    return connection instanceof OutputConnection && ((OutputConnection) connection).isLocal();
+  }
+
+  /**
+   * Returns a connection's routing weight.
+   */
+  @SuppressWarnings("rawtypes")
+  static int weight(Connection connection) {
+    return connection instanceof OutputConnection ? ((OutputConnection) connection).weight() : 1;
+  }
+
+  /**
+   * Returns a connection's load.
+   */
+  @SuppressWarnings("rawtypes")
+  static int load(Connection connection) {
+    return connection instanceof OutputConnection ? ((OutputConnection) connection).load() : connection.size();
+  }
+
+}
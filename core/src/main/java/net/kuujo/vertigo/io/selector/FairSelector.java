@@ -15,7 +15,6 @@
  */
 package net.kuujo.vertigo.io.selector;
 
-import java.util.Arrays;
 import java.util.List;
 
 import net.kuujo.vertigo.io.connection.Connection;
@@ -23,24 +22,44 @@ import net.kuujo.vertigo.io.connection.Connection;
 /**
  * Selector that sends messages to the connection with the smallest queue.<p>
  *
- * The fair selector selects connections based on their current output queue
- * sizes. This means the if one connection's queue is backed up, the fair
- * selector will evenly dispatch messages to connections with shorter queues.
+ * The fair selector selects connections based on their current load, that
+ * is the number of unacked messages plus the number of messages queued by
+ * the input connection. This means the if one connection's queue is backed
+ * up, the fair selector will evenly dispatch messages to connections with
+ * shorter queues. Since the fair selector checks every connection for each
+ * message, the {@link LeastLoadedSelector} is better suited to components
+ * with many instances.
+ * Connections that have no send credit left are only selected if no
+ * connection has any credit.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
-public class FairSelector implements Selector {
+public class FairSelector implements BalancingSelector, IndexedSelector {
 
   @Override
   @SuppressWarnings("rawtypes")
   public <T extends Connection> List<T> select(Object message, List<T> connections) {
-    T lowest = null;
-    for (T connection : connections) {
-      if (lowest == null || connection.size() < lowest.size()) {
-        lowest = connection;
+    int index = selectIndex(message, connections);
+    return connections.subList(index, index+1);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    int lowest = -1;
+    int lowestSize = 0;
+    boolean lowestCredit = false;
+    for (int i = 0; i < connections.size(); i++) {
+      T connection = connections.get(i);
+      boolean credit = Credits.hasCredit(connection);
+      int size = Credits.load(connection);
+      if (lowest == -1 || (credit && !lowestCredit) || (credit == lowestCredit && size < lowestSize)) {
+        lowest = i;
+        lowestSize = size;
+        lowestCredit = credit;
       }
     }
-    return Arrays.asList(lowest);
+    return lowest;
   }
 
 }
@@ -24,17 +24,43 @@ import net.kuujo.vertigo.io.connection.Connection;
  *
  * The hash selector is a consistent-hashing based grouping. Given
  * a value on which to hash, this grouping guarantees that workers will
- * always receive messages with the same values.
+ * always receive messages with the same values. If a {@link KeyExtractor}
+ * is set then only the extracted key is hashed, so messages can be
+ * partitioned on a field rather than on the entire message.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
-public class HashSelector implements Selector {
+public class HashSelector implements IndexedSelector {
+  private KeyExtractor keyExtractor;
+
+  public HashSelector() {
+  }
+
+  public HashSelector(KeyExtractor keyExtractor) {
+    this.keyExtractor = keyExtractor;
+  }
+
+  /**
+   * Returns the selector's key extractor.
+   *
+   * @return The key extractor, or <code>null</code> if the whole message is hashed.
+   */
+  public KeyExtractor getKeyExtractor() {
+    return keyExtractor;
+  }
 
   @Override
   @SuppressWarnings("rawtypes")
   public <T extends Connection> List<T> select(Object message, List<T> connections) {
-    int index = Math.abs(message.hashCode() % connections.size());
+    int index = selectIndex(message, connections);
     return connections.subList(index, index+1);
   }
 
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    Object key = keyExtractor != null ? keyExtractor.extract(message) : message;
+    return Math.abs((key != null ? key.hashCode() : 0) % connections.size());
+  }
+
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+
+/**
+ * Index based connection selector.<p>
+ *
+ * List based selection allocates a list for every message that's routed.
+ * Selectors that implement this interface can instead return the index of
+ * the selected connection, allowing output streams to route messages
+ * without allocating anything. Output streams use index based selection
+ * whenever their selector supports it.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public interface IndexedSelector extends Selector {
+
+  /**
+   * Indicates that a message should be sent to all connections.
+   */
+  public static final int ALL = -1;
+
+  /**
+   * Selects a connection to which to send a message.
+   *
+   * @param message The message being sent.
+   * @param connections A non-empty list of connections from which to select.
+   * @return The index of the selected connection, or {@link #ALL} if the
+   *         message should be sent to all connections.
+   */
+  @SuppressWarnings("rawtypes")
+  <T extends Connection> int selectIndex(Object message, List<T> connections);
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.util.Map;
+
+import io.vertx.core.json.JsonObject;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Key extractor that extracts a field from JSON messages.<p>
+ *
+ * The field is given as a dot separated path, e.g. <code>user.id</code>.
+ * If the message is not a {@link JsonObject} or any element of the path
+ * is missing then the extracted key is <code>null</code>.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class JsonKeyExtractor implements KeyExtractor {
+  private String path;
+  @JsonIgnore
+  private String[] fields;
+
+  private JsonKeyExtractor() {
+  }
+
+  public JsonKeyExtractor(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Returns the JSON path.
+   *
+   * @return The dot separated path of the key field.
+   */
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object extract(Object message) {
+    if (fields == null) {
+      fields = path.split("\\.");
+    }
+    Object value = message;
+    for (String field : fields) {
+      if (value instanceof JsonObject) {
+        value = ((JsonObject) value).getValue(field);
+      } else if (value instanceof Map) {
+        value = ((Map<String, Object>) value).get(field);
+      } else {
+        return null;
+      }
+    }
+    return value;
+  }
+
+}
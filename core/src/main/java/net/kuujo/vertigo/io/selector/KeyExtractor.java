@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import net.kuujo.vertigo.util.serialization.JsonSerializable;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Message key extractor.<p>
+ *
+ * Key extractors are used by hash based selectors to select the part of a
+ * message on which to partition messages. Rather than hashing the entire
+ * message, the selector hashes only the extracted key, so messages with the
+ * same key are always routed to the same connection.<p>
+ *
+ * Key extractors are serialized with the selector's connection configuration,
+ * so custom key extractors must be serializable by Vertigo's serializer.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+@JsonTypeInfo(use=JsonTypeInfo.Id.CLASS, include=JsonTypeInfo.As.PROPERTY, property="extractor")
+public interface KeyExtractor extends JsonSerializable {
+
+  /**
+   * Extracts the partition key from a message.
+   *
+   * @param message The message being sent.
+   * @return The message key.
+   */
+  Object extract(Object message);
+
+}
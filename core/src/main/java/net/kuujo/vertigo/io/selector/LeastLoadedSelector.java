@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import net.kuujo.vertigo.io.connection.Connection;
+
+/**
+ * Selector that sends messages to the less loaded of two random connections.<p>
+ *
+ * The least loaded selector samples two distinct connections at random for
+ * each message and selects the one with the lower load, where the load is
+ * the number of unacked messages plus the number of messages the input
+ * connection reported as queued. Comparing two random choices spreads
+ * messages nearly as evenly as checking every connection, but selection
+ * takes constant time regardless of the number of connections. If only one
+ * of the sampled connections has send credit left then it is selected.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class LeastLoadedSelector implements BalancingSelector, IndexedSelector {
+
+  public LeastLoadedSelector() {
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> List<T> select(Object message, List<T> connections) {
+    int index = selectIndex(message, connections);
+    return connections.subList(index, index+1);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    int size = connections.size();
+    if (size == 1) {
+      return 0;
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    int second = random.nextInt(size - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    T firstConnection = connections.get(first);
+    T secondConnection = connections.get(second);
+    boolean firstCredit = Credits.hasCredit(firstConnection);
+    if (firstCredit != Credits.hasCredit(secondConnection)) {
+      return firstCredit ? first : second;
+    }
+    return Credits.load(firstConnection) <= Credits.load(secondConnection) ? first : second;
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Selector that prefers connections to instances on the same node.<p>
+ *
+ * The locality selector wraps another selector and applies it only to
+ * connections whose target instance is deployed in the same Vert.x instance
+ * as the sender. Messages spill over to remote instances only if none of the
+ * local connections has send credit left or there are no local connections,
+ * in which case the wrapped selector is applied to all connections.<p>
+ *
+ * Since the set of connections a message can be routed to depends on the
+ * current backpressure, key based selectors wrapped by the locality selector
+ * don't guarantee that messages with the same key reach the same instance.
+ * Selectors that copy messages to more than one connection send them to
+ * all connections regardless of locality.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class LocalitySelector implements BalancingSelector, IndexedSelector {
+  private Selector selector;
+  @JsonIgnore
+  private final List<Connection<?>> locals = new ArrayList<>();
+  @JsonIgnore
+  private int[] indexes = new int[0];
+
+  public LocalitySelector() {
+    this(new RoundRobinSelector());
+  }
+
+  public LocalitySelector(Selector selector) {
+    this.selector = selector;
+  }
+
+  /**
+   * Returns the wrapped selector.
+   *
+   * @return The selector that is applied to the selected connections.
+   */
+  public Selector getSelector() {
+    return selector;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> List<T> select(Object message, List<T> connections) {
+    int index = selectIndex(message, connections);
+    return index == ALL ? connections : connections.subList(index, index+1);
+  }
+
+  @Override
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    // Collect the local connections that still have credit. The list and
+    // index array are reused so that selection doesn't allocate.
+    int size = connections.size();
+    if (indexes.length < size) {
+      indexes = new int[size];
+    }
+    locals.clear();
+    for (int i = 0; i < size; i++) {
+      T connection = connections.get(i);
+      if (Credits.isLocal(connection) && Credits.hasCredit(connection)) {
+        indexes[locals.size()] = i;
+        locals.add(connection);
+      }
+    }
+
+    try {
+      if (locals.isEmpty()) {
+        return select(selector, message, connections);
+      }
+      int index = select(selector, message, (List<T>) locals);
+      return index == ALL ? ALL : indexes[index];
+    } finally {
+      locals.clear();
+    }
+  }
+
+  /**
+   * Applies the wrapped selector to a list of connections.
+   */
+  @SuppressWarnings("rawtypes")
+  private static <T extends Connection> int select(Selector selector, Object message, List<T> connections) {
+    if (connections.size() == 1) {
+      return 0;
+    } else if (selector instanceof IndexedSelector) {
+      return ((IndexedSelector) selector).selectIndex(message, connections);
+    }
+    // Custom selectors may select any subset of connections, in which case
+    // the message is copied to all of them.
+    List<T> selected = selector.select(message, connections);
+    if (selected.size() != 1) {
+      return ALL;
+    }
+    for (int i = 0; i < connections.size(); i++) {
+      if (connections.get(i) == selected.get(0)) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Key extractor that extracts a property from object messages.<p>
+ *
+ * The property is read with a <code>getProperty()</code> or
+ * <code>isProperty()</code> getter, a <code>property()</code> accessor or
+ * a <code>property</code> field, in that order. Accessors are looked up
+ * once per message type. If the message has no such property then the
+ * extracted key is <code>null</code>.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class PropertyKeyExtractor implements KeyExtractor {
+  private String property;
+  @JsonIgnore
+  private Map<Class<?>, AccessibleObject> accessors;
+
+  private PropertyKeyExtractor() {
+  }
+
+  public PropertyKeyExtractor(String property) {
+    this.property = property;
+  }
+
+  /**
+   * Returns the property name.
+   *
+   * @return The name of the key property.
+   */
+  public String getProperty() {
+    return property;
+  }
+
+  @Override
+  public Object extract(Object message) {
+    if (message == null) {
+      return null;
+    }
+    AccessibleObject accessor = getAccessor(message.getClass());
+    if (accessor == null) {
+      return null;
+    }
+    try {
+      if (accessor instanceof Method) {
+        return ((Method) accessor).invoke(message);
+      }
+      return ((Field) accessor).get(message);
+    } catch (Exception e) {
+      throw new IllegalArgumentException(String.format("Failed to extract %s from %s", property, message.getClass().getName()), e);
+    }
+  }
+
+  /**
+   * Returns the cached accessor for the given type.
+   */
+  private AccessibleObject getAccessor(Class<?> clazz) {
+    if (accessors == null) {
+      accessors = new HashMap<>();
+    }
+    if (accessors.containsKey(clazz)) {
+      return accessors.get(clazz);
+    }
+    AccessibleObject accessor = findAccessor(clazz);
+    accessors.put(clazz, accessor);
+    return accessor;
+  }
+
+  /**
+   * Looks up an accessor for the property on the given type.
+   */
+  private AccessibleObject findAccessor(Class<?> clazz) {
+    String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    for (String name : new String[]{"get" + capitalized, "is" + capitalized, property}) {
+      try {
+        Method method = clazz.getMethod(name);
+        method.setAccessible(true);
+        return method;
+      } catch (NoSuchMethodException e) {
+        continue;
+      }
+    }
+    Class<?> type = clazz;
+    while (type != null) {
+      try {
+        Field field = type.getDeclaredField(property);
+        field.setAccessible(true);
+        return field;
+      } catch (NoSuchFieldException e) {
+        type = type.getSuperclass();
+      }
+    }
+    return null;
+  }
+
+}
@@ -24,10 +24,12 @@ import net.kuujo.vertigo.io.connection.Connection;
  * Selector that sends messages to a random connection.<p>
  *
  * The random selector dispatches messages to component workers randomly.
+ * If the randomly selected connection has no send credit left then the
+ * next connection with credit is selected instead.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
-public class RandomSelector implements Selector {
+public class RandomSelector implements BalancingSelector, IndexedSelector {
   private Random rand = new Random();
 
   public RandomSelector() {
@@ -36,8 +38,22 @@ public class RandomSelector implements Selector {
   @Override
   @SuppressWarnings("rawtypes")
   public <T extends Connection> List<T> select(Object message, List<T> connections) {
-    int index = rand.nextInt(connections.size());
+    int index = selectIndex(message, connections);
     return connections.subList(index, index+1);
   }
 
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    int size = connections.size();
+    int start = rand.nextInt(size);
+    for (int i = 0; i < size; i++) {
+      int index = (start + i) % size;
+      if (Credits.hasCredit(connections.get(index))) {
+        return index;
+      }
+    }
+    return start;
+  }
+
 }
@@ -23,11 +23,12 @@ import net.kuujo.vertigo.io.connection.Connection;
  * Selector that sends messages to connections using a simple round-robin algorithm.<p>
  *
  * The round selector dispatches messages to workers in a round-robin
- * fashion.
+ * fashion. Connections that have no send credit left are skipped until
+ * they are drained unless no connection has any credit.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
-public class RoundRobinSelector implements Selector {
+public class RoundRobinSelector implements BalancingSelector, IndexedSelector {
   private int current;
 
   public RoundRobinSelector() {
@@ -36,8 +37,28 @@ public class RoundRobinSelector implements Selector {
   @Override
   @SuppressWarnings("rawtypes")
   public <T extends Connection> List<T> select(Object message, List<T> connections) {
-    int index = current++ % connections.size();
+    int index = selectIndex(message, connections);
     return connections.subList(index, index+1);
   }
 
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    int size = connections.size();
+    for (int i = 0; i < size; i++) {
+      int index = next(size);
+      if (Credits.hasCredit(connections.get(index))) {
+        return index;
+      }
+    }
+    return next(size);
+  }
+
+  /**
+   * Returns the next index, wrapping around safely when the counter overflows.
+   */
+  private int next(int size) {
+    return (current++ & Integer.MAX_VALUE) % size;
+  }
+
 }
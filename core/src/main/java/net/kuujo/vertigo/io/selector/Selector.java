@@ -41,8 +41,12 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 @JsonSubTypes({
   @JsonSubTypes.Type(value=RandomSelector.class, name="random"),
   @JsonSubTypes.Type(value=RoundRobinSelector.class, name="round-robin"),
+  @JsonSubTypes.Type(value=WeightedRoundRobinSelector.class, name="weighted-round-robin"),
   @JsonSubTypes.Type(value=HashSelector.class, name="hash"),
+  @JsonSubTypes.Type(value=ConsistentHashSelector.class, name="consistent-hash"),
   @JsonSubTypes.Type(value=FairSelector.class, name="fair"),
+  @JsonSubTypes.Type(value=LeastLoadedSelector.class, name="least-loaded"),
+  @JsonSubTypes.Type(value=LocalitySelector.class, name="locality"),
   @JsonSubTypes.Type(value=AllSelector.class, name="all")
 })
 public interface Selector extends JsonSerializable {
@@ -52,6 +56,11 @@ public interface Selector extends JsonSerializable {
    */
   public static final String ROUND_ROBIN = "round-robin";
 
+  /**
+   * <code>weighted-round-robin</code> is a selector that routes messages in proportion to instance weights.
+   */
+  public static final String WEIGHTED_ROUND_ROBIN = "weighted-round-robin";
+
   /**
    * <code>random</code> is a random connection selector.
    */
@@ -62,11 +71,26 @@ public interface Selector extends JsonSerializable {
    */
   public static final String HASH = "hash";
 
+  /**
+   * <code>consistent-hash</code> is a consistent hashing based connection selector.
+   */
+  public static final String CONSISTENT_HASH = "consistent-hash";
+
   /**
    * <code>fair</code> is a selector that selects connections based on lowest queue size.
    */
   public static final String FAIR = "fair";
 
+  /**
+   * <code>least-loaded</code> is a selector that selects the less loaded of two random connections.
+   */
+  public static final String LEAST_LOADED = "least-loaded";
+
+  /**
+   * <code>locality</code> is a selector that prefers connections to instances in the same Vert.x instance.
+   */
+  public static final String LOCALITY = "locality";
+
   /**
    * <code>all</code> is a selector that routes messages to all connections.
    */
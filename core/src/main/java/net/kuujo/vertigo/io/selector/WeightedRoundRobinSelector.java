@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.io.selector;
+
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Selector that sends messages to connections in proportion to their weights.<p>
+ *
+ * The weighted round-robin selector uses smooth weighted round-robin
+ * selection, so each target instance receives a share of messages
+ * proportional to its weight and messages to the same instance are spread
+ * evenly rather than sent in bursts. Weights are set per instance with
+ * {@link net.kuujo.vertigo.component.ComponentConfig#setInstanceWeight(int, int)}.
+ * Connections that have no send credit left are skipped unless no
+ * connection has any credit.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class WeightedRoundRobinSelector implements BalancingSelector, IndexedSelector {
+  @JsonIgnore
+  private int[] current = new int[0];
+
+  public WeightedRoundRobinSelector() {
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> List<T> select(Object message, List<T> connections) {
+    int index = selectIndex(message, connections);
+    return connections.subList(index, index+1);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public <T extends Connection> int selectIndex(Object message, List<T> connections) {
+    int size = connections.size();
+    if (current.length != size) {
+      current = new int[size];
+    }
+
+    boolean credit = false;
+    for (int i = 0; i < size; i++) {
+      if (Credits.hasCredit(connections.get(i))) {
+        credit = true;
+        break;
+      }
+    }
+
+    // Each connection's current weight is increased by its weight, and the
+    // connection with the highest current weight is selected and has its
+    // current weight reduced by the total weight.
+    int selected = -1;
+    int total = 0;
+    for (int i = 0; i < size; i++) {
+      T connection = connections.get(i);
+      if (credit && !Credits.hasCredit(connection)) {
+        continue;
+      }
+      int weight = Credits.weight(connection);
+      current[i] += weight;
+      total += weight;
+      if (selected == -1 || current[i] > current[selected]) {
+        selected = i;
+      }
+    }
+    current[selected] -= total;
+    return selected;
+  }
+
+}
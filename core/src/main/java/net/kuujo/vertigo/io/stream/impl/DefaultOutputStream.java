@@ -22,10 +22,14 @@ import java.util.UUID;
 import net.kuujo.vertigo.io.batch.OutputBatch;
 import net.kuujo.vertigo.io.connection.OutputConnection;
 import net.kuujo.vertigo.io.connection.OutputConnectionContext;
+import net.kuujo.vertigo.io.connection.impl.ConnectionBroadcast;
 import net.kuujo.vertigo.io.connection.impl.ConnectionOutputBatch;
 import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnection;
+import net.kuujo.vertigo.io.connection.impl.SerializedValue;
 import net.kuujo.vertigo.io.group.OutputGroup;
 import net.kuujo.vertigo.io.group.impl.BaseOutputGroup;
+import net.kuujo.vertigo.io.selector.BalancingSelector;
+import net.kuujo.vertigo.io.selector.IndexedSelector;
 import net.kuujo.vertigo.io.selector.Selector;
 import net.kuujo.vertigo.io.stream.OutputStream;
 import net.kuujo.vertigo.io.stream.OutputStreamContext;
@@ -50,15 +54,25 @@ public class DefaultOutputStream implements OutputStream {
   private final Vertx vertx;
   private final OutputStreamContext context;
   final List<OutputConnection> connections = new ArrayList<>();
+  private final ConnectionBroadcast broadcast;
   private int maxQueueSize;
+  private long maxQueueBytes;
   Selector selector;
 
   public DefaultOutputStream(Vertx vertx, OutputStreamContext context) {
     this.vertx = vertx;
     this.context = context;
     this.log = LoggerFactory.getLogger(String.format("%s-%s", DefaultOutputStream.class.getName(), context.port().toString()));
-    for (OutputConnectionContext connection : context.connections()) {
-      connections.add(new DefaultOutputConnection(vertx, connection));
+    // If the stream broadcasts messages then its connections offer messages
+    // sent to all connections to the broadcast rather than sending them.
+    List<OutputConnectionContext> contexts = context.connections();
+    if (contexts.size() > 1 && contexts.get(0).broadcast() != null) {
+      broadcast = new ConnectionBroadcast(vertx, contexts.get(0).broadcast());
+    } else {
+      broadcast = null;
+    }
+    for (OutputConnectionContext connection : contexts) {
+      connections.add(new DefaultOutputConnection(vertx, connection, broadcast));
     }
     this.selector = context.selector();
   }
@@ -113,6 +127,20 @@ public class DefaultOutputStream implements OutputStream {
     return maxQueueSize;
   }
 
+  @Override
+  public OutputStream setSendQueueMaxBytes(long maxBytes) {
+    this.maxQueueBytes = maxBytes;
+    for (OutputConnection connection : connections) {
+      connection.setSendQueueMaxBytes(maxQueueBytes / connections.size());
+    }
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    return maxQueueBytes;
+  }
+
   @Override
   public int size() {
     int highest = 0;
@@ -124,6 +152,17 @@ public class DefaultOutputStream implements OutputStream {
 
   @Override
   public boolean sendQueueFull() {
+    // Balancing selectors skip connections that have no credit, so the stream
+    // is only full once every connection is out of credit. Other selectors may
+    // need to send on any connection, so any full connection fills the stream.
+    if (selector instanceof BalancingSelector) {
+      for (OutputConnection connection : connections) {
+        if (connection.credit() > 0) {
+          return false;
+        }
+      }
+      return !connections.isEmpty();
+    }
     for (OutputConnection connection : connections) {
       if (connection.sendQueueFull()) {
         return true;
@@ -205,116 +244,123 @@ public class DefaultOutputStream implements OutputStream {
     return this;
   }
 
-  @Override
-  public OutputStream send(Object message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
+  /**
+   * Sends a message to the selected connections.
+   */
+  private OutputStream doSend(Object message) {
+    // Messages are routed by their original value. If the message is sent
+    // to more than one connection then the value is wrapped so that it's
+    // only serialized once and the serialized form is shared by all the
+    // target connections.
+    Object value = SerializedValue.unwrap(message);
+    if (selector instanceof IndexedSelector) {
+      // Index based selectors route messages without allocating a list.
+      int size = connections.size();
+      if (size > 0) {
+        int index = ((IndexedSelector) selector).selectIndex(value, connections);
+        if (index != IndexedSelector.ALL) {
+          connections.get(index).send(message);
+        } else {
+          if (size > 1 && !(message instanceof SerializedValue)) {
+            message = new SerializedValue(value);
+          }
+          if (broadcast != null) {
+            broadcast.start();
+            try {
+              for (int i = 0; i < size; i++) {
+                connections.get(i).send(message);
+              }
+            } finally {
+              broadcast.finish(size);
+            }
+          } else {
+            for (int i = 0; i < size; i++) {
+              connections.get(i).send(message);
+            }
+          }
+        }
+      }
+      return this;
+    }
+
+    List<OutputConnection> targets = selector.select(value, connections);
+    if (targets.size() > 1 && !(message instanceof SerializedValue)) {
+      message = new SerializedValue(value);
+    }
+    for (OutputConnection connection : targets) {
       connection.send(message);
     }
     return this;
   }
 
+  @Override
+  public OutputStream send(Object message) {
+    return doSend(message);
+  }
+
   @Override
   public OutputStream send(String message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Boolean message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Character message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Short message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Integer message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Long message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Double message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Float message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(JsonObject message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(JsonArray message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Byte message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(byte[] message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputStream send(Buffer message) {
-    for (OutputConnection connection : selector.select(message, connections)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
@@ -24,6 +24,7 @@ import net.kuujo.vertigo.io.connection.OutputConnection;
 import net.kuujo.vertigo.io.connection.impl.ConnectionOutputBatch;
 import net.kuujo.vertigo.io.group.OutputGroup;
 import net.kuujo.vertigo.io.group.impl.BaseOutputGroup;
+import net.kuujo.vertigo.io.selector.IndexedSelector;
 
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -73,6 +74,17 @@ public class StreamOutputBatch implements OutputBatch {
     return stream.getSendQueueMaxSize();
   }
 
+  @Override
+  public OutputBatch setSendQueueMaxBytes(long maxBytes) {
+    stream.setSendQueueMaxBytes(maxBytes);
+    return this;
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    return stream.getSendQueueMaxBytes();
+  }
+
   @Override
   public boolean sendQueueFull() {
     return stream.sendQueueFull();
@@ -84,116 +96,99 @@ public class StreamOutputBatch implements OutputBatch {
     return this;
   }
 
-  @Override
-  public OutputBatch send(Object message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
+  /**
+   * Sends a message to the selected batches.
+   */
+  private OutputBatch doSend(Object message) {
+    if (stream.selector instanceof IndexedSelector) {
+      // Index based selectors route messages without allocating a list.
+      int size = batches.size();
+      if (size > 0) {
+        int index = ((IndexedSelector) stream.selector).selectIndex(message, batches);
+        if (index != IndexedSelector.ALL) {
+          batches.get(index).send(message);
+        } else {
+          for (int i = 0; i < size; i++) {
+            batches.get(i).send(message);
+          }
+        }
+      }
+    } else {
+      for (OutputConnection connection : stream.selector.select(message, batches)) {
+        connection.send(message);
+      }
     }
     return this;
   }
 
+  @Override
+  public OutputBatch send(Object message) {
+    return doSend(message);
+  }
+
   @Override
   public OutputBatch send(String message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Short message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Integer message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Long message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Float message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Double message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Boolean message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Byte message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(byte[] message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Character message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(JsonArray message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(JsonObject message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
   public OutputBatch send(Buffer message) {
-    for (OutputConnection connection : stream.selector.select(message, batches)) {
-      connection.send(message);
-    }
-    return this;
+    return doSend(message);
   }
 
   @Override
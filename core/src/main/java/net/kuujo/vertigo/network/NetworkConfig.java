@@ -17,11 +17,13 @@ package net.kuujo.vertigo.network;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import net.kuujo.vertigo.Config;
 import net.kuujo.vertigo.component.ComponentConfig;
 import net.kuujo.vertigo.component.ModuleConfig;
 import net.kuujo.vertigo.component.VerticleConfig;
+import net.kuujo.vertigo.io.codec.MessageCodec;
 import net.kuujo.vertigo.io.connection.ConnectionConfig;
 import net.kuujo.vertigo.io.selector.Selector;
 import net.kuujo.vertigo.network.impl.DefaultNetworkConfig;
@@ -68,6 +70,14 @@ public interface NetworkConfig extends Config<NetworkConfig> {
    */
   public static final String NETWORK_CONNECTIONS = "connections";
 
+  /**
+   * <code>codecs</code> is an object mapping message type class names to the
+   * class names of the {@link MessageCodec} with which to serialize messages of
+   * that type. Message types that are not registered are serialized using
+   * Java serialization.
+   */
+  public static final String NETWORK_CODECS = "codecs";
+
   /**
    * Returns the network name.<p>
    *
@@ -437,4 +447,32 @@ public interface NetworkConfig extends Config<NetworkConfig> {
    */
   NetworkConfig destroyConnection(String source, String out, String target, String in);
 
+  /**
+   * Registers a message codec for a message type.<p>
+   *
+   * The codec will be used to serialize values of the given type and its
+   * subtypes that are sent by any component in the network. Component level
+   * codecs take precedence over network level codecs.
+   *
+   * @param type The message type.
+   * @param codec The message codec class.
+   * @return The network configuration.
+   */
+  NetworkConfig addCodec(Class<?> type, Class<? extends MessageCodec> codec);
+
+  /**
+   * Unregisters the message codec for a message type.
+   *
+   * @param type The message type.
+   * @return The network configuration.
+   */
+  NetworkConfig removeCodec(Class<?> type);
+
+  /**
+   * Returns the network level message codecs.
+   *
+   * @return A map of message type class names to message codec class names.
+   */
+  Map<String, String> getCodecs();
+
 }
@@ -29,6 +29,7 @@ import net.kuujo.vertigo.component.ModuleConfig;
 import net.kuujo.vertigo.component.VerticleConfig;
 import net.kuujo.vertigo.component.impl.DefaultModuleConfig;
 import net.kuujo.vertigo.component.impl.DefaultVerticleConfig;
+import net.kuujo.vertigo.io.codec.MessageCodec;
 import net.kuujo.vertigo.io.connection.ConnectionConfig;
 import net.kuujo.vertigo.io.connection.impl.DefaultConnectionConfig;
 import net.kuujo.vertigo.io.selector.Selector;
@@ -47,6 +48,7 @@ public class DefaultNetworkConfig implements NetworkConfig {
   private String name;
   private Map<String, ComponentConfig<?>> components = new HashMap<String, ComponentConfig<?>>();
   private List<ConnectionConfig> connections = new ArrayList<>();
+  private Map<String, String> codecs = new HashMap<>();
 
   public DefaultNetworkConfig() {
     name = ContextUri.createUniqueScheme();
@@ -272,6 +274,25 @@ public class DefaultNetworkConfig implements NetworkConfig {
     return connections;
   }
 
+  @Override
+  public NetworkConfig addCodec(Class<?> type, Class<? extends MessageCodec> codec) {
+    Args.checkNotNull(type, "message type cannot be null");
+    Args.checkNotNull(codec, "message codec cannot be null");
+    codecs.put(type.getName(), codec.getName());
+    return this;
+  }
+
+  @Override
+  public NetworkConfig removeCodec(Class<?> type) {
+    codecs.remove(type.getName());
+    return this;
+  }
+
+  @Override
+  public Map<String, String> getCodecs() {
+    return codecs;
+  }
+
   @Override
   public String toString() {
     return getName();
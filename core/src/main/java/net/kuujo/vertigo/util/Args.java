@@ -76,7 +76,7 @@ public final class Args {
   /**
    * Validates that an argument is positive.
    *
-   * @param value The value to check.
+   * @param number The number to check.
    */
   public static void checkPositive(int number) {
     if (number < 0) {
@@ -87,7 +87,7 @@ public final class Args {
   /**
    * Validates that an argument is positive.
    *
-   * @param value The value to check.
+   * @param number The number to check.
    * @param message An exception message.
    * @param args Exception message arguments.
    */
@@ -97,6 +97,19 @@ public final class Args {
     }
   }
 
+  /**
+   * Validates that an argument is positive.
+   *
+   * @param number The number to check.
+   * @param message An exception message.
+   * @param args Exception message arguments.
+   */
+  public static void checkPositive(long number, String message, Object... args) {
+    if (number < 0) {
+      throw new IllegalArgumentException(String.format(message, args));
+    }
+  }
+
   /**
    * Validates that an argument is a valid URI.
    *
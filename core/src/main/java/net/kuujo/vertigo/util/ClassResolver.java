@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caching class resolver.<p>
+ *
+ * Classes are loaded from the current thread's context class loader and
+ * cached by name, so repeated lookups of the same class - for instance
+ * when deserializing a stream of messages of the same type - do not go
+ * through the class loader. If the context class loader changes the cache
+ * is discarded. Resolvers are not thread safe.
+ *
+ * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
+ */
+public class ClassResolver {
+  @SuppressWarnings("serial")
+  private static final Map<String, Class<?>> primitiveTypes = new HashMap<String, Class<?>>() {{
+    put(boolean.class.getName(), boolean.class);
+    put(char.class.getName(), char.class);
+    put(byte.class.getName(), byte.class);
+    put(short.class.getName(), short.class);
+    put(int.class.getName(), int.class);
+    put(long.class.getName(), long.class);
+    put(float.class.getName(), float.class);
+    put(double.class.getName(), double.class);
+    put(void.class.getName(), void.class);
+  }};
+
+  private final Map<String, Class<?>> classes = new HashMap<>();
+  private ClassLoader loader;
+
+  /**
+   * Resolves a class by name.
+   *
+   * @param name The class name.
+   * @return The resolved class.
+   * @throws ClassNotFoundException If the class cannot be found.
+   */
+  public Class<?> resolve(String name) throws ClassNotFoundException {
+    ClassLoader current = Thread.currentThread().getContextClassLoader();
+    if (current == null) {
+      current = ClassResolver.class.getClassLoader();
+    }
+    if (current != loader) {
+      classes.clear();
+      loader = current;
+    }
+
+    Class<?> clazz = classes.get(name);
+    if (clazz == null) {
+      clazz = primitiveTypes.get(name);
+      if (clazz == null) {
+        clazz = Class.forName(name, false, loader);
+      }
+      classes.put(name, clazz);
+    }
+    return clazz;
+  }
+
+}
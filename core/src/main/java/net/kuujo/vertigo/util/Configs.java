@@ -15,6 +15,8 @@
  */
 package net.kuujo.vertigo.util;
 
+import java.util.Map;
+
 import net.kuujo.vertigo.Config;
 import net.kuujo.vertigo.component.ComponentConfig;
 import net.kuujo.vertigo.io.connection.ConnectionConfig;
@@ -93,6 +95,12 @@ public final class Configs {
         base.createConnection(connection);
       }
     }
+
+    for (Map.Entry<String, String> codec : merge.getCodecs().entrySet()) {
+      if (!base.getCodecs().containsKey(codec.getKey())) {
+        base.getCodecs().put(codec.getKey(), codec.getValue());
+      }
+    }
     return base;
   }
 
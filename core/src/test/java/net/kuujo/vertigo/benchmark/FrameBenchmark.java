@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.benchmark;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import net.kuujo.vertigo.Vertigo;
+import net.kuujo.vertigo.cluster.Cluster;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.java.ComponentVerticle;
+import net.kuujo.vertigo.network.ActiveNetwork;
+import net.kuujo.vertigo.network.NetworkConfig;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Framed connection throughput benchmark.<p>
+ *
+ * Each test streams a fixed number of messages through a single connection
+ * and logs the receive rate so that framed and unframed connections can be
+ * compared. The local transport is disabled so that messages are encoded
+ * and framed even though both components run in the same JVM. Benchmarks
+ * are not run with the integration tests; run them with
+ * <code>mvn test -Pbenchmark</code>.
+ *
+ * @author Jordan Halterman
+ */
+public class FrameBenchmark extends TestVerticle {
+  private static final int MESSAGE_COUNT = 100000;
+
+  public static class TestSender extends ComponentVerticle {
+    private int sent;
+
+    @Override
+    public void start() {
+      sendMessages();
+    }
+
+    private void sendMessages() {
+      while (!output.port("out").sendQueueFull() && sent < MESSAGE_COUNT) {
+        output.port("out").send(sent++);
+      }
+      if (sent < MESSAGE_COUNT) {
+        output.port("out").drainHandler(new Handler<Void>() {
+          @Override
+          public void handle(Void _) {
+            sendMessages();
+          }
+        });
+      }
+    }
+  }
+
+  public static class TestReceiver extends ComponentVerticle {
+    private int received;
+    private long startTime;
+
+    @Override
+    public void start() {
+      input.port("in").messageHandler(new Handler<Integer>() {
+        @Override
+        public void handle(Integer message) {
+          if (received == 0) {
+            startTime = System.currentTimeMillis();
+          }
+          assertEquals(received++, message.intValue());
+          if (received == MESSAGE_COUNT) {
+            long time = Math.max(System.currentTimeMillis() - startTime, 1);
+            logger.info(String.format("%s - Received %d messages in %d ms (%d messages/second)", context.address(), MESSAGE_COUNT, time, MESSAGE_COUNT * 1000L / time));
+            testComplete();
+          }
+        }
+      });
+    }
+  }
+
+  private void testThroughput(final String codec, final int frameSize) {
+    final Vertigo vertigo = new Vertigo(this);
+    vertigo.deployCluster(new Handler<AsyncResult<Cluster>>() {
+      @Override
+      public void handle(AsyncResult<Cluster> result) {
+        assertTrue(result.succeeded());
+        NetworkConfig network = vertigo.createNetwork();
+        network.addVerticle("sender", TestSender.class.getName());
+        network.addVerticle(String.format("receiver-%s-%d", codec, frameSize), TestReceiver.class.getName());
+        network.createConnection("sender", "out", String.format("receiver-%s-%d", codec, frameSize), "in")
+            .setCodec(codec)
+            .setFrameSize(frameSize)
+            .setLocalTransport(false);
+        result.result().deployNetwork(network, new Handler<AsyncResult<ActiveNetwork>>() {
+          @Override
+          public void handle(AsyncResult<ActiveNetwork> result) {
+            if (result.failed()) {
+              assertTrue(result.cause().getMessage(), result.succeeded());
+            } else {
+              assertTrue(result.succeeded());
+            }
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testUnframedJson() {
+    testThroughput(ConnectionCodec.JSON, 1);
+  }
+
+  @Test
+  public void testFramedJson() {
+    testThroughput(ConnectionCodec.JSON, 100);
+  }
+
+  @Test
+  public void testUnframedBinary() {
+    testThroughput(ConnectionCodec.BINARY, 1);
+  }
+
+  @Test
+  public void testFramedBinary() {
+    testThroughput(ConnectionCodec.BINARY, 100);
+  }
+
+}
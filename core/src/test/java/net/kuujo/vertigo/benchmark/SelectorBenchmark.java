@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.benchmark;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+import net.kuujo.vertigo.io.selector.FairSelector;
+import net.kuujo.vertigo.io.selector.HashSelector;
+import net.kuujo.vertigo.io.selector.IndexedSelector;
+import net.kuujo.vertigo.io.selector.LeastLoadedSelector;
+import net.kuujo.vertigo.io.selector.RandomSelector;
+import net.kuujo.vertigo.io.selector.RoundRobinSelector;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+/**
+ * Selector microbenchmark.<p>
+ *
+ * Compares list based and index based selection throughput and checks
+ * that index based selection doesn't allocate. Benchmarks are not run
+ * with the unit tests; run them with <code>mvn test -Pbenchmark</code>.
+ *
+ * @author Jordan Halterman
+ */
+public class SelectorBenchmark {
+  private static final int ITERATIONS = 1000000;
+
+  private static class TestConnection implements Connection<TestConnection> {
+    private final String address;
+
+    private TestConnection(String address) {
+      this.address = address;
+    }
+
+    @Override
+    public String address() {
+      return address;
+    }
+
+    @Override
+    public int size() {
+      return 0;
+    }
+
+    @Override
+    public TestConnection open() {
+      return this;
+    }
+
+    @Override
+    public TestConnection open(Handler<AsyncResult<Void>> doneHandler) {
+      return this;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> doneHandler) {
+    }
+  }
+
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  private static long selectList(IndexedSelector selector, List<TestConnection> connections, Object[] messages) {
+    long sum = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      for (TestConnection connection : selector.select(messages[i & 1023], connections)) {
+        sum += connection.address().length();
+      }
+    }
+    return sum;
+  }
+
+  private static long selectIndex(IndexedSelector selector, List<TestConnection> connections, Object[] messages) {
+    long sum = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += connections.get(selector.selectIndex(messages[i & 1023], connections)).address().length();
+    }
+    return sum;
+  }
+
+  private void benchmark(IndexedSelector selector) {
+    // Allocations can only be measured on JVMs that expose them.
+    Assume.assumeTrue(allocatedBytes() >= 0);
+
+    List<TestConnection> connections = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      connections.add(new TestConnection("test-" + i));
+    }
+    Object[] messages = new Object[1024];
+    for (int i = 0; i < messages.length; i++) {
+      messages[i] = "message-" + i;
+    }
+
+    // Warm up both paths before measuring.
+    selectList(selector, connections, messages);
+    selectIndex(selector, connections, messages);
+
+    long start = System.nanoTime();
+    long bytes = allocatedBytes();
+    selectList(selector, connections, messages);
+    long listBytes = allocatedBytes() - bytes;
+    long listTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    bytes = allocatedBytes();
+    selectIndex(selector, connections, messages);
+    long indexBytes = allocatedBytes() - bytes;
+    long indexTime = System.nanoTime() - start;
+
+    // Allow some slack for allocations by the runtime itself.
+    assertTrue(String.format("%s: list %d ns/op %d bytes, index %d ns/op %d bytes",
+        selector.getClass().getSimpleName(), listTime / ITERATIONS, listBytes, indexTime / ITERATIONS, indexBytes),
+        indexBytes < ITERATIONS / 10);
+  }
+
+  @Test
+  public void testRoundRobinSelector() {
+    benchmark(new RoundRobinSelector());
+  }
+
+  @Test
+  public void testRandomSelector() {
+    benchmark(new RandomSelector());
+  }
+
+  @Test
+  public void testHashSelector() {
+    benchmark(new HashSelector());
+  }
+
+  @Test
+  public void testFairSelector() {
+    benchmark(new FairSelector());
+  }
+
+  @Test
+  public void testLeastLoadedSelector() {
+    benchmark(new LeastLoadedSelector());
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.cluster.manager.impl;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertSame;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.kuujo.vertigo.util.ContextManager;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import org.vertx.java.core.spi.Action;
+import org.vertx.testtools.TestVerticle;
+
+import com.hazelcast.core.MultiMap;
+
+/**
+ * Cluster data executor tests.<p>
+ *
+ * The executor is package private, so these tests live in the executor's
+ * package rather than with the integration tests.
+ *
+ * @author Jordan Halterman
+ */
+public class ClusterDataExecutorTest extends TestVerticle {
+
+  /**
+   * Cluster data that only reports whether it's local.
+   */
+  private static class TestClusterData implements ClusterData {
+    private final boolean local;
+
+    private TestClusterData(boolean local) {
+      this.local = local;
+    }
+
+    @Override
+    public boolean isLocal() {
+      return local;
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(String name) {
+      return null;
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(String name) {
+      return null;
+    }
+
+    @Override
+    public <T> Set<T> getSet(String name) {
+      return null;
+    }
+
+    @Override
+    public <T> List<T> getList(String name) {
+      return null;
+    }
+
+    @Override
+    public <T> Queue<T> getQueue(String name) {
+      return null;
+    }
+
+    @Override
+    public long getCounter(String name) {
+      return 0;
+    }
+
+    @Override
+    public long addAndGetCounter(String name, long delta) {
+      return 0;
+    }
+  }
+
+  private ClusterDataExecutor createExecutor(boolean local) {
+    return new ClusterDataExecutor(vertx, new ContextManager(vertx), new TestClusterData(local), 4);
+  }
+
+  @Test
+  public void testOrderedPerName() {
+    ClusterDataExecutor executor = createExecutor(false);
+    final int count = 100;
+    final List<Integer> performed = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Integer> completed = new ArrayList<>();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger overlaps = new AtomicInteger();
+    final Context context = vertx.getOrCreateContext();
+
+    for (int i = 0; i < count; i++) {
+      final int index = i;
+      executor.execute("foo", new Action<Integer>() {
+        @Override
+        public Integer perform() {
+          // Actions on the same data structure must never run concurrently.
+          if (running.incrementAndGet() > 1) {
+            overlaps.incrementAndGet();
+          }
+          performed.add(index);
+          running.decrementAndGet();
+          return index;
+        }
+      }, new Handler<AsyncResult<Integer>>() {
+        @Override
+        public void handle(AsyncResult<Integer> result) {
+          assertTrue(result.succeeded());
+          assertSame(context, vertx.getOrCreateContext());
+          completed.add(result.result());
+          if (completed.size() == count) {
+            assertEquals(0, overlaps.get());
+            for (int i = 0; i < count; i++) {
+              assertEquals(i, (int) performed.get(i));
+              assertEquals(i, (int) completed.get(i));
+            }
+            testComplete();
+          }
+        }
+      });
+    }
+  }
+
+  @Test
+  public void testFailureOnSubmittingContext() {
+    ClusterDataExecutor executor = createExecutor(false);
+    final Context context = vertx.getOrCreateContext();
+    executor.execute("foo", new Action<Void>() {
+      @Override
+      public Void perform() {
+        throw new IllegalStateException("Failed.");
+      }
+    }, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.failed());
+        assertEquals("Failed.", result.cause().getMessage());
+        assertSame(context, vertx.getOrCreateContext());
+        testComplete();
+      }
+    });
+  }
+
+  @Test
+  public void testLocalExecutesImmediately() {
+    ClusterDataExecutor executor = createExecutor(true);
+    final List<String> results = new ArrayList<>();
+    executor.execute("foo", new Action<String>() {
+      @Override
+      public String perform() {
+        return "bar";
+      }
+    }, new Handler<AsyncResult<String>>() {
+      @Override
+      public void handle(AsyncResult<String> result) {
+        assertTrue(result.succeeded());
+        results.add(result.result());
+      }
+    });
+    // Local data never blocks, so the action is performed and its result
+    // handled before execute returns.
+    assertEquals(1, results.size());
+    assertEquals("bar", results.get(0));
+    testComplete();
+  }
+
+}
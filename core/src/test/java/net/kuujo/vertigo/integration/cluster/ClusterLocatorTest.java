@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.cluster;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertFalse;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.Set;
+
+import net.kuujo.vertigo.cluster.impl.ClusterLocator;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Cluster locator tests.
+ *
+ * @author Jordan Halterman
+ */
+public class ClusterLocatorTest extends TestVerticle {
+
+  /**
+   * Registers a handler that plays the part of a local cluster node.
+   */
+  private void nodeHandler(String address, Handler<AsyncResult<Void>> doneHandler) {
+    vertx.eventBus().registerHandler(address, new Handler<Message<JsonObject>>() {
+      @Override
+      public void handle(Message<JsonObject> message) {
+        assertEquals("ping", message.body().getString("action"));
+        message.reply(new JsonObject().putString("status", "ok"));
+      }
+    }, doneHandler);
+  }
+
+  @Test
+  public void testNoLocalNodes() {
+    new ClusterLocator(vertx).locateCluster("test.locator-empty", new Handler<AsyncResult<String>>() {
+      @Override
+      public void handle(AsyncResult<String> result) {
+        assertTrue(result.failed());
+        assertEquals("No local nodes found", result.cause().getMessage());
+        testComplete();
+      }
+    });
+  }
+
+  @Test
+  public void testLocatesLiveNode() {
+    final Set<String> registry = vertx.sharedData().getSet("test.locator-live");
+    registry.add("test.locator-live.node");
+    nodeHandler("test.locator-live.node", new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        new ClusterLocator(vertx).locateCluster("test.locator-live", new Handler<AsyncResult<String>>() {
+          @Override
+          public void handle(AsyncResult<String> result) {
+            assertTrue(result.succeeded());
+            assertEquals("test.locator-live.node", result.result());
+            assertTrue(registry.contains("test.locator-live.node"));
+            testComplete();
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testRemovesDeadNodes() {
+    final Set<String> registry = vertx.sharedData().getSet("test.locator-dead");
+    registry.add("test.locator-dead.node");
+    // The node is registered but doesn't respond, so the lookup fails rather
+    // than leaving the handler waiting, and the node is removed.
+    new ClusterLocator(vertx).locateCluster("test.locator-dead", new Handler<AsyncResult<String>>() {
+      @Override
+      public void handle(AsyncResult<String> result) {
+        assertTrue(result.failed());
+        assertEquals("No local nodes found", result.cause().getMessage());
+        assertFalse(registry.contains("test.locator-dead.node"));
+        testComplete();
+      }
+    });
+  }
+
+}
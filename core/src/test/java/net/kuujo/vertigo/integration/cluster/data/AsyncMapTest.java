@@ -20,10 +20,16 @@ import static org.vertx.testtools.VertxAssert.assertFalse;
 import static org.vertx.testtools.VertxAssert.assertNull;
 import static org.vertx.testtools.VertxAssert.assertTrue;
 import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.kuujo.vertigo.Vertigo;
 import net.kuujo.vertigo.cluster.Cluster;
 import net.kuujo.vertigo.cluster.data.AsyncMap;
 import net.kuujo.vertigo.cluster.data.MapEvent;
+import net.kuujo.vertigo.cluster.data.ScanResult;
 import net.kuujo.vertigo.cluster.data.WatchableAsyncMap;
 import net.kuujo.vertigo.cluster.data.impl.WrappedWatchableAsyncMap;
 import net.kuujo.vertigo.cluster.impl.DefaultCluster;
@@ -352,4 +358,127 @@ public class AsyncMapTest extends TestVerticle {
     });
   }
 
+  @Test
+  public void testMapPutAllGetAll() {
+    Vertigo vertigo = new Vertigo(this);
+    vertigo.deployCluster("test", new Handler<AsyncResult<Cluster>>() {
+      @Override
+      public void handle(AsyncResult<Cluster> result) {
+        assertTrue(result.succeeded());
+        final Cluster cluster = new DefaultCluster("test", vertx, container);
+        final AsyncMap<String, String> data = cluster.getMap("test-map-put-all");
+        Map<String, String> entries = new HashMap<>();
+        entries.put("foo", "bar");
+        entries.put("bar", "baz");
+        data.putAll(entries, new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            data.getAll(Arrays.asList("foo", "bar", "baz"), new Handler<AsyncResult<Map<String, String>>>() {
+              @Override
+              public void handle(AsyncResult<Map<String, String>> result) {
+                assertTrue(result.succeeded());
+                // Keys that aren't in the map are left out of the result.
+                assertEquals(2, result.result().size());
+                assertEquals("bar", result.result().get("foo"));
+                assertEquals("baz", result.result().get("bar"));
+                assertFalse(result.result().containsKey("baz"));
+                testComplete();
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testMapRemoveAll() {
+    Vertigo vertigo = new Vertigo(this);
+    vertigo.deployCluster("test", new Handler<AsyncResult<Cluster>>() {
+      @Override
+      public void handle(AsyncResult<Cluster> result) {
+        assertTrue(result.succeeded());
+        final Cluster cluster = new DefaultCluster("test", vertx, container);
+        final AsyncMap<String, String> data = cluster.getMap("test-map-remove-all");
+        Map<String, String> entries = new HashMap<>();
+        entries.put("foo", "bar");
+        entries.put("bar", "baz");
+        entries.put("baz", "foo");
+        data.putAll(entries, new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            data.removeAll(Arrays.asList("foo", "bar"), new Handler<AsyncResult<Void>>() {
+              @Override
+              public void handle(AsyncResult<Void> result) {
+                assertTrue(result.succeeded());
+                data.size(new Handler<AsyncResult<Integer>>() {
+                  @Override
+                  public void handle(AsyncResult<Integer> result) {
+                    assertTrue(result.succeeded());
+                    assertEquals(1, (int) result.result());
+                    data.get("baz", new Handler<AsyncResult<String>>() {
+                      @Override
+                      public void handle(AsyncResult<String> result) {
+                        assertTrue(result.succeeded());
+                        assertEquals("foo", result.result());
+                        testComplete();
+                      }
+                    });
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testMapScan() {
+    Vertigo vertigo = new Vertigo(this);
+    vertigo.deployCluster("test", new Handler<AsyncResult<Cluster>>() {
+      @Override
+      public void handle(AsyncResult<Cluster> result) {
+        assertTrue(result.succeeded());
+        final Cluster cluster = new DefaultCluster("test", vertx, container);
+        final AsyncMap<String, String> data = cluster.getMap("test-map-scan");
+        final Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 25; i++) {
+          entries.put("key" + i, "value" + i);
+        }
+        data.putAll(entries, new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            final Map<String, String> scanned = new HashMap<>();
+            final int[] pages = new int[1];
+            data.scan(0, 10, new Handler<AsyncResult<ScanResult<Map.Entry<String, String>>>>() {
+              @Override
+              public void handle(AsyncResult<ScanResult<Map.Entry<String, String>>> result) {
+                assertTrue(result.succeeded());
+                assertTrue(result.result().values().size() <= 10);
+                for (Map.Entry<String, String> entry : result.result().values()) {
+                  // Each entry is returned exactly once.
+                  assertNull(scanned.put(entry.getKey(), entry.getValue()));
+                }
+                pages[0]++;
+                if (result.result().isComplete()) {
+                  assertEquals(0, result.result().cursor());
+                  assertTrue(pages[0] >= 3);
+                  assertEquals(entries, scanned);
+                  testComplete();
+                } else {
+                  data.scan(result.result().cursor(), 10, this);
+                }
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
 }
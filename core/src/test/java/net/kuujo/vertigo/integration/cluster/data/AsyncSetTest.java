@@ -15,12 +15,19 @@
  */
 package net.kuujo.vertigo.integration.cluster.data;
 
+import static org.vertx.testtools.VertxAssert.assertEquals;
 import static org.vertx.testtools.VertxAssert.assertFalse;
 import static org.vertx.testtools.VertxAssert.assertTrue;
 import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 import net.kuujo.vertigo.Vertigo;
 import net.kuujo.vertigo.cluster.Cluster;
 import net.kuujo.vertigo.cluster.data.AsyncSet;
+import net.kuujo.vertigo.cluster.data.ScanResult;
 import net.kuujo.vertigo.cluster.impl.DefaultCluster;
 
 import org.junit.Test;
@@ -265,4 +272,91 @@ public class AsyncSetTest extends TestVerticle {
     });
   }
 
+  @Test
+  public void testSetAddAllRemoveAll() {
+    Vertigo vertigo = new Vertigo(this);
+    vertigo.deployCluster("test", new Handler<AsyncResult<Cluster>>() {
+      @Override
+      public void handle(AsyncResult<Cluster> result) {
+        assertTrue(result.succeeded());
+        final Cluster cluster = new DefaultCluster("test", vertx, container);
+        final AsyncSet<String> data = cluster.getSet("test-set-add-all");
+        data.addAll(Arrays.asList("foo", "bar", "baz"), new Handler<AsyncResult<Boolean>>() {
+          @Override
+          public void handle(AsyncResult<Boolean> result) {
+            assertTrue(result.succeeded());
+            assertTrue(result.result());
+            data.removeAll(Arrays.asList("foo", "bar"), new Handler<AsyncResult<Boolean>>() {
+              @Override
+              public void handle(AsyncResult<Boolean> result) {
+                assertTrue(result.succeeded());
+                assertTrue(result.result());
+                data.size(new Handler<AsyncResult<Integer>>() {
+                  @Override
+                  public void handle(AsyncResult<Integer> result) {
+                    assertTrue(result.succeeded());
+                    assertEquals(1, (int) result.result());
+                    data.contains("baz", new Handler<AsyncResult<Boolean>>() {
+                      @Override
+                      public void handle(AsyncResult<Boolean> result) {
+                        assertTrue(result.succeeded());
+                        assertTrue(result.result());
+                        testComplete();
+                      }
+                    });
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testSetScan() {
+    Vertigo vertigo = new Vertigo(this);
+    vertigo.deployCluster("test", new Handler<AsyncResult<Cluster>>() {
+      @Override
+      public void handle(AsyncResult<Cluster> result) {
+        assertTrue(result.succeeded());
+        final Cluster cluster = new DefaultCluster("test", vertx, container);
+        final AsyncSet<String> data = cluster.getSet("test-set-scan");
+        final Set<String> values = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+          values.add("value" + i);
+        }
+        data.addAll(values, new Handler<AsyncResult<Boolean>>() {
+          @Override
+          public void handle(AsyncResult<Boolean> result) {
+            assertTrue(result.succeeded());
+            final Set<String> scanned = new HashSet<>();
+            final int[] pages = new int[1];
+            data.scan(0, 10, new Handler<AsyncResult<ScanResult<String>>>() {
+              @Override
+              public void handle(AsyncResult<ScanResult<String>> result) {
+                assertTrue(result.succeeded());
+                assertTrue(result.result().values().size() <= 10);
+                for (String value : result.result().values()) {
+                  // Each value is returned exactly once.
+                  assertTrue(scanned.add(value));
+                }
+                pages[0]++;
+                if (result.result().isComplete()) {
+                  assertEquals(0, result.result().cursor());
+                  assertTrue(pages[0] >= 3);
+                  assertEquals(values, scanned);
+                  testComplete();
+                } else {
+                  data.scan(result.result().cursor(), 10, this);
+                }
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.cluster.data;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertFalse;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.kuujo.vertigo.cluster.data.AsyncCounter;
+import net.kuujo.vertigo.cluster.data.AsyncMap;
+import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncCounter;
+import net.kuujo.vertigo.cluster.data.impl.DefaultAsyncMap;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Local cluster agent routing tests.<p>
+ *
+ * Each test plays the part of the cluster, registering handlers at the
+ * cluster's group address and at the address of a local agent which reply
+ * with the address at which each request was received.
+ *
+ * @author Jordan Halterman
+ */
+public class LocalAgentRoutingTest extends TestVerticle {
+
+  /**
+   * Creates a handler that plays the part of a cluster agent.
+   */
+  private Handler<Message<JsonObject>> agentHandler(final String address) {
+    return new Handler<Message<JsonObject>>() {
+      @Override
+      public void handle(Message<JsonObject> message) {
+        if (message.body().getString("action").equals("ping")) {
+          message.reply(new JsonObject().putString("status", "ok"));
+        } else {
+          message.reply(new JsonObject().putString("status", "ok").putString("result", address));
+        }
+      }
+    };
+  }
+
+  /**
+   * Registers a local agent for a cluster.
+   */
+  private void registerAgent(String cluster, String address, Handler<Message<JsonObject>> handler, Handler<AsyncResult<Void>> doneHandler) {
+    Set<String> registry = vertx.sharedData().getSet(cluster);
+    registry.add(address);
+    vertx.eventBus().registerHandler(address, handler, doneHandler);
+  }
+
+  @Test
+  public void testRoutesToLocalAgent() {
+    final AsyncMap<String, String> map = new DefaultAsyncMap<>("test.routing-local", "test", vertx);
+    vertx.eventBus().registerHandler("test.routing-local", agentHandler("test.routing-local"));
+    registerAgent("test.routing-local", "test.routing-local.agent", agentHandler("test.routing-local.agent"), new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        // The first operation looks up the local agent, and once it's
+        // found operations are sent to the local agent.
+        map.get("foo", new Handler<AsyncResult<String>>() {
+          @Override
+          public void handle(AsyncResult<String> result) {
+            assertTrue(result.succeeded());
+            vertx.setTimer(100, new Handler<Long>() {
+              @Override
+              public void handle(Long timerID) {
+                map.get("foo", new Handler<AsyncResult<String>>() {
+                  @Override
+                  public void handle(AsyncResult<String> result) {
+                    assertTrue(result.succeeded());
+                    assertEquals("test.routing-local.agent", result.result());
+                    testComplete();
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testFallsBackWhenLocalAgentFails() {
+    final AsyncMap<String, String> map = new DefaultAsyncMap<>("test.routing-fallback", "test", vertx);
+    final Set<String> registry = vertx.sharedData().getSet("test.routing-fallback");
+    final Handler<Message<JsonObject>> agent = agentHandler("test.routing-fallback.agent");
+    vertx.eventBus().registerHandler("test.routing-fallback", agentHandler("test.routing-fallback"));
+    registerAgent("test.routing-fallback", "test.routing-fallback.agent", agent, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        map.get("foo", new Handler<AsyncResult<String>>() {
+          @Override
+          public void handle(AsyncResult<String> result) {
+            assertTrue(result.succeeded());
+            vertx.setTimer(100, new Handler<Long>() {
+              @Override
+              public void handle(Long timerID) {
+                map.get("foo", new Handler<AsyncResult<String>>() {
+                  @Override
+                  public void handle(AsyncResult<String> result) {
+                    assertTrue(result.succeeded());
+                    assertEquals("test.routing-fallback.agent", result.result());
+                    vertx.eventBus().unregisterHandler("test.routing-fallback.agent", agent, new Handler<AsyncResult<Void>>() {
+                      @Override
+                      public void handle(AsyncResult<Void> result) {
+                        assertTrue(result.succeeded());
+                        // The local agent can no longer be found, so the failed
+                        // request is retried on the group address.
+                        map.get("foo", new Handler<AsyncResult<String>>() {
+                          @Override
+                          public void handle(AsyncResult<String> result) {
+                            assertTrue(result.succeeded());
+                            assertEquals("test.routing-fallback", result.result());
+                            assertFalse(registry.contains("test.routing-fallback.agent"));
+                            testComplete();
+                          }
+                        });
+                      }
+                    });
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testCounterUpdateNotRetried() {
+    final AsyncCounter counter = new DefaultAsyncCounter("test.routing-counter", "test", vertx);
+    final AtomicInteger requests = new AtomicInteger();
+    vertx.eventBus().registerHandler("test.routing-counter", new Handler<Message<JsonObject>>() {
+      @Override
+      public void handle(Message<JsonObject> message) {
+        requests.incrementAndGet();
+        message.reply(new JsonObject().putString("status", "ok").putNumber("result", 1));
+      }
+    });
+    registerAgent("test.routing-counter", "test.routing-counter.agent", new Handler<Message<JsonObject>>() {
+      @Override
+      public void handle(Message<JsonObject> message) {
+        if (message.body().getString("action").equals("ping")) {
+          message.reply(new JsonObject().putString("status", "ok"));
+        } else {
+          // The agent fails after it may have applied the update, and then
+          // disappears so the counter falls back to the group address.
+          requests.incrementAndGet();
+          vertx.eventBus().unregisterHandler("test.routing-counter.agent", this);
+          message.fail(1, "Failed.");
+        }
+      }
+    }, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        counter.get(new Handler<AsyncResult<Long>>() {
+          @Override
+          public void handle(AsyncResult<Long> result) {
+            vertx.setTimer(100, new Handler<Long>() {
+              @Override
+              public void handle(Long timerID) {
+                requests.set(0);
+                // The increment may have been applied, so it isn't retried on
+                // the group address even though the agent can't be found.
+                counter.incrementAndGet(new Handler<AsyncResult<Long>>() {
+                  @Override
+                  public void handle(AsyncResult<Long> result) {
+                    assertTrue(result.failed());
+                    assertEquals(1, requests.get());
+                    testComplete();
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testFailsWithoutAnyAgent() {
+    final AsyncMap<String, String> map = new DefaultAsyncMap<>("test.routing-none", "test", vertx);
+    // With no local agent and nothing at the group address, the request fails
+    // once the local agent lookup fails rather than waiting on the lookup.
+    map.get("foo", new Handler<AsyncResult<String>>() {
+      @Override
+      public void handle(AsyncResult<String> result) {
+        assertTrue(result.failed());
+        testComplete();
+      }
+    });
+  }
+
+}
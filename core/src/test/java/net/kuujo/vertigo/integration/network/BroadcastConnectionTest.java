@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.network;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionBroadcast;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnectionContext;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Broadcast connection tests.<p>
+ *
+ * Each test plays the part of the input connections, replying to connect
+ * requests and recording the messages sent to each input connection and
+ * published to the broadcast address.
+ *
+ * @author Jordan Halterman
+ */
+public class BroadcastConnectionTest extends TestVerticle {
+
+  /**
+   * Creates an output connection that offers messages to the broadcast.<p>
+   *
+   * The local transport bypasses broadcasts, so it's disabled.
+   */
+  private DefaultOutputConnection createConnection(String address, ConnectionBroadcast broadcast) {
+    return new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress(address)
+        .setCodec(ConnectionCodec.BINARY)
+        .setBroadcast(broadcast.address())
+        .setLocalTransport(false)
+        .build(), broadcast);
+  }
+
+  /**
+   * Registers a handler that plays the part of an input connection.
+   */
+  private void inputHandler(String address, final List<ConnectionMessage> messages, Handler<AsyncResult<Void>> doneHandler) {
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    vertx.eventBus().registerHandler(String.format("%s.in", address), new Handler<Message<Object>>() {
+      @Override
+      public void handle(Message<Object> message) {
+        ConnectionMessage decoded = codec.decode(message.body());
+        if (decoded.action() == ConnectionMessage.Action.CONNECT) {
+          message.reply(1);
+        } else {
+          messages.add(decoded);
+        }
+      }
+    }, doneHandler);
+  }
+
+  /**
+   * Opens output connections one after another.
+   */
+  private void open(final DefaultOutputConnection[] connections, final int index, final Handler<Void> doneHandler) {
+    if (index == connections.length) {
+      doneHandler.handle((Void) null);
+      return;
+    }
+    connections[index].open(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        open(connections, index + 1, doneHandler);
+      }
+    });
+  }
+
+  /**
+   * Sends a message to all connections through the broadcast.
+   */
+  private void sendAll(ConnectionBroadcast broadcast, DefaultOutputConnection[] connections, String message) {
+    broadcast.start();
+    for (DefaultOutputConnection connection : connections) {
+      connection.send(message);
+    }
+    broadcast.finish(connections.length);
+  }
+
+  @Test
+  public void testPublishOnce() {
+    final ConnectionBroadcast broadcast = new ConnectionBroadcast(vertx, "test.broadcast-once");
+    final DefaultOutputConnection[] connections = new DefaultOutputConnection[]{
+        createConnection("test.broadcast-once-1", broadcast),
+        createConnection("test.broadcast-once-2", broadcast)};
+    final List<ConnectionMessage> first = new ArrayList<>();
+    final List<ConnectionMessage> second = new ArrayList<>();
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+
+    vertx.eventBus().registerHandler("test.broadcast-once", new Handler<Message<Object>>() {
+      @Override
+      public void handle(Message<Object> message) {
+        ConnectionMessage decoded = codec.decode(message.body());
+        assertEquals(ConnectionMessage.Action.MESSAGE, decoded.action());
+        assertEquals(1, decoded.id());
+        assertEquals("foo", decoded.value());
+        // The message was published once rather than sent to each input.
+        assertEquals(1, broadcast.publishCount());
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        testComplete();
+      }
+    });
+
+    inputHandler("test.broadcast-once-1", first, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        inputHandler("test.broadcast-once-2", second, new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            open(connections, 0, new Handler<Void>() {
+              @Override
+              public void handle(Void _) {
+                sendAll(broadcast, connections, "foo");
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testPointToPointWhenIdsDiffer() {
+    final ConnectionBroadcast broadcast = new ConnectionBroadcast(vertx, "test.broadcast-ids");
+    final DefaultOutputConnection[] connections = new DefaultOutputConnection[]{
+        createConnection("test.broadcast-ids-1", broadcast),
+        createConnection("test.broadcast-ids-2", broadcast)};
+    final List<ConnectionMessage> first = new ArrayList<>();
+    final List<ConnectionMessage> second = new ArrayList<>();
+
+    vertx.eventBus().registerHandler("test.broadcast-ids", new Handler<Message<Object>>() {
+      @Override
+      public void handle(Message<Object> message) {
+        fail("Message published with differing sequences");
+      }
+    });
+
+    inputHandler("test.broadcast-ids-1", first, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        inputHandler("test.broadcast-ids-2", second, new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            open(connections, 0, new Handler<Void>() {
+              @Override
+              public void handle(Void _) {
+                // Send a message on only the first connection so that its
+                // sequence is ahead of the second connection's sequence.
+                connections[0].send("foo");
+                sendAll(broadcast, connections, "bar");
+                vertx.setTimer(100, new Handler<Long>() {
+                  @Override
+                  public void handle(Long timerID) {
+                    assertEquals(0, broadcast.publishCount());
+                    assertEquals(2, first.size());
+                    assertEquals(1, first.get(0).id());
+                    assertEquals("foo", first.get(0).value());
+                    assertEquals(2, first.get(1).id());
+                    assertEquals("bar", first.get(1).value());
+                    assertEquals(1, second.size());
+                    assertEquals(1, second.get(0).id());
+                    assertEquals("bar", second.get(0).value());
+                    testComplete();
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.network;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnectionContext;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Framed connection tests.<p>
+ *
+ * Each test plays the part of the input connection, recording the event bus
+ * messages sent by a framed output connection. The local transport is
+ * disabled so that messages are always framed.
+ *
+ * @author Jordan Halterman
+ */
+public class FrameTest extends TestVerticle {
+
+  /**
+   * Creates a framed output connection.
+   */
+  private DefaultOutputConnection createConnection(String address, int frameSize) {
+    return new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress(address)
+        .setCodec(ConnectionCodec.BINARY)
+        .setFrameSize(frameSize)
+        .setLocalTransport(false)
+        .build());
+  }
+
+  /**
+   * Opens an output connection to a handler that plays the part of an input
+   * connection, recording the messages it receives but never acking them.
+   */
+  private void openOutput(final DefaultOutputConnection connection, final List<ConnectionMessage> messages, final Handler<Void> doneHandler) {
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    vertx.eventBus().registerHandler(String.format("%s.in", connection.address()), new Handler<Message<Object>>() {
+      @Override
+      public void handle(Message<Object> message) {
+        ConnectionMessage decoded = codec.decode(message.body());
+        if (decoded.action() == ConnectionMessage.Action.CONNECT) {
+          message.reply(1);
+        } else {
+          messages.add(decoded);
+        }
+      }
+    }, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        connection.open(new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            doneHandler.handle((Void) null);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Asserts that a frame holds the messages with the given IDs.
+   */
+  private void assertFrame(ConnectionMessage frame, long... ids) {
+    assertEquals(ConnectionMessage.Action.FRAME, frame.action());
+    assertEquals(ids.length, frame.messages().size());
+    for (int i = 0; i < ids.length; i++) {
+      ConnectionMessage message = frame.messages().get(i);
+      assertEquals(ConnectionMessage.Action.MESSAGE, message.action());
+      assertEquals(ids[i], message.id());
+      assertEquals(String.valueOf(ids[i]), message.value());
+    }
+  }
+
+  @Test
+  public void testPartialFrameFlushed() {
+    final DefaultOutputConnection connection = createConnection("test.frame-partial", 10);
+    final List<ConnectionMessage> messages = new ArrayList<>();
+
+    openOutput(connection, messages, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        // The frame isn't full, so it's sent once the current task completes.
+        for (int i = 1; i <= 3; i++) {
+          connection.send(String.valueOf(i));
+        }
+        vertx.setTimer(100, new Handler<Long>() {
+          @Override
+          public void handle(Long timerID) {
+            assertEquals(1, messages.size());
+            assertFrame(messages.get(0), 1, 2, 3);
+            testComplete();
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testFrameBoundaries() {
+    final DefaultOutputConnection connection = createConnection("test.frame-boundaries", 3);
+    final List<ConnectionMessage> messages = new ArrayList<>();
+
+    openOutput(connection, messages, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        for (int i = 1; i <= 7; i++) {
+          connection.send(String.valueOf(i));
+        }
+        vertx.setTimer(100, new Handler<Long>() {
+          @Override
+          public void handle(Long timerID) {
+            // Full frames are sent as soon as they fill, and the remaining
+            // message is sent on its own rather than in a frame.
+            assertEquals(3, messages.size());
+            assertFrame(messages.get(0), 1, 2, 3);
+            assertFrame(messages.get(1), 4, 5, 6);
+            assertEquals(ConnectionMessage.Action.MESSAGE, messages.get(2).action());
+            assertEquals(7, messages.get(2).id());
+            assertEquals("7", messages.get(2).value());
+            testComplete();
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testDroppedFrameResent() {
+    final DefaultOutputConnection connection = createConnection("test.frame-resend", 3);
+    final List<ConnectionMessage> messages = new ArrayList<>();
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+
+    openOutput(connection, messages, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        for (int i = 1; i <= 3; i++) {
+          connection.send(String.valueOf(i));
+        }
+        vertx.setTimer(100, new Handler<Long>() {
+          @Override
+          public void handle(Long timerID) {
+            // Drop the frame and request that every message after the last
+            // one received, which is none, be resent.
+            assertEquals(1, messages.size());
+            assertFrame(messages.get(0), 1, 2, 3);
+            messages.clear();
+            Object fail = codec.encode(new ConnectionMessage(ConnectionMessage.Action.FAIL).setId(0));
+            vertx.eventBus().send(String.format("%s.out", connection.address()), fail);
+            vertx.setTimer(100, new Handler<Long>() {
+              @Override
+              public void handle(Long timerID) {
+                assertEquals(1, messages.size());
+                assertFrame(messages.get(0), 1, 2, 3);
+                testComplete();
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.network;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnectionContext;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnectionContext;
+import net.kuujo.vertigo.io.group.InputGroup;
+import net.kuujo.vertigo.io.group.OutputGroup;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Group pipelining tests.<p>
+ *
+ * Output connection tests play the part of the input connection and input
+ * connection tests play the part of the output connection, sending encoded
+ * messages directly to the connection under test.
+ *
+ * @author Jordan Halterman
+ */
+public class GroupPipeliningTest extends TestVerticle {
+
+  /**
+   * Opens an output connection to a handler that plays the part of an input
+   * connection, recording the messages it receives but never acking them.
+   */
+  private void openOutput(final DefaultOutputConnection connection, final List<ConnectionMessage> messages, final Handler<Void> doneHandler) {
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    vertx.eventBus().registerHandler(String.format("%s.in", connection.address()), new Handler<Message<Object>>() {
+      @Override
+      public void handle(Message<Object> message) {
+        ConnectionMessage decoded = codec.decode(message.body());
+        if (decoded.action() == ConnectionMessage.Action.CONNECT) {
+          message.reply(1);
+        } else {
+          messages.add(decoded);
+        }
+      }
+    }, new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        connection.open(new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            doneHandler.handle((Void) null);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Opens an input connection and connects to it.
+   */
+  private void openInput(final DefaultInputConnection connection, final Handler<Void> doneHandler) {
+    connection.open(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        Object connect = new BinaryConnectionCodec().encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT));
+        vertx.eventBus().send(String.format("%s.in", connection.address()), connect, new Handler<Message<Object>>() {
+          @Override
+          public void handle(Message<Object> message) {
+            doneHandler.handle((Void) null);
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testPipelinedGroupStartsImmediately() {
+    final DefaultOutputConnection connection = new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress("test.pipelined-output")
+        .setCodec(ConnectionCodec.BINARY)
+        .setGroupPipelining(true)
+        .build());
+    final List<ConnectionMessage> messages = new ArrayList<>();
+
+    openOutput(connection, messages, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        // The input connection never reports the group as ready, but the
+        // group's handler is called and its messages are sent anyways.
+        connection.group("foo", new Handler<OutputGroup>() {
+          @Override
+          public void handle(OutputGroup group) {
+            group.send("bar");
+            group.end();
+            vertx.setTimer(100, new Handler<Long>() {
+              @Override
+              public void handle(Long timerID) {
+                assertEquals(3, messages.size());
+                assertEquals(ConnectionMessage.Action.START_GROUP, messages.get(0).action());
+                assertEquals("foo", messages.get(0).name());
+                assertEquals(ConnectionMessage.Action.GROUP, messages.get(1).action());
+                assertEquals("bar", messages.get(1).value());
+                assertEquals(ConnectionMessage.Action.END_GROUP, messages.get(2).action());
+                testComplete();
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testGroupWaitsForReadyWithoutPipelining() {
+    final DefaultOutputConnection connection = new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress("test.unpipelined-output")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+    final List<ConnectionMessage> messages = new ArrayList<>();
+    final List<OutputGroup> started = new ArrayList<>();
+
+    openOutput(connection, messages, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        connection.group("foo", new Handler<OutputGroup>() {
+          @Override
+          public void handle(OutputGroup group) {
+            started.add(group);
+            testComplete();
+          }
+        });
+
+        vertx.setTimer(100, new Handler<Long>() {
+          @Override
+          public void handle(Long timerID) {
+            // Only the group start has been sent, and the group's handler
+            // isn't called until the input connection reports it's ready.
+            assertTrue(started.isEmpty());
+            assertEquals(1, messages.size());
+            assertEquals(ConnectionMessage.Action.START_GROUP, messages.get(0).action());
+            Object ready = new BinaryConnectionCodec().encode(new ConnectionMessage(ConnectionMessage.Action.GROUP).setGroup(messages.get(0).group()));
+            vertx.eventBus().send(String.format("%s.out", connection.address()), ready);
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testInputHoldsGroupMessagesUntilReady() {
+    final DefaultInputConnection connection = new DefaultInputConnection(vertx, DefaultInputConnectionContext.Builder.newBuilder()
+        .setAddress("test.pipelined-input")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+
+    // Register the group's handlers asynchronously so that the rest of the
+    // group arrives before the group is ready.
+    connection.groupHandler(new Handler<InputGroup>() {
+      @Override
+      public void handle(final InputGroup group) {
+        assertEquals("foo", group.name());
+        vertx.setTimer(100, new Handler<Long>() {
+          @Override
+          public void handle(Long timerID) {
+            assertTrue(received.isEmpty());
+            // The held end must reach the end handler even though it's
+            // registered after the message handler readies the group.
+            group.messageHandler(new Handler<String>() {
+              @Override
+              public void handle(String message) {
+                received.add(message);
+              }
+            });
+            group.endHandler(new Handler<Void>() {
+              @Override
+              public void handle(Void _) {
+                assertEquals(Arrays.asList("bar", "baz"), received);
+                testComplete();
+              }
+            });
+          }
+        });
+      }
+    });
+
+    openInput(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        String address = String.format("%s.in", connection.address());
+        vertx.eventBus().send(address, codec.encode(new ConnectionMessage(ConnectionMessage.Action.START_GROUP).setId(1).setGroup("group").setName("foo")));
+        vertx.eventBus().send(address, codec.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP).setId(2).setGroup("group").setValue("bar")));
+        vertx.eventBus().send(address, codec.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP).setId(3).setGroup("group").setValue("baz")));
+        vertx.eventBus().send(address, codec.encode(new ConnectionMessage(ConnectionMessage.Action.END_GROUP).setId(4).setGroup("group")));
+      }
+    });
+  }
+
+}
@@ -0,0 +1,568 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.network;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertFalse;
+import static org.vertx.testtools.VertxAssert.assertNotNull;
+import static org.vertx.testtools.VertxAssert.assertNull;
+import static org.vertx.testtools.VertxAssert.assertSame;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.kuujo.vertigo.io.batch.InputBatch;
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.ConnectionScheduler;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnectionContext;
+import net.kuujo.vertigo.io.group.InputGroup;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Input connection tests.<p>
+ *
+ * Each test plays the part of the output connection, sending encoded
+ * messages directly to the input connection's address and handling the
+ * feedback the input connection sends back.
+ *
+ * @author Jordan Halterman
+ */
+public class InputConnectionTest extends TestVerticle {
+
+  /**
+   * Creates an input connection using the binary codec.
+   */
+  private DefaultInputConnection createConnection(String address) {
+    return new DefaultInputConnection(vertx, DefaultInputConnectionContext.Builder.newBuilder()
+        .setAddress(address)
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+  }
+
+  /**
+   * Opens an input connection and connects to it.
+   */
+  private void connect(final DefaultInputConnection connection, final Handler<Void> doneHandler) {
+    connection.open(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        Object connect = new BinaryConnectionCodec().encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT));
+        vertx.eventBus().send(String.format("%s.in", connection.address()), connect, new Handler<Message<Object>>() {
+          @Override
+          public void handle(Message<Object> message) {
+            doneHandler.handle((Void) null);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Sends an encoded message to an input connection.
+   */
+  private void send(DefaultInputConnection connection, Object encoded) {
+    vertx.eventBus().send(String.format("%s.in", connection.address()), encoded);
+  }
+
+  /**
+   * Encodes a message.
+   */
+  private Object message(ConnectionCodec codec, long id, String value) {
+    return codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(id).setValue(value));
+  }
+
+  /**
+   * Registers a handler for the feedback sent by an input connection.
+   */
+  private void feedbackHandler(DefaultInputConnection connection, final ConnectionCodec codec, final Handler<ConnectionMessage> handler) {
+    vertx.eventBus().registerHandler(String.format("%s.out", connection.address()), new Handler<Message<Object>>() {
+      @Override
+      public void handle(Message<Object> message) {
+        handler.handle(codec.decode(message.body()));
+      }
+    });
+  }
+
+  /**
+   * Encodes a batch message.
+   */
+  private Object batch(ConnectionCodec codec, ConnectionMessage.Action action, long id, String batch, String value) {
+    return codec.encode(new ConnectionMessage(action).setId(id).setBatch(batch).setValue(value));
+  }
+
+  /**
+   * Registers a batch handler that records each batch's messages and end.
+   */
+  private void recordBatches(final DefaultInputConnection connection, final List<String> received, final Handler<Void> endHandler) {
+    connection.batchHandler(new Handler<InputBatch>() {
+      @Override
+      public void handle(final InputBatch batch) {
+        batch.messageHandler(new Handler<String>() {
+          @Override
+          public void handle(String message) {
+            received.add(message);
+          }
+        });
+        batch.endHandler(new Handler<Void>() {
+          @Override
+          public void handle(Void _) {
+            received.add("end:" + batch.id());
+            endHandler.handle((Void) null);
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testGroupStartResent() {
+    final DefaultInputConnection connection = createConnection("test.group-start-resent");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final Object message = codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(1).setValue("foo"));
+    final Object start = codec.encode(new ConnectionMessage(ConnectionMessage.Action.START_GROUP).setId(2).setGroup("group").setName("bar"));
+    final Object group = codec.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP).setId(3).setGroup("group").setValue("baz"));
+    final Object end = codec.encode(new ConnectionMessage(ConnectionMessage.Action.END_GROUP).setId(4).setGroup("group"));
+    final List<String> received = new ArrayList<>();
+
+    // Pause the connection once the first message is received so that the
+    // group start is dropped, then resume it and send the rest of the group.
+    connection.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        assertEquals("foo", message);
+        connection.pause();
+        vertx.setTimer(100, new Handler<Long>() {
+          @Override
+          public void handle(Long timerID) {
+            connection.resume();
+            send(connection, group);
+            send(connection, end);
+          }
+        });
+      }
+    });
+
+    connection.groupHandler(new Handler<InputGroup>() {
+      @Override
+      public void handle(InputGroup inputGroup) {
+        assertEquals("bar", inputGroup.name());
+        inputGroup.messageHandler(new Handler<String>() {
+          @Override
+          public void handle(String message) {
+            received.add(message);
+          }
+        });
+        inputGroup.endHandler(new Handler<Void>() {
+          @Override
+          public void handle(Void _) {
+            assertEquals(1, received.size());
+            assertEquals("baz", received.get(0));
+            testComplete();
+          }
+        });
+      }
+    });
+
+    // The group messages reference the group start that was dropped. Resend
+    // the original encoded start when the connection reports it missing.
+    feedbackHandler(connection, codec, new Handler<ConnectionMessage>() {
+      @Override
+      public void handle(ConnectionMessage feedback) {
+        if (feedback.action() == ConnectionMessage.Action.NACK) {
+          assertEquals(2, feedback.id());
+          send(connection, start);
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, message);
+        send(connection, start);
+      }
+    });
+  }
+
+  @Test
+  public void testOutOfOrderNacksMissingRange() {
+    final DefaultInputConnection connection = createConnection("test.out-of-order");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+    connection.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        received.add(message);
+        if (received.size() == 4) {
+          assertEquals(Arrays.asList("a", "b", "c", "d"), received);
+          testComplete();
+        }
+      }
+    });
+
+    // The fourth message is buffered until the missing range is resent.
+    feedbackHandler(connection, codec, new Handler<ConnectionMessage>() {
+      @Override
+      public void handle(ConnectionMessage feedback) {
+        if (feedback.action() == ConnectionMessage.Action.NACK) {
+          assertEquals(2, feedback.id());
+          assertEquals(3, ((Number) feedback.value()).longValue());
+          assertEquals(1, received.size());
+          send(connection, message(codec, 2, "b"));
+          send(connection, message(codec, 3, "c"));
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, message(codec, 1, "a"));
+        send(connection, message(codec, 4, "d"));
+      }
+    });
+  }
+
+  @Test
+  public void testDuplicatesIgnored() {
+    final DefaultInputConnection connection = createConnection("test.duplicates");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+    connection.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        received.add(message);
+        if (message.equals("d")) {
+          assertEquals(Arrays.asList("a", "b", "c", "d"), received);
+          testComplete();
+        }
+      }
+    });
+
+    // A message with the ID 1 indicates that the output connection was
+    // reset, so only later messages can be detected as duplicates.
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, message(codec, 1, "a"));
+        send(connection, message(codec, 2, "b"));
+        send(connection, message(codec, 2, "b"));
+        send(connection, message(codec, 3, "c"));
+        send(connection, message(codec, 2, "b"));
+        send(connection, message(codec, 3, "c"));
+        send(connection, message(codec, 4, "d"));
+      }
+    });
+  }
+
+  @Test
+  public void testReorderBufferOverflowFails() {
+    final DefaultInputConnection connection = createConnection("test.reorder-overflow");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+    connection.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        received.add(message);
+      }
+    });
+
+    // Once the reorder buffer is full the connection asks for everything
+    // after the last message it received in order to be resent.
+    feedbackHandler(connection, codec, new Handler<ConnectionMessage>() {
+      @Override
+      public void handle(ConnectionMessage feedback) {
+        if (feedback.action() == ConnectionMessage.Action.FAIL) {
+          assertEquals(1, feedback.id());
+          assertEquals(Arrays.asList("a"), received);
+          testComplete();
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, message(codec, 1, "a"));
+        for (long i = 3; i <= 1003; i++) {
+          send(connection, message(codec, i, String.valueOf(i)));
+        }
+      }
+    });
+  }
+
+  @Test
+  public void testResetWhileBuffering() {
+    final DefaultInputConnection connection = createConnection("test.reset");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+    connection.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        received.add(message);
+        if (received.size() == 4) {
+          // The message buffered before the reset must not be handled.
+          assertEquals(Arrays.asList("a", "x", "y", "z"), received);
+          testComplete();
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, message(codec, 1, "a"));
+        send(connection, message(codec, 3, "c"));
+        send(connection, message(codec, 1, "x"));
+        send(connection, message(codec, 2, "y"));
+        send(connection, message(codec, 3, "z"));
+      }
+    });
+  }
+
+  @Test
+  public void testSchedulerSharedByContext() {
+    final DefaultInputConnection connection1 = createConnection("test.scheduler-1");
+    final DefaultInputConnection connection2 = createConnection("test.scheduler-2");
+
+    // Connections only hold the scheduler while they're open.
+    assertNull(ConnectionScheduler.currentScheduler(vertx));
+    connection1.open(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        connection2.open(new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            final ConnectionScheduler scheduler = ConnectionScheduler.currentScheduler(vertx);
+            assertNotNull(scheduler);
+            assertEquals(2, scheduler.size());
+            assertTrue(scheduler.isRunning());
+            connection1.close(new Handler<AsyncResult<Void>>() {
+              @Override
+              public void handle(AsyncResult<Void> result) {
+                assertTrue(scheduler.isRunning());
+                assertEquals(1, scheduler.size());
+                assertSame(scheduler, ConnectionScheduler.currentScheduler(vertx));
+                connection2.close(new Handler<AsyncResult<Void>>() {
+                  @Override
+                  public void handle(AsyncResult<Void> result) {
+                    assertFalse(scheduler.isRunning());
+                    assertNull(ConnectionScheduler.currentScheduler(vertx));
+                    testComplete();
+                  }
+                });
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testBatchesInFlight() {
+    final DefaultInputConnection connection = createConnection("test.batches-in-flight");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+
+    // The second batch is started before the first batch ends, so it's held
+    // until the first batch ends and then handled in order.
+    recordBatches(connection, received, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        if (received.size() == 5) {
+          assertEquals(Arrays.asList("a1", "end:a", "b1", "b2", "end:b"), received);
+          testComplete();
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 1, "a", null));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 2, "a", "a1"));
+        send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 3, "b", null));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 4, "b", "b1"));
+        send(connection, batch(codec, ConnectionMessage.Action.END_BATCH, 5, "a", null));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 6, "b", "b2"));
+        send(connection, batch(codec, ConnectionMessage.Action.END_BATCH, 7, "b", null));
+      }
+    });
+  }
+
+  @Test
+  public void testPauseWhileBatchHeld() {
+    final DefaultInputConnection connection = createConnection("test.pause-batch-held");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+    final List<Boolean> resumed = new ArrayList<>();
+
+    // Pausing the connection while the held batch is being handled must
+    // stop the rest of the held messages until the connection is resumed.
+    connection.batchHandler(new Handler<InputBatch>() {
+      @Override
+      public void handle(final InputBatch batch) {
+        batch.messageHandler(new Handler<String>() {
+          @Override
+          public void handle(String message) {
+            received.add(message);
+            if (message.equals("b1")) {
+              connection.pause();
+              vertx.setTimer(100, new Handler<Long>() {
+                @Override
+                public void handle(Long timerID) {
+                  assertEquals(Arrays.asList("a1", "b1"), received);
+                  resumed.add(true);
+                  connection.resume();
+                }
+              });
+            } else if (message.equals("b2")) {
+              assertFalse(resumed.isEmpty());
+            }
+          }
+        });
+        batch.endHandler(new Handler<Void>() {
+          @Override
+          public void handle(Void _) {
+            if (batch.id().equals("b")) {
+              assertEquals(Arrays.asList("a1", "b1", "b2"), received);
+              testComplete();
+            }
+          }
+        });
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 1, "a", null));
+        send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 2, "b", null));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 3, "b", "b1"));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 4, "b", "b2"));
+        send(connection, batch(codec, ConnectionMessage.Action.END_BATCH, 5, "b", null));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 6, "a", "a1"));
+        send(connection, batch(codec, ConnectionMessage.Action.END_BATCH, 7, "a", null));
+      }
+    });
+  }
+
+  @Test
+  public void testDisconnectWhileBatchHeld() {
+    final DefaultInputConnection connection = createConnection("test.disconnect-batch-held");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final List<String> received = new ArrayList<>();
+
+    // The first batch is never readied, so its messages are held until the
+    // output connection disconnects. Batches started after the output
+    // connection starts over must not be held behind the discarded batch.
+    connection.batchHandler(new Handler<InputBatch>() {
+      @Override
+      public void handle(final InputBatch batch) {
+        if (batch.id().equals("b")) {
+          batch.messageHandler(new Handler<String>() {
+            @Override
+            public void handle(String message) {
+              received.add(message);
+            }
+          });
+          batch.endHandler(new Handler<Void>() {
+            @Override
+            public void handle(Void _) {
+              assertEquals(Arrays.asList("y"), received);
+              testComplete();
+            }
+          });
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 1, "a", null));
+        send(connection, batch(codec, ConnectionMessage.Action.BATCH, 2, "a", "x"));
+        Object disconnect = codec.encode(new ConnectionMessage(ConnectionMessage.Action.DISCONNECT));
+        vertx.eventBus().send(String.format("%s.in", connection.address()), disconnect, new Handler<Message<Object>>() {
+          @Override
+          public void handle(Message<Object> message) {
+            send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 1, "b", null));
+            send(connection, batch(codec, ConnectionMessage.Action.BATCH, 2, "b", "y"));
+            send(connection, batch(codec, ConnectionMessage.Action.END_BATCH, 3, "b", null));
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testResetDiscardsHeldMessages() {
+    final DefaultInputConnection connection = createConnection("test.reset-held");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+
+    // The batch is never readied, so its messages are held.
+    connection.batchHandler(new Handler<InputBatch>() {
+      @Override
+      public void handle(InputBatch batch) {
+      }
+    });
+
+    // Once the output connection starts over the held messages are gone,
+    // so they must no longer be reported in the ack's queue size.
+    feedbackHandler(connection, codec, new Handler<ConnectionMessage>() {
+      @Override
+      public void handle(ConnectionMessage feedback) {
+        if (feedback.action() == ConnectionMessage.Action.ACK && feedback.id() == 1) {
+          assertEquals(0, ((Number) feedback.value()).intValue());
+          testComplete();
+        }
+      }
+    });
+
+    connect(connection, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        // Reconnect with a small send window so that every message is acked.
+        Object connect = codec.encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT).setValue(4));
+        vertx.eventBus().send(String.format("%s.in", connection.address()), connect, new Handler<Message<Object>>() {
+          @Override
+          public void handle(Message<Object> message) {
+            send(connection, batch(codec, ConnectionMessage.Action.START_BATCH, 1, "a", null));
+            send(connection, batch(codec, ConnectionMessage.Action.BATCH, 2, "a", "x"));
+            send(connection, batch(codec, ConnectionMessage.Action.BATCH, 3, "a", "y"));
+            send(connection, message(codec, 1, "foo"));
+          }
+        });
+      }
+    });
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.network;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertFalse;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnectionContext;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultOutputConnectionContext;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Local connection transport tests.
+ *
+ * @author Jordan Halterman
+ */
+public class LocalConnectionTest extends TestVerticle {
+
+  /**
+   * Opens an input connection and an output connection to it.
+   */
+  private void open(final DefaultInputConnection input, final DefaultOutputConnection output, final Handler<Void> doneHandler) {
+    input.open(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        output.open(new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            doneHandler.handle((Void) null);
+          }
+        });
+      }
+    });
+  }
+
+  @Test
+  public void testLocalTransport() {
+    final DefaultInputConnection input = new DefaultInputConnection(vertx, DefaultInputConnectionContext.Builder.newBuilder()
+        .setAddress("test.local")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+    final DefaultOutputConnection output = new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress("test.local")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+
+    // Messages are copied when they're sent, so changes made by the sender
+    // after sending a message are never seen by the receiver.
+    input.messageHandler(new Handler<JsonObject>() {
+      @Override
+      public void handle(JsonObject message) {
+        assertEquals("bar", message.getString("foo"));
+        testComplete();
+      }
+    });
+
+    open(input, output, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        assertTrue(output.isLocal());
+        JsonObject message = new JsonObject().putString("foo", "bar");
+        output.send(message);
+        message.putString("foo", "baz");
+      }
+    });
+  }
+
+  @Test
+  public void testFallBackWhenInputCloses() {
+    final DefaultInputConnection input = new DefaultInputConnection(vertx, DefaultInputConnectionContext.Builder.newBuilder()
+        .setAddress("test.local-fallback")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+    final DefaultOutputConnection output = new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress("test.local-fallback")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+
+    input.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        assertEquals("foo", message);
+
+        // Once the local input connection is closed, messages are encoded
+        // and sent on the event bus to whatever handles the address.
+        input.close(new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertFalse(output.isLocal());
+            final ConnectionCodec codec = new BinaryConnectionCodec();
+            vertx.eventBus().registerHandler("test.local-fallback.in", new Handler<Message<Object>>() {
+              @Override
+              public void handle(Message<Object> message) {
+                ConnectionMessage decoded = codec.decode(message.body());
+                assertEquals(ConnectionMessage.Action.MESSAGE, decoded.action());
+                assertEquals(2, decoded.id());
+                assertEquals("bar", decoded.value());
+                testComplete();
+              }
+            }, new Handler<AsyncResult<Void>>() {
+              @Override
+              public void handle(AsyncResult<Void> result) {
+                output.send("bar");
+              }
+            });
+          }
+        });
+      }
+    });
+
+    open(input, output, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        assertTrue(output.isLocal());
+        output.send("foo");
+      }
+    });
+  }
+
+  @Test
+  public void testLocalTransportDisabled() {
+    final DefaultInputConnection input = new DefaultInputConnection(vertx, DefaultInputConnectionContext.Builder.newBuilder()
+        .setAddress("test.local-disabled")
+        .setCodec(ConnectionCodec.BINARY)
+        .build());
+    final DefaultOutputConnection output = new DefaultOutputConnection(vertx, DefaultOutputConnectionContext.Builder.newBuilder()
+        .setAddress("test.local-disabled")
+        .setCodec(ConnectionCodec.BINARY)
+        .setLocalTransport(false)
+        .build());
+
+    input.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        assertEquals("foo", message);
+        testComplete();
+      }
+    });
+
+    // The input connection is in the same JVM, but messages are still
+    // encoded and sent on the event bus.
+    open(input, output, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        assertFalse(output.isLocal());
+        output.send("foo");
+      }
+    });
+  }
+
+}
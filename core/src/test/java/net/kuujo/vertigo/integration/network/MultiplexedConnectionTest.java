@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.integration.network;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.testComplete;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.DefaultConnectionContext;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnection;
+import net.kuujo.vertigo.io.connection.impl.DefaultInputConnectionContext;
+
+import org.junit.Test;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.eventbus.Message;
+import org.vertx.java.core.eventbus.ReplyException;
+import org.vertx.java.core.eventbus.ReplyFailure;
+import org.vertx.testtools.TestVerticle;
+
+/**
+ * Multiplexed connection tests.<p>
+ *
+ * Each test plays the part of the output connections, sending messages
+ * tagged with the receiving connection's address to the shared channel.
+ *
+ * @author Jordan Halterman
+ */
+public class MultiplexedConnectionTest extends TestVerticle {
+  private static final String CHANNEL = "test.channel";
+
+  /**
+   * Creates an input connection that receives messages through the shared channel.
+   */
+  private DefaultInputConnection createConnection(String address) {
+    return new DefaultInputConnection(vertx, DefaultInputConnectionContext.Builder.newBuilder()
+        .setAddress(address)
+        .setCodec(ConnectionCodec.BINARY)
+        .setTarget(DefaultConnectionContext.DefaultTargetContext.Builder.newBuilder()
+            .setChannel(CHANNEL)
+            .build())
+        .build());
+  }
+
+  /**
+   * Tags an encoded message with the address of the receiving connection.
+   */
+  private Buffer frame(DefaultInputConnection connection, Object encoded) {
+    byte[] address = String.format("%s.in", connection.address()).getBytes(StandardCharsets.UTF_8);
+    Buffer payload = (Buffer) encoded;
+    Buffer buffer = new Buffer();
+    buffer.appendInt(address.length);
+    buffer.appendBytes(address);
+    buffer.appendBuffer(payload);
+    return buffer;
+  }
+
+  /**
+   * Opens input connections one after another.
+   */
+  private void open(final DefaultInputConnection[] connections, final int index, final Handler<Void> doneHandler) {
+    if (index == connections.length) {
+      doneHandler.handle((Void) null);
+      return;
+    }
+    connections[index].open(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        assertTrue(result.succeeded());
+        open(connections, index + 1, doneHandler);
+      }
+    });
+  }
+
+  /**
+   * Encodes a message.
+   */
+  private Object message(ConnectionCodec codec, long id, String value) {
+    return codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(id).setValue(value));
+  }
+
+  @Test
+  public void testSharedChannel() {
+    final DefaultInputConnection first = createConnection("test.channel-first");
+    final DefaultInputConnection second = createConnection("test.channel-second");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+    final Set<String> received = new HashSet<>();
+
+    first.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        assertEquals("foo", message);
+        received.add(message);
+        if (received.size() == 2) {
+          testComplete();
+        }
+      }
+    });
+
+    second.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        assertEquals("bar", message);
+        received.add(message);
+        if (received.size() == 2) {
+          testComplete();
+        }
+      }
+    });
+
+    open(new DefaultInputConnection[]{first, second}, 0, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        // Both connections receive messages sent to the same channel address.
+        vertx.eventBus().send(CHANNEL, frame(second, message(codec, 1, "bar")));
+        vertx.eventBus().send(CHANNEL, frame(first, message(codec, 1, "foo")));
+      }
+    });
+  }
+
+  @Test
+  public void testUnregisteredConnectionFails() {
+    final DefaultInputConnection first = createConnection("test.channel-closed");
+    final DefaultInputConnection second = createConnection("test.channel-open");
+    final ConnectionCodec codec = new BinaryConnectionCodec();
+
+    second.messageHandler(new Handler<String>() {
+      @Override
+      public void handle(String message) {
+        assertEquals("foo", message);
+        testComplete();
+      }
+    });
+
+    open(new DefaultInputConnection[]{first, second}, 0, new Handler<Void>() {
+      @Override
+      public void handle(Void _) {
+        first.close(new Handler<AsyncResult<Void>>() {
+          @Override
+          public void handle(AsyncResult<Void> result) {
+            assertTrue(result.succeeded());
+            // Requests to a connection that's no longer registered with the
+            // channel fail just as requests to an address with no handlers.
+            Object connect = codec.encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT));
+            vertx.eventBus().sendWithTimeout(CHANNEL, frame(first, connect), 1000, new Handler<AsyncResult<Message<Object>>>() {
+              @Override
+              public void handle(AsyncResult<Message<Object>> result) {
+                assertTrue(result.failed());
+                ReplyException failure = (ReplyException) result.cause();
+                assertEquals(ReplyFailure.RECIPIENT_FAILURE, failure.failureType());
+                // ConnectionChannel.NO_CONNECTION
+                assertEquals(-404, failure.failureCode());
+
+                // The channel is still registered for the open connection.
+                vertx.eventBus().send(CHANNEL, frame(second, message(codec, 1, "foo")));
+              }
+            });
+          }
+        });
+      }
+    });
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.OutputConnection;
+import net.kuujo.vertigo.io.selector.FairSelector;
+import net.kuujo.vertigo.io.selector.IndexedSelector;
+import net.kuujo.vertigo.io.selector.RandomSelector;
+import net.kuujo.vertigo.io.selector.RoundRobinSelector;
+
+import org.junit.Test;
+
+/**
+ * Balancing selector credit tests.
+ *
+ * @author Jordan Halterman
+ */
+public class BalancingSelectorTest {
+
+  private static OutputConnection connection(String address, int credit, int load) {
+    return new TestOutputConnection(address).setCredit(credit).setLoad(load);
+  }
+
+  /**
+   * Counts how many times each connection is selected.
+   */
+  private static int[] select(IndexedSelector selector, List<OutputConnection> connections, int count) {
+    int[] counts = new int[connections.size()];
+    for (int i = 0; i < count; i++) {
+      counts[selector.selectIndex("test" + i, connections)]++;
+    }
+    return counts;
+  }
+
+  private static List<OutputConnection> connections(int... credits) {
+    List<OutputConnection> connections = new ArrayList<>();
+    for (int i = 0; i < credits.length; i++) {
+      connections.add(connection("test-" + i, credits[i], 0));
+    }
+    return connections;
+  }
+
+  @Test
+  public void testRoundRobinSkipsConnectionsWithoutCredit() {
+    int[] counts = select(new RoundRobinSelector(), connections(10, 0, 10), 100);
+    assertEquals(50, counts[0]);
+    assertEquals(0, counts[1]);
+    assertEquals(50, counts[2]);
+  }
+
+  @Test
+  public void testRandomSkipsConnectionsWithoutCredit() {
+    int[] counts = select(new RandomSelector(), connections(10, 0, 10), 1000);
+    assertTrue(counts[0] > 0);
+    assertEquals(0, counts[1]);
+    assertTrue(counts[2] > 0);
+  }
+
+  @Test
+  public void testFairPrefersConnectionsWithCredit() {
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(connection("test-0", 0, 1));
+    connections.add(connection("test-1", 10, 100));
+    connections.add(connection("test-2", 10, 50));
+    assertEquals(2, new FairSelector().selectIndex("test", connections));
+  }
+
+  @Test
+  public void testFallBackWhenNoConnectionHasCredit() {
+    int[] counts = select(new RoundRobinSelector(), connections(0, 0, 0), 99);
+    assertEquals(33, counts[0]);
+    assertEquals(33, counts[1]);
+    assertEquals(33, counts[2]);
+    counts = select(new RandomSelector(), connections(0, 0), 1000);
+    assertTrue(counts[0] > 0);
+    assertTrue(counts[1] > 0);
+  }
+
+}
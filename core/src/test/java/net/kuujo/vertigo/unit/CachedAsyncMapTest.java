@@ -0,0 +1,382 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.kuujo.vertigo.cluster.data.MapEvent;
+import net.kuujo.vertigo.cluster.data.ScanResult;
+import net.kuujo.vertigo.cluster.data.WatchableAsyncMap;
+import net.kuujo.vertigo.cluster.data.MapEvent.Type;
+import net.kuujo.vertigo.cluster.data.impl.DefaultCachedAsyncMap;
+
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+/**
+ * Near-cached map tests.
+ *
+ * @author Jordan Halterman
+ */
+public class CachedAsyncMapTest {
+
+  /**
+   * Synchronous in-memory watchable map.
+   */
+  private static class TestMap implements WatchableAsyncMap<String, String> {
+    private final Map<String, String> data = new HashMap<>();
+    private final Map<String, List<Handler<MapEvent<String, String>>>> watchers = new HashMap<>();
+    private int gets;
+
+    @Override
+    public String name() {
+      return "test";
+    }
+
+    @Override
+    public void put(String key, String value) {
+      put(key, value, null);
+    }
+
+    @Override
+    public void put(String key, String value, Handler<AsyncResult<String>> doneHandler) {
+      String previous = data.put(key, value);
+      List<Handler<MapEvent<String, String>>> handlers = watchers.get(key);
+      if (handlers != null) {
+        for (Handler<MapEvent<String, String>> handler : new ArrayList<>(handlers)) {
+          handler.handle(new MapEvent<String, String>(MapEvent.Type.CHANGE, key, value));
+        }
+      }
+      new DefaultFutureResult<String>(previous).setHandler(doneHandler);
+    }
+
+    @Override
+    public void get(String key, Handler<AsyncResult<String>> resultHandler) {
+      gets++;
+      new DefaultFutureResult<String>(data.get(key)).setHandler(resultHandler);
+    }
+
+    @Override
+    public void remove(String key) {
+      remove(key, null);
+    }
+
+    @Override
+    public void remove(String key, Handler<AsyncResult<String>> resultHandler) {
+      new DefaultFutureResult<String>(data.remove(key)).setHandler(resultHandler);
+    }
+
+    @Override
+    public void containsKey(String key, Handler<AsyncResult<Boolean>> resultHandler) {
+      new DefaultFutureResult<Boolean>(data.containsKey(key)).setHandler(resultHandler);
+    }
+
+    @Override
+    public void keySet(Handler<AsyncResult<Set<String>>> resultHandler) {
+      new DefaultFutureResult<Set<String>>(data.keySet()).setHandler(resultHandler);
+    }
+
+    @Override
+    public void values(Handler<AsyncResult<Collection<String>>> resultHandler) {
+      new DefaultFutureResult<Collection<String>>(data.values()).setHandler(resultHandler);
+    }
+
+    @Override
+    public void size(Handler<AsyncResult<Integer>> resultHandler) {
+      new DefaultFutureResult<Integer>(data.size()).setHandler(resultHandler);
+    }
+
+    @Override
+    public void isEmpty(Handler<AsyncResult<Boolean>> resultHandler) {
+      new DefaultFutureResult<Boolean>(data.isEmpty()).setHandler(resultHandler);
+    }
+
+    @Override
+    public void clear() {
+      clear(null);
+    }
+
+    @Override
+    public void clear(Handler<AsyncResult<Void>> doneHandler) {
+      data.clear();
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+
+    @Override
+    public void putAll(Map<String, String> map) {
+      putAll(map, null);
+    }
+
+    @Override
+    public void putAll(Map<String, String> map, Handler<AsyncResult<Void>> doneHandler) {
+      for (Map.Entry<String, String> entry : map.entrySet()) {
+        put(entry.getKey(), entry.getValue());
+      }
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, String>>> resultHandler) {
+      Map<String, String> values = new HashMap<>();
+      for (String key : keys) {
+        if (data.containsKey(key)) {
+          values.put(key, data.get(key));
+        }
+      }
+      new DefaultFutureResult<Map<String, String>>(values).setHandler(resultHandler);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+      removeAll(keys, null);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys, Handler<AsyncResult<Void>> doneHandler) {
+      for (String key : keys) {
+        data.remove(key);
+      }
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+
+    @Override
+    public void scan(long cursor, int count, Handler<AsyncResult<ScanResult<Map.Entry<String, String>>>> resultHandler) {
+      List<Map.Entry<String, String>> entries = new ArrayList<>(data.entrySet());
+      int end = (int) Math.min(entries.size(), cursor + count);
+      new DefaultFutureResult<ScanResult<Map.Entry<String, String>>>(new ScanResult<Map.Entry<String, String>>(end < entries.size() ? end : 0, entries.subList((int) cursor, end))).setHandler(resultHandler);
+    }
+
+    @Override
+    public void watch(String key, Handler<MapEvent<String, String>> handler) {
+      watch(key, null, handler, null);
+    }
+
+    @Override
+    public void watch(String key, Handler<MapEvent<String, String>> handler, Handler<AsyncResult<Void>> doneHandler) {
+      watch(key, null, handler, doneHandler);
+    }
+
+    @Override
+    public void watch(String key, Type event, Handler<MapEvent<String, String>> handler) {
+      watch(key, event, handler, null);
+    }
+
+    @Override
+    public void watch(String key, Type event, Handler<MapEvent<String, String>> handler, Handler<AsyncResult<Void>> doneHandler) {
+      List<Handler<MapEvent<String, String>>> handlers = watchers.get(key);
+      if (handlers == null) {
+        handlers = new ArrayList<>();
+        watchers.put(key, handlers);
+      }
+      handlers.add(handler);
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+
+    @Override
+    public void unwatch(String key, Handler<MapEvent<String, String>> handler) {
+      unwatch(key, null, handler, null);
+    }
+
+    @Override
+    public void unwatch(String key, Handler<MapEvent<String, String>> handler, Handler<AsyncResult<Void>> doneHandler) {
+      unwatch(key, null, handler, doneHandler);
+    }
+
+    @Override
+    public void unwatch(String key, Type event, Handler<MapEvent<String, String>> handler) {
+      unwatch(key, event, handler, null);
+    }
+
+    @Override
+    public void unwatch(String key, Type event, Handler<MapEvent<String, String>> handler, Handler<AsyncResult<Void>> doneHandler) {
+      List<Handler<MapEvent<String, String>>> handlers = watchers.get(key);
+      if (handlers != null) {
+        handlers.remove(handler);
+        if (handlers.isEmpty()) {
+          watchers.remove(key);
+        }
+      }
+      new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+    }
+  }
+
+  private static String get(DefaultCachedAsyncMap<String, String> map, String key) {
+    final List<String> results = new ArrayList<>();
+    map.get(key, new Handler<AsyncResult<String>>() {
+      @Override
+      public void handle(AsyncResult<String> result) {
+        results.add(result.result());
+      }
+    });
+    assertEquals(1, results.size());
+    return results.get(0);
+  }
+
+  @Test
+  public void testCacheHit() {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    assertEquals("bar", get(map, "foo"));
+    assertEquals("bar", get(map, "foo"));
+    assertEquals("bar", get(map, "foo"));
+    assertEquals(1, data.gets);
+    assertEquals(2, map.hitCount());
+    assertEquals(1, map.missCount());
+  }
+
+  @Test
+  public void testContainsKeyCountsHitsAndMisses() {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    final List<Boolean> results = new ArrayList<>();
+    Handler<AsyncResult<Boolean>> handler = new Handler<AsyncResult<Boolean>>() {
+      @Override
+      public void handle(AsyncResult<Boolean> result) {
+        results.add(result.result());
+      }
+    };
+    map.containsKey("foo", handler);
+    assertEquals("bar", get(map, "foo"));
+    map.containsKey("foo", handler);
+    assertEquals(2, results.size());
+    assertTrue(results.get(0));
+    assertTrue(results.get(1));
+    assertEquals(1, map.hitCount());
+    assertEquals(2, map.missCount());
+  }
+
+  @Test
+  public void testCacheMissingKey() {
+    TestMap data = new TestMap();
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    assertEquals(null, get(map, "foo"));
+    assertEquals(null, get(map, "foo"));
+    assertEquals(1, data.gets);
+    data.put("foo", "bar");
+    assertEquals("bar", get(map, "foo"));
+    assertEquals(2, data.gets);
+  }
+
+  @Test
+  public void testInvalidateOnChange() {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    assertEquals("bar", get(map, "foo"));
+    assertEquals(1, data.watchers.size());
+    data.put("foo", "baz");
+    assertEquals(0, data.watchers.size());
+    assertEquals("baz", get(map, "foo"));
+    assertEquals("baz", get(map, "foo"));
+    assertEquals(2, data.gets);
+    assertEquals(1, map.hitCount());
+    assertEquals(2, map.missCount());
+  }
+
+  @Test
+  public void testInvalidateOnPut() {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    assertEquals("bar", get(map, "foo"));
+    map.put("foo", "baz");
+    assertEquals("baz", get(map, "foo"));
+    assertEquals(2, data.gets);
+  }
+
+  @Test
+  public void testLruEviction() {
+    TestMap data = new TestMap();
+    data.put("a", "1");
+    data.put("b", "2");
+    data.put("c", "3");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 2, 0);
+    get(map, "a");
+    get(map, "b");
+    get(map, "a");
+    get(map, "c");
+    assertEquals(1, map.evictionCount());
+    assertEquals(2, data.watchers.size());
+    assertEquals(3, data.gets);
+    get(map, "a");
+    assertEquals(3, data.gets);
+    get(map, "b");
+    assertEquals(4, data.gets);
+  }
+
+  @Test
+  public void testExpiration() throws Exception {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 10);
+    get(map, "foo");
+    get(map, "foo");
+    assertEquals(1, data.gets);
+    Thread.sleep(20);
+    get(map, "foo");
+    assertEquals(2, data.gets);
+  }
+
+  @Test
+  public void testGetAllServesCachedKeys() {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    data.put("baz", "foo");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    get(map, "foo");
+    final List<Map<String, String>> results = new ArrayList<>();
+    map.getAll(Arrays.asList("foo", "baz", "none"), new Handler<AsyncResult<Map<String, String>>>() {
+      @Override
+      public void handle(AsyncResult<Map<String, String>> result) {
+        results.add(result.result());
+      }
+    });
+    assertEquals(1, results.size());
+    assertEquals(2, results.get(0).size());
+    assertEquals("bar", results.get(0).get("foo"));
+    assertEquals("foo", results.get(0).get("baz"));
+    assertEquals(1, map.hitCount());
+    assertEquals(3, map.missCount());
+  }
+
+  @Test
+  public void testPutAllInvalidates() {
+    TestMap data = new TestMap();
+    data.put("foo", "bar");
+    DefaultCachedAsyncMap<String, String> map = new DefaultCachedAsyncMap<>(data, 10, 0);
+    get(map, "foo");
+    Map<String, String> values = new HashMap<>();
+    values.put("foo", "baz");
+    map.putAll(values);
+    assertEquals("baz", get(map, "foo"));
+    assertEquals(2, data.gets);
+  }
+
+}
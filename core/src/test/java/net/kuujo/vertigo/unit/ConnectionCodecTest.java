@@ -0,0 +1,286 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.JsonConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.SerializedValue;
+
+import org.junit.Test;
+import org.vertx.java.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Connection codec tests.
+ *
+ * @author Jordan Halterman
+ */
+public class ConnectionCodecTest {
+
+  @Test
+  public void testJsonMessage() {
+    ConnectionCodec codec = new JsonConnectionCodec();
+    Object encoded = codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(10).setValue("Hello world!"));
+    assertTrue(encoded instanceof JsonObject);
+    assertEquals("message", ((JsonObject) encoded).getString("action"));
+    ConnectionMessage decoded = codec.decode(encoded);
+    assertEquals(ConnectionMessage.Action.MESSAGE, decoded.action());
+    assertEquals(10, decoded.id());
+    assertEquals("Hello world!", decoded.value());
+  }
+
+  @Test
+  public void testBinaryMessage() {
+    ConnectionCodec codec = new BinaryConnectionCodec();
+    Object encoded = codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(300).setValue(1234L));
+    assertTrue(encoded instanceof Buffer);
+    ConnectionMessage decoded = new BinaryConnectionCodec().decode(encoded);
+    assertEquals(ConnectionMessage.Action.MESSAGE, decoded.action());
+    assertEquals(300, decoded.id());
+    assertEquals(1234L, decoded.value());
+  }
+
+  @Test
+  public void testBinaryValueTypes() {
+    ConnectionCodec codec = new BinaryConnectionCodec();
+    Object[] values = new Object[]{"foo", true, 'c', (short) 1, 2, 3L, 4.5f, 6.7d, (byte) 8,
+        new JsonObject().putString("foo", "bar")};
+    for (Object value : values) {
+      ConnectionMessage decoded = codec.decode(codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(1).setValue(value)));
+      assertEquals(value, decoded.value());
+    }
+    byte[] bytes = new byte[]{1, 2, 3};
+    ConnectionMessage decoded = codec.decode(codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(1).setValue(bytes)));
+    assertArrayEquals(bytes, (byte[]) decoded.value());
+    decoded = codec.decode(codec.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(1)));
+    assertNull(decoded.value());
+  }
+
+  @Test
+  public void testBinaryGroupInterning() {
+    ConnectionCodec sender = new BinaryConnectionCodec();
+    ConnectionCodec receiver = new BinaryConnectionCodec();
+
+    Buffer start = (Buffer) sender.encode(new ConnectionMessage(ConnectionMessage.Action.START_GROUP)
+        .setId(1).setGroup("some-long-group-id").setName("foo"));
+    ConnectionMessage decoded = receiver.decode(start);
+    assertEquals("some-long-group-id", decoded.group());
+    assertEquals("foo", decoded.name());
+
+    Buffer message = (Buffer) sender.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP)
+        .setId(2).setGroup("some-long-group-id").setValue("bar"));
+    assertTrue(message.length() < start.length());
+    decoded = receiver.decode(message);
+    assertEquals("some-long-group-id", decoded.group());
+    assertEquals("bar", decoded.value());
+
+    // Ready messages sent back from the receiver use the same handles.
+    decoded = sender.decode(receiver.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP).setGroup("some-long-group-id")));
+    assertEquals("some-long-group-id", decoded.group());
+
+    sender.release("some-long-group-id");
+    receiver.release("some-long-group-id");
+    decoded = receiver.decode(sender.encode(new ConnectionMessage(ConnectionMessage.Action.END_GROUP)
+        .setId(3).setGroup("some-long-group-id")));
+    assertEquals("some-long-group-id", decoded.group());
+  }
+
+  @Test
+  public void testBinaryDefinitionReencoded() {
+    ConnectionCodec sender = new BinaryConnectionCodec();
+    ConnectionMessage start = new ConnectionMessage(ConnectionMessage.Action.START_GROUP)
+        .setId(1).setGroup("some-group-id").setName("foo");
+    Buffer first = (Buffer) sender.encode(start);
+    Buffer second = (Buffer) sender.encode(start);
+    assertArrayEquals(first.getBytes(), second.getBytes());
+  }
+
+  @Test
+  public void testBinaryReferenceBeforeDefinition() {
+    ConnectionCodec sender = new BinaryConnectionCodec();
+    ConnectionCodec receiver = new BinaryConnectionCodec();
+    Object start = sender.encode(new ConnectionMessage(ConnectionMessage.Action.START_GROUP)
+        .setId(1).setGroup("parent-group-id").setName("foo"));
+    Object child = sender.encode(new ConnectionMessage(ConnectionMessage.Action.START_GROUP)
+        .setId(2).setGroup("child-group-id").setName("bar").setParent("parent-group-id"));
+    Object message = sender.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP)
+        .setId(3).setGroup("parent-group-id").setValue("baz"));
+
+    // The group start was lost, so references to it can't be resolved yet.
+    ConnectionMessage decodedChild = receiver.decode(child);
+    assertNull(decodedChild.parent());
+    assertTrue(decodedChild.parentReference() > 0);
+    ConnectionMessage decodedMessage = receiver.decode(message);
+    assertNull(decodedMessage.group());
+    assertTrue(decodedMessage.reference() > 0);
+
+    // Once the resent start is received the references resolve.
+    assertEquals("parent-group-id", receiver.resolve(receiver.decode(start)).group());
+    assertEquals("parent-group-id", receiver.resolve(decodedChild).parent());
+    assertEquals(0, decodedChild.parentReference());
+    assertEquals("parent-group-id", receiver.resolve(decodedMessage).group());
+    assertEquals(0, decodedMessage.reference());
+  }
+
+  @SuppressWarnings("serial")
+  public static class CountingObject implements Serializable {
+    private static final AtomicInteger count = new AtomicInteger();
+    private String value;
+
+    public CountingObject(String value) {
+      this.value = value;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+      count.incrementAndGet();
+      out.defaultWriteObject();
+    }
+  }
+
+  @Test
+  public void testSerializeOnceFanOut() {
+    for (String name : new String[]{ConnectionCodec.JSON, ConnectionCodec.BINARY}) {
+      CountingObject.count.set(0);
+      SerializedValue shared = new SerializedValue(new CountingObject("foo"));
+      for (int i = 1; i <= 16; i++) {
+        ConnectionCodec sender = name.equals(ConnectionCodec.JSON) ? new JsonConnectionCodec() : new BinaryConnectionCodec();
+        ConnectionCodec receiver = name.equals(ConnectionCodec.JSON) ? new JsonConnectionCodec() : new BinaryConnectionCodec();
+        Object encoded = sender.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(i).setValue(shared));
+        ConnectionMessage decoded = receiver.decode(encoded);
+        assertEquals(i, decoded.id());
+        assertEquals("foo", ((CountingObject) decoded.value()).value);
+      }
+      assertEquals(1, CountingObject.count.get());
+    }
+  }
+
+  @Test
+  public void testSerializeOncePerCodec() {
+    CountingObject.count.set(0);
+    SerializedValue shared = new SerializedValue(new CountingObject("foo"));
+    ConnectionCodec json = new JsonConnectionCodec();
+    ConnectionCodec binary = new BinaryConnectionCodec();
+    for (int i = 1; i <= 4; i++) {
+      ConnectionMessage decoded = json.decode(json.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(i).setValue(shared)));
+      assertEquals("foo", ((CountingObject) decoded.value()).value);
+      decoded = binary.decode(binary.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(i).setValue(shared)));
+      assertEquals("foo", ((CountingObject) decoded.value()).value);
+    }
+    assertEquals(2, CountingObject.count.get());
+
+    // Encoding a message must never modify the shared serialized value.
+    assertNull(((JsonObject) shared.serialize(json)).getString("action"));
+    assertNull(((JsonObject) shared.serialize(json)).getLong("id"));
+  }
+
+  private void testFrame(ConnectionCodec sender, ConnectionCodec receiver) {
+    List<Object> frame = new ArrayList<>();
+    frame.add(sender.encode(new ConnectionMessage(ConnectionMessage.Action.START_GROUP)
+        .setId(1).setGroup("some-group-id").setName("foo")));
+    frame.add(sender.encode(new ConnectionMessage(ConnectionMessage.Action.GROUP)
+        .setId(2).setGroup("some-group-id").setValue("bar")));
+    frame.add(sender.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE)
+        .setId(3).setValue(10)));
+    ConnectionMessage decoded = receiver.decode(sender.encodeFrame(frame));
+    assertEquals(ConnectionMessage.Action.FRAME, decoded.action());
+    assertEquals(3, decoded.messages().size());
+    assertEquals(ConnectionMessage.Action.START_GROUP, decoded.messages().get(0).action());
+    assertEquals("foo", decoded.messages().get(0).name());
+    assertEquals(2, decoded.messages().get(1).id());
+    assertEquals("some-group-id", decoded.messages().get(1).group());
+    assertEquals("bar", decoded.messages().get(1).value());
+    assertEquals(3, decoded.messages().get(2).id());
+    assertEquals(10, decoded.messages().get(2).value());
+  }
+
+  @Test
+  public void testJsonFrame() {
+    testFrame(new JsonConnectionCodec(), new JsonConnectionCodec());
+  }
+
+  @Test
+  public void testBinaryFrame() {
+    testFrame(new BinaryConnectionCodec(), new BinaryConnectionCodec());
+  }
+
+  private void testNack(ConnectionCodec sender, ConnectionCodec receiver) {
+    ConnectionMessage decoded = receiver.decode(sender.encode(new ConnectionMessage(ConnectionMessage.Action.NACK)
+        .setId(1500).setValue(1510L)));
+    assertEquals(ConnectionMessage.Action.NACK, decoded.action());
+    assertEquals(1500, decoded.id());
+    assertEquals(1510L, ((Number) decoded.value()).longValue());
+  }
+
+  @Test
+  public void testJsonNack() {
+    testNack(new JsonConnectionCodec(), new JsonConnectionCodec());
+  }
+
+  @Test
+  public void testBinaryNack() {
+    testNack(new BinaryConnectionCodec(), new BinaryConnectionCodec());
+  }
+
+  private void testConnect(ConnectionCodec sender, ConnectionCodec receiver) {
+    ConnectionMessage decoded = receiver.decode(sender.encode(new ConnectionMessage(ConnectionMessage.Action.CONNECT)
+        .setValue(1000)));
+    assertEquals(ConnectionMessage.Action.CONNECT, decoded.action());
+    assertEquals(1000, ((Number) decoded.value()).intValue());
+  }
+
+  @Test
+  public void testJsonConnect() {
+    testConnect(new JsonConnectionCodec(), new JsonConnectionCodec());
+  }
+
+  @Test
+  public void testBinaryConnect() {
+    testConnect(new BinaryConnectionCodec(), new BinaryConnectionCodec());
+  }
+
+  private void testAck(ConnectionCodec sender, ConnectionCodec receiver) {
+    ConnectionMessage decoded = receiver.decode(sender.encode(new ConnectionMessage(ConnectionMessage.Action.ACK)
+        .setId(100).setValue(25)));
+    assertEquals(ConnectionMessage.Action.ACK, decoded.action());
+    assertEquals(100, decoded.id());
+    assertEquals(25, ((Number) decoded.value()).intValue());
+  }
+
+  @Test
+  public void testJsonAck() {
+    testAck(new JsonConnectionCodec(), new JsonConnectionCodec());
+  }
+
+  @Test
+  public void testBinaryAck() {
+    testAck(new BinaryConnectionCodec(), new BinaryConnectionCodec());
+  }
+
+}
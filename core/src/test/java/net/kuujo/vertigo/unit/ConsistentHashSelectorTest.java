@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+import net.kuujo.vertigo.io.selector.ConsistentHashSelector;
+
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+/**
+ * Consistent hash selector tests.
+ *
+ * @author Jordan Halterman
+ */
+public class ConsistentHashSelectorTest {
+
+  private static class TestConnection implements Connection<TestConnection> {
+    private final String address;
+
+    private TestConnection(String address) {
+      this.address = address;
+    }
+
+    @Override
+    public String address() {
+      return address;
+    }
+
+    @Override
+    public int size() {
+      return 0;
+    }
+
+    @Override
+    public TestConnection open() {
+      return this;
+    }
+
+    @Override
+    public TestConnection open(Handler<AsyncResult<Void>> doneHandler) {
+      return this;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> doneHandler) {
+    }
+  }
+
+  private static List<TestConnection> connections(int count) {
+    List<TestConnection> connections = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      connections.add(new TestConnection("test-" + i));
+    }
+    return connections;
+  }
+
+  @Test
+  public void testSameKeySameConnection() {
+    // Separate selectors stand in for separate source instances.
+    ConsistentHashSelector selector1 = new ConsistentHashSelector();
+    ConsistentHashSelector selector2 = new ConsistentHashSelector();
+    List<TestConnection> connections1 = connections(8);
+    List<TestConnection> connections2 = connections(8);
+    for (int i = 0; i < 1000; i++) {
+      String key = "key-" + i;
+      assertEquals(selector1.select(key, connections1), selector1.select(key, connections1));
+      assertEquals(selector1.select(key, connections1).get(0).address(), selector2.select(key, connections2).get(0).address());
+    }
+  }
+
+  @Test
+  public void testBalanced() {
+    ConsistentHashSelector selector = new ConsistentHashSelector();
+    List<TestConnection> connections = connections(8);
+    int[] counts = new int[8];
+    for (int i = 0; i < 80000; i++) {
+      counts[connections.indexOf(selector.select("key-" + i, connections).get(0))]++;
+    }
+    for (int count : counts) {
+      assertTrue(count > 5000 && count < 15000);
+    }
+  }
+
+  @Test
+  public void testAddConnectionMovesFewKeys() {
+    List<TestConnection> before = connections(8);
+    List<TestConnection> after = connections(9);
+    ConsistentHashSelector selector = new ConsistentHashSelector();
+    int moved = 0;
+    for (int i = 0; i < 10000; i++) {
+      String key = "key-" + i;
+      String first = selector.select(key, before).get(0).address();
+      String second = selector.select(key, after).get(0).address();
+      if (!first.equals(second)) {
+        assertEquals("test-8", second);
+        moved++;
+      }
+    }
+    // Roughly 1/9 of keys should move to the new connection.
+    assertTrue(moved > 500 && moved < 2000);
+  }
+
+}
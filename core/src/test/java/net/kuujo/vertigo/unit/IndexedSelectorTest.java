@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.OutputConnection;
+import net.kuujo.vertigo.io.selector.AllSelector;
+import net.kuujo.vertigo.io.selector.ConsistentHashSelector;
+import net.kuujo.vertigo.io.selector.FairSelector;
+import net.kuujo.vertigo.io.selector.HashSelector;
+import net.kuujo.vertigo.io.selector.IndexedSelector;
+import net.kuujo.vertigo.io.selector.LeastLoadedSelector;
+import net.kuujo.vertigo.io.selector.RandomSelector;
+import net.kuujo.vertigo.io.selector.RoundRobinSelector;
+import net.kuujo.vertigo.io.selector.WeightedRoundRobinSelector;
+
+import org.junit.Test;
+
+/**
+ * Index based selection tests.<p>
+ *
+ * Output streams route messages by index whenever a selector supports it,
+ * so index based selection must pick the same connections as list based
+ * selection.
+ *
+ * @author Jordan Halterman
+ */
+public class IndexedSelectorTest {
+  private static final int MESSAGES = 1000;
+
+  private static OutputConnection createConnection(String address, int weight) {
+    return new TestOutputConnection(address).setWeight(weight);
+  }
+
+  private static List<OutputConnection> createConnections() {
+    List<OutputConnection> connections = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      connections.add(createConnection("test-" + i, i + 1));
+    }
+    return connections;
+  }
+
+  /**
+   * Runs the same messages through two identical selectors, one using list
+   * based selection and one using index based selection.
+   */
+  private static void assertSameSelections(IndexedSelector listSelector, IndexedSelector indexSelector) {
+    List<OutputConnection> connections = createConnections();
+    for (int i = 0; i < MESSAGES; i++) {
+      String message = "message-" + i;
+      List<OutputConnection> selected = listSelector.select(message, connections);
+      int index = indexSelector.selectIndex(message, connections);
+      if (index == IndexedSelector.ALL) {
+        assertEquals(connections, selected);
+      } else {
+        assertEquals(1, selected.size());
+        assertSame(connections.get(index), selected.get(0));
+      }
+    }
+  }
+
+  /**
+   * Checks that both list based and index based selection select a single
+   * connection from the list for selectors that select randomly.
+   */
+  private static void assertSingleSelections(IndexedSelector selector) {
+    List<OutputConnection> connections = createConnections();
+    for (int i = 0; i < MESSAGES; i++) {
+      String message = "message-" + i;
+      List<OutputConnection> selected = selector.select(message, connections);
+      assertEquals(1, selected.size());
+      assertTrue(connections.contains(selected.get(0)));
+      int index = selector.selectIndex(message, connections);
+      assertTrue(index >= 0 && index < connections.size());
+    }
+  }
+
+  @Test
+  public void testRoundRobinSelector() {
+    assertSameSelections(new RoundRobinSelector(), new RoundRobinSelector());
+  }
+
+  @Test
+  public void testWeightedRoundRobinSelector() {
+    assertSameSelections(new WeightedRoundRobinSelector(), new WeightedRoundRobinSelector());
+  }
+
+  @Test
+  public void testHashSelector() {
+    assertSameSelections(new HashSelector(), new HashSelector());
+  }
+
+  @Test
+  public void testConsistentHashSelector() {
+    assertSameSelections(new ConsistentHashSelector(), new ConsistentHashSelector());
+  }
+
+  @Test
+  public void testFairSelector() {
+    assertSameSelections(new FairSelector(), new FairSelector());
+  }
+
+  @Test
+  public void testLeastLoadedSelector() {
+    // Least loaded selection samples connections randomly.
+    assertSingleSelections(new LeastLoadedSelector());
+  }
+
+  @Test
+  public void testAllSelector() {
+    assertSameSelections(new AllSelector(), new AllSelector());
+  }
+
+  @Test
+  public void testRandomSelector() {
+    assertSingleSelections(new RandomSelector());
+  }
+
+  @Test
+  public void testSingleConnection() {
+    List<OutputConnection> connections = Collections.singletonList(createConnection("test", 1));
+    IndexedSelector[] selectors = new IndexedSelector[]{new RoundRobinSelector(), new RandomSelector(),
+        new WeightedRoundRobinSelector(), new HashSelector(), new ConsistentHashSelector(),
+        new FairSelector(), new LeastLoadedSelector()};
+    for (IndexedSelector selector : selectors) {
+      assertEquals(0, selector.selectIndex("test", connections));
+      assertSame(connections.get(0), selector.select("test", connections).get(0));
+    }
+  }
+
+}
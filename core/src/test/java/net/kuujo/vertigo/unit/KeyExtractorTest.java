@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.kuujo.vertigo.io.selector.HashSelector;
+import net.kuujo.vertigo.io.selector.JsonKeyExtractor;
+import net.kuujo.vertigo.io.selector.PropertyKeyExtractor;
+import net.kuujo.vertigo.io.selector.Selector;
+import net.kuujo.vertigo.util.serialization.Serializer;
+import net.kuujo.vertigo.util.serialization.SerializerFactory;
+
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Key extractor tests.
+ *
+ * @author Jordan Halterman
+ */
+public class KeyExtractorTest {
+
+  public static class User {
+    private final String id;
+    private final boolean active;
+
+    public User(String id, boolean active) {
+      this.id = id;
+      this.active = active;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+  }
+
+  @Test
+  public void testJsonKeyExtractor() {
+    JsonObject message = new JsonObject().putObject("user", new JsonObject().putString("id", "foo")).putNumber("count", 1);
+    assertEquals("foo", new JsonKeyExtractor("user.id").extract(message));
+    assertEquals(1, new JsonKeyExtractor("count").extract(message));
+    assertNull(new JsonKeyExtractor("user.name").extract(message));
+    assertNull(new JsonKeyExtractor("count.foo").extract(message));
+    assertNull(new JsonKeyExtractor("user").extract("foo"));
+  }
+
+  @Test
+  public void testPropertyKeyExtractor() {
+    User user = new User("foo", true);
+    assertEquals("foo", new PropertyKeyExtractor("id").extract(user));
+    assertEquals(true, new PropertyKeyExtractor("active").extract(user));
+    assertNull(new PropertyKeyExtractor("name").extract(user));
+  }
+
+  @Test
+  public void testSerializeKeyExtractor() {
+    Serializer serializer = SerializerFactory.getSerializer(Selector.class);
+    JsonObject json = serializer.serializeToObject(new HashSelector(new JsonKeyExtractor("user.id")));
+    Selector selector = serializer.deserializeObject(json, Selector.class);
+    assertTrue(selector instanceof HashSelector);
+    assertTrue(((HashSelector) selector).getKeyExtractor() instanceof JsonKeyExtractor);
+    assertEquals("user.id", ((JsonKeyExtractor) ((HashSelector) selector).getKeyExtractor()).getPath());
+  }
+
+}
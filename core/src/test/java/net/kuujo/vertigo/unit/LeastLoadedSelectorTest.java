@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.Connection;
+import net.kuujo.vertigo.io.selector.LeastLoadedSelector;
+
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+/**
+ * Least loaded selector tests.
+ *
+ * @author Jordan Halterman
+ */
+public class LeastLoadedSelectorTest {
+
+  private static class TestConnection implements Connection<TestConnection> {
+    private final String address;
+    private int size;
+
+    private TestConnection(String address, int size) {
+      this.address = address;
+      this.size = size;
+    }
+
+    @Override
+    public String address() {
+      return address;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public TestConnection open() {
+      return this;
+    }
+
+    @Override
+    public TestConnection open(Handler<AsyncResult<Void>> doneHandler) {
+      return this;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> doneHandler) {
+    }
+  }
+
+  @Test
+  public void testSelectLessLoadedConnection() {
+    LeastLoadedSelector selector = new LeastLoadedSelector();
+    List<TestConnection> connections = new ArrayList<>();
+    connections.add(new TestConnection("test-1", 100));
+    connections.add(new TestConnection("test-2", 10));
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(1, selector.selectIndex("test" + i, connections));
+    }
+  }
+
+  @Test
+  public void testSingleConnection() {
+    LeastLoadedSelector selector = new LeastLoadedSelector();
+    List<TestConnection> connections = new ArrayList<>();
+    connections.add(new TestConnection("test-1", 100));
+    assertEquals(0, selector.selectIndex("test", connections));
+    assertEquals("test-1", selector.select("test", connections).get(0).address());
+  }
+
+  @Test
+  public void testAvoidMostLoadedConnection() {
+    LeastLoadedSelector selector = new LeastLoadedSelector();
+    List<TestConnection> connections = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      connections.add(new TestConnection("test-" + i, i == 0 ? 1000 : 0));
+    }
+    // Two distinct connections are sampled, so the most loaded connection
+    // can never win a comparison.
+    int[] counts = new int[connections.size()];
+    for (int i = 0; i < 10000; i++) {
+      counts[selector.selectIndex("test" + i, connections)]++;
+    }
+    assertEquals(0, counts[0]);
+    for (int i = 1; i < counts.length; i++) {
+      assertTrue(counts[i] > 0);
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.OutputConnection;
+import net.kuujo.vertigo.io.selector.AllSelector;
+import net.kuujo.vertigo.io.selector.IndexedSelector;
+import net.kuujo.vertigo.io.selector.LocalitySelector;
+import net.kuujo.vertigo.io.selector.RandomSelector;
+
+import org.junit.Test;
+
+/**
+ * Locality selector tests.
+ *
+ * @author Jordan Halterman
+ */
+public class LocalitySelectorTest {
+
+  private static OutputConnection connection(String address, boolean local, int credit) {
+    return new TestOutputConnection(address).setLocal(local).setCredit(credit);
+  }
+
+  private static String select(IndexedSelector selector, List<OutputConnection> connections, int count) {
+    StringBuilder sequence = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      sequence.append(connections.get(selector.selectIndex("test", connections)).address());
+    }
+    return sequence.toString();
+  }
+
+  @Test
+  public void testSelectsLocalConnections() {
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(connection("a", false, 10));
+    connections.add(connection("b", true, 10));
+    connections.add(connection("c", false, 10));
+    connections.add(connection("d", true, 10));
+    assertEquals("bdbdbd", select(new LocalitySelector(), connections, 6));
+  }
+
+  @Test
+  public void testSelectsOnlyLocalConnection() {
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(connection("a", false, 10));
+    connections.add(connection("b", false, 10));
+    connections.add(connection("c", true, 10));
+    LocalitySelector selector = new LocalitySelector(new RandomSelector());
+    for (int i = 0; i < 100; i++) {
+      assertEquals("c", selector.select("test", connections).get(0).address());
+    }
+  }
+
+  @Test
+  public void testFallsBackWithoutLocalConnections() {
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(connection("a", false, 10));
+    connections.add(connection("b", false, 10));
+    connections.add(connection("c", false, 10));
+    assertEquals("abcabc", select(new LocalitySelector(), connections, 6));
+  }
+
+  @Test
+  public void testFallsBackWhenLocalConnectionsHaveNoCredit() {
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(connection("a", false, 10));
+    connections.add(connection("b", true, 0));
+    connections.add(connection("c", false, 10));
+    // The wrapped round-robin selector is applied to all connections and
+    // skips the local connection since it has no credit.
+    String sequence = select(new LocalitySelector(), connections, 6);
+    assertEquals(6, sequence.length());
+    assertTrue(sequence.indexOf('b') < 0);
+  }
+
+  @Test
+  public void testSelectsAllConnections() {
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(connection("a", false, 10));
+    connections.add(connection("b", true, 10));
+    connections.add(connection("c", true, 10));
+    LocalitySelector selector = new LocalitySelector(new AllSelector());
+    assertEquals(IndexedSelector.ALL, selector.selectIndex("test", connections));
+    assertEquals(connections, selector.select("test", connections));
+  }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.kuujo.vertigo.io.codec.MessageCodec;
+import net.kuujo.vertigo.io.codec.impl.BinaryMessageCodec;
+import net.kuujo.vertigo.io.codec.impl.JacksonMessageCodec;
+import net.kuujo.vertigo.io.connection.impl.BinaryConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionCodec;
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.impl.InputDeserializer;
+import net.kuujo.vertigo.io.impl.OutputSerializer;
+import net.kuujo.vertigo.util.serialization.DeserializationException;
+import net.kuujo.vertigo.util.serialization.JsonSerializable;
+import net.kuujo.vertigo.util.serialization.SerializationException;
+
+import org.junit.Test;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Message codec tests.
+ *
+ * @author Jordan Halterman
+ */
+public class MessageCodecTest {
+
+  public static enum Color {
+    RED, GREEN
+  }
+
+  public static class Person implements JsonSerializable {
+    private String name;
+    private int age;
+    private Color color;
+    private List<String> tags = new ArrayList<>();
+    private Map<String, Object> attributes = new HashMap<>();
+    private int[] scores;
+    private Person friend;
+
+    private Person() {
+    }
+
+    public Person(String name, int age) {
+      this.name = name;
+      this.age = age;
+    }
+  }
+
+  public static class Employee extends Person {
+    private String company;
+
+    private Employee() {
+    }
+
+    public Employee(String name, int age, String company) {
+      super(name, age);
+      this.company = company;
+    }
+  }
+
+  public static class SpecialCollections {
+    private List<String> empty;
+    private List<String> fixed;
+    private List<String> unmodifiable;
+    private Set<String> unmodifiableSet;
+    private Map<String, Object> unmodifiableMap;
+    private Map<Color, Integer> colors;
+  }
+
+  private Person createPerson() {
+    Person person = new Person("Jordan", 30);
+    person.color = Color.GREEN;
+    person.tags.add("foo");
+    person.tags.add("bar");
+    person.attributes.put("baz", 1L);
+    person.scores = new int[]{1, 2, 3};
+    person.friend = new Employee("Bob", 40, "Acme");
+    return person;
+  }
+
+  @Test
+  public void testBinaryMessageCodec() {
+    MessageCodec codec = new BinaryMessageCodec();
+    Person person = (Person) codec.decode(codec.encode(createPerson()), Person.class);
+    assertEquals("Jordan", person.name);
+    assertEquals(30, person.age);
+    assertEquals(Color.GREEN, person.color);
+    assertEquals(2, person.tags.size());
+    assertEquals("bar", person.tags.get(1));
+    assertEquals(1L, person.attributes.get("baz"));
+    assertArrayEquals(new int[]{1, 2, 3}, person.scores);
+    assertTrue(person.friend instanceof Employee);
+    assertEquals("Bob", person.friend.name);
+    assertEquals("Acme", ((Employee) person.friend).company);
+    assertNull(person.friend.friend);
+  }
+
+  @Test
+  public void testBinaryMessageCodecSpecialCollections() {
+    SpecialCollections value = new SpecialCollections();
+    value.empty = Collections.emptyList();
+    value.fixed = Arrays.asList("foo", "bar");
+    value.unmodifiable = Collections.unmodifiableList(new ArrayList<>(Arrays.asList("baz")));
+    value.unmodifiableSet = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("foo")));
+    Map<String, Object> map = new HashMap<>();
+    map.put("foo", "bar");
+    value.unmodifiableMap = Collections.unmodifiableMap(map);
+    value.colors = new EnumMap<>(Color.class);
+    value.colors.put(Color.RED, 1);
+
+    MessageCodec codec = new BinaryMessageCodec();
+    SpecialCollections decoded = (SpecialCollections) codec.decode(codec.encode(value), SpecialCollections.class);
+    assertTrue(decoded.empty.isEmpty());
+    assertEquals(Arrays.asList("foo", "bar"), decoded.fixed);
+    assertEquals(Arrays.asList("baz"), decoded.unmodifiable);
+    assertEquals(new HashSet<>(Arrays.asList("foo")), decoded.unmodifiableSet);
+    assertEquals("bar", decoded.unmodifiableMap.get("foo"));
+    assertEquals(1, decoded.colors.size());
+    assertEquals(1, decoded.colors.get(Color.RED).intValue());
+  }
+
+  @Test
+  public void testJacksonMessageCodec() {
+    MessageCodec codec = new JacksonMessageCodec();
+    Person person = (Person) codec.decode(codec.encode(new Person("Jordan", 30)), Person.class);
+    assertEquals("Jordan", person.name);
+    assertEquals(30, person.age);
+  }
+
+  @Test
+  public void testSerializerUsesRegisteredCodec() {
+    Map<String, String> codecs = new HashMap<>();
+    codecs.put(Person.class.getName(), BinaryMessageCodec.class.getName());
+    OutputSerializer serializer = new OutputSerializer(codecs);
+
+    // Subtypes of registered types use the registered codec.
+    JsonObject serialized = serializer.serialize(new Employee("Bob", 40, "Acme"));
+    assertEquals("codec", serialized.getString("type"));
+    assertEquals(BinaryMessageCodec.class.getName(), serialized.getString("codec"));
+    assertEquals(Employee.class.getName(), serialized.getString("class"));
+
+    Employee employee = (Employee) new InputDeserializer().deserialize(serialized);
+    assertEquals("Bob", employee.name);
+    assertEquals("Acme", employee.company);
+
+    // Types without a registered codec fall back to Java serialization.
+    assertEquals("serialized", serializer.serialize(new ArrayList<String>()).getString("type"));
+  }
+
+  @Test(expected=SerializationException.class)
+  public void testSerializerRejectsNonCodecClass() {
+    Map<String, String> codecs = new HashMap<>();
+    codecs.put(Person.class.getName(), ArrayList.class.getName());
+    new OutputSerializer(codecs).serialize(new Person("Jordan", 30));
+  }
+
+  @Test(expected=DeserializationException.class)
+  public void testDeserializerRejectsNonCodecClass() {
+    new InputDeserializer().deserializeCodec(ArrayList.class.getName(), Person.class.getName(), new byte[0]);
+  }
+
+  @Test
+  public void testBinaryConnectionCodecUsesRegisteredCodec() {
+    Map<String, String> codecs = new HashMap<>();
+    codecs.put(Person.class.getName(), BinaryMessageCodec.class.getName());
+    ConnectionCodec sender = new BinaryConnectionCodec(codecs);
+    ConnectionCodec receiver = new BinaryConnectionCodec();
+    ConnectionMessage decoded = receiver.decode(sender.encode(new ConnectionMessage(ConnectionMessage.Action.MESSAGE)
+        .setId(1).setValue(createPerson())));
+    Person person = (Person) decoded.value();
+    assertEquals("Jordan", person.name);
+    assertEquals("Acme", ((Employee) person.friend).company);
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import net.kuujo.vertigo.io.connection.impl.ConnectionMessage;
+import net.kuujo.vertigo.io.connection.impl.SendWindow;
+
+import org.junit.Test;
+
+/**
+ * Send window tests.
+ *
+ * @author Jordan Halterman
+ */
+public class SendWindowTest {
+
+  private static ConnectionMessage message(long id) {
+    return new ConnectionMessage(ConnectionMessage.Action.MESSAGE).setId(id).setValue(id);
+  }
+
+  @Test
+  public void testAddAndGet() {
+    SendWindow window = new SendWindow(4);
+    for (long i = 1; i <= 10; i++) {
+      window.add(message(i));
+    }
+    assertEquals(10, window.size());
+    assertEquals(1, window.firstId());
+    assertEquals(10, window.lastId());
+    for (long i = 1; i <= 10; i++) {
+      assertEquals(i, window.get(i).id());
+    }
+    assertNull(window.get(0));
+    assertNull(window.get(11));
+  }
+
+  @Test
+  public void testReleaseFreesAckedMessages() {
+    SendWindow window = new SendWindow(4);
+    for (long i = 1; i <= 10; i++) {
+      window.add(message(i));
+    }
+    assertEquals(5, window.release(5));
+    assertEquals(5, window.size());
+    assertEquals(6, window.firstId());
+    assertNull(window.get(5));
+    assertEquals(6, window.get(6).id());
+
+    // Releasing IDs that were already released is a no-op.
+    assertEquals(0, window.release(3));
+    assertEquals(5, window.size());
+
+    assertEquals(5, window.release(100));
+    assertEquals(0, window.size());
+  }
+
+  @Test
+  public void testWrapAround() {
+    SendWindow window = new SendWindow(4);
+    long id = 1;
+    for (int round = 0; round < 100; round++) {
+      window.add(message(id++));
+      window.add(message(id++));
+      window.add(message(id++));
+      window.release(id - 2);
+      assertEquals(1, window.size());
+      assertEquals(id - 1, window.get(id - 1).id());
+    }
+    assertEquals(4, window.capacity());
+  }
+
+  @Test
+  public void testGrowAndShrink() {
+    SendWindow window = new SendWindow(4);
+    for (long i = 1; i <= 1000; i++) {
+      window.add(message(i));
+    }
+    assertEquals(1024, window.capacity());
+    window.release(999);
+    assertEquals(1, window.size());
+    assertEquals(1000, window.get(1000).id());
+    window.release(1000);
+    window.add(message(1001));
+    assertEquals(1001, window.get(1001).id());
+    window.clear();
+    assertEquals(0, window.size());
+    assertEquals(4, window.capacity());
+  }
+
+  @Test
+  public void testByteTracking() {
+    SendWindow window = new SendWindow(4);
+    for (long i = 1; i <= 100; i++) {
+      window.add(message(i), 10);
+    }
+    assertEquals(1000, window.bytes());
+    window.release(50);
+    assertEquals(500, window.bytes());
+    window.add(message(101), 100);
+    assertEquals(600, window.bytes());
+    window.release(101);
+    assertEquals(0, window.bytes());
+    window.add(message(102), 10);
+    window.clear();
+    assertEquals(0, window.bytes());
+  }
+
+  @Test
+  public void testEncodedMessages() {
+    SendWindow window = new SendWindow(4);
+    for (long i = 1; i <= 10; i++) {
+      window.add(message(i), i % 2 == 0 ? "encoded-" + i : null, 0);
+    }
+    assertEquals("encoded-2", window.getEncoded(2));
+    assertNull(window.getEncoded(3));
+    assertEquals("encoded-10", window.getEncoded(10));
+    window.release(9);
+    assertNull(window.getEncoded(8));
+    assertEquals("encoded-10", window.getEncoded(10));
+    window.clear();
+    assertNull(window.getEncoded(10));
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void testOutOfSequence() {
+    SendWindow window = new SendWindow();
+    window.add(message(1));
+    window.add(message(3));
+  }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.cluster.data.AsyncCounter;
+import net.kuujo.vertigo.cluster.data.DataException;
+import net.kuujo.vertigo.cluster.data.impl.DefaultStripedAsyncCounter;
+
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+/**
+ * Striped counter tests.
+ *
+ * @author Jordan Halterman
+ */
+public class StripedAsyncCounterTest {
+
+  /**
+   * Synchronous in-memory counter.
+   */
+  private static class TestCounter implements AsyncCounter {
+    private long value;
+    private int updates;
+    private boolean fail;
+    private boolean hold;
+    private final List<Runnable> held = new ArrayList<>();
+
+    @Override
+    public String name() {
+      return "test";
+    }
+
+    @Override
+    public void get(Handler<AsyncResult<Long>> doneHandler) {
+      new DefaultFutureResult<Long>(value).setHandler(doneHandler);
+    }
+
+    @Override
+    public void increment() {
+      add(1);
+    }
+
+    @Override
+    public void increment(Handler<AsyncResult<Void>> doneHandler) {
+      add(1, doneHandler);
+    }
+
+    @Override
+    public void incrementAndGet(Handler<AsyncResult<Long>> doneHandler) {
+      addAndGet(1, doneHandler);
+    }
+
+    @Override
+    public void decrement() {
+      add(-1);
+    }
+
+    @Override
+    public void decrement(Handler<AsyncResult<Void>> doneHandler) {
+      add(-1, doneHandler);
+    }
+
+    @Override
+    public void decrementAndGet(Handler<AsyncResult<Long>> doneHandler) {
+      addAndGet(-1, doneHandler);
+    }
+
+    @Override
+    public void add(long delta) {
+      add(delta, null);
+    }
+
+    @Override
+    public void add(long delta, final Handler<AsyncResult<Void>> doneHandler) {
+      addAndGet(delta, new Handler<AsyncResult<Long>>() {
+        @Override
+        public void handle(AsyncResult<Long> result) {
+          if (result.failed()) {
+            new DefaultFutureResult<Void>(result.cause()).setHandler(doneHandler);
+          } else {
+            new DefaultFutureResult<Void>((Void) null).setHandler(doneHandler);
+          }
+        }
+      });
+    }
+
+    @Override
+    public void addAndGet(final long delta, final Handler<AsyncResult<Long>> doneHandler) {
+      if (hold) {
+        held.add(new Runnable() {
+          @Override
+          public void run() {
+            addAndGet(delta, doneHandler);
+          }
+        });
+      } else if (fail) {
+        new DefaultFutureResult<Long>(new DataException("Failed.")).setHandler(doneHandler);
+      } else {
+        updates++;
+        value += delta;
+        new DefaultFutureResult<Long>(value).setHandler(doneHandler);
+      }
+    }
+  }
+
+  private static long get(AsyncCounter counter) {
+    final List<Long> results = new ArrayList<>();
+    counter.get(new Handler<AsyncResult<Long>>() {
+      @Override
+      public void handle(AsyncResult<Long> result) {
+        results.add(result.result());
+      }
+    });
+    assertEquals(1, results.size());
+    return results.get(0);
+  }
+
+  @Test
+  public void testAccumulateLocally() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    for (int i = 0; i < 100; i++) {
+      counter.increment();
+    }
+    counter.decrement();
+    counter.add(10);
+    assertEquals(0, data.updates);
+    assertEquals(109, counter.pending());
+    assertEquals(109, get(counter));
+  }
+
+  @Test
+  public void testFlushSendsSingleDelta() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    for (int i = 0; i < 100; i++) {
+      counter.increment();
+    }
+    counter.flush();
+    assertEquals(1, data.updates);
+    assertEquals(100, data.value);
+    assertEquals(0, counter.pending());
+    counter.flush();
+    assertEquals(1, data.updates);
+  }
+
+  @Test
+  public void testAddAndGetFlushesPending() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    counter.add(5);
+    final List<Long> results = new ArrayList<>();
+    counter.incrementAndGet(new Handler<AsyncResult<Long>>() {
+      @Override
+      public void handle(AsyncResult<Long> result) {
+        results.add(result.result());
+      }
+    });
+    assertEquals(1, results.size());
+    assertEquals(Long.valueOf(6), results.get(0));
+    assertEquals(1, data.updates);
+    assertEquals(0, counter.pending());
+  }
+
+  @Test
+  public void testFailedFlushRestoresDelta() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    counter.add(5);
+    data.fail = true;
+    final List<Boolean> results = new ArrayList<>();
+    counter.flush(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        results.add(result.failed());
+      }
+    });
+    assertTrue(results.get(0));
+    assertEquals(5, counter.pending());
+    data.fail = false;
+    counter.flush();
+    assertEquals(5, data.value);
+    assertEquals(0, counter.pending());
+  }
+
+  @Test
+  public void testCloseFlushes() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    counter.add(3);
+    counter.close();
+    assertEquals(3, data.value);
+    counter.increment();
+    assertEquals(4, data.value);
+    assertEquals(0, counter.pending());
+  }
+
+  @Test
+  public void testCloseReportsFailedFlush() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    counter.add(3);
+    data.fail = true;
+    final List<Boolean> results = new ArrayList<>();
+    counter.close(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        results.add(result.failed());
+      }
+    });
+    assertEquals(1, results.size());
+    assertTrue(results.get(0));
+    assertEquals(3, counter.pending());
+    data.fail = false;
+    counter.flush();
+    assertEquals(3, data.value);
+    assertEquals(0, counter.pending());
+  }
+
+  @Test
+  public void testCloseWaitsForFlushInFlight() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    counter.add(5);
+    data.hold = true;
+    counter.flush();
+    counter.add(2);
+    final List<Boolean> results = new ArrayList<>();
+    counter.close(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        results.add(result.failed());
+      }
+    });
+    assertTrue(results.isEmpty());
+
+    // The flush in flight fails, and its delta is flushed along with the
+    // rest of the local delta by the final flush.
+    data.hold = false;
+    data.fail = true;
+    data.held.remove(0).run();
+    assertEquals(1, results.size());
+    assertTrue(results.get(0));
+    assertEquals(7, counter.pending());
+    data.fail = false;
+    counter.flush();
+    assertEquals(7, data.value);
+    assertEquals(1, data.updates);
+  }
+
+  @Test
+  public void testCloseWaitsForAddAndGetInFlight() {
+    TestCounter data = new TestCounter();
+    DefaultStripedAsyncCounter counter = new DefaultStripedAsyncCounter(data, null, 0);
+    counter.add(5);
+    data.hold = true;
+    counter.addAndGet(1, null);
+    counter.add(2);
+    final List<Boolean> results = new ArrayList<>();
+    counter.close(new Handler<AsyncResult<Void>>() {
+      @Override
+      public void handle(AsyncResult<Void> result) {
+        results.add(result.failed());
+      }
+    });
+    assertTrue(results.isEmpty());
+
+    // The update in flight fails, and its delta is flushed along with the
+    // rest of the local delta by the final flush.
+    data.hold = false;
+    data.fail = true;
+    data.held.remove(0).run();
+    assertEquals(1, results.size());
+    assertTrue(results.get(0));
+    assertEquals(8, counter.pending());
+    data.fail = false;
+    counter.flush();
+    assertEquals(8, data.value);
+    assertEquals(1, data.updates);
+  }
+
+}
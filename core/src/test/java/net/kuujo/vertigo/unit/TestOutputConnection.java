@@ -0,0 +1,280 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import net.kuujo.vertigo.io.connection.OutputConnection;
+import net.kuujo.vertigo.io.connection.OutputConnectionContext;
+import net.kuujo.vertigo.io.connection.impl.ConnectionOutputBatch;
+import net.kuujo.vertigo.io.group.OutputGroup;
+
+/**
+ * Output connection stub for selector tests.<p>
+ *
+ * The connection only reports the state that selectors read: its address,
+ * credit, load, weight and locality. It has no context and can't be opened
+ * or sent messages.
+ *
+ * @author Jordan Halterman
+ */
+class TestOutputConnection implements OutputConnection {
+  private final String address;
+  private int credit = 10;
+  private int load;
+  private int weight = 1;
+  private boolean local;
+
+  TestOutputConnection(String address) {
+    this.address = address;
+  }
+
+  TestOutputConnection setCredit(int credit) {
+    this.credit = credit;
+    return this;
+  }
+
+  TestOutputConnection setLoad(int load) {
+    this.load = load;
+    return this;
+  }
+
+  TestOutputConnection setWeight(int weight) {
+    this.weight = weight;
+    return this;
+  }
+
+  TestOutputConnection setLocal(boolean local) {
+    this.local = local;
+    return this;
+  }
+
+  @Override
+  public String address() {
+    return address;
+  }
+
+  @Override
+  public int credit() {
+    return credit;
+  }
+
+  @Override
+  public int load() {
+    return load;
+  }
+
+  @Override
+  public int size() {
+    return load;
+  }
+
+  @Override
+  public int weight() {
+    return weight;
+  }
+
+  @Override
+  public boolean isLocal() {
+    return local;
+  }
+
+  @Override
+  public long retransmitCount() {
+    return 0;
+  }
+
+  @Override
+  public OutputConnectionContext context() {
+    // Without a context, selectors identify the connection by its address.
+    return null;
+  }
+
+  @Override
+  public Vertx vertx() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection open() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection open(Handler<AsyncResult<Void>> doneHandler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void close() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void close(Handler<AsyncResult<Void>> doneHandler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection setFrameSize(int frameSize) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int getFrameSize() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection setFrameDelay(long frameDelay) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getFrameDelay() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection setSendQueueMaxSize(int maxSize) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int getSendQueueMaxSize() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection setSendQueueMaxBytes(long maxBytes) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getSendQueueMaxBytes() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean sendQueueFull() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection drainHandler(Handler<Void> handler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection batch(String id, Object args, Handler<ConnectionOutputBatch> handler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection group(Handler<OutputGroup> handler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection group(String name, Handler<OutputGroup> handler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection group(String name, Object args, Handler<OutputGroup> handler) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Object message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(String message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Short message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Integer message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Long message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Float message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Double message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Boolean message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Byte message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(byte[] message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Character message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(JsonArray message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(JsonObject message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public OutputConnection send(Buffer message) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public String toString() {
+    return address;
+  }
+
+}
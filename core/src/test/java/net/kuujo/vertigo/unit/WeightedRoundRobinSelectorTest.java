@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kuujo.vertigo.unit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.kuujo.vertigo.io.connection.OutputConnection;
+import net.kuujo.vertigo.io.selector.WeightedRoundRobinSelector;
+
+import org.junit.Test;
+
+/**
+ * Weighted round-robin selector tests.
+ *
+ * @author Jordan Halterman
+ */
+public class WeightedRoundRobinSelectorTest {
+
+  private static OutputConnection createConnection(String address, int weight, int credit) {
+    return new TestOutputConnection(address).setWeight(weight).setCredit(credit);
+  }
+
+  @Test
+  public void testSmoothWeightedSelection() {
+    WeightedRoundRobinSelector selector = new WeightedRoundRobinSelector();
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(createConnection("a", 5, 10));
+    connections.add(createConnection("b", 1, 10));
+    connections.add(createConnection("c", 1, 10));
+    StringBuilder sequence = new StringBuilder();
+    for (int i = 0; i < 14; i++) {
+      sequence.append(selector.select("test", connections).get(0).address());
+    }
+    assertEquals("aabacaaaabacaa", sequence.toString());
+  }
+
+  @Test
+  public void testProportionalSelection() {
+    WeightedRoundRobinSelector selector = new WeightedRoundRobinSelector();
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(createConnection("a", 4, 10));
+    connections.add(createConnection("b", 32, 10));
+    int[] counts = new int[2];
+    for (int i = 0; i < 3600; i++) {
+      counts[selector.selectIndex("test", connections)]++;
+    }
+    assertEquals(400, counts[0]);
+    assertEquals(3200, counts[1]);
+  }
+
+  @Test
+  public void testSkipConnectionWithoutCredit() {
+    WeightedRoundRobinSelector selector = new WeightedRoundRobinSelector();
+    List<OutputConnection> connections = new ArrayList<>();
+    connections.add(createConnection("a", 5, 0));
+    connections.add(createConnection("b", 1, 10));
+    for (int i = 0; i < 10; i++) {
+      assertEquals(1, selector.selectIndex("test", connections));
+    }
+  }
+
+}